@@ -5,27 +5,68 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Конфигурационный класс для настройки шифрования данных карт.
- * Устанавливает секретный ключ для {@link CardMascEncryptor} на основе значения,
- * полученного из свойств приложения.
+ * Устанавливает секретные ключи для {@link CardMascEncryptor} на основе значений,
+ * полученных из свойств приложения.
  */
 @Configuration
 public class CardEncryptorConfig {
 
     /**
-     * Секретный ключ для шифрования данных карт.
+     * Секретный ключ версии {@value CardMascEncryptor#LEGACY_VERSION} для шифрования данных карт.
      * Значение берется из свойства приложения с именем <code>hash.card.key</code>.
      */
     @Value("${hash.card.key}")
     private String secretKey;
 
     /**
-     * Инициализирует {@link CardMascEncryptor} с использованием секретного ключа.
-     * Вызывается автоматически после создания бина для установки ключа шифрования.
+     * Ключи следующих версий в формате <code>версия:ключ</code> через запятую.
+     * Значение берется из свойства приложения с именем <code>hash.card.keys</code>.
+     */
+    @Value("${hash.card.keys:}")
+    private String versionedKeys;
+
+    /**
+     * Версия ключа, которой шифруются новые номера карт.
+     * Значение берется из свойства приложения с именем <code>hash.card.current-version</code>.
+     */
+    @Value("${hash.card.current-version:" + CardMascEncryptor.LEGACY_VERSION + "}")
+    private int currentVersion;
+
+    /**
+     * Инициализирует {@link CardMascEncryptor} с использованием секретных ключей.
+     * Вызывается автоматически после создания бина для установки ключей шифрования.
      */
     @PostConstruct
     public void init() {
-        CardMascEncryptor.setKEY(secretKey);
+        CardMascEncryptor.setKeys(parseKeys(secretKey, versionedKeys), currentVersion);
+    }
+
+    /**
+     * Разбирает ключи по версиям.
+     *
+     * @param legacyKey     ключ версии {@value CardMascEncryptor#LEGACY_VERSION}
+     * @param versionedKeys ключи в формате <code>версия:ключ</code> через запятую
+     * @return ключи по версиям
+     * @throws IllegalArgumentException если запись ключа имеет неверный формат
+     */
+    static Map<Integer, String> parseKeys(String legacyKey, String versionedKeys) {
+        Map<Integer, String> keys = new HashMap<>();
+        keys.put(CardMascEncryptor.LEGACY_VERSION, legacyKey);
+        for (String entry : versionedKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Card encryption key must be in format version:key");
+            }
+            keys.put(Integer.parseInt(entry.substring(0, separator).trim()), entry.substring(separator + 1).trim());
+        }
+        return keys;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package banks.card.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Конфигурационный класс, включающий выполнение фоновых задач по расписанию
+ * (обслуживание секций таблицы транзакций и другие периодические задания).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
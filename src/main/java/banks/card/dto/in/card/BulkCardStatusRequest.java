@@ -0,0 +1,46 @@
+package banks.card.dto.in.card;
+
+import banks.card.dto.in.filter.CardFilterRequest;
+import banks.card.entity.CardStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на изменение статуса карт, выбранных фильтром или списком идентификаторов")
+public class BulkCardStatusRequest {
+
+    @Schema(description = "Фильтр карт по статусу и балансу; вместе со списком идентификаторов применяются оба условия")
+    @Valid
+    private CardFilterRequest filter;
+
+    @Schema(description = "Идентификаторы карт", example = "[1, 2, 3]")
+    @Size(max = 10000, message = "Не больше 10000 идентификаторов в одном запросе")
+    private List<Long> ids;
+
+    @Schema(description = "Новый статус карт", example = "BLOCKED")
+    @NotNull(message = "Статус не может быть пустым")
+    private CardStatus status;
+
+    @JsonIgnore
+    @AssertTrue(message = "Нужно указать фильтр хотя бы с одним условием или идентификаторы карт")
+    public boolean isTargetSpecified() {
+        return (filter != null && filter.hasAttributeCriteria()) || (ids != null && !ids.isEmpty());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Фильтр по номеру карты недоступен для массовых операций")
+    public boolean isNumberFilterAbsent() {
+        return filter == null || filter.getNumber() == null || filter.getNumber().isBlank();
+    }
+}
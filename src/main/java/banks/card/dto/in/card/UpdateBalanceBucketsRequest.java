@@ -0,0 +1,22 @@
+package banks.card.dto.in.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на настройку раздельного баланса карты")
+public class UpdateBalanceBucketsRequest {
+
+    @Schema(description = "Количество корзин для зачислений, 0 — выключить раздельный баланс", example = "16")
+    @NotNull(message = "Количество корзин не может быть пустым")
+    @Min(value = 0, message = "Количество корзин не может быть отрицательным")
+    @Max(value = 64, message = "Количество корзин не может быть больше 64")
+    private Integer buckets;
+}
@@ -0,0 +1,30 @@
+package banks.card.dto.in.export;
+
+/**
+ * Перечисление {@code ExportFormat} определяет форматы потоковой выгрузки транзакций.
+ * <p>
+ * CSV - Значения, разделённые запятыми, с заголовком в первой строке.
+ * </p>
+ * <p>
+ * NDJSON - Один JSON-объект на строку (newline-delimited JSON).
+ * </p>
+ */
+public enum ExportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Возвращает MIME-тип, соответствующий формату.
+     *
+     * @return MIME-тип ответа
+     */
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -31,4 +31,14 @@ public class CardFilterRequest {
     @Schema(description = "Максимвльный требуемый баланс карты", example = "5000")
     @Min(value = 0, message = "")
     private BigDecimal maxBalance;
+
+    /**
+     * Проверяет, задано ли хотя бы одно условие по статусу или балансу карты.
+     * Номер карты не учитывается: в базе данных он хранится зашифрованным.
+     *
+     * @return {@code true}, если фильтр ограничивает выборку по статусу или балансу
+     */
+    public boolean hasAttributeCriteria() {
+        return status != null || minBalance != null || maxBalance != null;
+    }
 }
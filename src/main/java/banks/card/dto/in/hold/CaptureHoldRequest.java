@@ -0,0 +1,20 @@
+package banks.card.dto.in.hold;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на списание холда")
+public class CaptureHoldRequest {
+
+    @Schema(description = "Сумма списания, не больше суммы холда; по умолчанию списывается весь холд", example = "120")
+    @Positive
+    private BigDecimal amount;
+}
@@ -0,0 +1,29 @@
+package banks.card.dto.in.hold;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на резервирование средств на карте")
+public class HoldRequest {
+
+    @Schema(description = "Сумма резервирования", example = "150")
+    @NotNull(message = "Сумма не может быть пустой")
+    @Positive
+    private BigDecimal amount;
+
+    @Schema(description = "Срок действия холда в минутах; по умолчанию берется из настроек", example = "1440")
+    @Min(value = 1, message = "Срок действия холда должен быть не меньше минуты")
+    @Max(value = 43200, message = "Срок действия холда не может быть больше 30 дней")
+    private Integer ttlMinutes;
+}
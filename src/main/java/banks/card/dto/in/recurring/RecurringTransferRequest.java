@@ -0,0 +1,45 @@
+package banks.card.dto.in.recurring;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.entity.RecurringInterval;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "Запрос на создание регулярного перевода между картами пользователя")
+public class RecurringTransferRequest extends TransferRequest {
+
+    @Schema(description = "Единица периода", example = "MONTH")
+    @NotNull(message = "Период не может быть null")
+    private RecurringInterval interval;
+
+    @Schema(description = "Количество единиц в периоде", example = "1")
+    @Positive(message = "Количество единиц в периоде должно быть больше 0")
+    @Max(value = 366, message = "Количество единиц в периоде не может быть больше 366")
+    private Integer intervalCount = 1;
+
+    @Schema(description = "Время первого выполнения; по умолчанию текущее время", example = "2025-03-31T09:00:00")
+    private LocalDateTime startAt;
+
+    @Schema(description = "Время, после которого поручение завершается (опционально)", example = "2025-12-31T23:59:59")
+    private LocalDateTime endAt;
+
+    public RecurringTransferRequest(Long fromCardId, Long toCardId, BigDecimal amount, RecurringInterval interval,
+                                    Integer intervalCount, LocalDateTime startAt, LocalDateTime endAt) {
+        super(fromCardId, toCardId, amount);
+        this.interval = interval;
+        this.intervalCount = intervalCount;
+        this.startAt = startAt;
+        this.endAt = endAt;
+    }
+}
@@ -0,0 +1,19 @@
+package banks.card.dto.in.recurring;
+
+import banks.card.entity.RecurringTransferStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на обновление статуса регулярного перевода")
+public class RecurringTransferStatusRequest {
+
+    @Schema(description = "Статус поручения", example = "PAUSED")
+    @NotNull(message = "Статус не может быть пустым")
+    private RecurringTransferStatus status;
+}
@@ -0,0 +1,28 @@
+package banks.card.dto.out.cache;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Статистика региона кэша второго уровня")
+public class CacheRegionStatisticsResponse {
+
+    @Schema(description = "Название региона", example = "card-metadata")
+    private String region;
+
+    @Schema(description = "Количество попаданий в кэш", example = "15230")
+    private long hitCount;
+
+    @Schema(description = "Количество промахов кэша", example = "112")
+    private long missCount;
+
+    @Schema(description = "Количество записей в кэш", example = "112")
+    private long putCount;
+
+    @Schema(description = "Количество элементов в памяти, -1 если провайдер не сообщает", example = "108")
+    private long elementCountInMemory;
+}
@@ -0,0 +1,30 @@
+package banks.card.dto.out.cache;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Статистика кэша второго уровня")
+public class CacheStatisticsResponse {
+
+    @Schema(description = "Общее количество попаданий в кэш второго уровня", example = "30410")
+    private long secondLevelCacheHitCount;
+
+    @Schema(description = "Общее количество промахов кэша второго уровня", example = "220")
+    private long secondLevelCacheMissCount;
+
+    @Schema(description = "Количество попаданий в кэш запросов", example = "9800")
+    private long queryCacheHitCount;
+
+    @Schema(description = "Количество промахов кэша запросов", example = "54")
+    private long queryCacheMissCount;
+
+    @Schema(description = "Статистика по регионам")
+    private List<CacheRegionStatisticsResponse> regions;
+}
@@ -0,0 +1,16 @@
+package banks.card.dto.out.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Итоги массового изменения карт")
+public class BulkCardUpdateResponse {
+
+    @Schema(description = "Количество измененных карт", example = "1250")
+    private long affected;
+}
@@ -0,0 +1,19 @@
+package banks.card.dto.out.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ошибка в строке файла выпуска карт")
+public class BulkIssuanceErrorResponse {
+
+    @Schema(description = "Номер строки файла, начиная с заголовка", example = "17")
+    private long line;
+
+    @Schema(description = "Причина, по которой карта не выпущена", example = "User not found: ivan@example.com")
+    private String message;
+}
@@ -0,0 +1,27 @@
+package banks.card.dto.out.card;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Итоги выпуска карт из файла")
+public class BulkIssuanceResponse {
+
+    @Schema(description = "Количество строк с данными", example = "50000")
+    private long rows;
+
+    @Schema(description = "Количество выпущенных карт", example = "49998")
+    private long issued;
+
+    @Schema(description = "Количество строк с ошибками", example = "2")
+    private long failed;
+
+    @Schema(description = "Ошибки по строкам; не больше cards.bulk-issuance.max-errors")
+    private List<BulkIssuanceErrorResponse> errors;
+}
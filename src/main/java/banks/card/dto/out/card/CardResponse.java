@@ -37,6 +37,12 @@ public class CardResponse {
     @Schema(description = "Баланс карты", example = "5460")
     private BigDecimal balance;
 
+    @Schema(description = "Сумма активных холдов карты", example = "460")
+    private BigDecimal heldAmount;
+
+    @Schema(description = "Доступный остаток карты: баланс за вычетом холдов", example = "5000")
+    private BigDecimal availableBalance;
+
     @Schema(description = "Дневной лимит карты", example = "10000")
     private BigDecimal dailyLimit;
 
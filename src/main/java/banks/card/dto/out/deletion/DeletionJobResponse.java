@@ -0,0 +1,42 @@
+package banks.card.dto.out.deletion;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ход фонового удаления пользователя или карты")
+public class DeletionJobResponse {
+
+    @Schema(description = "Идентификатор удаления", example = "12")
+    private Long id;
+
+    @Schema(description = "Вид удаляемой сущности", example = "CARD")
+    private String target;
+
+    @Schema(description = "Идентификатор удаляемой сущности", example = "42")
+    private Long entityId;
+
+    @Schema(description = "Статус удаления", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Количество удаленных карт", example = "0")
+    private int cardsDeleted;
+
+    @Schema(description = "Количество удаленных транзакций", example = "150000")
+    private long transactionsDeleted;
+
+    @Schema(description = "Время запроса удаления", example = "2025-03-03T10:15:30")
+    private Timestamp createdAt;
+
+    @Schema(description = "Время завершения удаления", example = "2025-03-03T10:16:30")
+    private Timestamp finishedAt;
+
+    @Schema(description = "Причина последней ошибки")
+    private String error;
+}
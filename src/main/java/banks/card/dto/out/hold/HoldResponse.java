@@ -0,0 +1,38 @@
+package banks.card.dto.out.hold;
+
+import banks.card.entity.HoldStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Объект ответа с информацией о холде")
+public class HoldResponse {
+
+    @Schema(description = "Идентификатор холда", example = "42")
+    private Long id;
+
+    @Schema(description = "Идентификатор карты", example = "5")
+    private Long cardId;
+
+    @Schema(description = "Зарезервированная сумма", example = "150")
+    private BigDecimal amount;
+
+    @Schema(description = "Списанная сумма", example = "120")
+    private BigDecimal capturedAmount;
+
+    @Schema(description = "Статус холда", example = "ACTIVE")
+    private HoldStatus status;
+
+    @Schema(description = "Время создания холда", example = "2025-03-03T10:15:30")
+    private Timestamp createdAt;
+
+    @Schema(description = "Время истечения холда", example = "2025-03-04T10:15:30")
+    private Timestamp expiresAt;
+}
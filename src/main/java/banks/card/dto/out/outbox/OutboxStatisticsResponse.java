@@ -0,0 +1,40 @@
+package banks.card.dto.out.outbox;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Статистика ретрансляции исходящей очереди событий транзакций")
+public class OutboxStatisticsResponse {
+
+    @Schema(description = "Количество событий, ожидающих публикации", example = "42")
+    private long pending;
+
+    @Schema(description = "Возраст самого старого неопубликованного события в миллисекундах", example = "350")
+    private long oldestPendingAgeMs;
+
+    @Schema(description = "Количество опубликованных событий с момента запуска", example = "120500")
+    private long published;
+
+    @Schema(description = "Количество опубликованных пакетов с момента запуска", example = "1210")
+    private long batches;
+
+    @Schema(description = "Количество неудачных попыток публикации пакета с момента запуска", example = "2")
+    private long failures;
+
+    @Schema(description = "Средняя пропускная способность с момента запуска, событий в секунду", example = "85.3")
+    private double averageThroughputPerSecond;
+
+    @Schema(description = "Пропускная способность последнего пакета, событий в секунду", example = "2400.0")
+    private double lastBatchThroughputPerSecond;
+
+    @Schema(description = "Размер последнего пакета", example = "100")
+    private int lastBatchSize;
+
+    @Schema(description = "Наибольшая задержка события последнего пакета от записи до публикации в миллисекундах", example = "120")
+    private long lastBatchMaxLagMs;
+}
@@ -0,0 +1,27 @@
+package banks.card.dto.out.reconciliation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Расхождение баланса карты с журналом транзакций")
+public class CardDriftResponse {
+
+    @Schema(description = "Идентификатор карты", example = "36")
+    private Long cardId;
+
+    @Schema(description = "Баланс карты", example = "1500.00")
+    private BigDecimal balance;
+
+    @Schema(description = "Баланс, рассчитанный по успешным транзакциям", example = "1400.00")
+    private BigDecimal ledgerBalance;
+
+    @Schema(description = "Расхождение: баланс карты минус баланс по журналу", example = "100.00")
+    private BigDecimal drift;
+}
@@ -0,0 +1,35 @@
+package banks.card.dto.out.reconciliation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Отчет о сверке балансов карт с журналом транзакций")
+public class ReconciliationReportResponse {
+
+    @Schema(description = "Время начала сверки", example = "2025-03-02T03:00:00")
+    private Timestamp startedAt;
+
+    @Schema(description = "Время окончания сверки", example = "2025-03-02T03:04:12")
+    private Timestamp finishedAt;
+
+    @Schema(description = "Количество проверенных карт", example = "10000000")
+    private long cardsChecked;
+
+    @Schema(description = "Количество карт с расхождением", example = "2")
+    private long cardsWithDrift;
+
+    @Schema(description = "Суммарное расхождение по всем картам", example = "150.00")
+    private BigDecimal totalDrift;
+
+    @Schema(description = "Карты с расхождением (не более настроенного лимита)")
+    private List<CardDriftResponse> drifts;
+}
@@ -0,0 +1,18 @@
+package banks.card.dto.out.recurring;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Объект ответа со списком регулярных переводов")
+public class ListRecurringTransferResponse {
+
+    @Schema(description = "Список регулярных переводов")
+    private List<RecurringTransferResponse> recurringTransfers;
+}
@@ -0,0 +1,64 @@
+package banks.card.dto.out.recurring;
+
+import banks.card.entity.RecurringInterval;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.entity.TransferStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Объект ответа с информацией о регулярном переводе")
+public class RecurringTransferResponse {
+
+    @Schema(description = "Идентификатор поручения", example = "7")
+    private Long id;
+
+    @Schema(description = "Идентификатор владельца", example = "1")
+    private Long userId;
+
+    @Schema(description = "Идентификатор карты-отправителя", example = "2")
+    private Long fromCardId;
+
+    @Schema(description = "Идентификатор карты-получателя", example = "1")
+    private Long toCardId;
+
+    @Schema(description = "Сумма перевода", example = "200")
+    private BigDecimal amount;
+
+    @Schema(description = "Единица периода", example = "MONTH")
+    private RecurringInterval interval;
+
+    @Schema(description = "Количество единиц в периоде", example = "1")
+    private Integer intervalCount;
+
+    @Schema(description = "Время первого выполнения", example = "2025-03-31T09:00:00")
+    private Timestamp startAt;
+
+    @Schema(description = "Время окончания поручения", example = "2025-12-31T23:59:59")
+    private Timestamp endAt;
+
+    @Schema(description = "Время следующего выполнения", example = "2025-04-30T09:00:00")
+    private Timestamp nextRunAt;
+
+    @Schema(description = "Статус поручения", example = "ACTIVE")
+    private RecurringTransferStatus status;
+
+    @Schema(description = "Время последнего выполнения", example = "2025-03-31T09:00:00")
+    private Timestamp lastRunAt;
+
+    @Schema(description = "Результат последнего выполнения", example = "SUCCESS")
+    private TransferStatus lastStatus;
+
+    @Schema(description = "Причина отказа последнего выполнения", example = "Daily limit exceeded")
+    private String lastMessage;
+
+    @Schema(description = "Время создания поручения", example = "2025-03-01T12:00:00")
+    private Timestamp createdAt;
+}
@@ -0,0 +1,45 @@
+package banks.card.dto.out.rotation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ход перешифрования номеров карт новой версией ключа")
+public class KeyRotationResponse {
+
+    @Schema(description = "Идентификатор перешифрования", example = "3")
+    private Long id;
+
+    @Schema(description = "Версия ключа, которой перешифровываются номера", example = "2")
+    private int targetVersion;
+
+    @Schema(description = "Статус перешифрования", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Наибольший идентификатор карты на момент запуска", example = "50000")
+    private long maxCardId;
+
+    @Schema(description = "Идентификатор, до которого включительно все карты обработаны", example = "12000")
+    private long lastCardId;
+
+    @Schema(description = "Количество перешифрованных номеров", example = "11950")
+    private long cardsRotated;
+
+    @Schema(description = "Доля обработанного диапазона идентификаторов в процентах", example = "24.0")
+    private double progressPercent;
+
+    @Schema(description = "Время первого запуска", example = "2025-03-03T10:15:30")
+    private Timestamp startedAt;
+
+    @Schema(description = "Время завершения", example = "2025-03-03T10:45:30")
+    private Timestamp finishedAt;
+
+    @Schema(description = "Причина последней ошибки")
+    private String error;
+}
@@ -0,0 +1,30 @@
+package banks.card.dto.out.settlement;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Неттинг отложенных переводов между парой карт")
+public class SettlementPairResponse {
+
+    @Schema(description = "Карта пары с меньшим идентификатором", example = "12")
+    private Long firstCardId;
+
+    @Schema(description = "Карта пары с большим идентификатором", example = "36")
+    private Long secondCardId;
+
+    @Schema(description = "Количество переводов между картами в обе стороны", example = "14")
+    private long transfers;
+
+    @Schema(description = "Сумма переводов в обе стороны", example = "2400.00")
+    private BigDecimal grossAmount;
+
+    @Schema(description = "Чистая сумма от первой карты ко второй; отрицательная — от второй к первой", example = "-150.00")
+    private BigDecimal netAmount;
+}
@@ -0,0 +1,48 @@
+package banks.card.dto.out.settlement;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Отчет о дневном расчете отложенных переводов")
+public class SettlementReportResponse {
+
+    @Schema(description = "Идентификатор пакета расчетов", example = "7")
+    private Long batchId;
+
+    @Schema(description = "Операционный день", example = "2025-03-02")
+    private LocalDate businessDate;
+
+    @Schema(description = "Статус пакета", example = "COMPLETED")
+    private String status;
+
+    @Schema(description = "Время первого запуска пакета", example = "2025-03-03T00:10:00")
+    private Timestamp startedAt;
+
+    @Schema(description = "Время завершения пакета", example = "2025-03-03T00:12:41")
+    private Timestamp finishedAt;
+
+    @Schema(description = "Количество карт, баланс которых изменен", example = "48210")
+    private long cardsSettled;
+
+    @Schema(description = "Количество рассчитанных записей журнала", example = "391772")
+    private long entriesSettled;
+
+    @Schema(description = "Сумма рассчитанных отложенных переводов", example = "1520000.00")
+    private BigDecimal grossAmount;
+
+    @Schema(description = "Сумма положительных чистых изменений балансов карт", example = "310400.00")
+    private BigDecimal netAmount;
+
+    @Schema(description = "Пары карт с наибольшим оборотом (не более настроенного лимита)")
+    private List<SettlementPairResponse> pairs;
+}
@@ -0,0 +1,33 @@
+package banks.card.dto.out.sync;
+
+import banks.card.dto.out.card.CardResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Изменения карт и транзакций пользователя с момента курсора")
+public class SyncResponse {
+
+    @Schema(description = "Измененные карты в текущем состоянии; без курсора — все карты пользователя")
+    private List<CardResponse> cards;
+
+    @Schema(description = "Идентификаторы всех карт пользователя; карты, которых нет в списке, удалены")
+    private List<Long> cardIds;
+
+    @Schema(description = "Новые транзакции, упорядоченные от новых к старым; без курсора не возвращаются")
+    private List<TransactionResponse> transactions;
+
+    @Schema(description = "Новых транзакций больше, чем возвращено; остальные следует загрузить лентой транзакций",
+            example = "false")
+    private boolean transactionsTruncated;
+
+    @Schema(description = "Курсор для следующего запроса синхронизации", example = "1052374")
+    private String cursor;
+}
@@ -15,4 +15,14 @@ public class ListTransactionResponse {
 
     @Schema(description = "Список транзакций, с подробной информацией о каждой")
     private List<TransactionResponse> responses;
+
+    @Schema(description = "Общее количество транзакций, удовлетворяющих фильтру", example = "42")
+    private long totalElements;
+
+    @Schema(description = "Общее количество страниц", example = "5")
+    private int totalPages;
+
+    public ListTransactionResponse(List<TransactionResponse> responses) {
+        this.responses = responses;
+    }
 }
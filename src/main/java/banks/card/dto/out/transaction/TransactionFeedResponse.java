@@ -0,0 +1,22 @@
+package banks.card.dto.out.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Страница ленты транзакций по всем картам пользователя")
+public class TransactionFeedResponse {
+
+    @Schema(description = "Транзакции, упорядоченные от новых к старым")
+    private List<TransactionResponse> responses;
+
+    @Schema(description = "Курсор следующей страницы, отсутствует на последней странице",
+            example = "MjAyNS0wMy0wMlQxMjozMDo0NS4xMjN8MTU")
+    private String nextCursor;
+}
@@ -5,8 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,9 +19,16 @@ import java.util.List;
  * Содержит информацию о карте, такую как зашифрованный номер карты, владелец,
  * дата истечения срока действия, статус, баланс и лимиты транзакций.
  * Связана с пользователем ({@code User}) и списком транзакций ({@code Transaction}).
+ * Удаленные карты ({@link #deletedAt} задано) не читаются до окончательного удаления фоновой задачей.
+ * <p>
+ * Операции с балансом читают карту под блокировкой {@code CardLockProvider}, которая не обязательно
+ * блокирует строку, поэтому при сохранении обновляются только измененные столбцы: перевод
+ * не перезаписывает статус или лимиты, измененные параллельно.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "cards")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -95,6 +106,34 @@ public class Card {
     @Column(name = "daily_transaction_count_limit", precision = 15, scale = 2)
     private Integer dailyTransactionCountLimit;
 
+    /**
+     * Сумма активных холдов карты, зарезервированная до списания или освобождения.
+     * Поддерживается вместе с изменением статуса холдов, поэтому доступный остаток
+     * вычисляется без агрегации по холдам.
+     */
+    @Column(name = "held_amount", precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
+    /**
+     * Количество корзин раздельного баланса; 0 — весь баланс хранится в {@link #balance}.
+     * Изменяется только запросом {@code CardRepository.updateBalanceBuckets}.
+     */
+    @Column(name = "balance_buckets", insertable = false, updatable = false)
+    private Integer balanceBuckets;
+
+    /**
+     * Сумма зачислений в корзинах раздельного баланса, еще не перенесенных в {@link #balance}.
+     */
+    @Formula("(SELECT COALESCE(SUM(b.amount), 0) FROM card_balance_buckets b WHERE b.card_id = id)")
+    private BigDecimal bucketBalance;
+
+    /**
+     * Время удаления карты; {@code null} — карта не удалена.
+     */
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
     /**
      * Пользователь, которому принадлежит карта.
      * Связь типа "многие к одному", ленивая загрузка.
@@ -106,8 +145,35 @@ public class Card {
 
     /**
      * Список транзакций, связанных с картой.
-     * Связь типа "один ко многим", с каскадным удалением и обновлением.
+     * Связь типа "один ко многим" без каскадов: транзакции удаляются пакетами фоновой задачей удаления.
      */
-    @OneToMany(mappedBy = "card", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "card")
     private List<Transaction> transactions;
+
+    /**
+     * Проверяет, включен ли для карты раздельный баланс.
+     *
+     * @return {@code true}, если зачисления распределяются по корзинам
+     */
+    public boolean isSplitBalance() {
+        return balanceBuckets != null && balanceBuckets > 0;
+    }
+
+    /**
+     * Возвращает видимый баланс карты: {@link #balance} и сумму корзин раздельного баланса.
+     *
+     * @return полный баланс карты
+     */
+    public BigDecimal getTotalBalance() {
+        return bucketBalance == null ? balance : balance.add(bucketBalance);
+    }
+
+    /**
+     * Возвращает доступный остаток карты: полный баланс за вычетом активных холдов.
+     *
+     * @return доступный остаток карты
+     */
+    public BigDecimal getAvailableBalance() {
+        return heldAmount == null ? getTotalBalance() : getTotalBalance().subtract(heldAmount);
+    }
 }
@@ -0,0 +1,77 @@
+package banks.card.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Класс {@code CardHold} представляет холд — сумму, зарезервированную на карте до списания или освобождения.
+ * Сумма активных холдов карты поддерживается в {@link Card#getHeldAmount()}.
+ */
+@Entity
+@Table(name = "card_holds")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardHold {
+
+    /**
+     * Уникальный идентификатор холда.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Карта, на которой зарезервирована сумма.
+     * Связь типа "многие к одному", ленивая загрузка.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_id", nullable = false)
+    private Card card;
+
+    /**
+     * Зарезервированная сумма.
+     * Точность — 15 цифр, 2 знака после запятой.
+     */
+    @Column(name = "amount", precision = 15, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    /**
+     * Списанная сумма; не больше зарезервированной. Заполняется при списании холда.
+     */
+    @Column(name = "captured_amount", precision = 15, scale = 2)
+    private BigDecimal capturedAmount;
+
+    /**
+     * Статус холда.
+     * Хранится как строка в базе данных.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private HoldStatus status;
+
+    /**
+     * Дата и время создания холда.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Timestamp createdAt;
+
+    /**
+     * Дата и время, после которых активный холд освобождается автоматически.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Timestamp expiresAt;
+
+    /**
+     * Дата и время списания, освобождения или истечения холда.
+     */
+    @Column(name = "resolved_at")
+    private Timestamp resolvedAt;
+}
@@ -0,0 +1,85 @@
+package banks.card.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.math.BigDecimal;
+
+/**
+ * Неизменяемое представление редко меняющихся данных карты: владелец и лимиты.
+ * Отображается на ту же таблицу <code>cards</code>, что и {@link Card}, но не содержит баланса
+ * и хранится в кэше второго уровня. Баланс всегда читается из {@link Card} под блокировкой карты.
+ * <p>
+ * Изменения лимитов и удаление карты выполняются через {@link Card}, поэтому Hibernate не знает,
+ * что запись в кэше устарела; ее нужно явно удалить из кэша по идентификатору карты.
+ */
+@Entity
+@Immutable
+@Table(name = "cards")
+@SQLRestriction("deleted_at IS NULL")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CardMetadata.CACHE_REGION)
+@Getter
+@NoArgsConstructor
+public class CardMetadata {
+
+    public static final String CACHE_REGION = "card-metadata";
+
+    /**
+     * Уникальный идентификатор карты.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Идентификатор пользователя, которому принадлежит карта.
+     */
+    @Column(name = "user_id", nullable = false, insertable = false, updatable = false)
+    private Long userId;
+
+    /**
+     * Дневной лимит расходов по карте.
+     */
+    @Column(name = "daily_limit", precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal dailyLimit;
+
+    /**
+     * Месячный лимит расходов по карте.
+     */
+    @Column(name = "monthly_limit", precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal monthlyLimit;
+
+    /**
+     * Лимит на сумму одной транзакции.
+     */
+    @Column(name = "single_transaction_limit", precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal singleTransactionLimit;
+
+    /**
+     * Лимит на количество транзакций в день.
+     */
+    @Column(name = "daily_transaction_count_limit", insertable = false, updatable = false)
+    private Integer dailyTransactionCountLimit;
+
+    /**
+     * Количество корзин раздельного баланса; 0 — раздельный баланс выключен.
+     */
+    @Column(name = "balance_buckets", insertable = false, updatable = false)
+    private Integer balanceBuckets;
+
+    /**
+     * Проверяет, включен ли для карты раздельный баланс.
+     *
+     * @return {@code true}, если зачисления распределяются по корзинам
+     */
+    public boolean isSplitBalance() {
+        return balanceBuckets != null && balanceBuckets > 0;
+    }
+}
@@ -0,0 +1,23 @@
+package banks.card.entity;
+
+/**
+ * Перечисление {@code HoldStatus} определяет возможные статусы холда — резервирования средств на карте.
+ * <p>
+ * ACTIVE - Сумма зарезервирована и уменьшает доступный остаток карты.
+ * </p>
+ * <p>
+ * CAPTURED - Холд списан: по нему создана транзакция снятия.
+ * </p>
+ * <p>
+ * RELEASED - Холд освобожден без списания.
+ * </p>
+ * <p>
+ * EXPIRED - Холд не был списан до истечения срока и освобожден автоматически.
+ * </p>
+ */
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
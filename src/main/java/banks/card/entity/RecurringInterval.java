@@ -0,0 +1,37 @@
+package banks.card.entity;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Перечисление {@code RecurringInterval} определяет единицу периода регулярного перевода.
+ * <p>
+ * DAY - Перевод выполняется раз в указанное количество дней.
+ * </p>
+ * <p>
+ * WEEK - Перевод выполняется раз в указанное количество недель.
+ * </p>
+ * <p>
+ * MONTH - Перевод выполняется раз в указанное количество месяцев; если в месяце нет дня
+ * первого выполнения, используется последний день месяца.
+ * </p>
+ */
+public enum RecurringInterval {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RecurringInterval(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Возвращает единицу времени периода.
+     *
+     * @return объект {@link ChronoUnit}
+     */
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
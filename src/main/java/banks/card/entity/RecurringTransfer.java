@@ -0,0 +1,155 @@
+package banks.card.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Класс {@code RecurringTransfer} представляет регулярный перевод (постоянное поручение) между картами
+ * пользователя. Выполнения отсчитываются от времени первого выполнения, поэтому ежемесячный перевод
+ * 31-го числа не смещается на 28-е после февраля.
+ */
+@Entity
+@Table(name = "recurring_transfers")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringTransfer {
+
+    /**
+     * Уникальный идентификатор поручения.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Идентификатор владельца поручения.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Идентификатор карты-отправителя.
+     */
+    @Column(name = "from_card_id", nullable = false)
+    private Long fromCardId;
+
+    /**
+     * Идентификатор карты-получателя.
+     */
+    @Column(name = "to_card_id", nullable = false)
+    private Long toCardId;
+
+    /**
+     * Сумма перевода.
+     * Точность — 15 цифр, 2 знака после запятой.
+     */
+    @Column(name = "amount", precision = 15, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    /**
+     * Единица периода.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "interval_unit", length = 16, nullable = false)
+    private RecurringInterval intervalUnit;
+
+    /**
+     * Количество единиц в периоде.
+     */
+    @Column(name = "interval_count", nullable = false)
+    private Integer intervalCount;
+
+    /**
+     * Время первого выполнения.
+     */
+    @Column(name = "start_at", nullable = false)
+    private Timestamp startAt;
+
+    /**
+     * Время, после которого поручение завершается (опционально).
+     */
+    @Column(name = "end_at")
+    private Timestamp endAt;
+
+    /**
+     * Номер следующего выполнения, начиная с нуля.
+     */
+    @Column(name = "occurrence", nullable = false)
+    private Integer occurrence;
+
+    /**
+     * Время следующего выполнения.
+     */
+    @Column(name = "next_run_at", nullable = false)
+    private Timestamp nextRunAt;
+
+    /**
+     * Статус поручения.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private RecurringTransferStatus status;
+
+    /**
+     * Время последнего выполнения.
+     */
+    @Column(name = "last_run_at")
+    private Timestamp lastRunAt;
+
+    /**
+     * Результат последнего выполнения.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_status", length = 64)
+    private TransferStatus lastStatus;
+
+    /**
+     * Причина отказа последнего выполнения.
+     */
+    @Column(name = "last_message", length = 256)
+    private String lastMessage;
+
+    /**
+     * Время создания поручения.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Timestamp createdAt;
+
+    /**
+     * Возвращает время выполнения с указанным номером.
+     *
+     * @param occurrence номер выполнения, начиная с нуля
+     * @return время выполнения
+     */
+    public LocalDateTime occurrenceAt(int occurrence) {
+        return startAt.toLocalDateTime().plus((long) occurrence * intervalCount, intervalUnit.getUnit());
+    }
+
+    /**
+     * Переводит поручение к первому выполнению позже {@code now}, пропуская выполнения,
+     * время которых уже прошло. Если следующее выполнение позже времени окончания,
+     * поручение завершается.
+     *
+     * @param now текущее время
+     */
+    public void advanceAfter(LocalDateTime now) {
+        int next = occurrence + 1;
+        while (!occurrenceAt(next).isAfter(now)) {
+            next++;
+        }
+        occurrence = next;
+        nextRunAt = Timestamp.valueOf(occurrenceAt(next));
+        if (endAt != null && nextRunAt.after(endAt)) {
+            status = RecurringTransferStatus.COMPLETED;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package banks.card.entity;
+
+/**
+ * Перечисление {@code RecurringTransferStatus} определяет возможные статусы регулярного перевода.
+ * <p>
+ * ACTIVE - Поручение выполняется по расписанию.
+ * </p>
+ * <p>
+ * PAUSED - Поручение приостановлено администратором и не выполняется.
+ * </p>
+ * <p>
+ * CANCELLED - Поручение отменено владельцем или администратором.
+ * </p>
+ * <p>
+ * COMPLETED - Наступило время окончания поручения.
+ * </p>
+ */
+public enum RecurringTransferStatus {
+    ACTIVE,
+    PAUSED,
+    CANCELLED,
+    COMPLETED
+}
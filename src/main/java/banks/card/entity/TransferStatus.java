@@ -11,9 +11,17 @@ package banks.card.entity;
  * <p>
  * DECLINED - Транзакция отклонена (например, из-за недостатка средств или ограничений).
  * </p>
+ * <p>
+ * PENDING - Отложенный перевод записан в журнал, движение баланса ожидает дневного расчета.
+ * </p>
+ * <p>
+ * FRAUD_SUSPECTED - Транзакция отклонена правилами скорости операций как подозрительная.
+ * </p>
  */
 public enum TransferStatus {
     SUCCESS,
     FAILED,
-    DECLINED
+    DECLINED,
+    PENDING,
+    FRAUD_SUSPECTED
 }
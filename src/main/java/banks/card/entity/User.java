@@ -5,10 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
 
@@ -16,15 +20,23 @@ import java.util.List;
  * Класс {@code User} представляет сущность пользователя в системе.
  * Реализует интерфейс {@code UserDetails} для интеграции с Spring Security.
  * Содержит информацию о пользователе, такую как email, пароль, роль и список связанных карт.
+ * Хранится в кэше второго уровня: пользователь читается при каждом запросе с JWT-токеном.
+ * Удаленные пользователи ({@link #deletedAt} задано) не читаются до окончательного удаления фоновой задачей.
  */
 @Entity
 @Builder
 @Table(name = "users")
+@SQLRestriction("deleted_at IS NULL")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class User implements UserDetails {
 
+    public static final String CACHE_REGION = "users";
+
+    public static final String EMAIL_QUERY_CACHE_REGION = "users-by-email";
+
     /**
      * Уникальный идентификатор пользователя.
      */
@@ -55,11 +67,17 @@ public class User implements UserDetails {
     @Column(name = "role", nullable = false)
     private Role role;
 
+    /**
+     * Время удаления пользователя; {@code null} — пользователь не удален.
+     */
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
     /**
      * Список карт, принадлежащих пользователю.
-     * Связь типа "один ко многим", с каскадным удалением и обновлением.
+     * Связь типа "один ко многим" без каскадов: карты удаляются фоновой задачей удаления.
      */
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "user")
     private List<Card> cards;
 
     /**
@@ -0,0 +1,17 @@
+package banks.card.exception;
+
+/**
+ * Исключение {@code ArchiveRangeException} выбрасывается, когда запрошенный период выходит
+ * за горизонт архивации, а архивные транзакции для такого запроса прочитать нельзя.
+ */
+public class ArchiveRangeException extends RuntimeException {
+
+    /**
+     * Конструктор исключения с указанием сообщения об ошибке.
+     *
+     * @param message сообщение, описывающее причину исключения
+     */
+    public ArchiveRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package banks.card.exception;
+
+/**
+ * Исключение {@code FraudSuspectedException} выбрасывается, когда операция по карте нарушает
+ * одно из правил скорости операций и отклоняется как подозрительная.
+ */
+public class FraudSuspectedException extends RuntimeException {
+
+    /**
+     * Конструктор исключения с указанием сообщения об ошибке.
+     *
+     * @param message сообщение, описывающее нарушенное правило
+     */
+    public FraudSuspectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package banks.card.exception;
+
+/**
+ * Исключение {@code InvalidCursorException} выбрасывается, когда курсор постраничного чтения
+ * или синхронизации, полученный от клиента, имеет неверный формат.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Конструктор исключения с указанием сообщения об ошибке.
+     *
+     * @param message сообщение, описывающее причину исключения
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    /**
+     * Конструктор исключения с указанием сообщения и причины ошибки.
+     *
+     * @param message сообщение, описывающее причину исключения
+     * @param cause   исключение, вызвавшее ошибку разбора курсора
+     */
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
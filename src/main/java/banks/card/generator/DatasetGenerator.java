@@ -0,0 +1,331 @@
+package banks.card.generator;
+
+import banks.card.entity.CardStatus;
+import banks.card.entity.Role;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import banks.card.utils.CardMascEncryptor;
+import banks.card.utils.CopyWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Генератор синтетического набора данных: пользователи, карты и транзакции.
+ * Запускается с профилем <code>generator</code>, загружает данные командой COPY через
+ * {@link CopyManager} в одной транзакции и завершает приложение.
+ * <p>
+ * Результат полностью определяется параметрами <code>generator.seed</code> и <code>generator.reference-date</code>:
+ * даты транзакций и сроки действия карт отсчитываются от опорной даты, а не от текущей. Транзакции генерируются
+ * дважды из одного и того же начального состояния: первый проход вычисляет итоговое движение средств
+ * по каждой карте, чтобы записать карты с балансом, совпадающим с журналом; второй проход
+ * записывает сами транзакции. Каждая карта получает начальное пополнение, покрывающее списания.
+ * <p>
+ * Все пользователи получают пароль <code>generator.password</code> и email вида
+ * <code>user{N}@generated.local</code>.
+ */
+@Slf4j
+@Component
+@Profile("generator")
+public class DatasetGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {"IVAN", "PETR", "ANNA", "MARIA", "OLGA", "SERGEY", "DARYA",
+            "ALEXEY", "ELENA", "DMITRY", "NIKITA", "IRINA", "PAVEL", "TATIANA", "ANDREY", "NATALIA"};
+    private static final String[] LAST_NAMES = {"IVANOV", "PETROV", "SIDOROV", "SMIRNOV", "KUZNETSOV", "POPOV",
+            "VASILEV", "SOKOLOV", "MIKHAILOV", "NOVIKOV", "FEDOROV", "MOROZOV", "VOLKOV", "LEBEDEV"};
+    private static final int ENCRYPTION_BATCH = 10_000;
+
+    private final DataSource dataSource;
+    private final ApplicationContext context;
+    private final int users;
+    private final int cardsPerUser;
+    private final long transactions;
+    private final double zipfExponent;
+    private final int months;
+    private final double declineRate;
+    private final long seed;
+    private final LocalDate referenceDate;
+    private final String password;
+    private final boolean exitOnFinish;
+
+    public DatasetGenerator(DataSource dataSource, ApplicationContext context,
+                            @Value("${generator.users:1000}") int users,
+                            @Value("${generator.cards-per-user:2}") int cardsPerUser,
+                            @Value("${generator.transactions:100000}") long transactions,
+                            @Value("${generator.zipf-exponent:1.1}") double zipfExponent,
+                            @Value("${generator.months:12}") int months,
+                            @Value("${generator.decline-rate:0.03}") double declineRate,
+                            @Value("${generator.seed:42}") long seed,
+                            @Value("${generator.reference-date:2026-10-01}") String referenceDate,
+                            @Value("${generator.password:password}") String password,
+                            @Value("${generator.exit-on-finish:true}") boolean exitOnFinish) {
+        this.dataSource = dataSource;
+        this.context = context;
+        this.users = users;
+        this.cardsPerUser = cardsPerUser;
+        this.transactions = transactions;
+        this.zipfExponent = zipfExponent;
+        this.months = months;
+        this.declineRate = declineRate;
+        this.seed = seed;
+        this.referenceDate = LocalDate.parse(referenceDate);
+        this.password = password;
+        this.exitOnFinish = exitOnFinish;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.currentTimeMillis();
+        generate();
+        log.info("Generated {} users, {} cards and {} transactions in {} ms",
+                users, (long) users * cardsPerUser, transactions, System.currentTimeMillis() - started);
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    /**
+     * Генерирует и загружает набор данных.
+     */
+    public void generate() throws Exception {
+        int cards = Math.multiplyExact(users, cardsPerUser);
+        LocalDate to = referenceDate;
+        LocalDate from = YearMonth.from(to).minusMonths(months - 1L).atDay(1);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+            long userBase = maxId(connection, "users");
+            long cardBase = maxId(connection, "cards");
+            long transactionBase = maxId(connection, "transactions");
+
+            createPartitions(connection, from, to);
+            loadUsers(copyManager, userBase);
+
+            long[] balances = new long[cards];
+            forEachTransaction(cards, from, to, (card, counterpart, type, status, cents, date, description) -> {
+                if (status == TransferStatus.SUCCESS) {
+                    balances[card] += isCredit(type) ? cents : -cents;
+                }
+            });
+            long[] openings = openingDeposits(balances);
+            loadCards(copyManager, userBase, cardBase, balances);
+            loadTransactions(copyManager, cardBase, transactionBase, cards, from, to, openings);
+
+            resetSequence(connection, "users");
+            resetSequence(connection, "cards");
+            resetSequence(connection, "transactions");
+            connection.commit();
+        }
+    }
+
+    private void loadUsers(CopyManager copyManager, long userBase) throws SQLException {
+        SplittableRandom saltRandom = new SplittableRandom(seed);
+        String hash = BCrypt.hashpw(password, BCrypt.gensalt(10, new SecureRandom() {
+            @Override
+            public void nextBytes(byte[] bytes) {
+                saltRandom.nextBytes(bytes);
+            }
+        }));
+        try (CopyWriter writer = new CopyWriter(copyManager,
+                "COPY users (id, email, password, role) FROM STDIN WITH (FORMAT csv)")) {
+            for (int u = 0; u < users; u++) {
+                long id = userBase + u + 1;
+                writer.row(id, "user" + id + "@generated.local", hash, Role.ROLE_USER.name());
+            }
+        }
+    }
+
+    /**
+     * Дополняет движение средств по каждой карте начальным пополнением, чтобы итоговый баланс
+     * был неотрицательным. После вызова {@code balances} содержит итоговые балансы.
+     *
+     * @return суммы начальных пополнений в копейках
+     */
+    private long[] openingDeposits(long[] balances) {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        long[] openings = new long[balances.length];
+        for (int c = 0; c < balances.length; c++) {
+            openings[c] = 1_000_00L + random.nextLong(50_000_00L) + Math.max(0, -balances[c]);
+            balances[c] += openings[c];
+        }
+        return openings;
+    }
+
+    private void loadCards(CopyManager copyManager, long userBase, long cardBase, long[] balances) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        try (CopyWriter writer = new CopyWriter(copyManager,
+                "COPY cards (id, encrypted_card_number, card_holder, expiry_date, status, balance, user_id) "
+                        + "FROM STDIN WITH (FORMAT csv)")) {
+            for (int batchStart = 0; batchStart < balances.length; batchStart += ENCRYPTION_BATCH) {
+                int batchEnd = Math.min(balances.length, batchStart + ENCRYPTION_BATCH);
+                String[] encrypted = IntStream.range(batchStart, batchEnd)
+                        .parallel()
+                        .mapToObj(c -> encrypt(cardNumber(cardBase + c + 1)))
+                        .toArray(String[]::new);
+
+                for (int c = batchStart; c < batchEnd; c++) {
+                    long id = cardBase + c + 1;
+                    long userId = userBase + c / cardsPerUser + 1;
+                    String holder = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    double statusRoll = random.nextDouble();
+                    CardStatus status = statusRoll < 0.95 ? CardStatus.ACTIVE
+                            : statusRoll < 0.98 ? CardStatus.BLOCKED : CardStatus.EXPIRED;
+                    LocalDate expiry = status == CardStatus.EXPIRED
+                            ? referenceDate.minusDays(1 + random.nextInt(365))
+                            : referenceDate.plusDays(30 + random.nextInt(5 * 365));
+                    writer.row(id, encrypted[c - batchStart], holder, expiry, status.name(),
+                            BigDecimal.valueOf(balances[c], 2), userId);
+                }
+            }
+        }
+    }
+
+    private void loadTransactions(CopyManager copyManager, long cardBase, long transactionBase, int cards,
+                                  LocalDate from, LocalDate to, long[] openings) throws Exception {
+        Timestamp openingDate = Timestamp.valueOf(from.atStartOfDay());
+        try (CopyWriter writer = new CopyWriter(copyManager,
+                "COPY transactions (id, card_id, amount, transaction_type, transaction_date, description, "
+                        + "counterpart_card_id, transfer_status) FROM STDIN WITH (FORMAT csv)")) {
+            long[] nextId = {transactionBase + 1};
+            for (int c = 0; c < cards; c++) {
+                writer.row(nextId[0]++, cardBase + c + 1, BigDecimal.valueOf(openings[c], 2),
+                        TransactionType.DEPOSIT.name(), openingDate, "Initial deposit", null,
+                        TransferStatus.SUCCESS.name());
+            }
+            forEachTransaction(cards, from, to, (card, counterpart, type, status, cents, date, description) ->
+                    writer.row(nextId[0]++, cardBase + card + 1, BigDecimal.valueOf(cents, 2), type.name(), date,
+                            description, counterpart < 0 ? null : cardBase + counterpart + 1, status.name()));
+        }
+    }
+
+    /**
+     * Детерминированно перечисляет транзакции набора данных. Перевод порождает две строки
+     * (TRANSFER_OUT и TRANSFER_IN), отклоненный перевод — только исходящую строку.
+     */
+    private void forEachTransaction(int cards, LocalDate from, LocalDate to, TransactionSink sink) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed + 3);
+        ZipfSampler cardSampler = new ZipfSampler(cards, zipfExponent, random.split());
+        SeasonalDateSampler dateSampler = new SeasonalDateSampler(from, to);
+
+        long emitted = 0;
+        while (emitted < transactions) {
+            int card = cardSampler.sample(random);
+            Timestamp date = Timestamp.valueOf(dateSampler.sample(random));
+            long cents = 100 + (long) (Math.exp(random.nextDouble() * Math.log(500_000)) * 10);
+            boolean declined = random.nextDouble() < declineRate;
+            double kind = random.nextDouble();
+
+            if (kind < 0.15) {
+                sink.accept(card, -1, TransactionType.DEPOSIT, TransferStatus.SUCCESS, cents, date, "Deposit");
+                emitted++;
+            } else if (kind < 0.5 || cards == 1) {
+                sink.accept(card, -1, TransactionType.WITHDRAWAL,
+                        declined ? TransferStatus.DECLINED : TransferStatus.SUCCESS, cents, date,
+                        declined ? "Insufficient balance on source card" : "Withdrawal completed successfully");
+                emitted++;
+            } else {
+                int counterpart = cardSampler.sample(random);
+                if (counterpart == card) {
+                    counterpart = (card + 1) % cards;
+                }
+                if (declined) {
+                    sink.accept(card, counterpart, TransactionType.TRANSFER_OUT, TransferStatus.DECLINED, cents, date,
+                            "Insufficient balance on source card");
+                    emitted++;
+                } else {
+                    sink.accept(card, counterpart, TransactionType.TRANSFER_OUT, TransferStatus.SUCCESS, cents, date,
+                            "Transfer between accounts");
+                    sink.accept(counterpart, card, TransactionType.TRANSFER_IN, TransferStatus.SUCCESS, cents, date,
+                            "Replenishment from another account");
+                    emitted += 2;
+                }
+            }
+        }
+    }
+
+    private static boolean isCredit(TransactionType type) {
+        return type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER_IN;
+    }
+
+    private static void createPartitions(Connection connection, LocalDate from, LocalDate to) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT create_transactions_partition(?)")) {
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                ps.setObject(1, month.atDay(1));
+                ps.execute();
+            }
+        }
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT coalesce(max(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void resetSequence(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                    + "(SELECT coalesce(max(id), 0) + 1 FROM " + table + "), false)");
+        }
+    }
+
+    /**
+     * Формирует номер карты в формате <code>XXXX XXXX XXXX XXXX</code> с контрольной цифрой по алгоритму Луна.
+     */
+    static String cardNumber(long id) {
+        String digits = "400000" + String.format("%09d", id % 1_000_000_000L);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int d = digits.charAt(digits.length() - 1 - i) - '0';
+            if (i % 2 == 0) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+        }
+        String number = digits + (10 - sum % 10) % 10;
+        return number.substring(0, 4) + " " + number.substring(4, 8) + " "
+                + number.substring(8, 12) + " " + number.substring(12, 16);
+    }
+
+    private static String encrypt(String cardNumber) {
+        try {
+            return CardMascEncryptor.encrypt(cardNumber);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encrypt card number", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TransactionSink {
+        void accept(int card, int counterpart, TransactionType type, TransferStatus status, long cents,
+                    Timestamp date, String description) throws Exception;
+    }
+}
@@ -0,0 +1,71 @@
+package banks.card.generator;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * Выборка дат транзакций с сезонностью: пик активности в декабре и летом,
+ * больше операций в пятницу и выходные, суточный профиль с максимумом днем и вечером.
+ */
+public class SeasonalDateSampler {
+
+    private static final double[] MONTH_WEIGHTS = {0.8, 0.75, 0.9, 0.95, 1.0, 1.1, 1.15, 1.1, 0.95, 0.95, 1.05, 1.5};
+    private static final double[] HOUR_WEIGHTS = {
+            0.2, 0.1, 0.05, 0.05, 0.05, 0.1, 0.3, 0.6, 0.9, 1.0, 1.0, 1.1,
+            1.3, 1.2, 1.0, 1.0, 1.1, 1.3, 1.5, 1.4, 1.1, 0.8, 0.5, 0.3};
+    private static final double MAX_DAY_WEIGHT = 1.5 * 1.3;
+
+    private final LocalDate from;
+    private final int days;
+    private final double[] hourCdf = new double[HOUR_WEIGHTS.length];
+
+    /**
+     * @param from первый день диапазона
+     * @param to   последний день диапазона (включительно)
+     */
+    public SeasonalDateSampler(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        double sum = 0;
+        for (int h = 0; h < HOUR_WEIGHTS.length; h++) {
+            sum += HOUR_WEIGHTS[h];
+            hourCdf[h] = sum;
+        }
+        for (int h = 0; h < hourCdf.length; h++) {
+            hourCdf[h] /= sum;
+        }
+    }
+
+    /**
+     * Возвращает случайный момент времени из диапазона с учетом сезонности.
+     *
+     * @param random источник случайности
+     * @return дата и время транзакции
+     */
+    public LocalDateTime sample(SplittableRandom random) {
+        LocalDate day;
+        do {
+            day = from.plusDays(random.nextInt(days));
+        } while (random.nextDouble() * MAX_DAY_WEIGHT > dayWeight(day));
+
+        double u = random.nextDouble();
+        int hour = 0;
+        while (hour < hourCdf.length - 1 && hourCdf[hour] < u) {
+            hour++;
+        }
+        return day.atTime(hour, random.nextInt(60), random.nextInt(60));
+    }
+
+    private static double dayWeight(LocalDate day) {
+        DayOfWeek dow = day.getDayOfWeek();
+        double weekday = switch (dow) {
+            case FRIDAY, SATURDAY -> 1.3;
+            case SUNDAY -> 1.1;
+            default -> 1.0;
+        };
+        return MONTH_WEIGHTS[day.getMonthValue() - 1] * weekday;
+    }
+}
@@ -0,0 +1,63 @@
+package banks.card.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Выборка по закону Ципфа: элемент ранга {@code k} выбирается с вероятностью,
+ * пропорциональной {@code 1 / k^s}. Используется для моделирования «горячих» карт,
+ * на которые приходится большая часть транзакций.
+ * <p>
+ * Ранги перемешиваются детерминированной перестановкой, чтобы «горячие» карты были
+ * распределены по всему диапазону идентификаторов, а не сосредоточены в его начале.
+ */
+public class ZipfSampler {
+
+    private final double[] cdf;
+    private final int[] permutation;
+
+    /**
+     * @param size     количество элементов
+     * @param exponent показатель распределения {@code s}; 0 дает равномерное распределение
+     * @param random   генератор для перестановки рангов
+     */
+    public ZipfSampler(int size, double exponent, SplittableRandom random) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        cdf = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= sum;
+        }
+
+        permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+    }
+
+    /**
+     * Возвращает индекс элемента в диапазоне {@code [0, size)}.
+     *
+     * @param random источник случайности
+     * @return индекс выбранного элемента
+     */
+    public int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return permutation[Math.min(rank, cdf.length - 1)];
+    }
+}
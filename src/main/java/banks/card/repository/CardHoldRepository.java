@@ -0,0 +1,29 @@
+package banks.card.repository;
+
+import banks.card.entity.CardHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий {@code CardHoldRepository} предоставляет методы для работы с сущностью {@link CardHold}.
+ */
+@Repository
+public interface CardHoldRepository extends JpaRepository<CardHold, Long> {
+
+    /**
+     * Находит холд карты по идентификатору и блокирует его строку до конца транзакции.
+     *
+     * @param id     идентификатор холда
+     * @param cardId идентификатор карты, которой должен принадлежать холд
+     * @return {@code Optional}, содержащий заблокированный холд, или пустой, если холд не найден
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM CardHold h WHERE h.id = :id AND h.card.id = :cardId")
+    Optional<CardHold> findByIdAndCardIdForUpdate(@Param("id") Long id, @Param("cardId") Long cardId);
+}
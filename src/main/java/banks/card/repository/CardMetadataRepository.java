@@ -0,0 +1,21 @@
+package banks.card.repository;
+
+import banks.card.entity.CardMetadata;
+import org.springframework.data.repository.Repository;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий {@code CardMetadataRepository} предоставляет доступ только для чтения
+ * к кэшируемому представлению {@link CardMetadata}.
+ */
+public interface CardMetadataRepository extends Repository<CardMetadata, Long> {
+
+    /**
+     * Находит данные карты по идентификатору; повторные вызовы обслуживаются кэшем второго уровня.
+     *
+     * @param id идентификатор карты
+     * @return {@code Optional}, содержащий данные карты, или пустой, если карта не найдена
+     */
+    Optional<CardMetadata> findById(Long id);
+}
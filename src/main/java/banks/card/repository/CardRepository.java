@@ -2,14 +2,21 @@ package banks.card.repository;
 
 import banks.card.entity.Card;
 import banks.card.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий {@code CardRepository} предоставляет методы для работы с сущностью {@code Card} в базе данных.
@@ -32,4 +39,46 @@ public interface CardRepository extends JpaRepository<Card, Long> , JpaSpecifica
         Specification<Card> combinedSpec = userSpec.and(spec);
         return findAll(combinedSpec, pageable);
     }
+
+    /**
+     * Находит карту по идентификатору и блокирует ее строку до конца транзакции
+     * (<code>SELECT ... FOR UPDATE</code>). Используется для чтения и изменения баланса.
+     *
+     * @param id идентификатор карты
+     * @return {@code Optional}, содержащий заблокированную карту, или пустой, если карта не найдена
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.id = :id")
+    Optional<Card> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Устанавливает количество корзин раздельного баланса карты.
+     *
+     * @param id      идентификатор карты
+     * @param buckets количество корзин, 0 — выключить раздельный баланс
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query(value = "UPDATE cards SET balance_buckets = :buckets WHERE id = :id", nativeQuery = true)
+    int updateBalanceBuckets(@Param("id") Long id, @Param("buckets") int buckets);
+
+    /**
+     * Находит идентификаторы неудаленных карт пользователя.
+     *
+     * @param userId идентификатор пользователя
+     * @return идентификаторы карт
+     */
+    @Query("SELECT c.id FROM Card c WHERE c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Помечает удаленными все неудаленные карты пользователя.
+     *
+     * @param userId    идентификатор пользователя
+     * @param deletedAt время удаления
+     * @return количество помеченных карт
+     */
+    @Modifying
+    @Query("UPDATE Card c SET c.deletedAt = :deletedAt WHERE c.user.id = :userId AND c.deletedAt IS NULL")
+    int markDeletedByUserId(@Param("userId") Long userId, @Param("deletedAt") Timestamp deletedAt);
 }
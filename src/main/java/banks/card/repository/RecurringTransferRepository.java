@@ -0,0 +1,80 @@
+package banks.card.repository;
+
+import banks.card.entity.RecurringTransfer;
+import banks.card.entity.RecurringTransferStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий {@code RecurringTransferRepository} предоставляет методы для работы с сущностью {@link RecurringTransfer}.
+ */
+@Repository
+public interface RecurringTransferRepository extends JpaRepository<RecurringTransfer, Long> {
+
+    /**
+     * Находит поручения пользователя.
+     *
+     * @param userId   идентификатор пользователя
+     * @param pageable параметры пагинации
+     * @return страница поручений
+     */
+    Page<RecurringTransfer> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Находит поручения с указанным статусом.
+     *
+     * @param status   статус поручения
+     * @param pageable параметры пагинации
+     * @return страница поручений
+     */
+    Page<RecurringTransfer> findByStatus(RecurringTransferStatus status, Pageable pageable);
+
+    /**
+     * Находит поручение по идентификатору и блокирует его строку до конца транзакции,
+     * чтобы изменение статуса не перезаписало результат одновременного выполнения.
+     *
+     * @param id идентификатор поручения
+     * @return {@code Optional}, содержащий заблокированное поручение, или пустой, если поручение не найдено
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringTransfer r WHERE r.id = :id")
+    Optional<RecurringTransfer> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Находит активные поручения, следующее выполнение которых наступит раньше {@code before}.
+     *
+     * @param before   граница времени выполнения
+     * @param pageable ограничение количества поручений
+     * @return поручения в порядке времени выполнения
+     */
+    @Query("SELECT r FROM RecurringTransfer r WHERE r.status = banks.card.entity.RecurringTransferStatus.ACTIVE "
+            + "AND r.nextRunAt < :before ORDER BY r.nextRunAt")
+    List<RecurringTransfer> findActiveDueBefore(@Param("before") Timestamp before, Pageable pageable);
+
+    /**
+     * Находит активное поручение, время выполнения которого наступило, и блокирует его строку.
+     * Строка, заблокированная другой транзакцией, пропускается ({@code SKIP LOCKED}),
+     * поэтому одно выполнение не может быть запущено дважды.
+     *
+     * @param id  идентификатор поручения
+     * @param now текущее время
+     * @return {@code Optional}, содержащий заблокированное поручение, или пустой, если выполнять нечего
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM RecurringTransfer r WHERE r.id = :id "
+            + "AND r.status = banks.card.entity.RecurringTransferStatus.ACTIVE AND r.nextRunAt <= :now")
+    Optional<RecurringTransfer> findDueForUpdate(@Param("id") Long id, @Param("now") Timestamp now);
+}
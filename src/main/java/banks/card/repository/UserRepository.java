@@ -2,9 +2,12 @@ package banks.card.repository;
 
 import banks.card.entity.Role;
 import banks.card.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -18,10 +21,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Находит пользователя по его электронной почте.
+     * Результат запроса хранится в регионе кэша запросов {@value User#EMAIL_QUERY_CACHE_REGION}
+     * и сбрасывается при любом изменении таблицы users на этом экземпляре, а на остальных —
+     * при рассылке инвалидации пользователя.
      *
      * @param email электронная почта пользователя
      * @return {@code Optional}, содержащий найденного пользователя, или пустой, если пользователь не найден
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = User.EMAIL_QUERY_CACHE_REGION)
+    })
     Optional<User> findByEmail(String email);
 
     /**
@@ -0,0 +1,62 @@
+package banks.card.service.Impl.admin;
+
+import banks.card.dto.out.cache.CacheRegionStatisticsResponse;
+import banks.card.dto.out.cache.CacheStatisticsResponse;
+import banks.card.service.cache.LocalCacheEvictor;
+import banks.card.service.services.amin.CacheAdminService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Реализация {@link CacheAdminService} на основе статистики Hibernate.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheAdminServiceImpl implements CacheAdminService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final LocalCacheEvictor cacheEvictor;
+
+    @Override
+    public CacheStatisticsResponse getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStatisticsResponse> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+
+        return new CacheStatisticsResponse(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions
+        );
+    }
+
+    @Override
+    public void evictAll() {
+        cacheEvictor.evictAll();
+    }
+
+    private CacheRegionStatisticsResponse toResponse(CacheRegionStatistics region) {
+        return new CacheRegionStatisticsResponse(
+                region.getRegionName(),
+                region.getHitCount(),
+                region.getMissCount(),
+                region.getPutCount(),
+                region.getElementCountInMemory()
+        );
+    }
+}
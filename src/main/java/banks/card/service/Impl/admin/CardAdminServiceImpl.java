@@ -2,21 +2,26 @@ package banks.card.service.Impl.admin;
 
 import banks.card.dto.in.card.CardInsertRequest;
 import banks.card.dto.in.card.CardUpdateStatusRequest;
+import banks.card.dto.in.card.UpdateBalanceBucketsRequest;
 import banks.card.dto.in.card.UpdateCardLimitRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.CardUpsertResponse;
 import banks.card.dto.out.card.ListCardResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.entity.Card;
 import banks.card.entity.CardStatus;
 import banks.card.entity.User;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.repository.CardRepository;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.CardBalanceBucketService;
 import banks.card.service.services.amin.CardAdminActionService;
+import banks.card.service.services.amin.DeletionService;
 import banks.card.service.services.user.UserUserActionService;
 import banks.card.service.mapper.CardMapper;
 import banks.card.service.specification.CardSpecification;
-import banks.card.utils.BeanUtils;
 import banks.card.utils.CardMascEncryptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +29,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 /**
  * Реализация {@link CardAdminActionService} сервиса для административных действий с банковскими картами.
  */
@@ -34,6 +42,10 @@ public class CardAdminServiceImpl implements CardAdminActionService {
     private final CardRepository cardRepository;
     private final UserUserActionService userService;
     private final CardMapper cardMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CardBalanceBucketService balanceBucketService;
+    private final DeletionService deletionService;
+    private final CardLockProvider cardLockProvider;
 
     @Override
     public Card findById(Long id) {
@@ -60,16 +72,18 @@ public class CardAdminServiceImpl implements CardAdminActionService {
     }
 
     @Override
+    @Transactional
     public CardUpsertResponse updateStatus(CardUpdateStatusRequest request, Long cardId)
             throws EntityNotFoundException {
         Card card = findById(cardId);
         card.setStatus(request.getStatus());
+        cacheInvalidationBus.publishCardChanged(cardId);
         return cardMapper.entityToUpsertResponse(card);
     }
 
     @Override
-    public void delete(Long id) {
-        cardRepository.deleteById(id);
+    public DeletionJobResponse delete(Long id) throws EntityNotFoundException {
+        return deletionService.deleteCard(id);
     }
 
     @Override
@@ -85,12 +99,39 @@ public class CardAdminServiceImpl implements CardAdminActionService {
     @Transactional
     public CardResponse updateLimit(Long cardId, UpdateCardLimitRequest request) throws EntityNotFoundException {
         Card existsCard = findById(cardId);
-        Card card = cardMapper.requestUpdateToEntity(request);
 
-        BeanUtils.copyNotNullProperties(card, existsCard);
+        if (request.getDailyLimit() != null) {
+            existsCard.setDailyLimit(request.getDailyLimit());
+        }
+        if (request.getMonthlyLimit() != null) {
+            existsCard.setMonthlyLimit(request.getMonthlyLimit());
+        }
+        if (request.getSingleTransactionLimit() != null) {
+            existsCard.setSingleTransactionLimit(request.getSingleTransactionLimit());
+        }
+        if (request.getDailyTransactionCountLimit() != null) {
+            existsCard.setDailyTransactionCountLimit(request.getDailyTransactionCountLimit());
+        }
+        Card updatedCard = cardRepository.save(existsCard);
+        cacheInvalidationBus.publishCardChanged(cardId);
+        return cardMapper.entityToResponse(updatedCard);
+    }
+
+    @Override
+    @Transactional
+    public CardResponse updateBalanceBuckets(Long cardId, UpdateBalanceBucketsRequest request)
+            throws EntityNotFoundException {
+        cardLockProvider.lock(List.of(cardId));
+        Card card = findById(cardId);
+
+        card.setBalance(card.getBalance().add(balanceBucketService.consolidate(cardId)));
+        card.setBucketBalance(BigDecimal.ZERO);
+        card.setBalanceBuckets(request.getBuckets());
+        cardRepository.updateBalanceBuckets(cardId, request.getBuckets());
+        cacheInvalidationBus.publishCardChanged(cardId);
+
         return cardMapper.entityToResponse(
-                cardRepository.save(existsCard)
+                cardRepository.save(card)
         );
     }
-
 }
@@ -0,0 +1,54 @@
+package banks.card.service.Impl.admin;
+
+import banks.card.dto.in.recurring.RecurringTransferStatusRequest;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.entity.RecurringTransfer;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.repository.RecurringTransferRepository;
+import banks.card.service.mapper.RecurringTransferMapper;
+import banks.card.service.services.amin.RecurringTransferAdminActionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Реализация {@link RecurringTransferAdminActionService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringTransferAdminServiceImpl implements RecurringTransferAdminActionService {
+
+    private final RecurringTransferRepository recurringTransferRepository;
+    private final RecurringTransferMapper recurringTransferMapper;
+
+    @Override
+    public ListRecurringTransferResponse getAll(RecurringTransferStatus status, Pageable pageable) {
+        return recurringTransferMapper.listEntityToListResponse(status == null
+                ? recurringTransferRepository.findAll(pageable)
+                : recurringTransferRepository.findByStatus(status, pageable));
+    }
+
+    @Override
+    @Transactional
+    public RecurringTransferResponse updateStatus(Long id, RecurringTransferStatusRequest request) {
+        RecurringTransfer recurringTransfer = recurringTransferRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Recurring transfer not found by ID: " + id));
+        RecurringTransferStatus current = recurringTransfer.getStatus();
+        if (current == RecurringTransferStatus.CANCELLED || current == RecurringTransferStatus.COMPLETED) {
+            throw new IllegalStateException("Recurring transfer is already " + current.name().toLowerCase());
+        }
+
+        recurringTransfer.setStatus(request.getStatus());
+        LocalDateTime now = LocalDateTime.now();
+        if (current == RecurringTransferStatus.PAUSED && request.getStatus() == RecurringTransferStatus.ACTIVE
+                && !recurringTransfer.getNextRunAt().toLocalDateTime().isAfter(now)) {
+            recurringTransfer.advanceAfter(now);
+        }
+        return recurringTransferMapper.entityToResponse(recurringTransferRepository.save(recurringTransfer));
+    }
+}
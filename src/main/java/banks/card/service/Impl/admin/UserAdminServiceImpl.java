@@ -4,12 +4,15 @@ import banks.card.dto.in.user.UserCreateRequest;
 import banks.card.dto.in.user.UserPasswordResetRequest;
 import banks.card.dto.in.user.UserUpdateRequest;
 import banks.card.dto.out.MessageResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.user.ListUserResponse;
 import banks.card.dto.out.user.UserResponse;
 import banks.card.entity.Role;
 import banks.card.entity.User;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.repository.UserRepository;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.services.amin.DeletionService;
 import banks.card.service.services.amin.UserAdminActionService;
 import banks.card.service.mapper.UserMapper;
 import banks.card.utils.BeanUtils;
@@ -18,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Реализация {@link UserAdminActionService} сервиса для административных действий с пользователями.
@@ -29,6 +33,8 @@ public class UserAdminServiceImpl implements UserAdminActionService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final DeletionService deletionService;
 
     @Override
     public User findById(Long id) {
@@ -61,6 +67,7 @@ public class UserAdminServiceImpl implements UserAdminActionService {
     }
 
     @Override
+    @Transactional
     public UserResponse update(Long userId, UserUpdateRequest request) throws EntityNotFoundException {
         User actualUser = findById(userId);
         User user = userMapper.updateRequestToEntity(request);
@@ -68,19 +75,22 @@ public class UserAdminServiceImpl implements UserAdminActionService {
         BeanUtils.copyNotNullProperties(user, actualUser);
 
         User updateUser = userRepository.save(actualUser);
+        cacheInvalidationBus.publishUserChanged(userId);
         return userMapper.entityToResponse(updateUser);
     }
 
     @Override
+    @Transactional
     public MessageResponse passwordReset(Long userId, UserPasswordResetRequest request) throws EntityNotFoundException {
         User actualUser = findById(userId);
         actualUser.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(actualUser);
+        cacheInvalidationBus.publishUserChanged(userId);
         return new MessageResponse("Password reset successfully");
     }
 
     @Override
-    public void delete(Long userId) {
-        userRepository.deleteById(userId);
+    public DeletionJobResponse delete(Long userId) throws EntityNotFoundException {
+        return deletionService.deleteUser(userId);
     }
 }
@@ -0,0 +1,63 @@
+package banks.card.service.Impl.archive;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Comparator;
+
+/**
+ * Транзакция, перенесенная из базы данных в архивный сегмент.
+ * Содержит те же данные, что и строка таблицы <code>transactions</code>,
+ * но ссылается на карты только по идентификаторам.
+ */
+@Data
+@AllArgsConstructor
+public class ArchivedTransaction {
+
+    /**
+     * Порядок от новых к старым: по убыванию даты, при равной дате — по убыванию идентификатора.
+     */
+    public static final Comparator<ArchivedTransaction> NEWEST_FIRST =
+            Comparator.comparing(ArchivedTransaction::getTransactionDate)
+                    .thenComparing(ArchivedTransaction::getId)
+                    .reversed();
+
+    private Long id;
+
+    private Long cardId;
+
+    private Long counterpartCardId;
+
+    private BigDecimal amount;
+
+    private TransactionType transactionType;
+
+    private TransferStatus transferStatus;
+
+    private Timestamp transactionDate;
+
+    private String description;
+
+    /**
+     * Проверяет, удовлетворяет ли транзакция фильтру.
+     *
+     * @param filter параметры фильтрации, может быть {@code null}
+     * @return {@code true}, если транзакция проходит фильтр
+     */
+    public boolean matches(TransactionFilterRequest filter) {
+        if (filter == null) {
+            return true;
+        }
+        return (filter.getType() == null || filter.getType() == transactionType)
+                && (filter.getStatus() == null || filter.getStatus() == transferStatus)
+                && (filter.getMinAmount() == null || amount.compareTo(filter.getMinAmount()) >= 0)
+                && (filter.getMaxAmount() == null || amount.compareTo(filter.getMaxAmount()) <= 0)
+                && (filter.getDateFrom() == null || !transactionDate.before(filter.getDateFrom()))
+                && (filter.getDateTo() == null || !transactionDate.after(filter.getDateTo()));
+    }
+}
@@ -0,0 +1,407 @@
+package banks.card.service.Impl.archive;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import banks.card.service.services.TransactionArchiveService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Реализация {@link TransactionArchiveService}.
+ * <p>
+ * Архивация идет порциями по ключу (card_id, id): каждая порция записывается в отдельный сегмент
+ * в каталоге <code>transactions.archive.directory</code>, общем для всех экземпляров приложения.
+ * Затем в одной транзакции сегмент регистрируется в <code>transaction_archive_segments</code>, его блоки
+ * по картам записываются в индекс <code>transaction_archive_index</code>, а строки удаляются из базы данных.
+ * Поэтому сегмент становится виден всем экземплярам одновременно с удалением строк, а сегмент,
+ * транзакция которого не зафиксировалась, никогда не читается и удаляется.
+ * <p>
+ * Чтение находит по индексу только блоки нужной карты, пересекающиеся с фильтром по дате, и хранит
+ * в памяти не больше запрошенного числа транзакций. В порядке {@link ArchivedTransaction#NEWEST_FIRST}
+ * блоки читаются от новых к старым, и чтение прекращается, как только следующий блок старше всех
+ * отобранных транзакций. Количество транзакций считается по индексу, а распаковываются только блоки,
+ * частично попадающие в фильтр. Открытыми остаются не больше <code>transactions.archive.open-segments</code>
+ * последних использованных сегментов. Сегменты прежнего формата имени, найденные в каталоге без
+ * регистрации, регистрируются при следующем запуске архивации.
+ */
+@Slf4j
+@Service
+public class TransactionArchiveServiceImpl implements TransactionArchiveService {
+
+    static final String SEGMENT_PREFIX = "part-";
+    static final String LEGACY_SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String SELECT_CHUNK_SQL = """
+            SELECT id, card_id, counterpart_card_id, amount, transaction_type, transfer_status,
+                   transaction_date, description
+            FROM transactions
+            WHERE transaction_date < ? AND (card_id, id) > (?, ?) AND transfer_status <> 'PENDING'
+            ORDER BY card_id, id
+            LIMIT ?
+            """;
+
+    /**
+     * Удаляет заархивированные строки и в том же операторе переносит их итоговое движение средств
+     * в <code>card_archived_totals</code>, чтобы сверка баланса учитывала архив.
+     */
+    private static final String DELETE_CHUNK_SQL = """
+            WITH deleted AS (
+                DELETE FROM transactions
+                WHERE transaction_date < ? AND id = ANY (?) AND transfer_status <> 'PENDING'
+                RETURNING card_id, amount, transaction_type, transfer_status
+            )
+            INSERT INTO card_archived_totals (card_id, net_amount)
+            SELECT card_id,
+                   sum(CASE WHEN transaction_type IN ('DEPOSIT', 'TRANSFER_IN') THEN amount ELSE -amount END)
+            FROM deleted
+            WHERE transfer_status = 'SUCCESS'
+            GROUP BY card_id
+            ON CONFLICT (card_id) DO UPDATE SET net_amount = card_archived_totals.net_amount + excluded.net_amount
+            """;
+
+    private static final String NEXT_SEGMENT_ID_SQL = "SELECT nextval('transaction_archive_segments_id_seq')";
+
+    private static final String INSERT_SEGMENT_SQL = "INSERT INTO transaction_archive_segments (id, name) VALUES (?, ?)";
+
+    private static final String REGISTER_SEGMENT_SQL = """
+            INSERT INTO transaction_archive_segments (name) VALUES (?)
+            ON CONFLICT (name) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String INSERT_INDEX_SQL = """
+            INSERT INTO transaction_archive_index (card_id, segment_id, min_date, max_date, row_count)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String FIND_BLOCKS_SQL = """
+            SELECT s.name, i.min_date, i.max_date, i.row_count
+            FROM transaction_archive_index i
+            JOIN transaction_archive_segments s ON s.id = i.segment_id
+            WHERE i.card_id = ?%s
+            ORDER BY i.max_date DESC, s.id DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int horizonDays;
+    private final int chunkSize;
+    private final Map<String, TransactionSegment> opened;
+
+    public TransactionArchiveServiceImpl(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${transactions.archive.directory:archive/transactions}") String directory,
+                                         @Value("${transactions.archive.horizon-days:90}") int horizonDays,
+                                         @Value("${transactions.archive.chunk-size:50000}") int chunkSize,
+                                         @Value("${transactions.archive.open-segments:256}") int openSegments) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Path.of(directory);
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+        this.opened = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TransactionSegment> eldest) {
+                return size() > openSegments;
+            }
+        });
+    }
+
+    @Override
+    public Timestamp getHorizon() {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(horizonDays));
+    }
+
+    @Override
+    public boolean reachesArchive(TransactionFilterRequest filter) {
+        if (filter == null) {
+            return false;
+        }
+        Timestamp horizon = getHorizon();
+        return (filter.getDateFrom() != null && filter.getDateFrom().before(horizon))
+                || (filter.getDateTo() != null && filter.getDateTo().before(horizon));
+    }
+
+    @Override
+    public synchronized long archiveOlderThanHorizon() {
+        createDirectory();
+        registerLegacySegments();
+
+        Timestamp horizon = getHorizon();
+        long archived = 0;
+        long lastCardId = 0;
+        long lastId = 0;
+
+        while (true) {
+            List<ArchivedTransaction> chunk = jdbcTemplate.query(SELECT_CHUNK_SQL, (rs, rowNum) -> {
+                long counterpart = rs.getLong("counterpart_card_id");
+                return new ArchivedTransaction(
+                        rs.getLong("id"),
+                        rs.getLong("card_id"),
+                        rs.wasNull() ? null : counterpart,
+                        rs.getBigDecimal("amount"),
+                        TransactionType.valueOf(rs.getString("transaction_type")),
+                        TransferStatus.valueOf(rs.getString("transfer_status")),
+                        rs.getTimestamp("transaction_date"),
+                        rs.getString("description"));
+            }, horizon, lastCardId, lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            archiveChunk(horizon, chunk);
+
+            archived += chunk.size();
+            ArchivedTransaction last = chunk.get(chunk.size() - 1);
+            lastCardId = last.getCardId();
+            lastId = last.getId();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} transactions older than {}", archived, horizon);
+        }
+        return archived;
+    }
+
+    @Override
+    public List<ArchivedTransaction> findCardTransactions(Long cardId, TransactionFilterRequest filter,
+                                                          Comparator<ArchivedTransaction> order, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        long from = dateFrom(filter);
+        long to = dateTo(filter);
+        boolean newestFirst = order == ArchivedTransaction.NEWEST_FIRST;
+
+        PriorityQueue<ArchivedTransaction> top = new PriorityQueue<>(Math.min(limit, 1024), order.reversed());
+        Set<Long> seen = new HashSet<>();
+        for (IndexedBlock block : findBlocks(cardId, filter)) {
+            if (newestFirst && top.size() == limit && block.getMaxDate() < top.peek().getTransactionDate().getTime()) {
+                break;
+            }
+            for (ArchivedTransaction transaction : segment(block.getName()).read(cardId, from, to)) {
+                if (!transaction.matches(filter) || !seen.add(transaction.getId())) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(transaction);
+                } else if (order.compare(transaction, top.peek()) < 0) {
+                    top.poll();
+                    top.add(transaction);
+                }
+            }
+        }
+        List<ArchivedTransaction> result = new ArrayList<>(top);
+        result.sort(order);
+        return result;
+    }
+
+    @Override
+    public long countCardTransactions(Long cardId, TransactionFilterRequest filter) {
+        long from = dateFrom(filter);
+        long to = dateTo(filter);
+        boolean dateOnly = filter == null || (filter.getType() == null && filter.getStatus() == null
+                && filter.getMinAmount() == null && filter.getMaxAmount() == null);
+
+        long count = 0;
+        for (IndexedBlock block : findBlocks(cardId, filter)) {
+            if (dateOnly && block.getMinDate() >= from && block.getMaxDate() <= to) {
+                count += block.getRows();
+                continue;
+            }
+            for (ArchivedTransaction transaction : segment(block.getName()).read(cardId, from, to)) {
+                if (transaction.matches(filter)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Записывает порцию в новый сегмент и в одной транзакции регистрирует его и удаляет строки из базы данных.
+     * Если транзакция не зафиксировалась, файл сегмента удаляется.
+     */
+    private void archiveChunk(Timestamp horizon, List<ArchivedTransaction> chunk) {
+        long segmentId = jdbcTemplate.queryForObject(NEXT_SEGMENT_ID_SQL, Long.class);
+        String name = String.format("%s%019d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX);
+        Path target = directory.resolve(name);
+        TransactionSegment segment;
+        try {
+            TransactionSegment.write(target, chunk);
+            segment = TransactionSegment.open(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transaction segment " + target, e);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT_SEGMENT_SQL, segmentId, name);
+                insertIndex(segmentId, segment);
+                deleteArchived(horizon, chunk);
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+        opened.put(name, segment);
+    }
+
+    /**
+     * Регистрирует сегменты прежнего формата имени, записанные до появления общего индекса.
+     * Регистрация идемпотентна: уже зарегистрированные сегменты пропускаются.
+     */
+    private void registerLegacySegments() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                LEGACY_SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            List<Path> paths = new ArrayList<>();
+            files.forEach(paths::add);
+            paths.sort(Comparator.naturalOrder());
+            for (Path path : paths) {
+                TransactionSegment segment = TransactionSegment.open(path);
+                String name = path.getFileName().toString();
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.query(REGISTER_SEGMENT_SQL, (rs, rowNum) -> rs.getLong(1), name)
+                                .forEach(segmentId -> {
+                                    insertIndex(segmentId, segment);
+                                    log.info("Registered transaction segment {}", name);
+                                }));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to register transaction segments in " + directory, e);
+        }
+    }
+
+    private void insertIndex(long segmentId, TransactionSegment segment) {
+        List<Object[]> rows = segment.blocks().stream()
+                .map(block -> new Object[]{
+                        block.getCardId(),
+                        segmentId,
+                        new Timestamp(block.getMinDate()),
+                        new Timestamp(block.getMaxDate()),
+                        block.getRows()})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_INDEX_SQL, rows);
+    }
+
+    /**
+     * Находит по индексу блоки карты, диапазон дат которых пересекается с фильтром.
+     *
+     * @param cardId идентификатор карты
+     * @param filter параметры фильтрации, может быть {@code null}
+     * @return блоки от новых к старым по наибольшей дате
+     */
+    private List<IndexedBlock> findBlocks(Long cardId, TransactionFilterRequest filter) {
+        StringBuilder conditions = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        args.add(cardId);
+        if (filter != null && filter.getDateFrom() != null) {
+            conditions.append(" AND i.max_date >= ?");
+            args.add(filter.getDateFrom());
+        }
+        if (filter != null && filter.getDateTo() != null) {
+            conditions.append(" AND i.min_date <= ?");
+            args.add(filter.getDateTo());
+        }
+        return jdbcTemplate.query(FIND_BLOCKS_SQL.formatted(conditions), (rs, rowNum) -> new IndexedBlock(
+                rs.getString("name"),
+                rs.getTimestamp("min_date").getTime(),
+                rs.getTimestamp("max_date").getTime(),
+                rs.getInt("row_count")), args.toArray());
+    }
+
+    private static long dateFrom(TransactionFilterRequest filter) {
+        return filter != null && filter.getDateFrom() != null ? filter.getDateFrom().getTime() : Long.MIN_VALUE;
+    }
+
+    private static long dateTo(TransactionFilterRequest filter) {
+        return filter != null && filter.getDateTo() != null ? filter.getDateTo().getTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Возвращает сегмент из каталога архива, открывая его при первом обращении.
+     *
+     * @param name имя файла сегмента
+     * @return открытый сегмент
+     * @throws UncheckedIOException если файл сегмента недоступен
+     */
+    private TransactionSegment segment(String name) {
+        return opened.computeIfAbsent(name, key -> {
+            Path path = directory.resolve(key);
+            try {
+                return TransactionSegment.open(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open transaction segment " + path, e);
+            }
+        });
+    }
+
+    private void deleteArchived(Timestamp horizon, List<ArchivedTransaction> chunk) {
+        Long[] ids = chunk.stream().map(ArchivedTransaction::getId).toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE_CHUNK_SQL);
+            Array array = connection.createArrayOf("bigint", ids);
+            ps.setTimestamp(1, horizon);
+            ps.setArray(2, array);
+            return ps;
+        });
+    }
+
+    private void createDirectory() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create transaction archive " + directory, e);
+        }
+    }
+
+    /**
+     * Запись индекса архива: блок карты в сегменте.
+     */
+    @Getter
+    @AllArgsConstructor
+    static final class IndexedBlock {
+
+        private final String name;
+        private final long minDate;
+        private final long maxDate;
+        private final int rows;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete unregistered transaction segment {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package banks.card.service.Impl.archive;
+
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Неизменяемый архивный сегмент транзакций в каталоге архива.
+ * <p>
+ * Формат файла:
+ * <pre>
+ * [блок карты 1][блок карты 2]...[индекс][смещение индекса: long][MAGIC: int]
+ * </pre>
+ * Блок содержит все транзакции одной карты в столбцовом виде (идентификаторы, даты, суммы,
+ * карты-контрагенты, типы, статусы, описания), сжатый {@link Deflater}. Разреженный индекс
+ * хранит для каждой карты смещение и длину блока, число строк и диапазон дат, что позволяет
+ * читать только нужный блок и пропускать сегменты, не пересекающиеся с фильтром по дате.
+ * <p>
+ * Сегмент записывается во временный файл и атомарно переименовывается, поэтому читатели
+ * никогда не видят частично записанный файл. Чтение выполняется через отображение файла в память.
+ */
+public final class TransactionSegment {
+
+    static final int MAGIC = 0x54585347;
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int AMOUNT_SCALE = 2;
+
+    @Getter
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long[] cardIds;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final int[] rows;
+    private final long[] minDates;
+    private final long[] maxDates;
+
+    private TransactionSegment(Path path, MappedByteBuffer buffer, int cards) {
+        this.path = path;
+        this.buffer = buffer;
+        this.cardIds = new long[cards];
+        this.offsets = new long[cards];
+        this.compressedLengths = new int[cards];
+        this.rawLengths = new int[cards];
+        this.rows = new int[cards];
+        this.minDates = new long[cards];
+        this.maxDates = new long[cards];
+    }
+
+    /**
+     * Открывает сегмент и загружает его индекс.
+     *
+     * @param path путь к файлу сегмента
+     * @return открытый сегмент
+     * @throws IOException если файл не удалось прочитать или он поврежден
+     */
+    public static TransactionSegment open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.capacity();
+        if (size < FOOTER_SIZE || buffer.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IOException("Corrupted transaction segment: " + path);
+        }
+        int indexOffset = (int) buffer.getLong(size - FOOTER_SIZE);
+        ByteBuffer index = buffer.duplicate().position(indexOffset);
+        TransactionSegment segment = new TransactionSegment(path, buffer, index.getInt());
+        for (int i = 0; i < segment.cardIds.length; i++) {
+            segment.cardIds[i] = index.getLong();
+            segment.offsets[i] = index.getLong();
+            segment.compressedLengths[i] = index.getInt();
+            segment.rawLengths[i] = index.getInt();
+            segment.rows[i] = index.getInt();
+            segment.minDates[i] = index.getLong();
+            segment.maxDates[i] = index.getLong();
+        }
+        return segment;
+    }
+
+    /**
+     * Записывает сегмент. Транзакции должны быть упорядочены по карте и идентификатору.
+     * Файл сначала записывается рядом под временным именем и сбрасывается на диск,
+     * затем атомарно переименовывается в {@code target}.
+     *
+     * @param target       итоговый путь сегмента
+     * @param transactions транзакции, упорядоченные по (cardId, id)
+     * @throws IOException при ошибке записи
+     */
+    public static void write(Path target, List<ArchivedTransaction> transactions) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        int cards = 0;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                int from = 0;
+                while (from < transactions.size()) {
+                    long cardId = transactions.get(from).getCardId();
+                    int to = from;
+                    while (to < transactions.size() && transactions.get(to).getCardId() == cardId) {
+                        to++;
+                    }
+                    List<ArchivedTransaction> block = transactions.subList(from, to);
+                    byte[] raw = encode(block);
+                    byte[] compressed = compress(deflater, raw);
+
+                    indexOut.writeLong(cardId);
+                    indexOut.writeLong(channel.position());
+                    indexOut.writeInt(compressed.length);
+                    indexOut.writeInt(raw.length);
+                    indexOut.writeInt(block.size());
+                    indexOut.writeLong(block.stream().mapToLong(t -> t.getTransactionDate().getTime()).min().orElse(0));
+                    indexOut.writeLong(block.stream().mapToLong(t -> t.getTransactionDate().getTime()).max().orElse(0));
+                    writeFully(channel, ByteBuffer.wrap(compressed));
+                    cards++;
+                    from = to;
+                }
+            } finally {
+                deflater.end();
+            }
+
+            long indexOffset = channel.position();
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).putInt(0, cards);
+            writeFully(channel, header);
+            writeFully(channel, ByteBuffer.wrap(index.toByteArray()));
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE).putLong(indexOffset).putInt(MAGIC).flip();
+            writeFully(channel, footer);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Возвращает записи разреженного индекса сегмента, по одной на карту.
+     *
+     * @return блоки сегмента, упорядоченные по идентификатору карты
+     */
+    public List<Block> blocks() {
+        List<Block> blocks = new ArrayList<>(cardIds.length);
+        for (int i = 0; i < cardIds.length; i++) {
+            blocks.add(new Block(cardIds[i], rows[i], minDates[i], maxDates[i]));
+        }
+        return blocks;
+    }
+
+    /**
+     * Читает транзакции карты, дата которых попадает в интервал {@code [fromMillis, toMillis]}.
+     * Блоки, диапазон дат которых не пересекается с интервалом, не распаковываются.
+     *
+     * @param cardId     идентификатор карты
+     * @param fromMillis нижняя граница даты в миллисекундах
+     * @param toMillis   верхняя граница даты в миллисекундах
+     * @return транзакции карты из сегмента (без учета остальных условий фильтра)
+     */
+    public List<ArchivedTransaction> read(long cardId, long fromMillis, long toMillis) {
+        int i = Arrays.binarySearch(cardIds, cardId);
+        if (i < 0 || maxDates[i] < fromMillis || minDates[i] > toMillis) {
+            return List.of();
+        }
+        ByteBuffer block = buffer.slice((int) offsets[i], compressedLengths[i]);
+        byte[] raw = new byte[rawLengths[i]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted transaction segment: " + path, e);
+        } finally {
+            inflater.end();
+        }
+        try {
+            return decode(cardId, rows[i], raw);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupted transaction segment: " + path, e);
+        }
+    }
+
+    /**
+     * Запись индекса сегмента: блок транзакций одной карты.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Block {
+
+        private final long cardId;
+        private final int rows;
+        private final long minDate;
+        private final long maxDate;
+    }
+
+    private static byte[] encode(List<ArchivedTransaction> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long previousId = 0;
+        for (ArchivedTransaction t : block) {
+            out.writeLong(t.getId() - previousId);
+            previousId = t.getId();
+        }
+        for (ArchivedTransaction t : block) {
+            out.writeLong(t.getTransactionDate().getTime());
+        }
+        for (ArchivedTransaction t : block) {
+            out.writeLong(t.getAmount().setScale(AMOUNT_SCALE).unscaledValue().longValueExact());
+        }
+        for (ArchivedTransaction t : block) {
+            out.writeLong(t.getCounterpartCardId() == null ? -1 : t.getCounterpartCardId());
+        }
+        for (ArchivedTransaction t : block) {
+            out.writeUTF(t.getTransactionType().name());
+        }
+        for (ArchivedTransaction t : block) {
+            out.writeUTF(t.getTransferStatus().name());
+        }
+        for (ArchivedTransaction t : block) {
+            out.writeBoolean(t.getDescription() != null);
+            if (t.getDescription() != null) {
+                out.writeUTF(t.getDescription());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedTransaction> decode(long cardId, int count, byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        long[] ids = new long[count];
+        long previousId = 0;
+        for (int i = 0; i < count; i++) {
+            previousId += in.readLong();
+            ids[i] = previousId;
+        }
+        long[] dates = new long[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = in.readLong();
+        }
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = in.readLong();
+        }
+        long[] counterparts = new long[count];
+        for (int i = 0; i < count; i++) {
+            counterparts[i] = in.readLong();
+        }
+        TransactionType[] types = new TransactionType[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = TransactionType.valueOf(in.readUTF());
+        }
+        TransferStatus[] statuses = new TransferStatus[count];
+        for (int i = 0; i < count; i++) {
+            statuses[i] = TransferStatus.valueOf(in.readUTF());
+        }
+
+        List<ArchivedTransaction> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = in.readBoolean() ? in.readUTF() : null;
+            result.add(new ArchivedTransaction(ids[i], cardId, counterparts[i] < 0 ? null : counterparts[i],
+                    BigDecimal.valueOf(amounts[i], AMOUNT_SCALE), types[i], statuses[i],
+                    new Timestamp(dates[i]), description));
+        }
+        return result;
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
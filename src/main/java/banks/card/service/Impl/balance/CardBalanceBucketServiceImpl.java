@@ -0,0 +1,46 @@
+package banks.card.service.Impl.balance;
+
+import banks.card.service.services.CardBalanceBucketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Реализация {@link CardBalanceBucketService} на таблице <code>card_balance_buckets</code>.
+ * Корзина для зачисления выбирается по кругу, поэтому параллельные зачисления на одну карту
+ * попадают в разные строки.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardBalanceBucketServiceImpl implements CardBalanceBucketService {
+
+    private static final String CREDIT_SQL = """
+            INSERT INTO card_balance_buckets (card_id, bucket, amount)
+            VALUES (?, ?, ?)
+            ON CONFLICT (card_id, bucket) DO UPDATE SET amount = card_balance_buckets.amount + excluded.amount
+            """;
+
+    private static final String CONSOLIDATE_SQL = """
+            WITH moved AS (
+                DELETE FROM card_balance_buckets WHERE card_id = ? RETURNING amount
+            )
+            SELECT coalesce(sum(amount), 0) FROM moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicInteger nextBucket = new AtomicInteger();
+
+    @Override
+    public void credit(Long cardId, int buckets, BigDecimal amount) {
+        int bucket = Math.floorMod(nextBucket.getAndIncrement(), buckets);
+        jdbcTemplate.update(CREDIT_SQL, cardId, bucket, amount);
+    }
+
+    @Override
+    public BigDecimal consolidate(Long cardId) {
+        return jdbcTemplate.queryForObject(CONSOLIDATE_SQL, BigDecimal.class, cardId);
+    }
+}
@@ -0,0 +1,168 @@
+package banks.card.service.Impl.bulk;
+
+import banks.card.dto.in.card.BulkCardLimitRequest;
+import banks.card.dto.in.card.BulkCardStatusRequest;
+import banks.card.dto.in.card.UpdateCardLimitRequest;
+import banks.card.dto.in.filter.CardFilterRequest;
+import banks.card.dto.out.card.BulkCardUpdateResponse;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.services.amin.CardBulkUpdateService;
+import banks.card.service.specification.CardSqlSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Реализация {@link CardBulkUpdateService} на SQL-запросах к <code>cards</code>.
+ * <p>
+ * Карты изменяются частями по {@code cards.bulk-update.chunk-size} в порядке возрастания идентификатора,
+ * каждая часть в своей транзакции: строки части блокируются <code>SELECT ... ORDER BY id FOR UPDATE</code>
+ * в том же порядке, что и при переводах, и изменяются одним <code>UPDATE</code>. Следующая часть выбирается
+ * после последнего идентификатора предыдущей, поэтому большие выборки не держат блокировки всех карт сразу.
+ * Об изменении каждой карты сообщается всем экземплярам через {@link CacheInvalidationBus}.
+ */
+@Slf4j
+@Service
+public class CardBulkUpdateServiceImpl implements CardBulkUpdateService {
+
+    private static final String SELECT_CHUNK_SQL = """
+            SELECT c.id FROM cards c
+            WHERE %s
+            ORDER BY c.id
+            LIMIT :limit
+            FOR UPDATE
+            """;
+
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE cards SET status = :newStatus
+            WHERE id IN (:chunk) AND status <> :newStatus
+            RETURNING id
+            """;
+
+    private static final String UPDATE_LIMITS_SQL = """
+            UPDATE cards SET %s
+            WHERE id IN (:chunk)
+            RETURNING id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final int chunkSize;
+
+    public CardBulkUpdateServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     @Value("${cards.bulk-update.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkCardUpdateResponse updateStatus(BulkCardStatusRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource("newStatus", request.getStatus().name());
+        long affected = update(request.getFilter(), request.getIds(), UPDATE_STATUS_SQL, params);
+        log.info("Bulk status update to {} changed {} cards", request.getStatus(), affected);
+        return new BulkCardUpdateResponse(affected);
+    }
+
+    @Override
+    public BulkCardUpdateResponse updateLimits(BulkCardLimitRequest request) {
+        UpdateCardLimitRequest limits = request.getLimits();
+        List<String> assignments = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (limits.getDailyLimit() != null) {
+            assignments.add("daily_limit = :dailyLimit");
+            params.addValue("dailyLimit", limits.getDailyLimit());
+        }
+        if (limits.getMonthlyLimit() != null) {
+            assignments.add("monthly_limit = :monthlyLimit");
+            params.addValue("monthlyLimit", limits.getMonthlyLimit());
+        }
+        if (limits.getSingleTransactionLimit() != null) {
+            assignments.add("single_transaction_limit = :singleTransactionLimit");
+            params.addValue("singleTransactionLimit", limits.getSingleTransactionLimit());
+        }
+        if (limits.getDailyTransactionCountLimit() != null) {
+            assignments.add("daily_transaction_count_limit = :dailyTransactionCountLimit");
+            params.addValue("dailyTransactionCountLimit", limits.getDailyTransactionCountLimit());
+        }
+        if (assignments.isEmpty()) {
+            return new BulkCardUpdateResponse(0);
+        }
+
+        String sql = UPDATE_LIMITS_SQL.formatted(String.join(", ", assignments));
+        long affected = update(request.getFilter(), request.getIds(), sql, params);
+        log.info("Bulk limit update changed {} cards", affected);
+        return new BulkCardUpdateResponse(affected);
+    }
+
+    /**
+     * Применяет изменение к выбранным картам частями.
+     *
+     * @param filter    фильтр карт (опционально)
+     * @param ids       идентификаторы карт (опционально)
+     * @param updateSql запрос изменения части с параметром {@code :chunk}, возвращающий идентификаторы измененных карт
+     * @param params    параметры запроса изменения
+     * @return количество измененных карт
+     */
+    private long update(CardFilterRequest filter, List<Long> ids, String updateSql, MapSqlParameterSource params) {
+        if (ids != null && ids.isEmpty()) {
+            ids = null;
+        }
+        long affected = 0;
+        Long afterId = null;
+        while (true) {
+            Long from = afterId;
+            List<Long> chunkIds = ids;
+            Chunk chunk = transactionTemplate.execute(status -> updateChunk(filter, chunkIds, from, updateSql, params));
+            if (chunk == null || chunk.selected == 0) {
+                return affected;
+            }
+            affected += chunk.updated;
+            if (chunk.selected < chunkSize) {
+                return affected;
+            }
+            afterId = chunk.lastId;
+        }
+    }
+
+    private Chunk updateChunk(CardFilterRequest filter, List<Long> ids, Long afterId,
+                              String updateSql, MapSqlParameterSource params) {
+        CardSqlSpecification spec = CardSqlSpecification.filterCards("c", filter, ids, afterId);
+        spec.getParams().addValue("limit", chunkSize);
+        List<Long> chunk = jdbcTemplate.queryForList(SELECT_CHUNK_SQL.formatted(spec.getWhere()),
+                spec.getParams(), Long.class);
+        if (chunk.isEmpty()) {
+            return new Chunk(0, 0, null);
+        }
+
+        MapSqlParameterSource updateParams = new MapSqlParameterSource(params.getValues());
+        updateParams.addValue("chunk", chunk);
+        List<Long> updated = jdbcTemplate.queryForList(updateSql, updateParams, Long.class);
+        updated.forEach(cacheInvalidationBus::publishCardChanged);
+        return new Chunk(chunk.size(), updated.size(), chunk.get(chunk.size() - 1));
+    }
+
+    private static final class Chunk {
+
+        private final int selected;
+        private final int updated;
+        private final Long lastId;
+
+        private Chunk(int selected, int updated, Long lastId) {
+            this.selected = selected;
+            this.updated = updated;
+            this.lastId = lastId;
+        }
+    }
+}
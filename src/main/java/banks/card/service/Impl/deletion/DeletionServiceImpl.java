@@ -0,0 +1,247 @@
+package banks.card.service.Impl.deletion;
+
+import banks.card.dto.out.deletion.DeletionJobResponse;
+import banks.card.entity.Card;
+import banks.card.entity.User;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.repository.CardRepository;
+import banks.card.repository.UserRepository;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.services.amin.DeletionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+/**
+ * Реализация {@link DeletionService}.
+ * <p>
+ * Пользователь и карты помечаются удаленными через JPA, поэтому Hibernate сбрасывает кэш запросов
+ * по их таблицам, а данные карт дополнительно удаляются из кэшей всех экземпляров через
+ * {@link CacheInvalidationBus}. Окончательное удаление выполняется SQL-запросами без загрузки сущностей:
+ * <ol>
+ *     <li>транзакции других карт отвязываются от удаляемой карты пакетами по {@code deletion.batch-size};</li>
+ *     <li>транзакции карты удаляются пакетами по ключу индекса <code>(card_id, transaction_date)</code>;</li>
+ *     <li>удаляется строка карты, связанные холды, корзины и поручения удаляются каскадом в базе;</li>
+ *     <li>при удалении пользователя последней удаляется его строка.</li>
+ * </ol>
+ * Каждый пакет выполняется в своей транзакции вместе с обновлением счетчиков в <code>deletion_jobs</code>.
+ * Все шаги повторяемы, поэтому прерванное удаление продолжается с того места, где остановилось.
+ */
+@Slf4j
+@Service
+public class DeletionServiceImpl implements DeletionService {
+
+    static final String TARGET_CARD = "CARD";
+    static final String TARGET_USER = "USER";
+
+    static final String STATUS_RUNNING = "RUNNING";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_FAILED = "FAILED";
+
+    private static final String COLUMNS =
+            "id, target, entity_id, status, cards_deleted, transactions_deleted, created_at, finished_at, error";
+
+    static final String CREATE_JOB_SQL =
+            "INSERT INTO deletion_jobs (target, entity_id, status) VALUES (?, ?, 'PENDING') RETURNING " + COLUMNS;
+
+    static final String FIND_JOB_SQL = "SELECT " + COLUMNS + " FROM deletion_jobs WHERE id = ?";
+
+    static final String NEXT_JOB_SQL = "SELECT " + COLUMNS
+            + " FROM deletion_jobs WHERE status <> 'COMPLETED' AND id > ? ORDER BY id LIMIT 1";
+
+    static final String UPDATE_STATUS_SQL = """
+            UPDATE deletion_jobs SET status = ?, finished_at = ?, error = ? WHERE id = ?
+            """;
+
+    static final String USER_CARDS_SQL = "SELECT id FROM cards WHERE user_id = ? ORDER BY id";
+
+    static final String DETACH_COUNTERPART_SQL = """
+            UPDATE transactions SET counterpart_card_id = NULL, change_version = txid_current()
+            WHERE (id, transaction_date) IN (
+                SELECT id, transaction_date FROM transactions
+                WHERE counterpart_card_id = ?
+                LIMIT ?
+            )
+            """;
+
+    static final String BATCH_BOUND_SQL = """
+            SELECT transaction_date FROM transactions
+            WHERE card_id = ?
+            ORDER BY transaction_date
+            OFFSET ? LIMIT 1
+            """;
+
+    static final String DELETE_TRANSACTIONS_BEFORE_SQL =
+            "DELETE FROM transactions WHERE card_id = ? AND transaction_date <= ?";
+
+    static final String DELETE_REMAINING_TRANSACTIONS_SQL = "DELETE FROM transactions WHERE card_id = ?";
+
+    static final String ADD_TRANSACTIONS_SQL =
+            "UPDATE deletion_jobs SET transactions_deleted = transactions_deleted + ? WHERE id = ?";
+
+    static final String DELETE_CARD_SQL = "DELETE FROM cards WHERE id = ?";
+
+    static final String ADD_CARDS_SQL = "UPDATE deletion_jobs SET cards_deleted = cards_deleted + ? WHERE id = ?";
+
+    static final String DELETE_USER_SQL = "DELETE FROM users WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private static final RowMapper<DeletionJobResponse> JOB_MAPPER = (rs, rowNum) -> new DeletionJobResponse(
+            rs.getLong("id"),
+            rs.getString("target"),
+            rs.getLong("entity_id"),
+            rs.getString("status"),
+            rs.getInt("cards_deleted"),
+            rs.getLong("transactions_deleted"),
+            rs.getTimestamp("created_at"),
+            rs.getTimestamp("finished_at"),
+            rs.getString("error"));
+
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final int batchSize;
+
+    public DeletionServiceImpl(CardRepository cardRepository,
+                               UserRepository userRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               CacheInvalidationBus cacheInvalidationBus,
+                               @Value("${deletion.batch-size:1000}") int batchSize) {
+        this.cardRepository = cardRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public DeletionJobResponse deleteCard(Long cardId) throws EntityNotFoundException {
+        Card card = cardRepository.findByIdForUpdate(cardId)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Card not found with ID: " + cardId)
+                );
+        card.setDeletedAt(now());
+        cardRepository.save(card);
+        cacheInvalidationBus.publishCardChanged(cardId);
+        return jdbcTemplate.queryForObject(CREATE_JOB_SQL, JOB_MAPPER, TARGET_CARD, cardId);
+    }
+
+    @Override
+    @Transactional
+    public DeletionJobResponse deleteUser(Long userId) throws EntityNotFoundException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("User not found with ID: " + userId)
+                );
+        Timestamp deletedAt = now();
+        List<Long> cardIds = cardRepository.findIdsByUserId(userId);
+        cardRepository.markDeletedByUserId(userId, deletedAt);
+        user.setDeletedAt(deletedAt);
+        userRepository.save(user);
+
+        cardIds.forEach(cacheInvalidationBus::publishCardChanged);
+        cacheInvalidationBus.publishUserChanged(userId);
+        return jdbcTemplate.queryForObject(CREATE_JOB_SQL, JOB_MAPPER, TARGET_USER, userId);
+    }
+
+    @Override
+    public Optional<DeletionJobResponse> getJob(Long id) {
+        return jdbcTemplate.query(FIND_JOB_SQL, JOB_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<DeletionJobResponse> purgeNext(long afterId) {
+        Optional<DeletionJobResponse> next = jdbcTemplate.query(NEXT_JOB_SQL, JOB_MAPPER, afterId).stream().findFirst();
+        if (next.isEmpty()) {
+            return next;
+        }
+        DeletionJobResponse job = next.get();
+        jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_RUNNING, null, null, job.getId());
+        try {
+            purge(job);
+            jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_COMPLETED, now(), null, job.getId());
+            log.info("Deletion {} of {} {} completed", job.getId(), job.getTarget(), job.getEntityId());
+        } catch (RuntimeException e) {
+            jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_FAILED, now(), truncate(e.getMessage()), job.getId());
+            log.error("Deletion {} of {} {} failed", job.getId(), job.getTarget(), job.getEntityId(), e);
+        }
+        return getJob(job.getId());
+    }
+
+    private void purge(DeletionJobResponse job) {
+        List<Long> cardIds = TARGET_CARD.equals(job.getTarget())
+                ? List.of(job.getEntityId())
+                : jdbcTemplate.queryForList(USER_CARDS_SQL, Long.class, job.getEntityId());
+        for (Long cardId : cardIds) {
+            purgeCard(job.getId(), cardId);
+        }
+        if (TARGET_USER.equals(job.getTarget())) {
+            jdbcTemplate.update(DELETE_USER_SQL, job.getEntityId());
+        }
+    }
+
+    /**
+     * Окончательно удаляет карту и ее транзакции пакетами.
+     *
+     * @param jobId  идентификатор удаления
+     * @param cardId идентификатор карты
+     */
+    void purgeCard(long jobId, long cardId) {
+        int detached;
+        do {
+            detached = jdbcTemplate.update(DETACH_COUNTERPART_SQL, cardId, batchSize);
+        } while (detached == batchSize);
+
+        int deleted;
+        do {
+            deleted = inTransaction(() -> {
+                List<Timestamp> bound = jdbcTemplate.queryForList(BATCH_BOUND_SQL, Timestamp.class,
+                        cardId, batchSize - 1);
+                int count = bound.isEmpty()
+                        ? jdbcTemplate.update(DELETE_REMAINING_TRANSACTIONS_SQL, cardId)
+                        : jdbcTemplate.update(DELETE_TRANSACTIONS_BEFORE_SQL, cardId, bound.get(0));
+                jdbcTemplate.update(ADD_TRANSACTIONS_SQL, count, jobId);
+                return count;
+            });
+        } while (deleted > 0);
+
+        inTransaction(() -> {
+            int count = jdbcTemplate.update(DELETE_CARD_SQL, cardId);
+            jdbcTemplate.update(ADD_CARDS_SQL, count, jobId);
+            return count;
+        });
+    }
+
+    private int inTransaction(IntSupplier body) {
+        Integer result = transactionTemplate.execute(status -> body.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
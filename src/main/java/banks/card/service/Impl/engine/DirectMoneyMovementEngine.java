@@ -0,0 +1,63 @@
+package banks.card.service.Impl.engine;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.TransferException;
+import banks.card.exception.WithdrawalException;
+import banks.card.service.services.MoneyMovementEngine;
+import banks.card.service.services.MoneyMovementExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Реализация {@link MoneyMovementEngine}, выполняющая каждую операцию в отдельной транзакции
+ * в вызывающем потоке. Согласование конкурентных операций обеспечивают блокировки карт.
+ * <p>
+ * Как и в {@link ShardedMoneyMovementEngine}, отказ по бизнес-причинам ({@link TransferException},
+ * {@link WithdrawalException}, {@link EntityNotFoundException}) не откатывает транзакцию: запись
+ * об отклоненной операции фиксируется, а результат завершается исключением после фиксации.
+ */
+@Component
+@ConditionalOnProperty(name = "cards.engine.mode", havingValue = "locking", matchIfMissing = true)
+public class DirectMoneyMovementEngine implements MoneyMovementEngine {
+
+    private final MoneyMovementExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+
+    public DirectMoneyMovementEngine(MoneyMovementExecutor executor, PlatformTransactionManager transactionManager) {
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CompletableFuture<TransferResponse> submitTransfer(TransferRequest request) {
+        return execute(() -> executor.executeTransfer(request));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawalResponse> submitWithdrawal(WithdrawalRequest request) {
+        return execute(() -> executor.executeWithdrawal(request));
+    }
+
+    private <T> CompletableFuture<T> execute(Supplier<T> operation) {
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    return CompletableFuture.completedFuture(operation.get());
+                } catch (TransferException | WithdrawalException | EntityNotFoundException e) {
+                    return CompletableFuture.<T>failedFuture(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
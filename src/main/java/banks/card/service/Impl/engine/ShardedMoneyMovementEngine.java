@@ -0,0 +1,231 @@
+package banks.card.service.Impl.engine;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.TransferException;
+import banks.card.exception.WithdrawalException;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.MoneyMovementEngine;
+import banks.card.service.services.MoneyMovementExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Реализация {@link MoneyMovementEngine} с единственным писателем на карту-источник.
+ * <p>
+ * Операции распределяются по {@code cards.engine.shards} шардам по идентификатору карты-источника.
+ * Каждый шард — отдельный поток с неблокирующей очередью {@link ConcurrentLinkedQueue}:
+ * поток забирает из очереди до {@code cards.engine.batch-size} операций и выполняет их
+ * последовательно в одной транзакции (групповая фиксация). Перед выполнением пакета карты всех
+ * его операций блокируются через {@link CardLockProvider} в порядке возрастания идентификаторов,
+ * поэтому пакеты разных шардов, затрагивающие одну карту-получатель, не взаимоблокируются.
+ * Результаты операций передаются вызывающим только после фиксации пакета.
+ * <p>
+ * Отказ в операции по бизнес-причинам ({@link TransferException}, {@link WithdrawalException},
+ * {@link EntityNotFoundException}) не прерывает пакет, и запись об отклоненной операции фиксируется
+ * вместе с ним. Если пакет не удалось зафиксировать, его операции повторяются по одной
+ * в отдельных транзакциях, чтобы ошибка одной операции не затронула остальные.
+ * <p>
+ * Единственный писатель гарантируется в пределах одного экземпляра приложения; согласование
+ * нескольких экземпляров по-прежнему обеспечивает {@link CardLockProvider}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cards.engine.mode", havingValue = "sharded")
+public class ShardedMoneyMovementEngine implements MoneyMovementEngine {
+
+    private final MoneyMovementExecutor executor;
+    private final CardLockProvider cardLockProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Shard[] shards;
+    private volatile boolean running = true;
+
+    public ShardedMoneyMovementEngine(MoneyMovementExecutor executor,
+                                      CardLockProvider cardLockProvider,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${cards.engine.shards:8}") int shardCount,
+                                      @Value("${cards.engine.batch-size:64}") int batchSize,
+                                      @Value("${cards.engine.queue-capacity:10000}") int queueCapacity) {
+        this.executor = executor;
+        this.cardLockProvider = cardLockProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+            shards[i].thread.start();
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransferResponse> submitTransfer(TransferRequest request) {
+        return submit(request.getFromCardId(), () -> executor.lockedCardIds(request),
+                () -> executor.executeTransfer(request));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawalResponse> submitWithdrawal(WithdrawalRequest request) {
+        return submit(request.getCardId(), () -> List.of(request.getCardId()),
+                () -> executor.executeWithdrawal(request));
+    }
+
+    /**
+     * Останавливает шарды. Операции, оставшиеся в очередях, завершаются исключением.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            shard.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    int shardOf(Long cardId) {
+        return (int) Math.floorMod(cardId, (long) shards.length);
+    }
+
+    private <T> CompletableFuture<T> submit(Long sourceCardId, Supplier<List<Long>> cardIds, Supplier<T> action) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Money movement engine is stopped"));
+        }
+        Shard shard = shards[shardOf(sourceCardId)];
+        if (shard.size.incrementAndGet() > queueCapacity) {
+            shard.size.decrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("Card operation queue is full, retry later"));
+        }
+        Operation<T> operation;
+        try {
+            operation = new Operation<>(cardIds.get(), action);
+        } catch (RuntimeException e) {
+            shard.size.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+        shard.queue.offer(operation);
+        LockSupport.unpark(shard.thread);
+        return operation.future;
+    }
+
+    /**
+     * Выполняет пакет в одной транзакции, а при ошибке фиксации — по одной операции.
+     */
+    void executeBatch(List<Operation<?>> batch) {
+        List<Runnable> completions;
+        try {
+            completions = transactionTemplate.execute(status -> {
+                cardLockProvider.lock(batch.stream().flatMap(o -> o.cardIds.stream()).toList());
+                List<Runnable> results = new ArrayList<>(batch.size());
+                for (Operation<?> operation : batch) {
+                    results.add(operation.execute());
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Group commit of {} card operations failed, retrying one by one", batch.size(), e);
+                batch.forEach(operation -> executeBatch(List.of(operation)));
+            } else {
+                batch.get(0).future.completeExceptionally(e);
+            }
+            return;
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Операция в очереди шарда.
+     */
+    static final class Operation<T> {
+
+        private final List<Long> cardIds;
+        private final Supplier<T> action;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Operation(List<Long> cardIds, Supplier<T> action) {
+            this.cardIds = cardIds;
+            this.action = action;
+        }
+
+        CompletableFuture<T> getFuture() {
+            return future;
+        }
+
+        /**
+         * Выполняет операцию в текущей транзакции пакета.
+         *
+         * @return действие, завершающее результат операции после фиксации пакета
+         */
+        private Runnable execute() {
+            try {
+                T result = action.get();
+                return () -> future.complete(result);
+            } catch (TransferException | WithdrawalException | EntityNotFoundException e) {
+                return () -> future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Однопоточный шард с очередью операций.
+     */
+    private final class Shard {
+
+        private final ConcurrentLinkedQueue<Operation<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Thread thread;
+
+        private Shard(int index) {
+            this.thread = new Thread(this::loop, "card-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void loop() {
+            List<Operation<?>> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                Operation<?> operation;
+                while (batch.size() < batchSize && (operation = queue.poll()) != null) {
+                    batch.add(operation);
+                }
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                    continue;
+                }
+                size.addAndGet(-batch.size());
+                if (running) {
+                    try {
+                        executeBatch(batch);
+                    } catch (RuntimeException e) {
+                        log.error("Card shard {} failed to execute a batch", thread.getName(), e);
+                        batch.forEach(o -> o.future.completeExceptionally(e));
+                    }
+                } else {
+                    IllegalStateException stopped = new IllegalStateException("Money movement engine is stopped");
+                    batch.forEach(o -> o.future.completeExceptionally(stopped));
+                }
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package banks.card.service.Impl.etag;
+
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.aspect.CheckingRightsCard;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.ListingVersionService;
+import banks.card.service.services.user.UserUserActionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import static banks.card.service.security.JwtService.BEARER_PREFIX;
+
+/**
+ * Реализация {@link ListingVersionService} на версиях изменения <code>change_version</code>.
+ * <p>
+ * Версия списка складывается из числа карт, наибольшей версии строк карт и наибольшей версии их
+ * транзакций; каждая наибольшая версия читается одним спуском по индексу. Версии — идентификаторы
+ * транзакций базы данных, а транзакция с меньшим идентификатором может зафиксироваться позже. Поэтому,
+ * если наибольшая версия не меньше границы <code>txid_snapshot_xmin</code> снимка, в версию добавляется
+ * и сама граница: пока последние изменения свежее всех завершенных транзакций, версия меняется
+ * при каждом сдвиге границы, а у списков без недавних изменений остается постоянной.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListingVersionServiceImpl implements ListingVersionService {
+
+    private static final String VERSION_SQL = """
+            SELECT COUNT(*) AS cards,
+                   COALESCE(MAX(c.change_version), 0) AS card_version,
+                   COALESCE(MAX(t.change_version), 0) AS transaction_version,
+                   txid_snapshot_xmin(txid_current_snapshot()) AS horizon
+            FROM cards c
+            LEFT JOIN LATERAL (
+                SELECT MAX(tr.change_version) AS change_version
+                FROM transactions tr
+                WHERE tr.card_id = c.id
+            ) t ON TRUE
+            WHERE %s
+            """;
+
+    static final String CARDS_VERSION_SQL = VERSION_SQL.formatted("c.user_id = ?");
+
+    static final String TRANSACTIONS_VERSION_SQL = VERSION_SQL.formatted("c.id = ?");
+
+    private static final RowMapper<String> VERSION_MAPPER = (rs, rowNum) -> version(
+            rs.getLong("cards"),
+            rs.getLong("card_version"),
+            rs.getLong("transaction_version"),
+            rs.getLong("horizon"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserUserActionService userService;
+    private final JwtService jwtService;
+
+    @Override
+    public String getCardsVersion(String token) throws EntityNotFoundException {
+        String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
+        Long userId = userService.findByEmail(email).getId();
+        return jdbcTemplate.queryForObject(CARDS_VERSION_SQL, VERSION_MAPPER, userId);
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    public String getTransactionsVersion(Long cardId, String token) throws EntityNotFoundException {
+        return jdbcTemplate.queryForObject(TRANSACTIONS_VERSION_SQL, VERSION_MAPPER, cardId);
+    }
+
+    /**
+     * Составляет версию списка.
+     *
+     * @param cards              количество карт, включая помеченные удаленными
+     * @param cardVersion        наибольшая версия строк карт
+     * @param transactionVersion наибольшая версия транзакций карт
+     * @param horizon            граница завершенных транзакций снимка
+     * @return версия списка
+     */
+    static String version(long cards, long cardVersion, long transactionVersion, long horizon) {
+        String version = cards + ":" + cardVersion + ":" + transactionVersion;
+        return Math.max(cardVersion, transactionVersion) >= horizon ? version + ":" + horizon : version;
+    }
+}
@@ -0,0 +1,30 @@
+package banks.card.service.Impl.events;
+
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.events.UserEventBroker;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.CardEventService;
+import banks.card.service.services.user.UserUserActionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static banks.card.service.security.JwtService.BEARER_PREFIX;
+
+/**
+ * Реализация {@link CardEventService} на брокере {@link UserEventBroker}.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardEventServiceImpl implements CardEventService {
+
+    private final UserEventBroker broker;
+    private final UserUserActionService userService;
+    private final JwtService jwtService;
+
+    @Override
+    public SseEmitter subscribe(String token) throws EntityNotFoundException {
+        String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
+        return broker.subscribe(userService.findByEmail(email).getId());
+    }
+}
@@ -0,0 +1,48 @@
+package banks.card.service.Impl.expiry;
+
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.services.CardExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Реализация {@link CardExpiryService} на SQL-запросе к <code>cards</code>.
+ * <p>
+ * Пакет карт выбирается по частичному индексу <code>idx_cards_unexpired_expiry_date</code>.
+ * Карты, строки которых сейчас заблокированы переводами, пропускаются через
+ * <code>SKIP LOCKED</code> и переводятся в статус следующим пакетом или следующим запуском,
+ * поэтому задача не ждет завершения переводов и не задерживает их.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardExpiryServiceImpl implements CardExpiryService {
+
+    static final String EXPIRE_SQL = """
+            UPDATE cards SET status = 'EXPIRED'
+            WHERE id IN (
+                SELECT id FROM cards
+                WHERE expiry_date < ? AND status <> 'EXPIRED' AND deleted_at IS NULL
+                ORDER BY expiry_date
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Override
+    @Transactional
+    public int expireBatch(LocalDate today, int limit) {
+        List<Long> cardIds = jdbcTemplate.queryForList(EXPIRE_SQL, Long.class, Date.valueOf(today), limit);
+        cardIds.forEach(cacheInvalidationBus::publishCardChanged);
+        return cardIds.size();
+    }
+}
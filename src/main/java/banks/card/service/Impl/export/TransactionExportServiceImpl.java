@@ -0,0 +1,161 @@
+package banks.card.service.Impl.export;
+
+import banks.card.dto.in.export.ExportFormat;
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.exception.ArchiveRangeException;
+import banks.card.service.Impl.archive.ArchivedTransaction;
+import banks.card.service.aspect.CheckingRightsCard;
+import banks.card.service.services.TransactionArchiveService;
+import banks.card.service.services.TransactionExportService;
+import banks.card.service.specification.TransactionSqlSpecification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.ThrowingSupplier;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Реализация {@link TransactionExportService}.
+ * Запрос выполняется внутри транзакции только для чтения: драйвер PostgreSQL открывает
+ * серверный курсор только при отключённом autocommit и заданном размере выборки.
+ * <p>
+ * Если фильтр по дате выходит за горизонт архивации, в выгрузку карты по идентификатору
+ * подмешиваются транзакции из архивных сегментов этой карты. Архив индексирован по картам,
+ * поэтому выгрузка всех карт за такой период отклоняется.
+ */
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final String EXPORT_SQL = """
+            SELECT t.id, t.card_id, t.counterpart_card_id, t.amount, t.transaction_type,
+                   t.transfer_status, t.transaction_date, t.description
+            FROM transactions t
+            WHERE %s
+            ORDER BY t.id
+            """;
+
+    private static final Comparator<ArchivedTransaction> BY_ID = Comparator.comparing(ArchivedTransaction::getId);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionArchiveService transactionArchiveService;
+
+    public TransactionExportServiceImpl(DataSource dataSource,
+                                        TransactionArchiveService transactionArchiveService,
+                                        @Value("${export.transactions.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.transactionArchiveService = transactionArchiveService;
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional(readOnly = true)
+    public long exportUserTransactions(Long cardId, String token, TransactionFilterRequest filter, ExportFormat format,
+                                       Long afterId, ThrowingSupplier<OutputStream> out) {
+        return export(cardId, filter, format, afterId, out);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTransactions(Long cardId, TransactionFilterRequest filter, ExportFormat format,
+                                   Long afterId, ThrowingSupplier<OutputStream> out) {
+        return export(cardId, filter, format, afterId, out);
+    }
+
+    /**
+     * Выполняет запрос и построчно передаёт результат в {@link TransactionExportWriter}.
+     * Архивные транзакции карты пишутся перед живыми с большим идентификатором, поэтому
+     * порядок по идентификатору и продолжение выгрузки сохраняются.
+     *
+     * @param cardId  идентификатор карты (опционально)
+     * @param filter  параметры фильтрации
+     * @param format  формат выгрузки
+     * @param afterId идентификатор, после которого продолжить выгрузку (опционально)
+     * @param out     поставщик выходного потока
+     * @return количество выгруженных транзакций
+     * @throws ArchiveRangeException если период выходит за горизонт архивации, а карта не указана
+     */
+    private long export(Long cardId, TransactionFilterRequest filter, ExportFormat format,
+                        Long afterId, ThrowingSupplier<OutputStream> out) {
+        TransactionSqlSpecification spec = TransactionSqlSpecification.filterTransaction("t", cardId, filter, afterId);
+        Deque<ArchivedTransaction> archived = new ArrayDeque<>(archived(cardId, filter, afterId));
+
+        try (TransactionExportWriter writer = new TransactionExportWriter(format, out.get())) {
+            jdbcTemplate.query(EXPORT_SQL.formatted(spec.getWhere()), spec.getParams(), rs -> {
+                try {
+                    long id = rs.getLong("id");
+                    while (!archived.isEmpty() && archived.peekFirst().getId() < id) {
+                        write(writer, archived.pollFirst());
+                    }
+                    long counterpart = rs.getLong("counterpart_card_id");
+                    Long counterpartCardId = rs.wasNull() ? null : counterpart;
+                    writer.write(
+                            id,
+                            rs.getLong("card_id"),
+                            counterpartCardId,
+                            rs.getBigDecimal("amount"),
+                            rs.getString("transaction_type"),
+                            rs.getString("transfer_status"),
+                            rs.getTimestamp("transaction_date"),
+                            rs.getString("description"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            for (ArchivedTransaction transaction : archived) {
+                write(writer, transaction);
+            }
+            return writer.getRows();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Находит архивные транзакции карты, попадающие в выгрузку, в порядке идентификаторов.
+     *
+     * @param cardId  идентификатор карты (опционально)
+     * @param filter  параметры фильтрации
+     * @param afterId идентификатор, после которого продолжить выгрузку (опционально)
+     * @return архивные транзакции или пустой список, если фильтр не выходит за горизонт архивации
+     * @throws ArchiveRangeException если период выходит за горизонт архивации, а карта не указана
+     */
+    private List<ArchivedTransaction> archived(Long cardId, TransactionFilterRequest filter, Long afterId) {
+        if (!transactionArchiveService.reachesArchive(filter)) {
+            return List.of();
+        }
+        if (cardId == null) {
+            throw new ArchiveRangeException("Period before " + transactionArchiveService.getHorizon()
+                    + " is archived and can be exported only for a single card");
+        }
+        List<ArchivedTransaction> transactions =
+                transactionArchiveService.findCardTransactions(cardId, filter, BY_ID, Integer.MAX_VALUE);
+        if (afterId == null) {
+            return transactions;
+        }
+        return transactions.stream().filter(t -> t.getId() > afterId).toList();
+    }
+
+    private static void write(TransactionExportWriter writer, ArchivedTransaction transaction) throws IOException {
+        writer.write(
+                transaction.getId(),
+                transaction.getCardId(),
+                transaction.getCounterpartCardId(),
+                transaction.getAmount(),
+                transaction.getTransactionType().name(),
+                transaction.getTransferStatus().name(),
+                transaction.getTransactionDate(),
+                transaction.getDescription());
+    }
+}
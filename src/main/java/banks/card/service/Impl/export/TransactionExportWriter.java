@@ -0,0 +1,154 @@
+package banks.card.service.Impl.export;
+
+import banks.card.dto.in.export.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+/**
+ * Построчная запись транзакций в выходной поток в формате CSV или NDJSON.
+ * Не накапливает строки в памяти: каждая строка сразу попадает в буфер фиксированного размера.
+ */
+public class TransactionExportWriter implements Closeable {
+
+    static final String CSV_HEADER =
+            "id,card_id,counterpart_card_id,amount,transaction_type,transfer_status,transaction_date,description";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long rows;
+
+    /**
+     * Создаёт объект записи поверх указанного потока.
+     *
+     * @param format формат выгрузки
+     * @param out    выходной поток
+     * @throws IOException если не удалось создать генератор JSON
+     */
+    public TransactionExportWriter(ExportFormat format, OutputStream out) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ExportFormat.NDJSON) {
+            this.json = new JsonFactory().createGenerator(writer);
+            this.json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        } else {
+            this.json = null;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Записывает одну транзакцию.
+     *
+     * @param id                идентификатор транзакции
+     * @param cardId            идентификатор карты
+     * @param counterpartCardId идентификатор карты-контрагента (может быть {@code null})
+     * @param amount            сумма транзакции
+     * @param type              тип транзакции
+     * @param status            статус перевода
+     * @param date              дата транзакции
+     * @param description       описание (может быть {@code null})
+     * @throws IOException при ошибке записи
+     */
+    public void write(long id, long cardId, Long counterpartCardId, BigDecimal amount, String type,
+                      String status, Timestamp date, String description) throws IOException {
+        rows++;
+        if (format == ExportFormat.NDJSON) {
+            json.writeStartObject();
+            json.writeNumberField("id", id);
+            json.writeNumberField("cardId", cardId);
+            if (counterpartCardId != null) {
+                json.writeNumberField("counterpartCardId", counterpartCardId);
+            } else {
+                json.writeNullField("counterpartCardId");
+            }
+            json.writeNumberField("amount", amount);
+            json.writeStringField("transactionType", type);
+            json.writeStringField("transferStatus", status);
+            json.writeStringField("transactionDate", date.toLocalDateTime().toString());
+            json.writeStringField("description", description);
+            json.writeEndObject();
+            return;
+        }
+
+        writer.write(Long.toString(id));
+        writer.write(',');
+        writer.write(Long.toString(cardId));
+        writer.write(',');
+        if (counterpartCardId != null) {
+            writer.write(Long.toString(counterpartCardId));
+        }
+        writer.write(',');
+        writer.write(amount.toPlainString());
+        writer.write(',');
+        writer.write(type);
+        writer.write(',');
+        writer.write(status);
+        writer.write(',');
+        writer.write(date.toLocalDateTime().toString());
+        writer.write(',');
+        writeCsvValue(description);
+        writer.write('\n');
+    }
+
+    /**
+     * Возвращает количество записанных транзакций.
+     *
+     * @return количество строк
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Сбрасывает буфер и закрывает поток.
+     *
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.flush();
+            if (rows > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.close();
+    }
+
+    /**
+     * Записывает текстовое значение CSV, экранируя кавычки, запятые и переводы строк.
+     *
+     * @param value значение (может быть {@code null})
+     * @throws IOException при ошибке записи
+     */
+    private void writeCsvValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
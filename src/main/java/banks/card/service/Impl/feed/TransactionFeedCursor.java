@@ -0,0 +1,60 @@
+package banks.card.service.Impl.feed;
+
+import banks.card.exception.InvalidCursorException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в ленте транзакций: дата и идентификатор последней выданной транзакции.
+ * Передается клиенту непрозрачной строкой в Base64.
+ */
+@Getter
+class TransactionFeedCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final Timestamp transactionDate;
+    private final long id;
+
+    TransactionFeedCursor(Timestamp transactionDate, long id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+
+    /**
+     * Кодирует курсор в строку.
+     *
+     * @return курсор в Base64 без дополнения
+     */
+    String encode() {
+        String value = transactionDate.toLocalDateTime().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает курсор, полученный от клиента.
+     *
+     * @param cursor строка курсора
+     * @return курсор
+     * @throws InvalidCursorException если курсор имеет неверный формат
+     */
+    static TransactionFeedCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new InvalidCursorException("Invalid feed cursor: " + cursor);
+            }
+            return new TransactionFeedCursor(
+                    Timestamp.valueOf(LocalDateTime.parse(value.substring(0, separator))),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid feed cursor: " + cursor, e);
+        }
+    }
+}
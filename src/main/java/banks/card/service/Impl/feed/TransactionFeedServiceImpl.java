@@ -0,0 +1,102 @@
+package banks.card.service.Impl.feed;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.dto.out.transaction.TransactionFeedResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.User;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.mapper.TransactionRowMapper;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.TransactionFeedService;
+import banks.card.service.services.user.UserUserActionService;
+import banks.card.service.specification.TransactionSqlSpecification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static banks.card.service.security.JwtService.BEARER_PREFIX;
+
+/**
+ * Реализация {@link TransactionFeedService}.
+ * <p>
+ * Лента строится одним запросом: для каждой карты пользователя подзапрос <code>LATERAL</code> читает
+ * по индексу <code>(card_id, transaction_date)</code> не больше страницы транзакций старше курсора,
+ * после чего эти короткие упорядоченные списки сливаются в одну страницу. Количество прочитанных
+ * строк ограничено числом карт, умноженным на размер страницы, и не зависит ни от номера страницы,
+ * ни от количества транзакций на картах. Архивные транзакции в ленту не попадают.
+ */
+@Service
+public class TransactionFeedServiceImpl implements TransactionFeedService {
+
+    static final String FEED_SQL = """
+            SELECT t.id, t.card_id, t.counterpart_card_id, t.amount, t.transaction_type,
+                   t.transaction_date, t.description
+            FROM cards c
+            CROSS JOIN LATERAL (
+                SELECT t.id, t.card_id, t.counterpart_card_id, t.amount, t.transaction_type,
+                       t.transaction_date, t.description
+                FROM transactions t
+                WHERE t.card_id = c.id AND %s
+                ORDER BY t.transaction_date DESC, t.id DESC
+                LIMIT :limit
+            ) t
+            WHERE c.user_id = :userId AND c.deleted_at IS NULL
+            ORDER BY t.transaction_date DESC, t.id DESC
+            LIMIT :limit
+            """;
+
+    static final String CURSOR_PREDICATE = " AND t.transaction_date <= :cursorDate"
+            + " AND (t.transaction_date < :cursorDate OR t.id < :cursorId)";
+
+    private static final RowMapper<TransactionResponse> ROW_MAPPER = new TransactionRowMapper();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserUserActionService userService;
+    private final JwtService jwtService;
+    private final int maxSize;
+
+    public TransactionFeedServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                      UserUserActionService userService,
+                                      JwtService jwtService,
+                                      @Value("${feed.transactions.max-size:100}") int maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userService = userService;
+        this.jwtService = jwtService;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionFeedResponse getFeed(String token, TransactionFilterRequest filter, String cursor, int size)
+            throws EntityNotFoundException {
+        String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
+        User user = userService.findByEmail(email);
+        int pageSize = Math.max(1, Math.min(size, maxSize));
+
+        TransactionSqlSpecification spec = TransactionSqlSpecification.filterTransaction("t", null, filter, null);
+        MapSqlParameterSource params = spec.getParams()
+                .addValue("userId", user.getId())
+                .addValue("limit", pageSize + 1);
+        String where = spec.getWhere();
+        if (cursor != null && !cursor.isBlank()) {
+            TransactionFeedCursor position = TransactionFeedCursor.decode(cursor);
+            where += CURSOR_PREDICATE;
+            params.addValue("cursorDate", position.getTransactionDate())
+                    .addValue("cursorId", position.getId());
+        }
+
+        List<TransactionResponse> rows = jdbcTemplate.query(FEED_SQL.formatted(where), params, ROW_MAPPER);
+        if (rows.size() <= pageSize) {
+            return new TransactionFeedResponse(rows, null);
+        }
+        List<TransactionResponse> page = rows.subList(0, pageSize);
+        TransactionResponse last = page.get(pageSize - 1);
+        String nextCursor = new TransactionFeedCursor(last.getTransactionDate(), last.getId()).encode();
+        return new TransactionFeedResponse(List.copyOf(page), nextCursor);
+    }
+}
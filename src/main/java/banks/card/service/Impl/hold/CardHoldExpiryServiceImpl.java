@@ -0,0 +1,79 @@
+package banks.card.service.Impl.hold;
+
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.CardHoldExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Реализация {@link CardHoldExpiryService} на SQL-запросах к <code>card_holds</code>.
+ * <p>
+ * Карты с истекшими холдами блокируются через {@link CardLockProvider} в порядке возрастания
+ * идентификатора, как при переводах, после чего пакет холдов и суммы холдов карт обновляются
+ * одним запросом. Холды изменяются только под блокировкой карты, поэтому списание холда
+ * и его истечение не выполняются одновременно.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardHoldExpiryServiceImpl implements CardHoldExpiryService {
+
+    private static final String STALE_CARDS_SQL = """
+            SELECT DISTINCT card_id FROM (
+                SELECT card_id FROM card_holds
+                WHERE status = 'ACTIVE' AND expires_at <= ?
+                ORDER BY expires_at
+                LIMIT ?
+            ) stale
+            """;
+
+    private static final String EXPIRE_SQL = """
+            WITH expired AS (
+                UPDATE card_holds h SET status = 'EXPIRED', resolved_at = ?
+                WHERE h.id IN (
+                    SELECT id FROM card_holds
+                    WHERE status = 'ACTIVE' AND expires_at <= ? AND card_id = ANY(?)
+                    ORDER BY expires_at
+                    LIMIT ?
+                ) AND h.status = 'ACTIVE'
+                RETURNING h.card_id, h.amount
+            ), released AS (
+                UPDATE cards c SET held_amount = c.held_amount - t.amount
+                FROM (SELECT card_id, sum(amount) AS amount FROM expired GROUP BY card_id) t
+                WHERE c.id = t.card_id
+                RETURNING c.id
+            )
+            SELECT count(*) FROM expired
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardLockProvider cardLockProvider;
+
+    @Override
+    @Transactional
+    public int expireStale(int limit) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> cardIds = jdbcTemplate.queryForList(STALE_CARDS_SQL, Long.class, now, limit);
+        if (cardIds.isEmpty()) {
+            return 0;
+        }
+        cardLockProvider.lock(cardIds);
+
+        Long[] ids = cardIds.toArray(Long[]::new);
+        Integer expired = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPIRE_SQL);
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, connection.createArrayOf("bigint", ids));
+            ps.setInt(4, limit);
+            return ps;
+        }, rs -> rs.next() ? rs.getInt(1) : 0);
+        return expired == null ? 0 : expired;
+    }
+}
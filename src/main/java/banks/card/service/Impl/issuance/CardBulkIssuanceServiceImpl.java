@@ -0,0 +1,109 @@
+package banks.card.service.Impl.issuance;
+
+import banks.card.dto.out.card.BulkIssuanceResponse;
+import banks.card.entity.CardStatus;
+import banks.card.service.services.amin.CardBulkIssuanceService;
+import banks.card.utils.CardMascEncryptor;
+import banks.card.utils.CopyWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Реализация {@link CardBulkIssuanceService}.
+ * <p>
+ * Файл читается потоком и проходит через {@link CardIssuancePipeline}: владельцы ищутся запросом
+ * <code>email IN (...)</code> на пакет из {@code cards.bulk-issuance.batch-size} строк, номера карт шифруются
+ * в пуле из {@code cards.bulk-issuance.encrypt-parallelism} потоков, а карты записываются командой
+ * <code>COPY</code> на отдельном соединении, которое фиксируется после обработки всего файла.
+ */
+@Slf4j
+@Service
+public class CardBulkIssuanceServiceImpl implements CardBulkIssuanceService {
+
+    static final String FIND_USERS_SQL = """
+            SELECT id, email FROM users WHERE email IN (:emails) AND deleted_at IS NULL
+            """;
+
+    static final String COPY_SQL = """
+            COPY cards (encrypted_card_number, card_holder, expiry_date, status, user_id) FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ExecutorService encryptPool;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxErrors;
+
+    public CardBulkIssuanceServiceImpl(DataSource dataSource,
+                                       Validator validator,
+                                       @Value("${cards.bulk-issuance.batch-size:1000}") int batchSize,
+                                       @Value("${cards.bulk-issuance.queue-capacity:4}") int queueCapacity,
+                                       @Value("${cards.bulk-issuance.encrypt-parallelism:4}") int encryptParallelism,
+                                       @Value("${cards.bulk-issuance.max-errors:1000}") int maxErrors) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.validator = validator;
+        this.encryptPool = Executors.newFixedThreadPool(encryptParallelism);
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public BulkIssuanceResponse issue(InputStream csv) {
+        CardIssuancePipeline pipeline = new CardIssuancePipeline(validator, this::findUserIds,
+                CardMascEncryptor::encrypt, encryptPool, batchSize, queueCapacity, maxErrors);
+        long started = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                BulkIssuanceResponse response;
+                try (CopyWriter writer = new CopyWriter(new CopyManager(connection.unwrap(BaseConnection.class)), COPY_SQL)) {
+                    response = pipeline.run(csv, row -> writer.row(row.encryptedCardNumber,
+                            row.request.getCardHolder(), row.request.getExpiryDate(), CardStatus.ACTIVE.name(), row.userId));
+                }
+                connection.commit();
+                log.info("Bulk issuance issued {} of {} cards in {} ms",
+                        response.getIssued(), response.getRows(), System.currentTimeMillis() - started);
+                return response;
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk issuance failed: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        encryptPool.shutdownNow();
+    }
+
+    private Map<String, Long> findUserIds(Collection<String> emails) {
+        Map<String, Long> userIds = new HashMap<>(emails.size() * 2);
+        jdbcTemplate.query(FIND_USERS_SQL, Map.of("emails", emails),
+                rs -> {
+                    userIds.put(rs.getString("email"), rs.getLong("id"));
+                });
+        return userIds;
+    }
+}
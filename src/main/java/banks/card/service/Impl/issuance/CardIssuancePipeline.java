@@ -0,0 +1,358 @@
+package banks.card.service.Impl.issuance;
+
+import banks.card.dto.in.card.CardInsertRequest;
+import banks.card.dto.out.card.BulkIssuanceErrorResponse;
+import banks.card.dto.out.card.BulkIssuanceResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Конвейер выпуска карт из CSV-файла. Этапы выполняются в отдельных потоках и связаны очередями
+ * ограниченной длины, поэтому в памяти одновременно находится не больше нескольких пакетов строк:
+ * <ol>
+ *     <li>разбор и проверка строк теми же ограничениями, что и {@link CardInsertRequest};</li>
+ *     <li>поиск владельцев одним запросом на пакет;</li>
+ *     <li>шифрование номеров карт, пакеты шифруются параллельно в пуле {@code encryptPool};</li>
+ *     <li>запись в {@link CardSink} в вызывающем потоке в порядке строк файла.</li>
+ * </ol>
+ * Строка с ошибкой не выпускается и попадает в отчет; ошибка чтения файла или записи прерывает все этапы.
+ * Экземпляр используется для одного файла.
+ */
+class CardIssuancePipeline {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("email", "card_number", "card_holder", "expiry_date");
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * Признак конца потока пакетов, сравнивается по ссылке.
+     */
+    private static final List<Row> END = new ArrayList<>(0);
+
+    /**
+     * Поиск идентификаторов пользователей по email.
+     */
+    interface UserLookup {
+        Map<String, Long> findUserIds(Collection<String> emails);
+    }
+
+    /**
+     * Шифрование номера карты.
+     */
+    interface Encryptor {
+        String encrypt(String cardNumber) throws Exception;
+    }
+
+    /**
+     * Запись выпускаемой карты.
+     */
+    interface CardSink {
+        void write(Row row) throws Exception;
+    }
+
+    /**
+     * Строка файла, проходящая по конвейеру.
+     */
+    static final class Row {
+
+        final long line;
+        final String email;
+        final CardInsertRequest request;
+        Long userId;
+        String encryptedCardNumber;
+
+        Row(long line, String email, CardInsertRequest request) {
+            this.line = line;
+            this.email = email;
+            this.request = request;
+        }
+    }
+
+    private final Validator validator;
+    private final UserLookup userLookup;
+    private final Encryptor encryptor;
+    private final ExecutorService encryptPool;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxErrors;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<BulkIssuanceErrorResponse> errors = Collections.synchronizedList(new ArrayList<>());
+
+    CardIssuancePipeline(Validator validator, UserLookup userLookup, Encryptor encryptor, ExecutorService encryptPool,
+                         int batchSize, int queueCapacity, int maxErrors) {
+        this.validator = validator;
+        this.userLookup = userLookup;
+        this.encryptor = encryptor;
+        this.encryptPool = encryptPool;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Пропускает файл через конвейер.
+     *
+     * @param input CSV-файл с заголовком
+     * @param sink  запись выпускаемых карт
+     * @return итоги выпуска
+     * @throws IllegalStateException если чтение файла или запись карт завершились ошибкой
+     */
+    BulkIssuanceResponse run(InputStream input, CardSink sink) {
+        BlockingQueue<List<Row>> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<Row>> resolved = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<CompletableFuture<List<Row>>> encrypted = new ArrayBlockingQueue<>(queueCapacity);
+
+        ExecutorService stages = Executors.newFixedThreadPool(3);
+        Long issued;
+        try {
+            stages.execute(() -> runStage(() -> parse(input, parsed)));
+            stages.execute(() -> runStage(() -> resolve(parsed, resolved)));
+            stages.execute(() -> runStage(() -> encrypt(resolved, encrypted)));
+            issued = stage(() -> write(encrypted, sink));
+        } finally {
+            stages.shutdownNow();
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Bulk issuance failed: " + error.getMessage(), error);
+        }
+        synchronized (errors) {
+            errors.sort(Comparator.comparingLong(BulkIssuanceErrorResponse::getLine));
+            return new BulkIssuanceResponse(rows.get(), issued, failed.get(), List.copyOf(errors));
+        }
+    }
+
+    private void parse(InputStream input, BlockingQueue<List<Row>> out) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        int[] columns = header == null ? null : columns(split(header));
+        if (columns == null) {
+            reject(1, "Header must contain columns " + String.join(", ", REQUIRED_COLUMNS));
+            put(out, END);
+            return;
+        }
+
+        List<Row> batch = new ArrayList<>(batchSize);
+        long line = 1;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            rows.incrementAndGet();
+            Row row = parseRow(line, split(text), columns);
+            if (row != null) {
+                batch.add(row);
+            }
+            if (batch.size() == batchSize) {
+                put(out, batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            put(out, batch);
+        }
+        put(out, END);
+    }
+
+    private void resolve(BlockingQueue<List<Row>> in, BlockingQueue<List<Row>> out) throws Exception {
+        for (List<Row> batch = take(in); batch != END; batch = take(in)) {
+            Set<String> emails = batch.stream().map(row -> row.email).collect(Collectors.toSet());
+            Map<String, Long> userIds = userLookup.findUserIds(emails);
+            List<Row> found = new ArrayList<>(batch.size());
+            for (Row row : batch) {
+                row.userId = userIds.get(row.email);
+                if (row.userId == null) {
+                    reject(row.line, "User not found: " + row.email);
+                } else {
+                    found.add(row);
+                }
+            }
+            if (!found.isEmpty()) {
+                put(out, found);
+            }
+        }
+        put(out, END);
+    }
+
+    private void encrypt(BlockingQueue<List<Row>> in, BlockingQueue<CompletableFuture<List<Row>>> out)
+            throws Exception {
+        for (List<Row> batch = take(in); batch != END; batch = take(in)) {
+            List<Row> rowsToEncrypt = batch;
+            put(out, CompletableFuture.supplyAsync(() -> encryptBatch(rowsToEncrypt), encryptPool));
+        }
+        put(out, CompletableFuture.completedFuture(END));
+    }
+
+    private List<Row> encryptBatch(List<Row> batch) {
+        List<Row> encrypted = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            try {
+                row.encryptedCardNumber = encryptor.encrypt(row.request.getCardNumber());
+                encrypted.add(row);
+            } catch (Exception e) {
+                reject(row.line, "Card number encryption failed");
+            }
+        }
+        return encrypted;
+    }
+
+    private long write(BlockingQueue<CompletableFuture<List<Row>>> in, CardSink sink) throws Exception {
+        long issued = 0;
+        for (List<Row> batch = take(in).join(); batch != END; batch = take(in).join()) {
+            for (Row row : batch) {
+                sink.write(row);
+                issued++;
+            }
+        }
+        return issued;
+    }
+
+    private Row parseRow(long line, List<String> fields, int[] columns) {
+        int required = Arrays.stream(columns).max().orElse(0) + 1;
+        if (fields.size() < required) {
+            reject(line, "Expected at least " + required + " columns");
+            return null;
+        }
+        String email = fields.get(columns[0]).trim();
+        if (email.isEmpty()) {
+            reject(line, "Email must not be empty");
+            return null;
+        }
+        LocalDate expiryDate;
+        try {
+            expiryDate = LocalDate.parse(fields.get(columns[3]).trim());
+        } catch (DateTimeParseException e) {
+            reject(line, "Expiry date must be in format yyyy-MM-dd");
+            return null;
+        }
+        CardInsertRequest request = new CardInsertRequest(fields.get(columns[1]).trim(),
+                fields.get(columns[2]).trim(), expiryDate, null);
+        Set<ConstraintViolation<CardInsertRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            reject(line, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new Row(line, email, request);
+    }
+
+    /**
+     * Возвращает индексы обязательных столбцов в порядке {@link #REQUIRED_COLUMNS}
+     * или {@code null}, если какого-либо столбца нет.
+     */
+    private static int[] columns(List<String> header) {
+        int[] columns = new int[REQUIRED_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = header.indexOf(REQUIRED_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Разбивает строку CSV на поля. Поддерживаются поля в двойных кавычках с экранированием
+     * кавычки удвоением; перевод строки внутри поля не поддерживается.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void reject(long line, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkIssuanceErrorResponse(line, message));
+            }
+        }
+    }
+
+    private <T> T stage(Callable<T> body) {
+        try {
+            return body.call();
+        } catch (CancellationException e) {
+            return null;
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+            return null;
+        }
+    }
+
+    private void runStage(ThrowingRunnable body) {
+        stage(() -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+        while (true) {
+            T item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+            checkFailure();
+        }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+        while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkFailure();
+        }
+    }
+
+    private void checkFailure() {
+        if (failure.get() != null) {
+            throw new CancellationException("Bulk issuance aborted");
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,132 @@
+package banks.card.service.Impl.outbox;
+
+import banks.card.dto.out.outbox.OutboxStatisticsResponse;
+import banks.card.service.outbox.LedgerEvent;
+import banks.card.service.outbox.LedgerEventSink;
+import banks.card.service.services.amin.LedgerOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Реализация {@link LedgerOutboxService}.
+ * <p>
+ * Пакет событий забирается и удаляется одним запросом <code>DELETE ... RETURNING</code> по строкам,
+ * выбранным с <code>FOR UPDATE SKIP LOCKED</code>, и публикуется в той же транзакции. Строки остаются
+ * заблокированными до фиксации, поэтому ретрансляторы разных экземпляров забирают разные пакеты
+ * без ожидания друг друга, а при ошибке публикации удаление откатывается и пакет остается в очереди.
+ * Доставка выполняется не менее одного раза: если публикация прошла, а фиксация нет, пакет повторится.
+ */
+@Slf4j
+@Service
+public class LedgerOutboxServiceImpl implements LedgerOutboxService {
+
+    static final String CLAIM_SQL = """
+            DELETE FROM ledger_outbox
+            WHERE id IN (
+                SELECT id FROM ledger_outbox
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, payload, created_at,
+                      CAST(EXTRACT(EPOCH FROM clock_timestamp() - created_at) * 1000 AS bigint) AS lag_ms
+            """;
+
+    static final String PENDING_SQL = """
+            SELECT COUNT(*) AS pending,
+                   COALESCE(CAST(EXTRACT(EPOCH FROM clock_timestamp() - MIN(created_at)) * 1000 AS bigint), 0) AS age_ms
+            FROM ledger_outbox
+            """;
+
+    private static final RowMapper<LedgerEvent> EVENT_MAPPER = (rs, rowNum) -> new LedgerEvent(
+            rs.getLong("id"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at"),
+            rs.getLong("lag_ms"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerEventSink sink;
+    private final int batchSize;
+
+    private final long startedAt = System.nanoTime();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile int lastBatchSize;
+    private volatile double lastBatchThroughput;
+    private volatile long lastBatchMaxLag;
+
+    public LedgerOutboxServiceImpl(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   LedgerEventSink sink,
+                                   @Value("${outbox.relay.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int relayBatch() {
+        long started = System.nanoTime();
+        List<LedgerEvent> events;
+        try {
+            events = transactionTemplate.execute(status -> {
+                List<LedgerEvent> claimed = jdbcTemplate.query(CLAIM_SQL, EVENT_MAPPER, batchSize).stream()
+                        .sorted(Comparator.comparingLong(LedgerEvent::getId))
+                        .toList();
+                if (!claimed.isEmpty()) {
+                    sink.publish(claimed);
+                }
+                return claimed;
+            });
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        }
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        record(events, System.nanoTime() - started);
+        return events.size();
+    }
+
+    @Override
+    public OutboxStatisticsResponse getStatistics() {
+        OutboxStatisticsResponse response = jdbcTemplate.queryForObject(PENDING_SQL, (rs, rowNum) -> {
+            OutboxStatisticsResponse statistics = new OutboxStatisticsResponse();
+            statistics.setPending(rs.getLong("pending"));
+            statistics.setOldestPendingAgeMs(rs.getLong("age_ms"));
+            return statistics;
+        });
+        long total = published.sum();
+        double uptimeSeconds = Math.max(System.nanoTime() - startedAt, 1) / 1e9;
+        response.setPublished(total);
+        response.setBatches(batches.sum());
+        response.setFailures(failures.sum());
+        response.setAverageThroughputPerSecond(total / uptimeSeconds);
+        response.setLastBatchThroughputPerSecond(lastBatchThroughput);
+        response.setLastBatchSize(lastBatchSize);
+        response.setLastBatchMaxLagMs(lastBatchMaxLag);
+        return response;
+    }
+
+    private void record(List<LedgerEvent> events, long elapsedNanos) {
+        published.add(events.size());
+        batches.increment();
+        lastBatchSize = events.size();
+        lastBatchThroughput = events.size() / (Math.max(elapsedNanos, 1) / 1e9);
+        lastBatchMaxLag = events.stream().mapToLong(LedgerEvent::getLagMillis).max().orElse(0);
+        log.debug("Relayed {} ledger events up to {}", events.size(), events.get(events.size() - 1).getId());
+    }
+}
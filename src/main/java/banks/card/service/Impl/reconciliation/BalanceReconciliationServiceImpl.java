@@ -0,0 +1,87 @@
+package banks.card.service.Impl.reconciliation;
+
+import banks.card.dto.out.reconciliation.CardDriftResponse;
+import banks.card.dto.out.reconciliation.ReconciliationReportResponse;
+import banks.card.service.services.amin.BalanceReconciliationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Реализация {@link BalanceReconciliationService}.
+ * <p>
+ * Диапазон идентификаторов карт обрабатывается задачами {@link ReconciliationTask} в отдельном
+ * {@link ForkJoinPool}. Параллелизм пула ограничивает число одновременно занятых соединений
+ * с базой данных и должен быть меньше размера пула соединений.
+ */
+@Slf4j
+@Service
+public class BalanceReconciliationServiceImpl implements BalanceReconciliationService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final long rangeSize;
+    private final int maxDrifts;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReconciliationReportResponse lastReport;
+
+    public BalanceReconciliationServiceImpl(JdbcTemplate jdbcTemplate,
+                                            @Value("${reconciliation.parallelism:4}") int parallelism,
+                                            @Value("${reconciliation.range-size:10000}") long rangeSize,
+                                            @Value("${reconciliation.max-reported-drifts:1000}") int maxDrifts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pool = new ForkJoinPool(parallelism);
+        this.rangeSize = rangeSize;
+        this.maxDrifts = maxDrifts;
+    }
+
+    @Override
+    public ReconciliationReportResponse reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconciliation is already running");
+        }
+        try {
+            Timestamp startedAt = Timestamp.valueOf(LocalDateTime.now());
+            Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT min(id) AS min_id, max(id) AS max_id FROM cards");
+            ReconciliationTask.Result result = new ReconciliationTask.Result();
+            if (bounds.get("min_id") != null) {
+                long fromId = ((Number) bounds.get("min_id")).longValue();
+                long toId = ((Number) bounds.get("max_id")).longValue() + 1;
+                result = pool.invoke(new ReconciliationTask(jdbcTemplate, fromId, toId, rangeSize, maxDrifts));
+            }
+            result.drifts.sort(Comparator.comparing(CardDriftResponse::getCardId));
+
+            ReconciliationReportResponse report = new ReconciliationReportResponse(startedAt,
+                    Timestamp.valueOf(LocalDateTime.now()), result.cardsChecked, result.cardsWithDrift,
+                    result.totalDrift, result.drifts);
+            lastReport = report;
+            if (report.getCardsWithDrift() > 0) {
+                log.warn("Reconciliation found {} cards with drift, total {}",
+                        report.getCardsWithDrift(), report.getTotalDrift());
+            }
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Optional<ReconciliationReportResponse> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
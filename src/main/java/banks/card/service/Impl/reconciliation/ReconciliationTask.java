@@ -0,0 +1,105 @@
+package banks.card.service.Impl.reconciliation;
+
+import banks.card.dto.out.reconciliation.CardDriftResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Задача fork/join, сверяющая карты с идентификаторами из диапазона {@code [fromId, toId)}.
+ * Диапазон делится пополам, пока не станет не больше {@code rangeSize}; листовая задача
+ * читает карты диапазона одним запросом, который агрегирует журнал по картам, и сравнивает
+ * балансы. Каждый запрос видит согласованный снимок и не берет блокировок строк.
+ */
+class ReconciliationTask extends RecursiveTask<ReconciliationTask.Result> {
+
+    static final String RANGE_SQL = """
+            SELECT c.id,
+                   c.balance + coalesce((SELECT sum(b.amount)
+                                         FROM card_balance_buckets b
+                                         WHERE b.card_id = c.id), 0) AS balance,
+                   coalesce(l.net_amount, 0) + coalesce(a.net_amount, 0) AS ledger_balance
+            FROM cards c
+                     LEFT JOIN (SELECT t.card_id,
+                                       sum(CASE WHEN t.transaction_type IN ('DEPOSIT', 'TRANSFER_IN')
+                                                    THEN t.amount ELSE -t.amount END) AS net_amount
+                                FROM transactions t
+                                WHERE t.transfer_status = 'SUCCESS'
+                                  AND t.card_id >= ? AND t.card_id < ?
+                                GROUP BY t.card_id) l ON l.card_id = c.id
+                     LEFT JOIN card_archived_totals a ON a.card_id = c.id
+            WHERE c.id >= ? AND c.id < ? AND c.deleted_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long fromId;
+    private final long toId;
+    private final long rangeSize;
+    private final int maxDrifts;
+
+    ReconciliationTask(JdbcTemplate jdbcTemplate, long fromId, long toId, long rangeSize, int maxDrifts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.rangeSize = rangeSize;
+        this.maxDrifts = maxDrifts;
+    }
+
+    @Override
+    protected Result compute() {
+        if (toId - fromId <= rangeSize) {
+            return reconcileRange();
+        }
+        long middle = fromId + (toId - fromId) / 2;
+        ReconciliationTask left = new ReconciliationTask(jdbcTemplate, fromId, middle, rangeSize, maxDrifts);
+        ReconciliationTask right = new ReconciliationTask(jdbcTemplate, middle, toId, rangeSize, maxDrifts);
+        left.fork();
+        Result rightResult = right.compute();
+        return left.join().merge(rightResult, maxDrifts);
+    }
+
+    private Result reconcileRange() {
+        Result result = new Result();
+        jdbcTemplate.query(RANGE_SQL, rs -> {
+            BigDecimal balance = rs.getBigDecimal("balance");
+            BigDecimal ledger = rs.getBigDecimal("ledger_balance");
+            result.cardsChecked++;
+            BigDecimal drift = balance.subtract(ledger);
+            if (drift.signum() != 0) {
+                result.cardsWithDrift++;
+                result.totalDrift = result.totalDrift.add(drift);
+                if (result.drifts.size() < maxDrifts) {
+                    result.drifts.add(new CardDriftResponse(rs.getLong("id"), balance, ledger, drift));
+                }
+            }
+        }, fromId, toId, fromId, toId);
+        return result;
+    }
+
+    /**
+     * Частичный результат сверки диапазона карт.
+     */
+    static class Result {
+
+        long cardsChecked;
+        long cardsWithDrift;
+        BigDecimal totalDrift = BigDecimal.ZERO;
+        List<CardDriftResponse> drifts = new ArrayList<>();
+
+        Result merge(Result other, int maxDrifts) {
+            cardsChecked += other.cardsChecked;
+            cardsWithDrift += other.cardsWithDrift;
+            totalDrift = totalDrift.add(other.totalDrift);
+            for (CardDriftResponse drift : other.drifts) {
+                if (drifts.size() >= maxDrifts) {
+                    break;
+                }
+                drifts.add(drift);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package banks.card.service.Impl.recurring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Хешированное таймерное колесо: кольцо из {@code wheelSize} корзин, каждая из которых соответствует
+ * одному такту длительностью {@code tickMillis}. Элемент попадает в корзину по номеру такта своего срока,
+ * поэтому добавление выполняется за O(1), а продвижение колеса просматривает только корзины прошедших
+ * тактов. Элементы со сроком дальше одного оборота хранятся в той же корзине и срабатывают на нужном
+ * обороте, так как в корзине хранится абсолютный номер такта.
+ *
+ * @param <T> тип элементов
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<Entry<T>>[] buckets;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Создает колесо.
+     *
+     * @param tickMillis длительность такта в миллисекундах
+     * @param wheelSize  количество корзин, округляется вверх до степени двойки
+     * @param nowMillis  текущее время в миллисекундах
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        int buckets = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.buckets = new ArrayDeque[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * Добавляет элемент со сроком {@code deadlineMillis}. Элемент с прошедшим сроком сработает
+     * при ближайшем продвижении колеса.
+     *
+     * @param item           элемент
+     * @param deadlineMillis срок в миллисекундах
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick);
+        buckets[(int) (tick & mask)].add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Продвигает колесо до момента {@code nowMillis} и возвращает элементы, срок которых наступил.
+     * Просматривается не больше одного оборота корзин, даже если с прошлого продвижения прошло больше.
+     *
+     * @param nowMillis текущее время в миллисекундах
+     * @return элементы с наступившим сроком
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        List<T> due = new ArrayList<>();
+        if (target < currentTick) {
+            return due;
+        }
+        long last = Math.min(target, currentTick + mask);
+        for (long tick = currentTick; tick <= last; tick++) {
+            Iterator<Entry<T>> iterator = buckets[(int) (tick & mask)].iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.tick <= target) {
+                    due.add(entry.item);
+                    iterator.remove();
+                    size--;
+                }
+            }
+        }
+        currentTick = target + 1;
+        return due;
+    }
+
+    /**
+     * Возвращает количество элементов в колесе.
+     *
+     * @return количество элементов
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Удаляет все элементы из колеса.
+     */
+    public synchronized void clear() {
+        for (ArrayDeque<Entry<T>> bucket : buckets) {
+            bucket.clear();
+        }
+        size = 0;
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+        private final long tick;
+
+        private Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package banks.card.service.Impl.recurring;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.entity.RecurringTransfer;
+import banks.card.entity.TransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.TransferException;
+import banks.card.repository.RecurringTransferRepository;
+import banks.card.service.services.MoneyMovementExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Выполнение регулярных переводов, срок которых наступил.
+ * <p>
+ * Поручения делятся на части по {@code recurring.chunk-size}, части выполняются параллельно в пуле
+ * из {@code recurring.parallelism} потоков. Каждое поручение выполняется в своей транзакции: строка
+ * поручения блокируется с {@code SKIP LOCKED}, перевод проходит те же проверки, что и перевод пользователя
+ * ({@link MoneyMovementExecutor#executeTransfer}), и в той же транзакции поручение переводится
+ * к следующему выполнению. Поэтому одно выполнение не может пройти дважды, даже если его запустят
+ * два экземпляра приложения.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "recurring.enabled", havingValue = "true", matchIfMissing = true)
+public class RecurringTransferExecutor {
+
+    private static final int MAX_MESSAGE_LENGTH = 256;
+
+    private final RecurringTransferRepository recurringTransferRepository;
+    private final MoneyMovementExecutor moneyMovementExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService pool;
+    private final int chunkSize;
+
+    public RecurringTransferExecutor(RecurringTransferRepository recurringTransferRepository,
+                                     MoneyMovementExecutor moneyMovementExecutor,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${recurring.parallelism:4}") int parallelism,
+                                     @Value("${recurring.chunk-size:100}") int chunkSize) {
+        this.recurringTransferRepository = recurringTransferRepository;
+        this.moneyMovementExecutor = moneyMovementExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = Executors.newFixedThreadPool(parallelism);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Выполняет поручения параллельными частями.
+     *
+     * @param ids идентификаторы поручений
+     * @return {@link CompletableFuture}, завершающийся после выполнения всех частей
+     */
+    public CompletableFuture<Void> execute(List<Long> ids) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            futures.add(CompletableFuture.runAsync(() -> chunk.forEach(this::executeOne), pool));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Выполняет поручение, если его срок наступил и оно не выполняется другой транзакцией.
+     * Отказ в переводе записывается в поручение и не останавливает его; при непредвиденной ошибке
+     * транзакция откатывается и поручение будет выполнено при следующей загрузке.
+     *
+     * @param id идентификатор поручения
+     * @return результат перевода или пустой {@code Optional}, если перевод не выполнялся
+     */
+    Optional<TransferStatus> executeOne(Long id) {
+        try {
+            return Optional.ofNullable(transactionTemplate.execute(status -> run(id)));
+        } catch (RuntimeException e) {
+            log.error("Recurring transfer {} failed, it will be retried", id, e);
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private TransferStatus run(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<RecurringTransfer> due = recurringTransferRepository.findDueForUpdate(id, Timestamp.valueOf(now));
+        if (due.isEmpty()) {
+            return null;
+        }
+        RecurringTransfer recurringTransfer = due.get();
+        TransferRequest request = new TransferRequest(recurringTransfer.getFromCardId(),
+                recurringTransfer.getToCardId(), recurringTransfer.getAmount());
+
+        TransferStatus result;
+        String message = null;
+        try {
+            result = moneyMovementExecutor.executeTransfer(request).getStatus();
+        } catch (TransferException e) {
+            result = e.getResponse() != null && e.getResponse().getStatus() != null
+                    ? e.getResponse().getStatus()
+                    : TransferStatus.DECLINED;
+            message = e.getMessage();
+        } catch (EntityNotFoundException e) {
+            result = TransferStatus.FAILED;
+            message = e.getMessage();
+        }
+
+        recurringTransfer.setLastRunAt(Timestamp.valueOf(now));
+        recurringTransfer.setLastStatus(result);
+        recurringTransfer.setLastMessage(message == null || message.length() <= MAX_MESSAGE_LENGTH
+                ? message
+                : message.substring(0, MAX_MESSAGE_LENGTH));
+        recurringTransfer.advanceAfter(now);
+        recurringTransferRepository.save(recurringTransfer);
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+package banks.card.service.Impl.recurring;
+
+import banks.card.entity.RecurringTransfer;
+import banks.card.repository.RecurringTransferRepository;
+import banks.card.service.lock.SchedulerLease;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Планировщик регулярных переводов.
+ * <p>
+ * Поручения выполняет только экземпляр, который держит аренду {@value #LEASE_NAME}. Он периодически
+ * продлевает аренду и загружает из <code>recurring_transfers</code> активные поручения со сроком в пределах
+ * {@code recurring.horizon} в таймерное колесо {@link HashedTimingWheel}. Колесо продвигается каждые
+ * {@code recurring.tick-ms}, поручения с наступившим сроком передаются в {@link RecurringTransferExecutor}.
+ * При потере аренды колесо очищается.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "recurring.enabled", havingValue = "true", matchIfMissing = true)
+public class RecurringTransferScheduler {
+
+    static final String LEASE_NAME = "recurring-transfers";
+
+    private final RecurringTransferRepository recurringTransferRepository;
+    private final RecurringTransferExecutor executor;
+    private final SchedulerLease schedulerLease;
+    private final HashedTimingWheel<Long> wheel;
+    private final Duration horizon;
+    private final Duration leaseTtl;
+    private final int loadLimit;
+
+    /**
+     * Время выполнения поручений, находящихся в колесе, по идентификатору поручения.
+     */
+    private final Map<Long, Timestamp> scheduled = new ConcurrentHashMap<>();
+    private volatile boolean leader;
+
+    public RecurringTransferScheduler(RecurringTransferRepository recurringTransferRepository,
+                                      RecurringTransferExecutor executor,
+                                      SchedulerLease schedulerLease,
+                                      @Value("${recurring.tick-ms:1000}") long tickMillis,
+                                      @Value("${recurring.wheel-size:512}") int wheelSize,
+                                      @Value("${recurring.horizon:PT5M}") Duration horizon,
+                                      @Value("${recurring.lease-ttl:PT30S}") Duration leaseTtl,
+                                      @Value("${recurring.load-limit:10000}") int loadLimit) {
+        this.recurringTransferRepository = recurringTransferRepository;
+        this.executor = executor;
+        this.schedulerLease = schedulerLease;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.horizon = horizon;
+        this.leaseTtl = leaseTtl;
+        this.loadLimit = loadLimit;
+    }
+
+    /**
+     * Продлевает аренду и загружает ближайшие выполнения в колесо с интервалом
+     * <code>recurring.load-interval-ms</code>. Интервал должен быть меньше срока аренды.
+     */
+    @Scheduled(fixedDelayString = "${recurring.load-interval-ms:10000}")
+    public void load() {
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                if (leader) {
+                    log.info("Recurring transfer lease lost, {} scheduled runs dropped", wheel.size());
+                    leader = false;
+                    wheel.clear();
+                    scheduled.clear();
+                }
+                return;
+            }
+            if (!leader) {
+                log.info("Recurring transfer lease acquired by {}", schedulerLease.getOwner());
+                leader = true;
+            }
+            Timestamp before = Timestamp.valueOf(LocalDateTime.now().plus(horizon));
+            List<RecurringTransfer> upcoming =
+                    recurringTransferRepository.findActiveDueBefore(before, PageRequest.of(0, loadLimit));
+            for (RecurringTransfer recurringTransfer : upcoming) {
+                Timestamp nextRunAt = recurringTransfer.getNextRunAt();
+                if (!nextRunAt.equals(scheduled.put(recurringTransfer.getId(), nextRunAt))) {
+                    wheel.schedule(recurringTransfer.getId(), nextRunAt.getTime());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Loading recurring transfers failed", e);
+        }
+    }
+
+    /**
+     * Продвигает колесо и передает поручения с наступившим сроком на выполнение.
+     */
+    @Scheduled(fixedRateString = "${recurring.tick-ms:1000}")
+    public void tick() {
+        if (!leader) {
+            return;
+        }
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Long, Timestamp> fired = new HashMap<>();
+        due.forEach(id -> {
+            Timestamp nextRunAt = scheduled.get(id);
+            if (nextRunAt != null) {
+                fired.put(id, nextRunAt);
+            }
+        });
+        executor.execute(due).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Recurring transfer chunk failed", error);
+            }
+            fired.forEach(scheduled::remove);
+        });
+    }
+
+    /**
+     * Возвращает {@code true}, если этот экземпляр держит аренду планировщика.
+     *
+     * @return признак ведущего экземпляра
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (leader) {
+            leader = false;
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package banks.card.service.Impl.rotation;
+
+import banks.card.dto.out.rotation.KeyRotationResponse;
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.amin.KeyRotationService;
+import banks.card.utils.CardMascEncryptor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Реализация {@link KeyRotationService}.
+ * <p>
+ * Диапазон идентификаторов карт до наибольшего на момент запуска делится на части по
+ * {@code hash.card.rotation.chunk-size}, части разбираются {@code hash.card.rotation.parallelism}
+ * обработчиками. Каждая часть обрабатывается в своей транзакции: номера читаются без блокировки,
+ * а записываются условным <code>UPDATE ... WHERE encrypted_card_number = ?</code>, поэтому строки карт
+ * блокируются только на время записи. После каждой части обработчик делает паузу
+ * {@code hash.card.rotation.throttle-ms}, чтобы не увеличивать задержки операций с картами.
+ * <p>
+ * В <code>key_rotations</code> сохраняется идентификатор, до которого все части завершены; прерванное
+ * перешифрование продолжается с него, а уже перешифрованные номера пропускаются по префиксу версии.
+ * Перешифрование выполняет только экземпляр, получивший аренду {@value #LEASE_NAME}.
+ */
+@Slf4j
+@Service
+public class KeyRotationServiceImpl implements KeyRotationService {
+
+    static final String LEASE_NAME = "key-rotation";
+
+    static final String STATUS_RUNNING = "RUNNING";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_FAILED = "FAILED";
+
+    static final String FIND_UNFINISHED_SQL = """
+            SELECT id, max_card_id, last_card_id FROM key_rotations
+            WHERE target_version = ? AND status <> 'COMPLETED'
+            ORDER BY id DESC
+            LIMIT 1
+            """;
+
+    static final String CREATE_SQL = """
+            INSERT INTO key_rotations (target_version, status, max_card_id, started_at)
+            VALUES (?, 'RUNNING', (SELECT coalesce(max(id), 0) FROM cards), ?)
+            RETURNING id, max_card_id, last_card_id
+            """;
+
+    static final String LATEST_SQL = """
+            SELECT id, target_version, status, max_card_id, last_card_id, cards_rotated, started_at, finished_at, error
+            FROM key_rotations
+            ORDER BY id DESC
+            LIMIT 1
+            """;
+
+    static final String SELECT_CHUNK_SQL = """
+            SELECT id, encrypted_card_number FROM cards
+            WHERE id BETWEEN ? AND ? AND encrypted_card_number NOT LIKE ?
+            """;
+
+    static final String UPDATE_CARD_SQL = """
+            UPDATE cards SET encrypted_card_number = ? WHERE id = ? AND encrypted_card_number = ?
+            """;
+
+    static final String CHECKPOINT_SQL = """
+            UPDATE key_rotations SET cards_rotated = cards_rotated + ?, last_card_id = greatest(last_card_id, ?)
+            WHERE id = ?
+            """;
+
+    static final String UPDATE_STATUS_SQL = """
+            UPDATE key_rotations SET status = ?, finished_at = ?, error = ? WHERE id = ?
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLease schedulerLease;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor();
+    private final ExecutorService pool;
+    private final int parallelism;
+    private final int chunkSize;
+    private final long throttleMillis;
+    private final Duration leaseTtl;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile long leaseRenewedAt;
+
+    public KeyRotationServiceImpl(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  SchedulerLease schedulerLease,
+                                  @Value("${hash.card.rotation.parallelism:4}") int parallelism,
+                                  @Value("${hash.card.rotation.chunk-size:500}") int chunkSize,
+                                  @Value("${hash.card.rotation.throttle-ms:50}") long throttleMillis,
+                                  @Value("${hash.card.rotation.lease-ttl:PT2M}") Duration leaseTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLease = schedulerLease;
+        this.pool = Executors.newFixedThreadPool(parallelism);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.throttleMillis = throttleMillis;
+        this.leaseTtl = leaseTtl;
+    }
+
+    @Override
+    public KeyRotationResponse start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Key rotation is already running");
+        }
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                throw new IllegalStateException("Key rotation is running on another instance");
+            }
+            leaseRenewedAt = System.currentTimeMillis();
+            int targetVersion = CardMascEncryptor.getCurrentVersion();
+            Rotation rotation = findUnfinished(targetVersion).orElseGet(() -> create(targetVersion));
+            jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_RUNNING, null, null, rotation.id);
+            log.info("Key rotation {} to version {} started from card {} of {}",
+                    rotation.id, targetVersion, rotation.lastCardId, rotation.maxCardId);
+            coordinator.execute(() -> run(rotation, targetVersion));
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return getLatest().orElseThrow();
+    }
+
+    @Override
+    public Optional<KeyRotationResponse> getLatest() {
+        return jdbcTemplate.query(LATEST_SQL, (rs, rowNum) -> {
+                    long maxCardId = rs.getLong("max_card_id");
+                    long lastCardId = rs.getLong("last_card_id");
+                    return new KeyRotationResponse(
+                            rs.getLong("id"),
+                            rs.getInt("target_version"),
+                            rs.getString("status"),
+                            maxCardId,
+                            lastCardId,
+                            rs.getLong("cards_rotated"),
+                            maxCardId == 0 ? 100.0 : Math.min(100.0, lastCardId * 100.0 / maxCardId),
+                            rs.getTimestamp("started_at"),
+                            rs.getTimestamp("finished_at"),
+                            rs.getString("error"));
+                })
+                .stream()
+                .findFirst();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Перешифровывает карты с идентификаторами из диапазона части и сохраняет позицию перешифрования.
+     *
+     * @param rotationId    идентификатор перешифрования
+     * @param targetVersion версия ключа, которой перешифровываются номера
+     * @param from          первый идентификатор части
+     * @param to            последний идентификатор части
+     * @param watermark     идентификатор, до которого все части уже зафиксированы
+     * @return количество перешифрованных номеров
+     */
+    int rotateChunk(long rotationId, int targetVersion, long from, long to, long watermark) {
+        Integer rotated = transactionTemplate.execute(status -> {
+            List<Object[]> updates = new ArrayList<>();
+            jdbcTemplate.query(SELECT_CHUNK_SQL, rs -> {
+                long cardId = rs.getLong("id");
+                String encrypted = rs.getString("encrypted_card_number");
+                updates.add(new Object[]{reEncrypt(cardId, encrypted), cardId, encrypted});
+            }, from, to, CardMascEncryptor.prefix(targetVersion) + "%");
+
+            int count = 0;
+            if (!updates.isEmpty()) {
+                for (int updated : jdbcTemplate.batchUpdate(UPDATE_CARD_SQL, updates)) {
+                    count += Math.max(updated, 0);
+                }
+            }
+            jdbcTemplate.update(CHECKPOINT_SQL, count, watermark, rotationId);
+            return count;
+        });
+        return rotated == null ? 0 : rotated;
+    }
+
+    private void run(Rotation rotation, int targetVersion) {
+        ChunkProgress progress = new ChunkProgress(rotation.lastCardId);
+        AtomicLong nextFrom = new AtomicLong(rotation.lastCardId + 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            List<CompletableFuture<Void>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    for (long from = nextFrom.getAndAdd(chunkSize);
+                         from <= rotation.maxCardId && failure.get() == null;
+                         from = nextFrom.getAndAdd(chunkSize)) {
+                        long to = Math.min(from + chunkSize - 1, rotation.maxCardId);
+                        try {
+                            rotateChunk(rotation.id, targetVersion, from, to, progress.watermark());
+                            progress.complete(from, to);
+                            renewLease();
+                            Thread.sleep(throttleMillis);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            failure.compareAndSet(null, e);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            Throwable error = failure.get();
+            if (error == null) {
+                jdbcTemplate.update(CHECKPOINT_SQL, 0, rotation.maxCardId, rotation.id);
+                jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_COMPLETED, now, null, rotation.id);
+                log.info("Key rotation {} to version {} completed", rotation.id, targetVersion);
+            } else {
+                jdbcTemplate.update(CHECKPOINT_SQL, 0, progress.watermark(), rotation.id);
+                jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_FAILED, now, truncate(error.getMessage()), rotation.id);
+                log.error("Key rotation {} failed at card {}, start it again to resume",
+                        rotation.id, progress.watermark(), error);
+            }
+        } catch (RuntimeException e) {
+            log.error("Key rotation {} failed", rotation.id, e);
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+            running.set(false);
+        }
+    }
+
+    private void renewLease() {
+        long now = System.currentTimeMillis();
+        if (now - leaseRenewedAt < leaseTtl.toMillis() / 3) {
+            return;
+        }
+        if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+            throw new IllegalStateException("Key rotation lease lost");
+        }
+        leaseRenewedAt = now;
+    }
+
+    private static String reEncrypt(long cardId, String encrypted) {
+        try {
+            return CardMascEncryptor.reEncrypt(encrypted);
+        } catch (Exception e) {
+            throw new IllegalStateException("Card " + cardId + " number cannot be re-encrypted: " + e.getMessage(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private Optional<Rotation> findUnfinished(int targetVersion) {
+        return jdbcTemplate.query(FIND_UNFINISHED_SQL, (rs, rowNum) -> new Rotation(
+                        rs.getLong("id"),
+                        rs.getLong("max_card_id"),
+                        rs.getLong("last_card_id")), targetVersion)
+                .stream()
+                .findFirst();
+    }
+
+    private Rotation create(int targetVersion) {
+        return jdbcTemplate.queryForObject(CREATE_SQL, (rs, rowNum) -> new Rotation(
+                rs.getLong("id"),
+                rs.getLong("max_card_id"),
+                rs.getLong("last_card_id")), targetVersion, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static final class Rotation {
+
+        private final long id;
+        private final long maxCardId;
+        private final long lastCardId;
+
+        private Rotation(long id, long maxCardId, long lastCardId) {
+            this.id = id;
+            this.maxCardId = maxCardId;
+            this.lastCardId = lastCardId;
+        }
+    }
+
+    /**
+     * Отслеживает идентификатор, до которого все части зафиксированы, когда части завершаются не по порядку.
+     */
+    static final class ChunkProgress {
+
+        private final TreeMap<Long, Long> completed = new TreeMap<>();
+        private long watermark;
+
+        ChunkProgress(long watermark) {
+            this.watermark = watermark;
+        }
+
+        synchronized void complete(long from, long to) {
+            completed.put(from, to);
+            Long end;
+            while ((end = completed.remove(watermark + 1)) != null) {
+                watermark = end;
+            }
+        }
+
+        synchronized long watermark() {
+            return watermark;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package banks.card.service.Impl.settlement;
+
+import banks.card.dto.out.settlement.SettlementPairResponse;
+import banks.card.dto.out.settlement.SettlementReportResponse;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.outbox.LedgerOutboxWriter;
+import banks.card.service.services.amin.SettlementService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Реализация {@link SettlementService}.
+ * <p>
+ * При первом запуске за операционный день создается пакет: фиксируются время отсечки и число
+ * обработчиков, создаются их контрольные точки и сохраняется неттинг отложенных переводов по парам
+ * карт. Карты распределяются между обработчиками {@link SettlementWorker} по остатку от деления
+ * идентификатора, обработчики выполняются в пуле из {@code settlement.parallelism} потоков.
+ * Прерванный пакет при следующем запуске продолжается с контрольных точек с тем же разбиением.
+ */
+@Slf4j
+@Service
+public class SettlementServiceImpl implements SettlementService {
+
+    static final String STATUS_RUNNING = "RUNNING";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_FAILED = "FAILED";
+
+    static final String FIND_BATCH_SQL = """
+            SELECT id, cutoff, workers, status FROM settlement_batches WHERE business_date = ?
+            """;
+
+    static final String CREATE_BATCH_SQL = """
+            INSERT INTO settlement_batches (business_date, cutoff, workers, status, started_at)
+            VALUES (?, ?, ?, 'RUNNING', ?)
+            RETURNING id
+            """;
+
+    static final String CREATE_CHECKPOINT_SQL = """
+            INSERT INTO settlement_checkpoints (batch_id, worker) VALUES (?, ?)
+            """;
+
+    static final String CREATE_PAIRS_SQL = """
+            INSERT INTO settlement_pairs (batch_id, first_card_id, second_card_id, transfers, gross_amount, net_amount)
+            SELECT ?,
+                   least(card_id, counterpart_card_id),
+                   greatest(card_id, counterpart_card_id),
+                   count(*),
+                   sum(amount),
+                   sum(CASE WHEN card_id < counterpart_card_id THEN amount ELSE -amount END)
+            FROM transactions
+            WHERE transfer_status = 'PENDING' AND transaction_type = 'TRANSFER_OUT' AND transaction_date < ?
+            GROUP BY 2, 3
+            """;
+
+    static final String UPDATE_STATUS_SQL = """
+            UPDATE settlement_batches SET status = ?, finished_at = ? WHERE id = ?
+            """;
+
+    static final String REPORT_SQL = """
+            SELECT b.id, b.business_date, b.status, b.started_at, b.finished_at,
+                   coalesce(sum(c.cards_settled), 0) AS cards_settled,
+                   coalesce(sum(c.entries_settled), 0) AS entries_settled,
+                   coalesce(sum(c.gross_amount), 0) AS gross_amount,
+                   coalesce(sum(c.net_amount), 0) AS net_amount
+            FROM settlement_batches b
+                     LEFT JOIN settlement_checkpoints c ON c.batch_id = b.id
+            WHERE b.business_date = ?
+            GROUP BY b.id
+            """;
+
+    static final String REPORT_PAIRS_SQL = """
+            SELECT first_card_id, second_card_id, transfers, gross_amount, net_amount
+            FROM settlement_pairs
+            WHERE batch_id = ?
+            ORDER BY gross_amount DESC, first_card_id, second_card_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardLockProvider cardLockProvider;
+    private final LedgerOutboxWriter ledgerOutboxWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService pool;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int maxPairs;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SettlementServiceImpl(JdbcTemplate jdbcTemplate,
+                                 CardLockProvider cardLockProvider,
+                                 LedgerOutboxWriter ledgerOutboxWriter,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${settlement.parallelism:4}") int parallelism,
+                                 @Value("${settlement.chunk-size:500}") int chunkSize,
+                                 @Value("${settlement.max-reported-pairs:1000}") int maxPairs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardLockProvider = cardLockProvider;
+        this.ledgerOutboxWriter = ledgerOutboxWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = Executors.newFixedThreadPool(parallelism);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.maxPairs = maxPairs;
+    }
+
+    @Override
+    public SettlementReportResponse settle(LocalDate businessDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Settlement is already running");
+        }
+        try {
+            Batch batch = findBatch(businessDate).orElseGet(() -> createBatch(businessDate));
+            if (!STATUS_COMPLETED.equals(batch.status)) {
+                runBatch(batch);
+            }
+            SettlementReportResponse report = getReport(businessDate).orElseThrow();
+            log.info("Settlement for {} settled {} entries on {} cards, gross {}, net {}",
+                    businessDate, report.getEntriesSettled(), report.getCardsSettled(),
+                    report.getGrossAmount(), report.getNetAmount());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Optional<SettlementReportResponse> getReport(LocalDate businessDate) {
+        return jdbcTemplate.query(REPORT_SQL, (rs, rowNum) -> new SettlementReportResponse(
+                        rs.getLong("id"),
+                        rs.getDate("business_date").toLocalDate(),
+                        rs.getString("status"),
+                        rs.getTimestamp("started_at"),
+                        rs.getTimestamp("finished_at"),
+                        rs.getLong("cards_settled"),
+                        rs.getLong("entries_settled"),
+                        rs.getBigDecimal("gross_amount"),
+                        rs.getBigDecimal("net_amount"),
+                        null), Date.valueOf(businessDate))
+                .stream()
+                .findFirst()
+                .map(report -> {
+                    report.setPairs(jdbcTemplate.query(REPORT_PAIRS_SQL, (rs, rowNum) -> new SettlementPairResponse(
+                            rs.getLong("first_card_id"),
+                            rs.getLong("second_card_id"),
+                            rs.getLong("transfers"),
+                            rs.getBigDecimal("gross_amount"),
+                            rs.getBigDecimal("net_amount")), report.getBatchId(), maxPairs));
+                    return report;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void runBatch(Batch batch) {
+        jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_RUNNING, null, batch.id);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batch.workers);
+        for (int worker = 0; worker < batch.workers; worker++) {
+            futures.add(CompletableFuture.runAsync(new SettlementWorker(jdbcTemplate, transactionTemplate,
+                    cardLockProvider, ledgerOutboxWriter, batch.id, batch.cutoff, batch.workers, worker, chunkSize), pool));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_FAILED, Timestamp.valueOf(LocalDateTime.now()), batch.id);
+            throw new IllegalStateException("Settlement batch " + batch.id + " failed, rerun to resume", e.getCause());
+        }
+        jdbcTemplate.update(UPDATE_STATUS_SQL, STATUS_COMPLETED, Timestamp.valueOf(LocalDateTime.now()), batch.id);
+    }
+
+    private Optional<Batch> findBatch(LocalDate businessDate) {
+        return jdbcTemplate.query(FIND_BATCH_SQL, (rs, rowNum) -> new Batch(
+                        rs.getLong("id"),
+                        rs.getTimestamp("cutoff"),
+                        rs.getInt("workers"),
+                        rs.getString("status")), Date.valueOf(businessDate))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Создает пакет за операционный день. Время отсечки — конец дня, но не позже текущего момента,
+     * чтобы повторный запуск пакета за текущий день не захватывал новые переводы.
+     * Если пакет одновременно создан другим экземпляром приложения, используется он.
+     */
+    private Batch createBatch(LocalDate businessDate) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime endOfDay = businessDate.plusDays(1).atStartOfDay();
+        Timestamp cutoff = Timestamp.valueOf(endOfDay.isBefore(now) ? endOfDay : now);
+        try {
+            return transactionTemplate.execute(status -> {
+                Long id = jdbcTemplate.queryForObject(CREATE_BATCH_SQL, Long.class,
+                        Date.valueOf(businessDate), cutoff, parallelism, Timestamp.valueOf(now));
+                List<Object[]> checkpoints = new ArrayList<>(parallelism);
+                for (int worker = 0; worker < parallelism; worker++) {
+                    checkpoints.add(new Object[]{id, worker});
+                }
+                jdbcTemplate.batchUpdate(CREATE_CHECKPOINT_SQL, checkpoints);
+                jdbcTemplate.update(CREATE_PAIRS_SQL, id, cutoff);
+                return new Batch(id, cutoff, parallelism, STATUS_RUNNING);
+            });
+        } catch (DuplicateKeyException e) {
+            return findBatch(businessDate).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Параметры пакета расчетов, зафиксированные при его создании.
+     */
+    private static final class Batch {
+
+        private final long id;
+        private final Timestamp cutoff;
+        private final int workers;
+        private final String status;
+
+        private Batch(long id, Timestamp cutoff, int workers, String status) {
+            this.id = id;
+            this.cutoff = cutoff;
+            this.workers = workers;
+            this.status = status;
+        }
+    }
+}
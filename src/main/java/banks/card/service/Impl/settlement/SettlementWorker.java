@@ -0,0 +1,146 @@
+package banks.card.service.Impl.settlement;
+
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.TransactionType;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.outbox.LedgerOutboxWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Обработчик пакета расчетов. Рассчитывает карты с {@code mod(card_id, workers) = worker},
+ * у которых есть отложенные записи журнала до времени отсечки, в порядке возрастания идентификатора,
+ * начиная с карты после контрольной точки.
+ * <p>
+ * Каждая карта рассчитывается в своей транзакции под блокировкой {@link CardLockProvider}:
+ * отложенные записи карты переводятся в {@code SUCCESS}, баланс изменяется одним UPDATE на чистую
+ * сумму, резерв отправителя уменьшается на сумму списаний, а контрольная точка сдвигается в той же
+ * транзакции. Поэтому баланс карты всегда совпадает с успешными записями журнала, а повторный
+ * запуск не рассчитывает карту дважды.
+ * <p>
+ * События рассчитанных записей добавляются в <code>ledger_outbox</code> через {@link LedgerOutboxWriter}
+ * в той же транзакции, поэтому их формат совпадает с событиями остальных операций.
+ */
+class SettlementWorker implements Runnable {
+
+    static final String LOAD_CHECKPOINT_SQL = """
+            SELECT last_card_id FROM settlement_checkpoints WHERE batch_id = ? AND worker = ?
+            """;
+
+    static final String PENDING_CARDS_SQL = """
+            SELECT DISTINCT card_id FROM transactions
+            WHERE transfer_status = 'PENDING' AND transaction_date < ?
+              AND card_id > ? AND mod(card_id, ?) = ?
+            ORDER BY card_id
+            LIMIT ?
+            """;
+
+    static final String SETTLE_ENTRIES_SQL = """
+            UPDATE transactions SET transfer_status = 'SUCCESS'
+            WHERE card_id = ? AND transfer_status = 'PENDING' AND transaction_date < ?
+            RETURNING id, card_id, counterpart_card_id, amount, transaction_type, transaction_date, description
+            """;
+
+    static final String APPLY_SQL = """
+            UPDATE cards SET balance = balance + ?, held_amount = held_amount - ? WHERE id = ?
+            """;
+
+    static final String CHECKPOINT_SQL = """
+            UPDATE settlement_checkpoints
+            SET last_card_id = greatest(last_card_id, ?),
+                cards_settled = cards_settled + ?,
+                entries_settled = entries_settled + ?,
+                gross_amount = gross_amount + ?,
+                net_amount = net_amount + ?
+            WHERE batch_id = ? AND worker = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CardLockProvider cardLockProvider;
+    private final LedgerOutboxWriter ledgerOutboxWriter;
+    private final long batchId;
+    private final Timestamp cutoff;
+    private final int workers;
+    private final int worker;
+    private final int chunkSize;
+
+    SettlementWorker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                     CardLockProvider cardLockProvider, LedgerOutboxWriter ledgerOutboxWriter,
+                     long batchId, Timestamp cutoff,
+                     int workers, int worker, int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cardLockProvider = cardLockProvider;
+        this.ledgerOutboxWriter = ledgerOutboxWriter;
+        this.batchId = batchId;
+        this.cutoff = cutoff;
+        this.workers = workers;
+        this.worker = worker;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run() {
+        Long lastCardId = jdbcTemplate.queryForObject(LOAD_CHECKPOINT_SQL, Long.class, batchId, worker);
+        long last = lastCardId == null ? 0 : lastCardId;
+        List<Long> cardIds;
+        do {
+            cardIds = jdbcTemplate.queryForList(PENDING_CARDS_SQL, Long.class, cutoff, last, workers, worker, chunkSize);
+            for (Long cardId : cardIds) {
+                transactionTemplate.executeWithoutResult(status -> settleCard(cardId));
+                last = cardId;
+            }
+        } while (cardIds.size() == chunkSize);
+    }
+
+    private void settleCard(Long cardId) {
+        cardLockProvider.lock(List.of(cardId));
+        List<TransactionResponse> settled = jdbcTemplate.query(SETTLE_ENTRIES_SQL, SettlementWorker::mapEntry,
+                cardId, cutoff);
+        long entries = settled.size();
+        BigDecimal net = BigDecimal.ZERO;
+        BigDecimal debit = BigDecimal.ZERO;
+        for (TransactionResponse entry : settled) {
+            if (entry.getTransactionType() == TransactionType.TRANSFER_IN) {
+                net = net.add(entry.getAmount());
+            } else {
+                net = net.subtract(entry.getAmount());
+            }
+            if (entry.getTransactionType() == TransactionType.TRANSFER_OUT) {
+                debit = debit.add(entry.getAmount());
+            }
+        }
+        if (entries > 0) {
+            jdbcTemplate.update(APPLY_SQL, net, debit, cardId);
+            ledgerOutboxWriter.appendAll(settled.stream()
+                    .sorted(Comparator.comparing(TransactionResponse::getId))
+                    .toList());
+        }
+        jdbcTemplate.update(CHECKPOINT_SQL, cardId, entries > 0 ? 1 : 0, entries, debit, net.max(BigDecimal.ZERO),
+                batchId, worker);
+    }
+
+    /**
+     * Преобразует рассчитанную запись журнала в событие в том же виде, что и {@code TransactionMapper}.
+     */
+    static TransactionResponse mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        long counterpart = rs.getLong("counterpart_card_id");
+        Long counterpartCardId = rs.wasNull() ? null : counterpart;
+        return new TransactionResponse(
+                rs.getLong("id"),
+                rs.getLong("card_id"),
+                counterpartCardId,
+                rs.getBigDecimal("amount"),
+                TransactionType.valueOf(rs.getString("transaction_type")),
+                rs.getTimestamp("transaction_date"),
+                rs.getString("description"));
+    }
+}
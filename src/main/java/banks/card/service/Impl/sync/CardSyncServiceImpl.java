@@ -0,0 +1,267 @@
+package banks.card.service.Impl.sync;
+
+import banks.card.dto.out.card.CardResponse;
+import banks.card.dto.out.sync.SyncResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.InvalidCursorException;
+import banks.card.repository.CardRepository;
+import banks.card.service.mapper.CardMapper;
+import banks.card.service.mapper.TransactionRowMapper;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.CardSyncService;
+import banks.card.service.services.user.UserUserActionService;
+import banks.card.service.sync.SyncChangeNotifier;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static banks.card.service.security.JwtService.BEARER_PREFIX;
+
+/**
+ * Реализация {@link CardSyncService}.
+ * <p>
+ * Версия изменения строки карты или транзакции — идентификатор транзакции базы данных, которая ее
+ * записала. Курсор — граница <code>txid_snapshot_xmin</code> снимка чтения: все транзакции с меньшим
+ * идентификатором завершены, поэтому выборка версий в полуинтервале от прошлого курсора до этой
+ * границы не пропускает строки, зафиксированные позже строк с большей версией. Все запросы одной
+ * синхронизации читают один снимок (<code>REPEATABLE READ</code>).
+ * <p>
+ * Граница не сдвигается, пока открыта любая пишущая транзакция, начатая раньше: например, массовый
+ * выпуск карт командой <code>COPY</code>, который фиксируется только после обработки всего файла. Все это
+ * время изменения, зафиксированные после ее начала, клиентам не отдаются: синхронизация вернет их только
+ * после завершения долгой записи.
+ * <p>
+ * Карта считается измененной, если изменилась ее строка или по ней появилась новая транзакция:
+ * зачисления в корзины раздельного баланса не изменяют строку карты, но всегда сопровождаются транзакцией.
+ * <p>
+ * Если изменений нет, запрос ждет уведомления {@link SyncChangeNotifier} без соединения с базой данных
+ * и перечитывает изменения после каждого пробуждения до истечения ожидания. Для этого
+ * <code>spring.jpa.open-in-view</code> выключен: иначе сессия запроса удерживала бы соединение
+ * на все время ожидания.
+ */
+@Service
+public class CardSyncServiceImpl implements CardSyncService {
+
+    static final String HORIZON_SQL = "SELECT txid_snapshot_xmin(txid_current_snapshot())";
+
+    static final String USER_CARDS_SQL = """
+            SELECT c.id, c.deleted_at IS NOT NULL AS deleted,
+                   (c.change_version >= :since AND c.change_version < :horizon
+                    OR EXISTS (SELECT 1 FROM transactions t
+                               WHERE t.card_id = c.id
+                                 AND t.change_version >= :since AND t.change_version < :horizon)) AS changed
+            FROM cards c
+            WHERE c.user_id = :userId
+            ORDER BY c.id
+            """;
+
+    static final String NEW_TRANSACTIONS_SQL = """
+            SELECT t.id, t.card_id, t.counterpart_card_id, t.amount, t.transaction_type,
+                   t.transaction_date, t.description
+            FROM cards c
+            JOIN transactions t ON t.card_id = c.id
+            WHERE c.user_id = :userId AND c.deleted_at IS NULL
+              AND t.change_version >= :since AND t.change_version < :horizon
+            ORDER BY t.transaction_date DESC, t.id DESC
+            LIMIT :limit
+            """;
+
+    private static final RowMapper<TransactionResponse> TRANSACTION_MAPPER = new TransactionRowMapper();
+
+    private static final RowMapper<UserCard> USER_CARD_MAPPER = (rs, rowNum) ->
+            new UserCard(rs.getLong("id"), rs.getBoolean("deleted"), rs.getBoolean("changed"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CardRepository cardRepository;
+    private final CardMapper cardMapper;
+    private final UserUserActionService userService;
+    private final JwtService jwtService;
+    private final SyncChangeNotifier notifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService pool;
+    private final long maxWaitMs;
+    private final int maxTransactions;
+
+    public CardSyncServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                               CardRepository cardRepository,
+                               CardMapper cardMapper,
+                               UserUserActionService userService,
+                               JwtService jwtService,
+                               SyncChangeNotifier notifier,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${sync.parallelism:4}") int parallelism,
+                               @Value("${sync.max-wait-ms:25000}") long maxWaitMs,
+                               @Value("${sync.max-transactions:200}") int maxTransactions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardRepository = cardRepository;
+        this.cardMapper = cardMapper;
+        this.userService = userService;
+        this.jwtService = jwtService;
+        this.notifier = notifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.pool = Executors.newFixedThreadPool(parallelism);
+        this.maxWaitMs = maxWaitMs;
+        this.maxTransactions = maxTransactions;
+    }
+
+    @Override
+    public CompletableFuture<SyncResponse> sync(String token, String cursor, long waitMs)
+            throws EntityNotFoundException {
+        Long since = parseCursor(cursor);
+        String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
+        Long userId = userService.findByEmail(email).getId();
+        long deadline = System.currentTimeMillis() + Math.max(0, Math.min(waitMs, maxWaitMs));
+        return poll(userId, since, deadline);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Читает изменения и, если их нет, ждет следующего изменения пользователя.
+     * Ожидание регистрируется до чтения, поэтому изменение, зафиксированное между чтением
+     * и началом ожидания, не теряется.
+     */
+    private CompletableFuture<SyncResponse> poll(Long userId, Long since, long deadline) {
+        CompletableFuture<Boolean> change = notifier.await(userId);
+        Changes changes;
+        try {
+            changes = readChanges(userId, since);
+        } catch (RuntimeException e) {
+            change.complete(false);
+            throw e;
+        }
+
+        long remaining = deadline - System.currentTimeMillis();
+        if (since == null || !changes.empty || remaining <= 0) {
+            change.complete(false);
+            return CompletableFuture.completedFuture(changes.response);
+        }
+        return change.completeOnTimeout(false, remaining, TimeUnit.MILLISECONDS)
+                .thenComposeAsync(changed -> changed
+                        ? poll(userId, changes.horizon, deadline)
+                        : CompletableFuture.completedFuture(changes.response), pool);
+    }
+
+    /**
+     * Читает изменения пользователя в одном снимке.
+     *
+     * @param userId идентификатор пользователя
+     * @param since  курсор предыдущей синхронизации; {@code null} для первичной синхронизации
+     * @return изменения и новый курсор
+     */
+    Changes readChanges(Long userId, Long since) {
+        return transactionTemplate.execute(status -> {
+            long horizon = jdbcTemplate.queryForObject(HORIZON_SQL, new MapSqlParameterSource(), Long.class);
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("userId", userId)
+                    .addValue("since", since == null ? 0L : since)
+                    .addValue("horizon", horizon)
+                    .addValue("limit", maxTransactions + 1);
+
+            List<UserCard> userCards = jdbcTemplate.query(USER_CARDS_SQL, params, USER_CARD_MAPPER);
+            List<Long> cardIds = new ArrayList<>();
+            List<Long> changedIds = new ArrayList<>();
+            boolean deletedChanged = false;
+            for (UserCard card : userCards) {
+                if (card.deleted) {
+                    deletedChanged |= card.changed;
+                    continue;
+                }
+                cardIds.add(card.id);
+                if (since == null || card.changed) {
+                    changedIds.add(card.id);
+                }
+            }
+
+            List<CardResponse> cards = changedIds.isEmpty()
+                    ? List.of()
+                    : cardRepository.findAllById(changedIds).stream()
+                    .map(cardMapper::entityToResponse)
+                    .sorted(Comparator.comparing(CardResponse::getId))
+                    .toList();
+
+            List<TransactionResponse> transactions = since == null
+                    ? List.of()
+                    : jdbcTemplate.query(NEW_TRANSACTIONS_SQL, params, TRANSACTION_MAPPER);
+            boolean truncated = transactions.size() > maxTransactions;
+            if (truncated) {
+                transactions = List.copyOf(transactions.subList(0, maxTransactions));
+            }
+
+            SyncResponse response = new SyncResponse(cards, cardIds, transactions, truncated, Long.toString(horizon));
+            boolean empty = changedIds.isEmpty() && !deletedChanged && transactions.isEmpty();
+            return new Changes(response, horizon, empty);
+        });
+    }
+
+    private static Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid sync cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Карта пользователя и признаки ее изменения с момента курсора.
+     */
+    static final class UserCard {
+
+        private final long id;
+        private final boolean deleted;
+        private final boolean changed;
+
+        UserCard(long id, boolean deleted, boolean changed) {
+            this.id = id;
+            this.deleted = deleted;
+            this.changed = changed;
+        }
+    }
+
+    /**
+     * Результат чтения изменений.
+     */
+    static final class Changes {
+
+        private final SyncResponse response;
+        private final long horizon;
+        private final boolean empty;
+
+        Changes(SyncResponse response, long horizon, boolean empty) {
+            this.response = response;
+            this.horizon = horizon;
+            this.empty = empty;
+        }
+
+        SyncResponse getResponse() {
+            return response;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+    }
+}
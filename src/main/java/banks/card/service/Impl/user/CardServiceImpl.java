@@ -3,26 +3,40 @@ package banks.card.service.Impl.user;
 import banks.card.dto.in.card.TransferRequest;
 import banks.card.dto.in.card.WithdrawalRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
+import banks.card.dto.in.hold.CaptureHoldRequest;
+import banks.card.dto.in.hold.HoldRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.ListCardResponse;
 import banks.card.dto.out.card.TransferResponse;
 import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.dto.out.hold.HoldResponse;
 import banks.card.entity.*;
 import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.FraudSuspectedException;
 import banks.card.exception.TransferException;
 import banks.card.exception.WithdrawalException;
+import banks.card.repository.CardHoldRepository;
+import banks.card.repository.CardMetadataRepository;
 import banks.card.repository.CardRepository;
 import banks.card.service.aspect.CheckingRightsCard;
 import banks.card.service.aspect.CheckingRightsCards;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.events.CardEventPublisher;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.CardBalanceBucketService;
+import banks.card.service.services.MoneyMovementEngine;
+import banks.card.service.services.MoneyMovementExecutor;
 import banks.card.service.services.TransactionService;
 import banks.card.service.services.user.CardUserActionService;
 import banks.card.service.services.user.UserUserActionService;
 import banks.card.service.mapper.CardMapper;
 import banks.card.service.security.JwtService;
 import banks.card.service.specification.CardSpecification;
+import banks.card.service.velocity.VelocityEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -32,29 +46,48 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static banks.card.service.security.JwtService.BEARER_PREFIX;
 
 /**
- * Реализация {@link CardUserActionService} сервиса для действий пользователя с картами.
+ * Реализация {@link CardUserActionService} сервиса для действий пользователя с картами
+ * и {@link MoneyMovementExecutor} для выполнения переводов и снятий движком {@link MoneyMovementEngine}.
  */
 @Service
 @RequiredArgsConstructor
-public class CardServiceImpl implements CardUserActionService {
+public class CardServiceImpl implements CardUserActionService, MoneyMovementExecutor {
 
     private final CardRepository cardRepository;
+    private final CardMetadataRepository cardMetadataRepository;
     private final UserUserActionService userService;
     private final JwtService jwtService;
     private final CardMapper cardMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CardLockProvider cardLockProvider;
+    private final CardBalanceBucketService balanceBucketService;
+    private final CardHoldRepository cardHoldRepository;
+    private final CardEventPublisher cardEventPublisher;
+    private final VelocityEngine velocityEngine;
 
     @Setter
     @Autowired
     @Lazy
     private TransactionService transactionService;
 
+    @Setter
+    @Autowired
+    @Lazy
+    private MoneyMovementEngine moneyMovementEngine;
+
+    @Setter
+    @Value("${holds.default-ttl:PT72H}")
+    private Duration defaultHoldTtl = Duration.ofHours(72);
+
     @Override
     public Card findById(Long id) {
         return cardRepository.findById(id)
@@ -62,6 +95,13 @@ public class CardServiceImpl implements CardUserActionService {
                         new EntityNotFoundException("Card not found by ID: " + id));
     }
 
+    @Override
+    public CardMetadata findMetadataById(Long id) {
+        return cardMetadataRepository.findById(id)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Card not found by ID: " + id));
+    }
+
     @Override
     public ListCardResponse getCards(String token, CardFilterRequest filter, Pageable pageable)
             throws EntityNotFoundException {
@@ -92,6 +132,8 @@ public class CardServiceImpl implements CardUserActionService {
 
         card.setStatus(CardStatus.BLOCKED);
         Card updateCard = cardRepository.save(card);
+        cacheInvalidationBus.publishCardChanged(cardId);
+        cardEventPublisher.publishCard(updateCard);
 
         return cardMapper.entityToResponse(updateCard);
     }
@@ -101,38 +143,158 @@ public class CardServiceImpl implements CardUserActionService {
     @Transactional
     public TransferResponse transfer(String token, TransferRequest request)
             throws AccessDeniedException, EntityNotFoundException, TransferException {
+        return executeTransfer(request);
+    }
+
+    @Override
+    @CheckingRightsCards
+    public CompletableFuture<TransferResponse> transferAsync(String token, TransferRequest request)
+            throws AccessDeniedException {
+        return moneyMovementEngine.submitTransfer(request);
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    public WithdrawalResponse withdraw(WithdrawalRequest request, String token)
+            throws AccessDeniedException, EntityNotFoundException, WithdrawalException {
+        return executeWithdrawal(request);
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    public CompletableFuture<WithdrawalResponse> withdrawAsync(WithdrawalRequest request, String token)
+            throws AccessDeniedException {
+        return moneyMovementEngine.submitWithdrawal(request);
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    public HoldResponse authorizeHold(Long cardId, String token, HoldRequest request)
+            throws AccessDeniedException, EntityNotFoundException, IllegalStateException {
+        cardLockProvider.lock(List.of(cardId));
+        Card card = findLocked(cardId);
+
+        if (!card.getStatus().equals(CardStatus.ACTIVE)) {
+            throw new IllegalStateException("Card is not active");
+        }
+        consolidateIfShort(card, request.getAmount());
+        checkingLimitsOfCard(card, request.getAmount());
+
+        card.setHeldAmount(heldAmount(card).add(request.getAmount()));
+        cardRepository.save(card);
+
+        LocalDateTime now = LocalDateTime.now();
+        Duration ttl = request.getTtlMinutes() == null
+                ? defaultHoldTtl
+                : Duration.ofMinutes(request.getTtlMinutes());
+        CardHold hold = CardHold.builder()
+                .card(card)
+                .amount(request.getAmount())
+                .status(HoldStatus.ACTIVE)
+                .createdAt(Timestamp.valueOf(now))
+                .expiresAt(Timestamp.valueOf(now.plus(ttl)))
+                .build();
+        return cardMapper.holdEntityToResponse(cardHoldRepository.save(hold));
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    public HoldResponse captureHold(Long cardId, String token, Long holdId, CaptureHoldRequest request)
+            throws AccessDeniedException, EntityNotFoundException, IllegalStateException {
+        cardLockProvider.lock(List.of(cardId));
+        Card card = findLocked(cardId);
+        CardHold hold = findActiveHoldForUpdate(holdId, cardId);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!hold.getExpiresAt().toLocalDateTime().isAfter(now)) {
+            throw new IllegalStateException("Hold has expired");
+        }
+        BigDecimal amount = request == null || request.getAmount() == null
+                ? hold.getAmount()
+                : request.getAmount();
+        if (amount.compareTo(hold.getAmount()) > 0) {
+            throw new IllegalStateException("Capture amount exceeds hold amount");
+        }
+
+        card.setHeldAmount(heldAmount(card).subtract(hold.getAmount()));
+        card.setBalance(card.getBalance().subtract(amount));
+        cardRepository.save(card);
+
+        hold.setCapturedAmount(amount);
+        hold.setStatus(HoldStatus.CAPTURED);
+        hold.setResolvedAt(Timestamp.valueOf(now));
+        CardHold captured = cardHoldRepository.save(hold);
+
+        transactionService.createAndSave(card, amount, TransferStatus.SUCCESS, TransactionType.WITHDRAWAL, "Hold capture");
+        return cardMapper.holdEntityToResponse(captured);
+    }
+
+    @Override
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    public HoldResponse releaseHold(Long cardId, String token, Long holdId)
+            throws AccessDeniedException, EntityNotFoundException, IllegalStateException {
+        cardLockProvider.lock(List.of(cardId));
+        Card card = findLocked(cardId);
+        CardHold hold = findActiveHoldForUpdate(holdId, cardId);
+
+        card.setHeldAmount(heldAmount(card).subtract(hold.getAmount()));
+        cardRepository.save(card);
+
+        hold.setStatus(HoldStatus.RELEASED);
+        hold.setResolvedAt(Timestamp.valueOf(LocalDateTime.now()));
+        return cardMapper.holdEntityToResponse(cardHoldRepository.save(hold));
+    }
+
+    @Override
+    @CheckingRightsCards
+    @Transactional
+    public TransferResponse transferDeferred(String token, TransferRequest request)
+            throws AccessDeniedException, EntityNotFoundException, TransferException {
         TransferResponse response = cardMapper.transferRequestToTransferResponse(request);
 
-        Card fromCard = findById(request.getFromCardId());
+        cardLockProvider.lock(List.of(request.getFromCardId()));
+        Card fromCard = findLocked(request.getFromCardId());
         Card toCard = findById(request.getToCardId());
-        Transaction errorTransaction = null;
 
         try {
-            if (request.getFromCardId().equals(request.getToCardId())) {
-                String message = "Cannot transfer to the same card";
-                errorTransaction = transactionService.createAndSave(fromCard, toCard, request.getAmount(), TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, message);
-                throw new TransferException(message, response);
-            }
+            checkTransfer(fromCard, toCard, request, response);
 
-            if (!fromCard.getStatus().equals(CardStatus.ACTIVE) || !toCard.getStatus().equals(CardStatus.ACTIVE)) {
-                String message = "Both cards must be active";
-                errorTransaction = transactionService.createAndSave(fromCard, toCard, request.getAmount(), TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, message);
-                throw new TransferException(message, response);
-            }
+            fromCard.setHeldAmount(heldAmount(fromCard).add(request.getAmount()));
+            cardRepository.save(fromCard);
 
-            try {
-                checkingLimitsOfCard(fromCard, request.getAmount());
-            } catch (IllegalStateException e) {
-                errorTransaction =
-                        transactionService.createAndSave(fromCard, toCard, request.getAmount(),
-                                TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, e.getMessage());
-                throw new TransferException(e.getMessage(), response);
-            }
+            String message = "Deferred transfer, settled at day end";
+            transactionService.createAndSave(fromCard, toCard, request.getAmount(),
+                    TransferStatus.PENDING, TransactionType.TRANSFER_OUT, message);
+            transactionService.createAndSave(toCard, fromCard, request.getAmount(),
+                    TransferStatus.PENDING, TransactionType.TRANSFER_IN, message);
+            velocityEngine.recordTransfer(request.getFromCardId(), request.getToCardId());
+
+            response.setStatus(TransferStatus.PENDING);
+        } catch (TransferException e) {
+            declineUnlessFraud(response);
+            throw e;
+        }
+        return response;
+    }
+
+    @Override
+    public TransferResponse executeTransfer(TransferRequest request)
+            throws EntityNotFoundException, TransferException {
+        TransferResponse response = cardMapper.transferRequestToTransferResponse(request);
+
+        cardLockProvider.lock(lockedCardIds(request));
+        Card fromCard = findLocked(request.getFromCardId());
+        Card toCard = findLocked(request.getToCardId());
+        try {
+            checkTransfer(fromCard, toCard, request, response);
 
             fromCard.setBalance(fromCard.getBalance().subtract(request.getAmount()));
-            toCard.setBalance(toCard.getBalance().add(request.getAmount()));
             cardRepository.save(fromCard);
-            cardRepository.save(toCard);
+            credit(toCard, request.getAmount());
 
             String messageWithdrawal = "Transfer between accounts";
             String messageDeposit = "Replenishment from another account";
@@ -143,9 +305,17 @@ public class CardServiceImpl implements CardUserActionService {
                     .createAndSave(toCard, fromCard, request.getAmount(),
                             TransferStatus.SUCCESS, TransactionType.TRANSFER_IN, messageDeposit);
 
+            cardEventPublisher.publishCard(fromCard);
+            if (!toCard.isSplitBalance()) {
+                cardEventPublisher.publishCard(toCard);
+            }
+            cardEventPublisher.publishTransaction(withdrawal);
+            cardEventPublisher.publishTransaction(deposit);
+            velocityEngine.recordTransfer(request.getFromCardId(), request.getToCardId());
+
             response.setStatus(TransferStatus.SUCCESS);
         } catch (TransferException e) {
-            response.setStatus(TransferStatus.DECLINED);
+            declineUnlessFraud(response);
             throw e;
         } catch (EntityNotFoundException e) {
             throw e;
@@ -159,13 +329,12 @@ public class CardServiceImpl implements CardUserActionService {
     }
 
     @Override
-    @CheckingRightsCard
-    @Transactional
-    public WithdrawalResponse withdraw(WithdrawalRequest request, String token)
-            throws AccessDeniedException, EntityNotFoundException, WithdrawalException {
+    public WithdrawalResponse executeWithdrawal(WithdrawalRequest request)
+            throws EntityNotFoundException, WithdrawalException {
         WithdrawalResponse response = cardMapper.withdrawalRequestToWithdrawalResponse(request);
 
-        Card card = findById(request.getCardId());
+        cardLockProvider.lock(List.of(request.getCardId()));
+        Card card = findLocked(request.getCardId());
         Transaction transaction = null;
 
         try {
@@ -176,6 +345,7 @@ public class CardServiceImpl implements CardUserActionService {
                 throw new WithdrawalException(message, response);
             }
 
+            consolidateIfShort(card, request.getAmount());
             try {
                 checkingLimitsOfCard(card, request.getAmount());
             } catch (IllegalStateException e) {
@@ -183,6 +353,14 @@ public class CardServiceImpl implements CardUserActionService {
                         .createAndSave(card, request.getAmount(), TransferStatus.DECLINED, TransactionType.WITHDRAWAL, e.getMessage());
                 throw new WithdrawalException(e.getMessage(), response);
             }
+            try {
+                velocityEngine.checkWithdrawal(request.getCardId());
+            } catch (FraudSuspectedException e) {
+                response.setStatus(TransferStatus.FRAUD_SUSPECTED);
+                transaction = transactionService
+                        .createAndSave(card, request.getAmount(), TransferStatus.FRAUD_SUSPECTED, TransactionType.WITHDRAWAL, e.getMessage());
+                throw new WithdrawalException(e.getMessage(), response);
+            }
 
             card.setBalance(card.getBalance().subtract(request.getAmount()));
             cardRepository.save(card);
@@ -190,10 +368,15 @@ public class CardServiceImpl implements CardUserActionService {
             String message = "Withdrawal completed successfully";
             Transaction withdrawal =
                     transactionService.createAndSave(card, request.getAmount(), TransferStatus.SUCCESS, TransactionType.WITHDRAWAL, message);
+            cardEventPublisher.publishCard(card);
+            cardEventPublisher.publishTransaction(withdrawal);
+            velocityEngine.recordWithdrawal(request.getCardId());
 
             response.setStatus(TransferStatus.SUCCESS);
         } catch (WithdrawalException e) {
-            response.setStatus(TransferStatus.DECLINED);
+            if (response.getStatus() != TransferStatus.FRAUD_SUSPECTED) {
+                response.setStatus(TransferStatus.DECLINED);
+            }
             throw e;
         } catch (EntityNotFoundException e) {
             throw e;
@@ -208,6 +391,150 @@ public class CardServiceImpl implements CardUserActionService {
         return response;
     }
 
+    @Override
+    public List<Long> lockedCardIds(TransferRequest request) {
+        boolean splitRecipient = !request.getToCardId().equals(request.getFromCardId())
+                && cardMetadataRepository.findById(request.getToCardId())
+                .map(CardMetadata::isSplitBalance)
+                .orElse(false);
+        return splitRecipient
+                ? List.of(request.getFromCardId())
+                : List.of(request.getFromCardId(), request.getToCardId());
+    }
+
+    /**
+     * Проверяет возможность перевода: карты различны и активны, остаток и лимиты карты-отправителя
+     * позволяют списать сумму, а перевод не нарушает правила скорости операций.
+     * Отказ записывается в журнал как отклоненная или подозрительная транзакция.
+     *
+     * @param fromCard объект {@link Card} отправителя, заблокированный до конца транзакции
+     * @param toCard   объект {@link Card} получателя
+     * @param request  объект {@link TransferRequest} с данными перевода
+     * @param response объект {@link TransferResponse}, передаваемый в исключении
+     * @throws TransferException если перевод отклонен
+     */
+    private void checkTransfer(Card fromCard, Card toCard, TransferRequest request, TransferResponse response)
+            throws TransferException {
+        if (request.getFromCardId().equals(request.getToCardId())) {
+            String message = "Cannot transfer to the same card";
+            transactionService.createAndSave(fromCard, toCard, request.getAmount(), TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, message);
+            throw new TransferException(message, response);
+        }
+
+        if (!fromCard.getStatus().equals(CardStatus.ACTIVE) || !toCard.getStatus().equals(CardStatus.ACTIVE)) {
+            String message = "Both cards must be active";
+            transactionService.createAndSave(fromCard, toCard, request.getAmount(), TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, message);
+            throw new TransferException(message, response);
+        }
+
+        consolidateIfShort(fromCard, request.getAmount());
+        try {
+            checkingLimitsOfCard(fromCard, request.getAmount());
+        } catch (IllegalStateException e) {
+            transactionService.createAndSave(fromCard, toCard, request.getAmount(),
+                    TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, e.getMessage());
+            throw new TransferException(e.getMessage(), response);
+        }
+        try {
+            velocityEngine.checkTransfer(request.getFromCardId(), request.getToCardId(), request.getAmount());
+        } catch (FraudSuspectedException e) {
+            response.setStatus(TransferStatus.FRAUD_SUSPECTED);
+            transactionService.createAndSave(fromCard, toCard, request.getAmount(),
+                    TransferStatus.FRAUD_SUSPECTED, TransactionType.TRANSFER_OUT, e.getMessage());
+            throw new TransferException(e.getMessage(), response);
+        }
+    }
+
+    /**
+     * Отмечает перевод отклоненным, если он не был отклонен правилами скорости операций
+     * со статусом {@link TransferStatus#FRAUD_SUSPECTED}.
+     *
+     * @param response объект {@link TransferResponse} отклоненного перевода
+     */
+    private static void declineUnlessFraud(TransferResponse response) {
+        if (response.getStatus() != TransferStatus.FRAUD_SUSPECTED) {
+            response.setStatus(TransferStatus.DECLINED);
+        }
+    }
+
+    /**
+     * Зачисляет сумму на карту: в корзину, если у карты раздельный баланс, иначе в баланс карты.
+     *
+     * @param card   объект {@link Card}, на который выполняется зачисление
+     * @param amount сумма зачисления
+     */
+    private void credit(Card card, BigDecimal amount) {
+        if (card.isSplitBalance()) {
+            balanceBucketService.credit(card.getId(), card.getBalanceBuckets(), amount);
+            return;
+        }
+        card.setBalance(card.getBalance().add(amount));
+        cardRepository.save(card);
+    }
+
+    /**
+     * Переносит корзины раздельного баланса в баланс карты, если его за вычетом холдов
+     * не хватает для списания.
+     * Учитываются и корзины карты, для которой раздельный баланс уже выключен, но в корзину
+     * успело прийти зачисление. Карта должна быть заблокирована.
+     *
+     * @param card   объект {@link Card}, с которого выполняется списание
+     * @param amount сумма списания
+     */
+    private void consolidateIfShort(Card card, BigDecimal amount) {
+        boolean hasBuckets = card.isSplitBalance()
+                || card.getBucketBalance() != null && card.getBucketBalance().signum() != 0;
+        if (hasBuckets && card.getBalance().subtract(heldAmount(card)).compareTo(amount) < 0) {
+            BigDecimal moved = balanceBucketService.consolidate(card.getId());
+            card.setBalance(card.getBalance().add(moved));
+            card.setBucketBalance(BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Находит активный холд карты и блокирует его строку до конца транзакции.
+     * Вызывается под блокировкой карты, как и истечение холдов, поэтому порядок блокировок
+     * всегда «карта, затем холд».
+     *
+     * @param holdId идентификатор холда
+     * @param cardId идентификатор карты
+     * @return объект {@link CardHold}
+     * @throws EntityNotFoundException если холд не найден на карте
+     * @throws IllegalStateException   если холд уже списан, освобожден или истек
+     */
+    private CardHold findActiveHoldForUpdate(Long holdId, Long cardId) {
+        CardHold hold = cardHoldRepository.findByIdAndCardIdForUpdate(holdId, cardId)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Hold not found by ID: " + holdId));
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new IllegalStateException("Hold is not active: " + hold.getStatus());
+        }
+        return hold;
+    }
+
+    /**
+     * Возвращает сумму активных холдов карты.
+     *
+     * @param card объект {@link Card}
+     * @return сумма холдов, ноль если холдов нет
+     */
+    private static BigDecimal heldAmount(Card card) {
+        return card.getHeldAmount() == null ? BigDecimal.ZERO : card.getHeldAmount();
+    }
+
+    /**
+     * Находит карту, уже заблокированную {@link CardLockProvider} в текущей транзакции.
+     * Строка читается без <code>FOR UPDATE</code>: взаимное исключение обеспечивает провайдер,
+     * а {@link Card} не хранится в кэше второго уровня, поэтому баланс всегда читается из базы данных.
+     *
+     * @param id идентификатор карты
+     * @return объект {@link Card}
+     * @throws EntityNotFoundException если карта не найдена
+     */
+    private Card findLocked(Long id) {
+        return findById(id);
+    }
+
     /**
      * Рассчитывает сумму расходов по карте за текущий день.
      *
@@ -254,6 +581,10 @@ public class CardServiceImpl implements CardUserActionService {
 
     /**
      * Проверяет лимиты карты перед выполнением операции.
+     * Остаток и холды берутся из заблокированной карты, а сами лимиты — из кэшируемого {@link CardMetadata},
+     * поэтому их чтение не обращается к базе данных.
+     * Активные холды уменьшают доступный остаток и учитываются в дневном и месячном лимитах,
+     * пока не будут списаны или освобождены.
      *
      * @param fromCard объект {@link Card}, с которой выполняется операция
      * @param amount   сумма операции
@@ -261,36 +592,38 @@ public class CardServiceImpl implements CardUserActionService {
      */
     private void checkingLimitsOfCard(Card fromCard, BigDecimal amount)
             throws IllegalStateException {
-        if (fromCard.getBalance().compareTo(amount) < 0) {
+        BigDecimal held = heldAmount(fromCard);
+        if (fromCard.getBalance().subtract(held).compareTo(amount) < 0) {
             String message = "Insufficient balance on source card";
             throw new IllegalStateException(message);
         }
 
-        if (fromCard.getSingleTransactionLimit() != null &&
-                amount.compareTo(fromCard.getSingleTransactionLimit()) > 0) {
+        CardMetadata limits = findMetadataById(fromCard.getId());
+        if (limits.getSingleTransactionLimit() != null &&
+                amount.compareTo(limits.getSingleTransactionLimit()) > 0) {
             String message = "Amount exceeds single transaction limit";
             throw new IllegalStateException(message);
         }
 
-        if (fromCard.getDailyLimit() != null) {
-            BigDecimal dailySpent = calculateDailySpent(fromCard);
-            if (dailySpent.add(amount).compareTo(fromCard.getDailyLimit()) > 0) {
+        if (limits.getDailyLimit() != null) {
+            BigDecimal dailySpent = calculateDailySpent(fromCard).add(held);
+            if (dailySpent.add(amount).compareTo(limits.getDailyLimit()) > 0) {
                 String message = "Daily limit exceeded";
                 throw new IllegalStateException(message);
             }
         }
 
-        if (fromCard.getMonthlyLimit() != null) {
-            BigDecimal monthlySpent = calculateMonthlySpent(fromCard);
-            if (monthlySpent.add(amount).compareTo(fromCard.getMonthlyLimit()) > 0) {
+        if (limits.getMonthlyLimit() != null) {
+            BigDecimal monthlySpent = calculateMonthlySpent(fromCard).add(held);
+            if (monthlySpent.add(amount).compareTo(limits.getMonthlyLimit()) > 0) {
                 String message = "Monthly limit exceeded";
                 throw new IllegalStateException(message);
             }
         }
 
-        if (fromCard.getDailyTransactionCountLimit() != null) {
+        if (limits.getDailyTransactionCountLimit() != null) {
             long dailyTransactionsCount = countDailyTransactions(fromCard);
-            if (dailyTransactionsCount >=  fromCard.getDailyTransactionCountLimit()) {
+            if (dailyTransactionsCount >=  limits.getDailyTransactionCountLimit()) {
                 String message = "Daily transaction count limit exceeded";
                 throw new IllegalStateException(message);
             }
@@ -0,0 +1,96 @@
+package banks.card.service.Impl.user;
+
+import banks.card.dto.in.recurring.RecurringTransferRequest;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.entity.RecurringTransfer;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.repository.RecurringTransferRepository;
+import banks.card.service.aspect.CheckingRightsCards;
+import banks.card.service.mapper.RecurringTransferMapper;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.RecurringTransferUserActionService;
+import banks.card.service.services.user.UserUserActionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static banks.card.service.security.JwtService.BEARER_PREFIX;
+
+/**
+ * Реализация {@link RecurringTransferUserActionService}.
+ * Поручения выполняет {@link banks.card.service.Impl.recurring.RecurringTransferScheduler}; права
+ * на карты проверяются при создании поручения.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringTransferUserServiceImpl implements RecurringTransferUserActionService {
+
+    private final RecurringTransferRepository recurringTransferRepository;
+    private final RecurringTransferMapper recurringTransferMapper;
+    private final JwtService jwtService;
+    private final UserUserActionService userService;
+
+    @Override
+    @Transactional
+    @CheckingRightsCards(tokenIdIndex = 0, requestIdIndex = 1)
+    public RecurringTransferResponse create(String token, RecurringTransferRequest request) {
+        if (request.getFromCardId().equals(request.getToCardId())) {
+            throw new IllegalStateException("Cannot transfer to the same card");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startAt = request.getStartAt() == null ? now : request.getStartAt();
+        if (startAt.isBefore(now.minusMinutes(1))) {
+            throw new IllegalStateException("Start time must not be in the past");
+        }
+        if (request.getEndAt() != null && request.getEndAt().isBefore(startAt)) {
+            throw new IllegalStateException("End time must not be before start time");
+        }
+
+        RecurringTransfer recurringTransfer = RecurringTransfer.builder()
+                .userId(userId(token))
+                .fromCardId(request.getFromCardId())
+                .toCardId(request.getToCardId())
+                .amount(request.getAmount())
+                .intervalUnit(request.getInterval())
+                .intervalCount(request.getIntervalCount() == null ? 1 : request.getIntervalCount())
+                .startAt(Timestamp.valueOf(startAt))
+                .endAt(request.getEndAt() == null ? null : Timestamp.valueOf(request.getEndAt()))
+                .occurrence(0)
+                .nextRunAt(Timestamp.valueOf(startAt))
+                .status(RecurringTransferStatus.ACTIVE)
+                .createdAt(Timestamp.valueOf(now))
+                .build();
+        return recurringTransferMapper.entityToResponse(recurringTransferRepository.save(recurringTransfer));
+    }
+
+    @Override
+    public ListRecurringTransferResponse getRecurringTransfers(String token, Pageable pageable) {
+        return recurringTransferMapper.listEntityToListResponse(
+                recurringTransferRepository.findByUserId(userId(token), pageable));
+    }
+
+    @Override
+    @Transactional
+    public RecurringTransferResponse cancel(String token, Long id) {
+        Long userId = userId(token);
+        RecurringTransfer recurringTransfer = recurringTransferRepository.findByIdForUpdate(id)
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new EntityNotFoundException("Recurring transfer not found by ID: " + id));
+        if (recurringTransfer.getStatus() == RecurringTransferStatus.COMPLETED) {
+            throw new IllegalStateException("Recurring transfer is already completed");
+        }
+        recurringTransfer.setStatus(RecurringTransferStatus.CANCELLED);
+        return recurringTransferMapper.entityToResponse(recurringTransferRepository.save(recurringTransfer));
+    }
+
+    private Long userId(String token) {
+        String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
+        return userService.findByEmail(email).getId();
+    }
+}
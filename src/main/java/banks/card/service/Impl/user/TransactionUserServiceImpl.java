@@ -2,50 +2,73 @@ package banks.card.service.Impl.user;
 
 import banks.card.dto.in.filter.TransactionFilterRequest;
 import banks.card.dto.out.transaction.ListTransactionResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
 import banks.card.entity.Card;
 import banks.card.entity.Transaction;
 import banks.card.entity.TransactionType;
 import banks.card.entity.TransferStatus;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.repository.TransactionRepository;
+import banks.card.service.Impl.archive.ArchivedTransaction;
 import banks.card.service.aspect.CheckingRightsCard;
 import banks.card.service.mapper.TransactionMapper;
+import banks.card.service.outbox.LedgerOutboxWriter;
 import banks.card.service.services.user.CardUserActionService;
+import banks.card.service.services.TransactionArchiveService;
 import banks.card.service.services.TransactionService;
 import banks.card.service.specification.TransactionSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Реализация {@link TransactionService} сервиса для работы с транзакциями пользователей.
+ * Успешные транзакции при сохранении записываются в исходящую очередь для внешних систем.
  */
 @Service
 @RequiredArgsConstructor
 public class TransactionUserServiceImpl implements TransactionService {
 
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "transactionDate", "id");
+
     private final TransactionRepository transactionRepository;
     private final CardUserActionService cardService;
     private final TransactionMapper transactionMapper;
+    private final TransactionArchiveService transactionArchiveService;
+    private final LedgerOutboxWriter ledgerOutboxWriter;
 
     @Override
     public Transaction createAndSave(Card fromCard, Card toCard, BigDecimal amount, TransferStatus status, TransactionType type, String message) {
         Transaction transaction = Transaction.createTransaction(fromCard, toCard, amount,
                 status, type, message);
-        return transactionRepository.save(transaction);
+        return saveAndPublish(transaction);
     }
 
     @Override
     public Transaction createAndSave(Card fromCard, BigDecimal amount, TransferStatus status, TransactionType type, String message) {
         Transaction transaction = Transaction.createTransaction(fromCard, amount,
                 status, type, message);
-        return transactionRepository.save(transaction);
+        return saveAndPublish(transaction);
+    }
+
+    private Transaction saveAndPublish(Transaction transaction) {
+        Transaction saved = transactionRepository.save(transaction);
+        if (saved.getTransferStatus() == TransferStatus.SUCCESS) {
+            ledgerOutboxWriter.append(saved);
+        }
+        return saved;
     }
 
     @Override
@@ -61,10 +84,94 @@ public class TransactionUserServiceImpl implements TransactionService {
         Card card = cardService.findById(cardId);
         Specification<Transaction> spec = TransactionSpecification.filterTransaction(filter);
 
+        if (transactionArchiveService.reachesArchive(filter)) {
+            return mergeArchived(card, spec, filter, pageable);
+        }
         Page<Transaction> transactions = transactionRepository.findByCard(card, spec, pageable);
         return transactionMapper.listEntityToResponseEntity(transactions);
     }
 
+    /**
+     * Собирает страницу из транзакций базы данных и архива в порядке сортировки {@code pageable}
+     * (по умолчанию от новых к старым).
+     * <p>
+     * Строки запрошенной страницы находятся среди первых {@code offset + size} строк базы данных и
+     * первых {@code offset + size} архивных транзакций, поэтому из обоих источников читается не больше
+     * этого числа строк, а уже упорядоченные списки сливаются до конца страницы. Общее количество
+     * складывается из количества строк в базе данных и количества архивных транзакций по индексу архива.
+     */
+    private ListTransactionResponse mergeArchived(Card card, Specification<Transaction> spec,
+                                                  TransactionFilterRequest filter, Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_SORT;
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        int limit = pageable.isPaged() ? Math.toIntExact(offset + size) : Integer.MAX_VALUE;
+        Pageable head = pageable.isPaged() ? PageRequest.of(0, limit, sort) : Pageable.unpaged(sort);
+        Comparator<ArchivedTransaction> order = newestFirst(sort) ? ArchivedTransaction.NEWEST_FIRST : comparator(sort);
+
+        Page<Transaction> live = transactionRepository.findByCard(card, spec, head);
+        List<ArchivedTransaction> archived = transactionArchiveService.findCardTransactions(
+                card.getId(), filter, order, limit);
+
+        List<TransactionResponse> responses = new ArrayList<>();
+        Iterator<Transaction> liveRows = live.iterator();
+        Iterator<ArchivedTransaction> archivedRows = archived.iterator();
+        ArchivedTransaction nextLive = liveRows.hasNext() ? transactionMapper.entityToArchived(liveRows.next()) : null;
+        ArchivedTransaction nextArchived = archivedRows.hasNext() ? archivedRows.next() : null;
+        for (long position = 0; position < limit && (nextLive != null || nextArchived != null); position++) {
+            ArchivedTransaction next;
+            if (nextArchived == null || (nextLive != null && order.compare(nextLive, nextArchived) <= 0)) {
+                next = nextLive;
+                nextLive = liveRows.hasNext() ? transactionMapper.entityToArchived(liveRows.next()) : null;
+            } else {
+                next = nextArchived;
+                nextArchived = archivedRows.hasNext() ? archivedRows.next() : null;
+            }
+            if (position >= offset) {
+                responses.add(transactionMapper.archivedToResponse(next));
+            }
+        }
+        long total = live.getTotalElements() + transactionArchiveService.countCardTransactions(card.getId(), filter);
+        int pages = pageable.isPaged() ? (int) ((total + size - 1) / size) : 1;
+        return new ListTransactionResponse(responses, total, pages);
+    }
+
+    /**
+     * Проверяет, совпадает ли сортировка с порядком {@link ArchivedTransaction#NEWEST_FIRST}.
+     */
+    private static boolean newestFirst(Sort sort) {
+        return sort.equals(DEFAULT_SORT) || sort.equals(Sort.by(Sort.Direction.DESC, "transactionDate"));
+    }
+
+    /**
+     * Строит порядок, совпадающий с сортировкой базы данных: по возрастанию NULL идут последними,
+     * по убыванию первыми. Неизвестные свойства не влияют на порядок, при равенстве сравнивается идентификатор.
+     */
+    private static Comparator<ArchivedTransaction> comparator(Sort sort) {
+        Comparator<ArchivedTransaction> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<ArchivedTransaction> byKey = switch (order.getProperty()) {
+                case "id" -> by(ArchivedTransaction::getId);
+                case "amount" -> by(ArchivedTransaction::getAmount);
+                case "transactionType" -> by(ArchivedTransaction::getTransactionType);
+                case "transferStatus" -> by(ArchivedTransaction::getTransferStatus);
+                case "transactionDate" -> by(ArchivedTransaction::getTransactionDate);
+                case "description" -> by(ArchivedTransaction::getDescription);
+                default -> null;
+            };
+            if (byKey == null) {
+                continue;
+            }
+            comparator = comparator.thenComparing(order.isAscending() ? byKey : byKey.reversed());
+        }
+        return comparator.thenComparing(ArchivedTransaction::getId, Comparator.reverseOrder());
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<ArchivedTransaction> by(
+            Function<ArchivedTransaction, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
     @Override
     public List<Transaction> findByCardAndTransactionDateAfterAndTypeIn(Card card, Timestamp date, List<TransactionType> types) {
         return transactionRepository.findByCardAndTransactionDateAfterAndTransactionTypeIn(card, date, types);
@@ -1,12 +1,13 @@
 package banks.card.service.aspect;
 
 import banks.card.dto.in.card.TransferRequest;
-import banks.card.dto.out.card.WithdrawalResponse;
-import banks.card.entity.Card;
+import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.entity.CardMetadata;
 import banks.card.exception.EntityNotFoundException;
 
 import banks.card.service.security.JwtService;
 import banks.card.service.services.user.CardUserActionService;
+import banks.card.service.services.user.UserUserActionService;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
@@ -36,9 +37,15 @@ public class CheckingRightsCardAspect {
      */
     private final JwtService jwtService;
 
+    /**
+     * Сервис для работы с пользователями.
+     */
+    private final UserUserActionService userService;
+
     /**
      * Проверяет права доступа пользователя к карте перед выполнением метода, аннотированного
-     * {@code CheckingRightsCard}. Извлекает email из токена и сравнивает его с email владельца карты.
+     * {@code CheckingRightsCard}. Извлекает email из токена и сравнивает пользователя с владельцем карты.
+     * Владелец берется из кэшируемого {@link CardMetadata}, поэтому проверка не читает строку карты из БД.
      *
      * @param joinPoint точка соединения, предоставляющая доступ к аргументам метода
      * @param checkingRightsCard аннотация с информацией об индексах параметров токена и карты
@@ -52,16 +59,17 @@ public class CheckingRightsCardAspect {
         String token = (String) args[checkingRightsCard.tokenIdIndex()];
         Object cardId = (Object) args[checkingRightsCard.cardIdIndex()];
 
-        Card card = null;
+        CardMetadata card = null;
         if(cardId instanceof Long){
-            card = cardService.findById((Long) cardId);
-        } else if(cardId instanceof WithdrawalResponse){
-            card = cardService.findById(((WithdrawalResponse) cardId).getCardId());
+            card = cardService.findMetadataById((Long) cardId);
+        } else if(cardId instanceof WithdrawalRequest){
+            card = cardService.findMetadataById(((WithdrawalRequest) cardId).getCardId());
         }
 
         String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
+        Long userId = userService.findByEmail(email).getId();
 
-        if (!card.getUser().getEmail().equals(email)) {
+        if (!card.getUserId().equals(userId)) {
             throw new AccessDeniedException("User " + email + " are not the owner of this card");
         }
     }
@@ -84,10 +92,11 @@ public class CheckingRightsCardAspect {
         String token = (String) args[checkingRightsCards.tokenIdIndex()];
 
         String email = jwtService.extractEmail(token.substring(BEARER_PREFIX.length()));
-        Card fromCard = cardService.findById(request.getFromCardId());
-        Card toCard = cardService.findById(request.getToCardId());
+        Long userId = userService.findByEmail(email).getId();
+        CardMetadata fromCard = cardService.findMetadataById(request.getFromCardId());
+        CardMetadata toCard = cardService.findMetadataById(request.getToCardId());
 
-        if (!fromCard.getUser().getEmail().equals(email) || !toCard.getUser().getEmail().equals(email)) {
+        if (!fromCard.getUserId().equals(userId) || !toCard.getUserId().equals(userId)) {
             throw new AccessDeniedException("User " + email + " are not the owner one of the card");
         }
     }
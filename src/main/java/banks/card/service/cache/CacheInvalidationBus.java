@@ -0,0 +1,74 @@
+package banks.card.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Публикует изменения кэшируемых данных для всех экземпляров приложения.
+ * <p>
+ * Событие записывается в журнал <code>cache_invalidations</code> и рассылается через
+ * <code>pg_notify</code> в той же транзакции, что и само изменение: PostgreSQL доставляет
+ * уведомление только после фиксации и не доставляет его при откате. Локальный кэш
+ * этого экземпляра очищается сразу после фиксации, не дожидаясь собственного уведомления.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    /**
+     * Канал LISTEN/NOTIFY для событий инвалидации.
+     */
+    public static final String CHANNEL = "cache_invalidation";
+
+    private static final String PUBLISH_SQL = """
+            WITH event AS (
+                INSERT INTO cache_invalidations (target, entity_id)
+                VALUES (?, ?)
+                RETURNING id, target, entity_id
+            )
+            SELECT pg_notify('cache_invalidation', id || ':' || target || ':' || entity_id)
+            FROM event
+            """;
+
+    private static final String PRUNE_SQL =
+            "DELETE FROM cache_invalidations WHERE created_at < now() - (? * interval '1 second')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalCacheEvictor localCacheEvictor;
+
+    /**
+     * Сообщает об изменении карты.
+     *
+     * @param cardId идентификатор карты
+     */
+    public void publishCardChanged(Long cardId) {
+        publish(InvalidationTarget.CARD, cardId);
+    }
+
+    /**
+     * Сообщает об изменении пользователя.
+     *
+     * @param userId идентификатор пользователя
+     */
+    public void publishUserChanged(Long userId) {
+        publish(InvalidationTarget.USER, userId);
+    }
+
+    /**
+     * Удаляет из журнала события старше {@code retention}.
+     *
+     * @param retention срок хранения событий
+     * @return количество удаленных событий
+     */
+    public int prune(Duration retention) {
+        return jdbcTemplate.update(PRUNE_SQL, retention.toSeconds());
+    }
+
+    private void publish(InvalidationTarget target, Long entityId) {
+        jdbcTemplate.query(PUBLISH_SQL, rs -> { }, target.name(), entityId);
+        localCacheEvictor.evict(target, entityId);
+    }
+}
@@ -0,0 +1,170 @@
+package banks.card.service.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Получает события инвалидации от других экземпляров приложения и очищает локальный кэш.
+ * <p>
+ * Слушает канал {@link CacheInvalidationBus#CHANNEL} на отдельном соединении в фоновом потоке.
+ * При потере соединения переподключается и догоняет пропущенные события по журналу
+ * <code>cache_invalidations</code>. Если за время отключения журнал был очищен и события
+ * могли потеряться, кэш очищается полностью.
+ * <p>
+ * Очистка идемпотентна, поэтому повторная обработка события безопасна. При догоняющем чтении
+ * захватывается {@link #CATCH_UP_OVERLAP} событий до последнего обработанного: идентификаторы
+ * выдаются при вставке, а транзакции фиксируются в другом порядке.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener {
+
+    static final long CATCH_UP_OVERLAP = 100;
+
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM cache_invalidations";
+    private static final String EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM cache_invalidations WHERE id = ?)";
+    private static final String CATCH_UP_SQL =
+            "SELECT id, target, entity_id FROM cache_invalidations WHERE id > ? ORDER BY id";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalCacheEvictor localCacheEvictor;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Идентификатор последнего обработанного события, -1 до первого подключения.
+     */
+    private volatile long lastSeenId = -1;
+
+    public CacheInvalidationListener(DataSource dataSource,
+                                     JdbcTemplate jdbcTemplate,
+                                     LocalCacheEvictor localCacheEvictor,
+                                     @Value("${cache.invalidation.poll-timeout-ms:5000}") int pollTimeoutMs,
+                                     @Value("${cache.invalidation.reconnect-delay-ms:2000}") long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.localCacheEvictor = localCacheEvictor;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    /**
+     * Запускает фоновый поток прослушивания после старта приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = new Thread(this::listen, "cache-invalidation-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Останавливает прослушивание.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CacheInvalidationBus.CHANNEL);
+                }
+                catchUp();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost connection, reconnecting in {} ms", reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Обрабатывает события, опубликованные, пока соединение не слушало канал.
+     * При первом подключении локальный кэш пуст, поэтому журнал только запоминается.
+     */
+    void catchUp() {
+        if (lastSeenId < 0) {
+            lastSeenId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+            return;
+        }
+
+        boolean lastSeenKept = lastSeenId == 0
+                || jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, lastSeenId);
+        if (!lastSeenKept) {
+            log.warn("Cache invalidation log was pruned past event {}, evicting the whole cache", lastSeenId);
+            localCacheEvictor.evictAll();
+        }
+
+        jdbcTemplate.query(CATCH_UP_SQL, rs -> {
+            apply(rs.getLong("id"), InvalidationTarget.valueOf(rs.getString("target")), rs.getLong("entity_id"));
+        }, Math.max(0, lastSeenId - CATCH_UP_OVERLAP));
+    }
+
+    /**
+     * Обрабатывает уведомление вида <code>id:TARGET:entityId</code>.
+     *
+     * @param payload содержимое уведомления
+     */
+    void handle(String payload) {
+        String[] parts = payload.split(":", 3);
+        try {
+            apply(Long.parseLong(parts[0]), InvalidationTarget.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed cache invalidation payload '{}'", payload);
+        }
+    }
+
+    long getLastSeenId() {
+        return lastSeenId;
+    }
+
+    private void apply(long eventId, InvalidationTarget target, long entityId) {
+        localCacheEvictor.evict(target, entityId);
+        if (eventId > lastSeenId) {
+            lastSeenId = eventId;
+        }
+    }
+}
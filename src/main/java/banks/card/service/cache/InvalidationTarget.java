@@ -0,0 +1,17 @@
+package banks.card.service.cache;
+
+/**
+ * Вид кэшируемых данных, изменение которых рассылается всем экземплярам приложения.
+ */
+public enum InvalidationTarget {
+
+    /**
+     * Данные карты: владелец, лимиты, статус.
+     */
+    CARD,
+
+    /**
+     * Данные пользователя, включая роль.
+     */
+    USER
+}
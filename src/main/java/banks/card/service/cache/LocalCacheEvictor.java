@@ -0,0 +1,80 @@
+package banks.card.service.cache;
+
+import banks.card.entity.CardMetadata;
+import banks.card.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Точечная очистка кэша второго уровня этого экземпляра приложения.
+ * <p>
+ * Если вызов выполняется внутри транзакции, запись удаляется после ее фиксации: при удалении
+ * до фиксации параллельная транзакция могла бы снова загрузить в кэш старое значение.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Удаляет из кэша данные карты {@link CardMetadata}.
+     *
+     * @param cardId идентификатор карты
+     */
+    public void evictCard(Long cardId) {
+        afterCommit(() -> entityManagerFactory.getCache().evict(CardMetadata.class, cardId));
+    }
+
+    /**
+     * Удаляет из кэша пользователя {@link User} и результаты поиска пользователей по email.
+     * Прежний email пользователя неизвестен, поэтому регион {@value User#EMAIL_QUERY_CACHE_REGION}
+     * очищается целиком.
+     *
+     * @param userId идентификатор пользователя
+     */
+    public void evictUser(Long userId) {
+        afterCommit(() -> {
+            Cache cache = entityManagerFactory.getCache();
+            cache.evict(User.class, userId);
+            cache.unwrap(org.hibernate.Cache.class).evictQueryRegion(User.EMAIL_QUERY_CACHE_REGION);
+        });
+    }
+
+    /**
+     * Удаляет из кэша данные указанного вида.
+     *
+     * @param target   вид данных
+     * @param entityId идентификатор сущности
+     */
+    public void evict(InvalidationTarget target, Long entityId) {
+        switch (target) {
+            case CARD -> evictCard(entityId);
+            case USER -> evictUser(entityId);
+        }
+    }
+
+    /**
+     * Полностью очищает кэш второго уровня.
+     */
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package banks.card.service.events;
+
+import banks.card.entity.Card;
+import banks.card.entity.Transaction;
+import banks.card.service.mapper.CardMapper;
+import banks.card.service.mapper.TransactionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Публикует изменения карт и новые транзакции в потоки событий их владельцев.
+ * Ответ формируется в момент вызова, а доставляется после фиксации транзакции, поэтому
+ * при откате клиенты ничего не получают.
+ */
+@Component
+@RequiredArgsConstructor
+public class CardEventPublisher {
+
+    private final UserEventBroker broker;
+    private final CardMapper cardMapper;
+    private final TransactionMapper transactionMapper;
+
+    /**
+     * Публикует текущее состояние карты ее владельцу.
+     *
+     * @param card объект {@link Card}
+     */
+    public void publishCard(Card card) {
+        broker.publish(card.getUser().getId(), cardMapper.entityToResponse(card));
+    }
+
+    /**
+     * Публикует транзакцию владельцу ее карты.
+     *
+     * @param transaction объект {@link Transaction}
+     */
+    public void publishTransaction(Transaction transaction) {
+        broker.publish(transaction.getCard().getUser().getId(), transactionMapper.entityToResponse(transaction));
+    }
+}
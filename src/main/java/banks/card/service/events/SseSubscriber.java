@@ -0,0 +1,133 @@
+package banks.card.service.events;
+
+import banks.card.dto.out.card.CardResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Подписчик потока событий пользователя с ограниченным буфером.
+ * <p>
+ * События изменения карты схлопываются: в буфере хранится только последнее состояние каждой карты.
+ * Новые транзакции хранятся в очереди ограниченной длины; при переполнении старейшая транзакция
+ * отбрасывается, а клиенту отправляется событие {@value #RESYNC_EVENT}, после которого он должен
+ * перечитать данные. Поэтому медленный клиент занимает ограниченную память и не задерживает остальных.
+ */
+class SseSubscriber {
+
+    static final String CARD_EVENT = "card";
+    static final String TRANSACTION_EVENT = "transaction";
+    static final String RESYNC_EVENT = "resync";
+
+    @Getter
+    private final Long userId;
+
+    @Getter
+    private final SseEmitter emitter;
+
+    private final int maxTransactions;
+    private final Map<Long, CardResponse> cards = new LinkedHashMap<>();
+    private final Deque<TransactionResponse> transactions = new ArrayDeque<>();
+    private boolean dropped;
+    private boolean heartbeat;
+
+    /**
+     * Признак того, что доставка буфера уже запланирована.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    SseSubscriber(Long userId, SseEmitter emitter, int maxTransactions) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.maxTransactions = maxTransactions;
+    }
+
+    /**
+     * Помещает в буфер состояние карты, заменяя ранее не отправленное состояние той же карты.
+     *
+     * @param card состояние карты
+     */
+    synchronized void offer(CardResponse card) {
+        cards.remove(card.getId());
+        cards.put(card.getId(), card);
+    }
+
+    /**
+     * Помещает в буфер транзакцию, при переполнении отбрасывая старейшую.
+     *
+     * @param transaction транзакция
+     */
+    synchronized void offer(TransactionResponse transaction) {
+        if (transactions.size() >= maxTransactions) {
+            transactions.pollFirst();
+            dropped = true;
+        }
+        transactions.addLast(transaction);
+    }
+
+    /**
+     * Запрашивает отправку комментария, поддерживающего простаивающее соединение.
+     */
+    synchronized void offerHeartbeat() {
+        heartbeat = true;
+    }
+
+    /**
+     * Отмечает, что доставка запланирована.
+     *
+     * @return {@code true}, если доставка еще не была запланирована
+     */
+    boolean schedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Отправляет накопленные события. События, поступившие во время отправки, остаются в буфере,
+     * поэтому после сброса признака планирования буфер проверяется повторно.
+     *
+     * @return {@code true}, если после отправки в буфере остались события
+     * @throws IOException если клиент отключился
+     */
+    boolean drain() throws IOException {
+        List<SseEmitter.SseEventBuilder> events = take();
+        for (SseEmitter.SseEventBuilder event : events) {
+            emitter.send(event);
+        }
+        scheduled.set(false);
+        return hasPending();
+    }
+
+    synchronized boolean hasPending() {
+        return !cards.isEmpty() || !transactions.isEmpty() || dropped || heartbeat;
+    }
+
+    private synchronized List<SseEmitter.SseEventBuilder> take() {
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+        if (dropped) {
+            events.add(SseEmitter.event().name(RESYNC_EVENT).data("transactions dropped", MediaType.TEXT_PLAIN));
+            dropped = false;
+        }
+        cards.values().forEach(card ->
+                events.add(SseEmitter.event().name(CARD_EVENT).data(card, MediaType.APPLICATION_JSON)));
+        cards.clear();
+        transactions.forEach(transaction ->
+                events.add(SseEmitter.event().name(TRANSACTION_EVENT).id(String.valueOf(transaction.getId()))
+                        .data(transaction, MediaType.APPLICATION_JSON)));
+        transactions.clear();
+        if (heartbeat && events.isEmpty()) {
+            events.add(SseEmitter.event().comment("heartbeat"));
+        }
+        heartbeat = false;
+        return events;
+    }
+}
@@ -0,0 +1,179 @@
+package banks.card.service.events;
+
+import banks.card.dto.out.card.CardResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Брокер событий пользователя для потоков Server-Sent Events внутри экземпляра приложения.
+ * <p>
+ * Соединения держатся асинхронной обработкой запросов сервлета, поэтому простаивающий подписчик
+ * не занимает поток. События публикуются после фиксации транзакции, помещаются в ограниченный
+ * буфер каждого подписчика ({@link SseSubscriber}) и отправляются небольшим пулом потоков,
+ * причем одновременно буфер подписчика разбирает не больше одного потока.
+ */
+@Slf4j
+@Component
+public class UserEventBroker {
+
+    private final Map<Long, Deque<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService pool;
+    private final long timeoutMs;
+    private final int maxTransactions;
+    private final int maxSubscribersPerUser;
+
+    public UserEventBroker(@Value("${events.sse.parallelism:4}") int parallelism,
+                           @Value("${events.sse.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${events.sse.buffer-size:100}") int maxTransactions,
+                           @Value("${events.sse.max-subscribers-per-user:5}") int maxSubscribersPerUser) {
+        this.pool = Executors.newFixedThreadPool(parallelism);
+        this.timeoutMs = timeoutMs;
+        this.maxTransactions = maxTransactions;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+    }
+
+    /**
+     * Подписывает клиента на события пользователя. Если у пользователя уже максимальное число
+     * подписок, самая старая закрывается.
+     *
+     * @param userId идентификатор пользователя
+     * @return поток событий
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseSubscriber subscriber = new SseSubscriber(userId, new SseEmitter(timeoutMs), maxTransactions);
+        List<SseSubscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Deque<SseSubscriber> result = userSubscribers == null ? new ConcurrentLinkedDeque<>() : userSubscribers;
+            result.addLast(subscriber);
+            while (result.size() > maxSubscribersPerUser) {
+                evicted.add(result.pollFirst());
+            }
+            return result;
+        });
+        evicted.forEach(oldest -> oldest.getEmitter().complete());
+
+        SseEmitter emitter = subscriber.getEmitter();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Публикует новое состояние карты после фиксации текущей транзакции.
+     *
+     * @param userId идентификатор владельца карты
+     * @param card   состояние карты
+     */
+    public void publish(Long userId, CardResponse card) {
+        afterCommit(() -> forEachSubscriber(userId, subscriber -> subscriber.offer(card)));
+    }
+
+    /**
+     * Публикует новую транзакцию после фиксации текущей транзакции.
+     *
+     * @param userId      идентификатор владельца карты транзакции
+     * @param transaction транзакция
+     */
+    public void publish(Long userId, TransactionResponse transaction) {
+        afterCommit(() -> forEachSubscriber(userId, subscriber -> subscriber.offer(transaction)));
+    }
+
+    /**
+     * Отправляет комментарий всем подписчикам, чтобы прокси не закрывали простаивающие соединения.
+     */
+    @Scheduled(fixedDelayString = "${events.sse.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            subscriber.offerHeartbeat();
+            schedule(subscriber);
+        }));
+    }
+
+    /**
+     * Возвращает количество подписчиков.
+     *
+     * @return количество открытых потоков событий
+     */
+    public int getSubscribers() {
+        return subscribers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(s -> s.getEmitter().complete()));
+    }
+
+    private void forEachSubscriber(Long userId, Consumer<SseSubscriber> offer) {
+        Deque<SseSubscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        for (SseSubscriber subscriber : userSubscribers) {
+            offer.accept(subscriber);
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(SseSubscriber subscriber) {
+        if (!subscriber.schedule()) {
+            return;
+        }
+        try {
+            pool.execute(() -> deliver(subscriber));
+        } catch (RejectedExecutionException e) {
+            log.debug("Event delivery rejected for user {}", subscriber.getUserId());
+        }
+    }
+
+    private void deliver(SseSubscriber subscriber) {
+        try {
+            if (subscriber.drain()) {
+                schedule(subscriber);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.getEmitter().completeWithError(e);
+        }
+    }
+
+    private void remove(SseSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.getUserId(), (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private static void afterCommit(Runnable publication) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publication.run();
+                }
+            });
+        } else {
+            publication.run();
+        }
+    }
+}
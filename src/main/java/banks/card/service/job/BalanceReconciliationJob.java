@@ -0,0 +1,55 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.amin.BalanceReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ночная сверка балансов карт с журналом транзакций.
+ * Задача выполняется только на экземпляре, получившем аренду {@value #LEASE_NAME}.
+ * Включается свойством <code>reconciliation.enabled</code>.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reconciliation.enabled", havingValue = "true")
+public class BalanceReconciliationJob {
+
+    static final String LEASE_NAME = "balance-reconciliation";
+
+    private final BalanceReconciliationService balanceReconciliationService;
+    private final SchedulerLease schedulerLease;
+    private final Duration leaseTtl;
+
+    public BalanceReconciliationJob(BalanceReconciliationService balanceReconciliationService,
+                                    SchedulerLease schedulerLease,
+                                    @Value("${reconciliation.lease-ttl:PT2H}") Duration leaseTtl) {
+        this.balanceReconciliationService = balanceReconciliationService;
+        this.schedulerLease = schedulerLease;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Запускает сверку по расписанию <code>reconciliation.cron</code>.
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 0 4 * * *}")
+    public void run() {
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                return;
+            }
+            try {
+                balanceReconciliationService.reconcile();
+            } finally {
+                schedulerLease.release(LEASE_NAME);
+            }
+        } catch (RuntimeException e) {
+            log.error("Balance reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package banks.card.service.job;
+
+import banks.card.service.cache.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Периодическая очистка журнала событий инвалидации кэша.
+ * Срок хранения <code>cache.invalidation.retention</code> определяет, насколько долго экземпляр
+ * может быть отключен от базы и догнать пропущенные события без полной очистки кэша.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationCleanupJob {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Duration retention;
+
+    public CacheInvalidationCleanupJob(CacheInvalidationBus cacheInvalidationBus,
+                                       @Value("${cache.invalidation.retention:PT24H}") Duration retention) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.retention = retention;
+    }
+
+    /**
+     * Удаляет устаревшие события по расписанию <code>cache.invalidation.cleanup-cron</code>.
+     */
+    @Scheduled(cron = "${cache.invalidation.cleanup-cron:0 15 * * * *}")
+    public void run() {
+        try {
+            int deleted = cacheInvalidationBus.prune(retention);
+            log.debug("Pruned {} cache invalidation events", deleted);
+        } catch (RuntimeException e) {
+            log.error("Cache invalidation log cleanup failed", e);
+        }
+    }
+}
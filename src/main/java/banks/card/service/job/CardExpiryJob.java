@@ -0,0 +1,70 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.CardExpiryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Периодический перевод карт с истекшим сроком действия в статус {@code EXPIRED}.
+ * Проверки карт при операциях опираются только на сохраненный статус, поэтому срок действия
+ * не проверяется на каждом запросе. Карты переводятся пакетами по <code>cards.expiry.batch-size</code>,
+ * каждый пакет в своей транзакции. Задача выполняется только на экземпляре, получившем аренду
+ * {@value #LEASE_NAME}. Включается свойством <code>cards.expiry.enabled</code>.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cards.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class CardExpiryJob {
+
+    static final String LEASE_NAME = "card-expiry";
+
+    private final CardExpiryService cardExpiryService;
+    private final SchedulerLease schedulerLease;
+    private final int batchSize;
+    private final Duration leaseTtl;
+
+    public CardExpiryJob(CardExpiryService cardExpiryService,
+                         SchedulerLease schedulerLease,
+                         @Value("${cards.expiry.batch-size:1000}") int batchSize,
+                         @Value("${cards.expiry.lease-ttl:PT10M}") Duration leaseTtl) {
+        this.cardExpiryService = cardExpiryService;
+        this.schedulerLease = schedulerLease;
+        this.batchSize = batchSize;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Переводит карты с истекшим сроком действия по расписанию <code>cards.expiry.cron</code>.
+     */
+    @Scheduled(cron = "${cards.expiry.cron:0 5 0 * * *}")
+    public void run() {
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                return;
+            }
+            try {
+                LocalDate today = LocalDate.now();
+                int total = 0;
+                int batches = 0;
+                int expired;
+                do {
+                    expired = cardExpiryService.expireBatch(today, batchSize);
+                    total += expired;
+                    batches++;
+                } while (expired == batchSize);
+                log.info("Expired {} cards in {} batches", total, batches);
+            } finally {
+                schedulerLease.release(LEASE_NAME);
+            }
+        } catch (RuntimeException e) {
+            log.error("Card expiry failed", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package banks.card.service.job;
+
+import banks.card.service.services.CardHoldExpiryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Периодическое освобождение холдов, не списанных до истечения срока.
+ * Холды освобождаются пакетами по <code>holds.expiry.batch-size</code>, каждый пакет в своей транзакции,
+ * пока не будут обработаны все истекшие холды.
+ * Включается свойством <code>holds.expiry.enabled</code>.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "holds.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class CardHoldExpiryJob {
+
+    private final CardHoldExpiryService cardHoldExpiryService;
+    private final int batchSize;
+
+    public CardHoldExpiryJob(CardHoldExpiryService cardHoldExpiryService,
+                             @Value("${holds.expiry.batch-size:1000}") int batchSize) {
+        this.cardHoldExpiryService = cardHoldExpiryService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Освобождает истекшие холды с интервалом <code>holds.expiry.fixed-delay-ms</code>.
+     */
+    @Scheduled(fixedDelayString = "${holds.expiry.fixed-delay-ms:60000}")
+    public void run() {
+        try {
+            int total = 0;
+            int expired;
+            do {
+                expired = cardHoldExpiryService.expireStale(batchSize);
+                total += expired;
+            } while (expired == batchSize);
+            if (total > 0) {
+                log.info("Expired {} card holds", total);
+            }
+        } catch (RuntimeException e) {
+            log.error("Card hold expiry failed", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package banks.card.service.job;
+
+import banks.card.dto.out.deletion.DeletionJobResponse;
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.amin.DeletionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Периодическое окончательное удаление пользователей и карт, помеченных удаленными.
+ * За один запуск каждое незавершенное удаление обрабатывается один раз, поэтому удаление,
+ * завершившееся ошибкой, повторяется при следующем запуске и не блокирует остальные.
+ * Задача выполняется только на экземпляре, получившем аренду {@value #LEASE_NAME}.
+ * Включается свойством <code>deletion.enabled</code>.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "deletion.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletionPurgeJob {
+
+    static final String LEASE_NAME = "deletion-purge";
+
+    private final DeletionService deletionService;
+    private final SchedulerLease schedulerLease;
+    private final Duration leaseTtl;
+
+    public DeletionPurgeJob(DeletionService deletionService,
+                            SchedulerLease schedulerLease,
+                            @Value("${deletion.lease-ttl:PT10M}") Duration leaseTtl) {
+        this.deletionService = deletionService;
+        this.schedulerLease = schedulerLease;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Обрабатывает очередь удалений с интервалом <code>deletion.fixed-delay-ms</code>.
+     */
+    @Scheduled(fixedDelayString = "${deletion.fixed-delay-ms:10000}")
+    public void run() {
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                return;
+            }
+            try {
+                long afterId = 0;
+                Optional<DeletionJobResponse> processed;
+                while ((processed = deletionService.purgeNext(afterId)).isPresent()) {
+                    afterId = processed.get().getId();
+                    schedulerLease.acquire(LEASE_NAME, leaseTtl);
+                }
+            } finally {
+                schedulerLease.release(LEASE_NAME);
+            }
+        } catch (RuntimeException e) {
+            log.error("Deletion purge failed", e);
+        }
+    }
+}
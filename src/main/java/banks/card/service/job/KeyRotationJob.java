@@ -0,0 +1,42 @@
+package banks.card.service.job;
+
+import banks.card.service.services.amin.KeyRotationService;
+import banks.card.utils.CardMascEncryptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Продолжение перешифрования номеров карт после перезапуска приложения.
+ * Если последнее перешифрование прервано остановкой экземпляра и нацелено на текущую версию ключа,
+ * оно продолжается с сохраненной позиции.
+ * Включается свойством <code>hash.card.rotation.resume-on-startup</code>.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "hash.card.rotation.resume-on-startup", havingValue = "true", matchIfMissing = true)
+public class KeyRotationJob {
+
+    private final KeyRotationService keyRotationService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        try {
+            keyRotationService.getLatest()
+                    .filter(rotation -> "RUNNING".equals(rotation.getStatus()))
+                    .filter(rotation -> rotation.getTargetVersion() == CardMascEncryptor.getCurrentVersion())
+                    .ifPresent(rotation -> {
+                        log.info("Resuming key rotation {} from card {}", rotation.getId(), rotation.getLastCardId());
+                        keyRotationService.start();
+                    });
+        } catch (IllegalStateException e) {
+            log.info("Key rotation not resumed: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Key rotation resume failed", e);
+        }
+    }
+}
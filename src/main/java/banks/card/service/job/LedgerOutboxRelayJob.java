@@ -0,0 +1,49 @@
+package banks.card.service.job;
+
+import banks.card.service.services.amin.LedgerOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Периодическая ретрансляция исходящей очереди событий транзакций.
+ * За один запуск пакеты забираются подряд, пока очередь не опустеет или не будет
+ * опубликовано <code>outbox.relay.max-batches-per-run</code> пакетов. Пакеты разных экземпляров
+ * приложения не пересекаются, поэтому задача выполняется на всех экземплярах без аренды.
+ * Включается свойством <code>outbox.enabled</code>.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class LedgerOutboxRelayJob {
+
+    private final LedgerOutboxService ledgerOutboxService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public LedgerOutboxRelayJob(LedgerOutboxService ledgerOutboxService,
+                                @Value("${outbox.relay.batch-size:500}") int batchSize,
+                                @Value("${outbox.relay.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.ledgerOutboxService = ledgerOutboxService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Публикует накопившиеся события с интервалом <code>outbox.relay.fixed-delay-ms</code>.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms:500}")
+    public void run() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (ledgerOutboxService.relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Ledger outbox relay failed", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package banks.card.service.job;
+
+import banks.card.service.services.amin.SettlementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Дневной расчет отложенных переводов за прошедший операционный день.
+ * Включается свойством <code>settlement.enabled</code>.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "settlement.enabled", havingValue = "true")
+public class SettlementJob {
+
+    private final SettlementService settlementService;
+
+    /**
+     * Запускает расчет за вчерашний день по расписанию <code>settlement.cron</code>.
+     * Прерванный ранее пакет продолжается с контрольных точек.
+     */
+    @Scheduled(cron = "${settlement.cron:0 10 0 * * *}")
+    public void run() {
+        try {
+            settlementService.settle(LocalDate.now().minusDays(1));
+        } catch (RuntimeException e) {
+            log.error("Day-end settlement failed", e);
+        }
+    }
+}
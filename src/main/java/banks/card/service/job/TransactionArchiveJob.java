@@ -0,0 +1,55 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.TransactionArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Периодический перенос транзакций старше горизонта хранения в холодный архив.
+ * Задача выполняется только на экземпляре, получившем аренду {@value #LEASE_NAME}.
+ * Включается свойством <code>transactions.archive.enabled</code>.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "transactions.archive.enabled", havingValue = "true")
+public class TransactionArchiveJob {
+
+    static final String LEASE_NAME = "transaction-archive";
+
+    private final TransactionArchiveService transactionArchiveService;
+    private final SchedulerLease schedulerLease;
+    private final Duration leaseTtl;
+
+    public TransactionArchiveJob(TransactionArchiveService transactionArchiveService,
+                                 SchedulerLease schedulerLease,
+                                 @Value("${transactions.archive.lease-ttl:PT2H}") Duration leaseTtl) {
+        this.transactionArchiveService = transactionArchiveService;
+        this.schedulerLease = schedulerLease;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Запускает архивацию по расписанию <code>transactions.archive.cron</code>.
+     */
+    @Scheduled(cron = "${transactions.archive.cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                return;
+            }
+            try {
+                transactionArchiveService.archiveOlderThanHorizon();
+            } finally {
+                schedulerLease.release(LEASE_NAME);
+            }
+        } catch (RuntimeException e) {
+            log.error("Transaction archival failed", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Обслуживание месячных секций таблицы <code>transactions</code>.
+ * <p>
+ * Заранее создает секции на <code>transactions.partitions.months-ahead</code> месяцев вперед,
+ * чтобы новые транзакции не попадали в секцию по умолчанию. Если задан срок хранения
+ * <code>transactions.partitions.retention-months</code>, секции старше него отсоединяются
+ * от таблицы и переименовываются в <code>transactions_archived_pYYYYMM</code>
+ * (или удаляются при <code>transactions.partitions.drop-detached=true</code>).
+ * <p>
+ * Отсоединение, перенос итогового движения средств секции в <code>card_archived_totals</code> и
+ * переименование или удаление выполняются в одной транзакции, поэтому сверка баланса учитывает
+ * отсоединенные транзакции. Секция с нерассчитанными отложенными записями не отсоединяется.
+ * Задача выполняется только на экземпляре, получившем аренду {@value #LEASE_NAME}.
+ */
+@Slf4j
+@Component
+public class TransactionPartitionJob {
+
+    static final String LEASE_NAME = "transaction-partitions";
+    static final String PARTITION_PREFIX = "transactions_p";
+    static final String ARCHIVED_PREFIX = "transactions_archived_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+                     JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'transactions'
+              AND c.relname ~ '^transactions_p[0-9]{6}$'
+            """;
+
+    private static final String COUNT_PENDING_SQL = "SELECT count(*) FROM %s WHERE transfer_status = 'PENDING'";
+
+    /**
+     * Переносит итоговое движение средств по успешным транзакциям отсоединенной секции
+     * в <code>card_archived_totals</code>.
+     */
+    private static final String FOLD_TOTALS_SQL = """
+            INSERT INTO card_archived_totals (card_id, net_amount)
+            SELECT card_id,
+                   sum(CASE WHEN transaction_type IN ('DEPOSIT', 'TRANSFER_IN') THEN amount ELSE -amount END)
+            FROM %s
+            WHERE transfer_status = 'SUCCESS'
+            GROUP BY card_id
+            ON CONFLICT (card_id) DO UPDATE SET net_amount = card_archived_totals.net_amount + excluded.net_amount
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLease schedulerLease;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropDetached;
+    private final Duration leaseTtl;
+
+    public TransactionPartitionJob(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   SchedulerLease schedulerLease,
+                                   @Value("${transactions.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${transactions.partitions.retention-months:0}") int retentionMonths,
+                                   @Value("${transactions.partitions.drop-detached:false}") boolean dropDetached,
+                                   @Value("${transactions.partitions.lease-ttl:PT10M}") Duration leaseTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLease = schedulerLease;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.dropDetached = dropDetached;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Выполняет обслуживание при старте приложения, чтобы секции текущего и будущих
+     * месяцев существовали до первой транзакции.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    /**
+     * Периодическое обслуживание секций по расписанию <code>transactions.partitions.cron</code>.
+     */
+    @Scheduled(cron = "${transactions.partitions.cron:0 0 3 * * *}")
+    public void run() {
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseTtl)) {
+                return;
+            }
+            try {
+                maintain(YearMonth.now());
+            } finally {
+                schedulerLease.release(LEASE_NAME);
+            }
+        } catch (RuntimeException e) {
+            log.error("Transaction partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Создает недостающие будущие секции и отсоединяет устаревшие относительно месяца {@code current}.
+     *
+     * @param current текущий месяц
+     */
+    void maintain(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", String.class,
+                    month.atDay(1));
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+        for (String partition : partitions) {
+            if (monthOf(partition).isBefore(oldestKept)) {
+                detach(partition);
+            }
+        }
+    }
+
+    /**
+     * Отсоединяет секцию и переносит ее итоговое движение средств в <code>card_archived_totals</code>
+     * в одной транзакции. Секция с отложенными записями остается на месте до их расчета.
+     */
+    private void detach(String partition) {
+        Long pending = jdbcTemplate.queryForObject(COUNT_PENDING_SQL.formatted(partition), Long.class);
+        if (pending != null && pending > 0) {
+            log.warn("Transaction partition {} has {} pending entries, not detached", partition, pending);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+            jdbcTemplate.update(FOLD_TOTALS_SQL.formatted(partition));
+            if (dropDetached) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped transaction partition {}", partition);
+            } else {
+                String archived = ARCHIVED_PREFIX + partition.substring(PARTITION_PREFIX.length());
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archived);
+                log.info("Detached transaction partition {} as {}", partition, archived);
+            }
+        });
+    }
+
+    /**
+     * Возвращает имя секции для месяца.
+     *
+     * @param month месяц
+     * @return имя секции вида <code>transactions_pYYYYMM</code>
+     */
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Определяет месяц секции по её имени.
+     *
+     * @param partition имя секции вида <code>transactions_pYYYYMM</code>
+     * @return месяц секции
+     */
+    static YearMonth monthOf(String partition) {
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+}
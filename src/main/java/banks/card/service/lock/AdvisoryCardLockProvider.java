@@ -0,0 +1,41 @@
+package banks.card.service.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Реализация {@link CardLockProvider} на транзакционных advisory-блокировках PostgreSQL.
+ * <p>
+ * Блокировка берется по паре ключей (пространство карт, идентификатор карты) и снимается
+ * сервером при завершении транзакции, в том числе при обрыве соединения, поэтому все
+ * экземпляры приложения, работающие с одной базой, согласуются без дополнительной инфраструктуры.
+ * Идентификатор карты передается как <code>int</code>; идентификаторы выше 2<sup>31</sup>-1
+ * сворачиваются и могут разделять блокировку, что безопасно, но снижает параллелизм.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cards.lock.strategy", havingValue = "advisory")
+public class AdvisoryCardLockProvider implements CardLockProvider {
+
+    /**
+     * Пространство ключей advisory-блокировок карт.
+     */
+    static final int CARD_LOCK_SPACE = 0x43415244;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Collection<Long> cardIds) {
+        for (Long cardId : CardLockOrder.ascending(cardIds)) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> { },
+                    CARD_LOCK_SPACE, Long.hashCode(cardId));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package banks.card.service.lock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Порядок захвата блокировок карт, общий для всех стратегий.
+ */
+final class CardLockOrder {
+
+    private CardLockOrder() {
+    }
+
+    /**
+     * Возвращает идентификаторы без повторов в порядке возрастания.
+     */
+    static List<Long> ascending(Collection<Long> cardIds) {
+        return cardIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Возвращает номера полос блокировок без повторов в порядке возрастания.
+     * Две карты могут попасть в одну полосу, поэтому упорядочиваются именно полосы.
+     */
+    static List<Integer> stripes(Collection<Long> cardIds, int stripeCount) {
+        return cardIds.stream()
+                .filter(Objects::nonNull)
+                .map(id -> (int) Math.floorMod(id, (long) stripeCount))
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
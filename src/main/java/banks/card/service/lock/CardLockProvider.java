@@ -0,0 +1,27 @@
+package banks.card.service.lock;
+
+import java.util.Collection;
+
+/**
+ * Стратегия блокировки карт на время операции с балансом.
+ * <p>
+ * Блокировки берутся в порядке возрастания идентификаторов карт, чтобы встречные переводы
+ * не приводили к взаимоблокировке, и освобождаются при завершении текущей транзакции.
+ * Реализация выбирается свойством <code>cards.lock.strategy</code>:
+ * <ul>
+ *     <li><code>row</code> (по умолчанию) — <code>SELECT ... FOR UPDATE</code> строк карт;</li>
+ *     <li><code>advisory</code> — <code>pg_advisory_xact_lock</code>, не блокирует строки и
+ *     согласует экземпляры приложения, работающие с одной базой;</li>
+ *     <li><code>local</code> — блокировки внутри JVM, подходит только для одного экземпляра.</li>
+ * </ul>
+ */
+public interface CardLockProvider {
+
+    /**
+     * Блокирует карты до конца текущей транзакции.
+     *
+     * @param cardIds идентификаторы карт, повторы допускаются
+     * @throws IllegalStateException если нет активной транзакции
+     */
+    void lock(Collection<Long> cardIds);
+}
@@ -0,0 +1,56 @@
+package banks.card.service.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Реализация {@link CardLockProvider} на блокировках внутри JVM.
+ * <p>
+ * Карты распределяются по {@code cards.lock.local.stripes} блокировкам по остатку от деления
+ * идентификатора. Блокировки снимаются после завершения транзакции. Не согласует несколько
+ * экземпляров приложения: при горизонтальном масштабировании используйте <code>advisory</code>.
+ */
+@Component
+@ConditionalOnProperty(name = "cards.lock.strategy", havingValue = "local")
+public class LocalCardLockProvider implements CardLockProvider {
+
+    private final ReentrantLock[] stripes;
+
+    public LocalCardLockProvider(@Value("${cards.lock.local.stripes:1024}") int stripes) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void lock(Collection<Long> cardIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Card locks require an active transaction");
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>();
+        for (int stripe : CardLockOrder.stripes(cardIds, stripes.length)) {
+            ReentrantLock lock = stripes[stripe];
+            lock.lock();
+            acquired.add(lock);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = acquired.size() - 1; i >= 0; i--) {
+                    acquired.get(i).unlock();
+                }
+            }
+        });
+    }
+}
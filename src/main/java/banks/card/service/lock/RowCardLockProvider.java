@@ -0,0 +1,29 @@
+package banks.card.service.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Реализация {@link CardLockProvider} на блокировках строк таблицы <code>cards</code>.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cards.lock.strategy", havingValue = "row", matchIfMissing = true)
+public class RowCardLockProvider implements CardLockProvider {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Collection<Long> cardIds) {
+        for (Long cardId : CardLockOrder.ascending(cardIds)) {
+            jdbcTemplate.queryForList("SELECT id FROM cards WHERE id = ? FOR UPDATE", Long.class, cardId);
+        }
+    }
+}
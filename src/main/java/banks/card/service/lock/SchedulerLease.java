@@ -0,0 +1,85 @@
+package banks.card.service.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Аренда фоновой задачи в таблице <code>scheduler_leases</code>, позволяющая выполнять задачу
+ * только на одном экземпляре приложения.
+ * <p>
+ * Аренда захватывается или продлевается одним запросом <code>INSERT ... ON CONFLICT</code>: строка
+ * обновляется, только если аренду держит этот же экземпляр или она истекла. Время истечения
+ * считается по часам базы данных, поэтому расхождение часов экземпляров не влияет на результат.
+ */
+@Slf4j
+@Component
+public class SchedulerLease {
+
+    static final String ACQUIRE_SQL = """
+            INSERT INTO scheduler_leases (name, owner, expires_at)
+            VALUES (?, ?, localtimestamp + make_interval(secs => ?))
+            ON CONFLICT (name) DO UPDATE SET owner = excluded.owner, expires_at = excluded.expires_at
+            WHERE scheduler_leases.owner = excluded.owner OR scheduler_leases.expires_at < localtimestamp
+            RETURNING owner
+            """;
+
+    static final String RELEASE_SQL = """
+            DELETE FROM scheduler_leases WHERE name = ? AND owner = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public SchedulerLease(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, hostName() + "-" + UUID.randomUUID());
+    }
+
+    SchedulerLease(JdbcTemplate jdbcTemplate, String owner) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = owner;
+    }
+
+    /**
+     * Захватывает аренду задачи или продлевает уже принадлежащую этому экземпляру.
+     *
+     * @param name имя задачи
+     * @param ttl  срок аренды
+     * @return {@code true}, если аренда принадлежит этому экземпляру
+     */
+    public boolean acquire(String name, Duration ttl) {
+        return !jdbcTemplate.queryForList(ACQUIRE_SQL, String.class, name, owner, ttl.toMillis() / 1000.0).isEmpty();
+    }
+
+    /**
+     * Освобождает аренду задачи, если она принадлежит этому экземпляру.
+     *
+     * @param name имя задачи
+     */
+    public void release(String name) {
+        jdbcTemplate.update(RELEASE_SQL, name, owner);
+    }
+
+    /**
+     * Возвращает идентификатор этого экземпляра в таблице аренд.
+     *
+     * @return идентификатор экземпляра
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            log.warn("Cannot resolve host name for scheduler lease owner", e);
+            return "unknown";
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package banks.card.service.mapper;
 
 import banks.card.dto.in.card.TransferRequest;
-import banks.card.dto.in.card.UpdateCardLimitRequest;
 import banks.card.dto.in.card.WithdrawalRequest;
 import banks.card.dto.out.card.*;
+import banks.card.dto.out.hold.HoldResponse;
 import banks.card.entity.Card;
+import banks.card.entity.CardHold;
 import banks.card.utils.CardMascEncryptor;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -37,14 +38,6 @@ public interface CardMapper {
     @Mapping(source = "status", target = "status")
     CardUpsertResponse entityToUpsertResponse(Card card);
 
-    /**
-     * Преобразует запрос на обновление лимитов карты в сущность карты.
-     *
-     * @param request объект {@link UpdateCardLimitRequest}
-     * @return объект {@link Card}
-     */
-    Card requestUpdateToEntity(UpdateCardLimitRequest request);
-
     /**
      * Преобразует сущность карты в DTO для ответа.
      *
@@ -53,6 +46,7 @@ public interface CardMapper {
      */
     @Mapping(source = "user.id", target = "userId")
     @Mapping(source = "encryptedCardNumber", target = "encryptedCardNumber", qualifiedByName = "mascCardNumber")
+    @Mapping(source = "totalBalance", target = "balance")
     CardResponse entityToResponse(Card card);
 
     /**
@@ -73,6 +67,15 @@ public interface CardMapper {
     @Mapping(target = "date", expression = "java(getNowDateTime())")
     WithdrawalResponse withdrawalRequestToWithdrawalResponse(WithdrawalRequest request);
 
+    /**
+     * Преобразует сущность холда в DTO ответа.
+     *
+     * @param hold объект {@link CardHold}
+     * @return объект {@link HoldResponse}
+     */
+    @Mapping(source = "card.id", target = "cardId")
+    HoldResponse holdEntityToResponse(CardHold hold);
+
     /**
      * Преобразует список сущностей карт в DTO ответа со списком карт.
      *
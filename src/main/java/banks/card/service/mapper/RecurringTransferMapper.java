@@ -0,0 +1,42 @@
+package banks.card.service.mapper;
+
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.entity.RecurringTransfer;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.stream.StreamSupport;
+
+/**
+ * Интерфейс маппера для преобразования регулярных переводов в DTO.
+ */
+@Mapper(componentModel = "spring",
+        unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface RecurringTransferMapper {
+
+    /**
+     * Преобразует сущность регулярного перевода в DTO ответа.
+     *
+     * @param recurringTransfer объект {@link RecurringTransfer}
+     * @return объект {@link RecurringTransferResponse}
+     */
+    @Mapping(source = "intervalUnit", target = "interval")
+    RecurringTransferResponse entityToResponse(RecurringTransfer recurringTransfer);
+
+    /**
+     * Преобразует список сущностей регулярных переводов в DTO ответа со списком.
+     *
+     * @param recurringTransfers итерируемый список объектов {@link RecurringTransfer}
+     * @return объект {@link ListRecurringTransferResponse}
+     */
+    default ListRecurringTransferResponse listEntityToListResponse(Iterable<RecurringTransfer> recurringTransfers) {
+        ListRecurringTransferResponse response = new ListRecurringTransferResponse();
+        response.setRecurringTransfers(StreamSupport.stream(recurringTransfers.spliterator(), false)
+                .map(this::entityToResponse)
+                .toList()
+        );
+        return response;
+    }
+}
@@ -3,9 +3,11 @@ package banks.card.service.mapper;
 import banks.card.dto.out.transaction.ListTransactionResponse;
 import banks.card.dto.out.transaction.TransactionResponse;
 import banks.card.entity.Transaction;
+import banks.card.service.Impl.archive.ArchivedTransaction;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
+import org.springframework.data.domain.Page;
 
 import java.util.stream.StreamSupport;
 
@@ -26,11 +28,33 @@ public interface TransactionMapper {
     @Mapping(source = "counterpartCard.id", target = "toCardId")
     TransactionResponse entityToResponse(Transaction transaction);
 
+    /**
+     * Преобразует архивную транзакцию {@link ArchivedTransaction} в объект ответа {@link TransactionResponse}.
+     *
+     * @param transaction архивная транзакция
+     * @return объект ответа {@link TransactionResponse}
+     */
+    @Mapping(source = "cardId", target = "fromCardId")
+    @Mapping(source = "counterpartCardId", target = "toCardId")
+    TransactionResponse archivedToResponse(ArchivedTransaction transaction);
+
+    /**
+     * Преобразует сущность {@link Transaction} в {@link ArchivedTransaction}, чтобы упорядочить
+     * транзакции из базы данных вместе с архивными.
+     *
+     * @param transaction сущность транзакции
+     * @return транзакция со ссылками на карты по идентификаторам
+     */
+    @Mapping(source = "card.id", target = "cardId")
+    @Mapping(source = "counterpartCard.id", target = "counterpartCardId")
+    ArchivedTransaction entityToArchived(Transaction transaction);
+
     /**
      * Преобразует список сущностей {@link Transaction} в объект ответа {@link ListTransactionResponse}.
      *
      * @param transactions список транзакций
      * @return объект ответа {@link ListTransactionResponse}, содержащий список преобразованных транзакций
+     * и, если передана страница {@link Page}, общее количество транзакций и страниц
      */
     default ListTransactionResponse listEntityToResponseEntity(Iterable<Transaction> transactions) {
         ListTransactionResponse response = new ListTransactionResponse();
@@ -38,6 +62,10 @@ public interface TransactionMapper {
                 .map(this::entityToResponse)
                 .toList()
         );
+        if (transactions instanceof Page<Transaction> page) {
+            response.setTotalElements(page.getTotalElements());
+            response.setTotalPages(page.getTotalPages());
+        }
         return response;
     }
 }
@@ -0,0 +1,30 @@
+package banks.card.service.mapper;
+
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.TransactionType;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Преобразует строку таблицы <code>transactions</code>, прочитанную через JDBC, в {@link TransactionResponse}.
+ * Ожидает столбцы <code>id, card_id, counterpart_card_id, amount, transaction_type,
+ * transaction_date, description</code>.
+ */
+public class TransactionRowMapper implements RowMapper<TransactionResponse> {
+
+    @Override
+    public TransactionResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        long counterpart = rs.getLong("counterpart_card_id");
+        Long counterpartCardId = rs.wasNull() ? null : counterpart;
+        return new TransactionResponse(
+                rs.getLong("id"),
+                rs.getLong("card_id"),
+                counterpartCardId,
+                rs.getBigDecimal("amount"),
+                TransactionType.valueOf(rs.getString("transaction_type")),
+                rs.getTimestamp("transaction_date"),
+                rs.getString("description"));
+    }
+}
@@ -0,0 +1,47 @@
+package banks.card.service.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Записывает события в локальный файл по одному объекту JSON в строке.
+ * Используется по умолчанию и как замена внешней системы при разработке и тестировании.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileLedgerEventSink implements LedgerEventSink {
+
+    private final Path path;
+
+    public FileLedgerEventSink(@Value("${outbox.file.path:outbox/ledger-events.jsonl}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void publish(List<LedgerEvent> events) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (LedgerEvent event : events) {
+                    writer.write(event.toJson());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write ledger events to " + path, e);
+        }
+    }
+}
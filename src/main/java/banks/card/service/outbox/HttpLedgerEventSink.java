@@ -0,0 +1,62 @@
+package banks.card.service.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Отправляет пакет событий одним запросом POST массивом JSON на адрес <code>outbox.http.url</code>.
+ * Пакет считается доставленным при ответе с кодом 2xx.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "http")
+public class HttpLedgerEventSink implements LedgerEventSink {
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final Duration timeout;
+
+    public HttpLedgerEventSink(@Value("${outbox.http.url}") URI uri,
+                               @Value("${outbox.http.timeout:PT5S}") Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.uri = uri;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        String body = events.stream()
+                .map(LedgerEvent::toJson)
+                .collect(Collectors.joining(",", "[", "]"));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deliver ledger events to " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while delivering ledger events to " + uri, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Ledger events rejected by " + uri + " with status " + response.statusCode());
+        }
+    }
+}
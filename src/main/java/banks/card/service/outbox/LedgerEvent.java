@@ -0,0 +1,45 @@
+package banks.card.service.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+/**
+ * Событие успешной транзакции, забранное из исходящей очереди для публикации.
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerEvent {
+
+    /**
+     * Идентификатор события в очереди, возрастает в порядке записи.
+     */
+    private final long id;
+
+    /**
+     * Транзакция в формате JSON.
+     */
+    private final String payload;
+
+    /**
+     * Время записи события.
+     */
+    private final Timestamp createdAt;
+
+    /**
+     * Задержка публикации события в миллисекундах от записи до выборки ретранслятором.
+     */
+    private final long lagMillis;
+
+    /**
+     * Возвращает событие в формате JSON для передачи во внешнюю систему.
+     *
+     * @return объект JSON с идентификатором события, временем записи и транзакцией
+     */
+    public String toJson() {
+        return "{\"id\":" + id
+                + ",\"createdAt\":\"" + createdAt.toLocalDateTime() + "\""
+                + ",\"transaction\":" + payload + "}";
+    }
+}
@@ -0,0 +1,21 @@
+package banks.card.service.outbox;
+
+import java.util.List;
+
+/**
+ * Получатель событий транзакций из исходящей очереди.
+ * Реализация выбирается свойством <code>outbox.sink</code>.
+ * <p>
+ * Пакет считается доставленным, только если метод завершился без исключения, иначе он будет
+ * отправлен повторно, поэтому получатель должен быть готов к повторной доставке событий.
+ */
+public interface LedgerEventSink {
+
+    /**
+     * Публикует пакет событий.
+     *
+     * @param events события в порядке записи в очередь
+     * @throws RuntimeException если пакет не удалось доставить
+     */
+    void publish(List<LedgerEvent> events);
+}
@@ -0,0 +1,64 @@
+package banks.card.service.outbox;
+
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.Transaction;
+import banks.card.service.mapper.TransactionMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Записывает события транзакций в исходящую очередь <code>ledger_outbox</code>.
+ * Запись выполняется только внутри текущей транзакции, поэтому событие фиксируется
+ * и откатывается вместе с самой транзакцией.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerOutboxWriter {
+
+    static final String INSERT_SQL = "INSERT INTO ledger_outbox (transaction_id, payload) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Добавляет событие транзакции в исходящую очередь.
+     *
+     * @param transaction сохраненная транзакция
+     * @throws IllegalStateException если транзакцию не удалось преобразовать в JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Transaction transaction) {
+        TransactionResponse event = transactionMapper.entityToResponse(transaction);
+        jdbcTemplate.update(INSERT_SQL, event.getId(), toJson(event));
+    }
+
+    /**
+     * Добавляет события нескольких транзакций в исходящую очередь одним пакетом в переданном порядке.
+     *
+     * @param events события транзакций
+     * @throws IllegalStateException если событие не удалось преобразовать в JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<TransactionResponse> events) {
+        List<Object[]> rows = events.stream()
+                .map(event -> new Object[]{event.getId(), toJson(event)})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(TransactionResponse event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize transaction " + event.getId(), e);
+        }
+    }
+}
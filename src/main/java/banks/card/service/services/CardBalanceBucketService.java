@@ -0,0 +1,32 @@
+package banks.card.service.services;
+
+import java.math.BigDecimal;
+
+/**
+ * Сервис корзин раздельного баланса карт.
+ * <p>
+ * Зачисления на карту с раздельным балансом добавляются в одну из корзин и не блокируют
+ * строку карты, поэтому параллельные зачисления не конкурируют за одну строку.
+ * Списания выполняются из баланса карты под ее блокировкой; если его недостаточно,
+ * корзины предварительно переносятся в баланс карты.
+ */
+public interface CardBalanceBucketService {
+
+    /**
+     * Зачисляет сумму в одну из корзин карты.
+     *
+     * @param cardId  идентификатор карты
+     * @param buckets количество корзин карты
+     * @param amount  сумма зачисления
+     */
+    void credit(Long cardId, int buckets, BigDecimal amount);
+
+    /**
+     * Переносит суммы всех корзин карты в ее баланс: удаляет корзины и возвращает их сумму.
+     * Вызывающий должен держать блокировку карты и добавить результат к балансу.
+     *
+     * @param cardId идентификатор карты
+     * @return сумма перенесенных корзин
+     */
+    BigDecimal consolidate(Long cardId);
+}
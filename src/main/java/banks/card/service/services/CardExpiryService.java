@@ -0,0 +1,19 @@
+package banks.card.service.services;
+
+import java.time.LocalDate;
+
+/**
+ * Сервис перевода карт с истекшим сроком действия в статус {@code EXPIRED}.
+ */
+public interface CardExpiryService {
+
+    /**
+     * Переводит пакет карт со сроком действия раньше {@code today} в статус {@code EXPIRED}
+     * одним запросом и сообщает всем экземплярам об изменении этих карт.
+     *
+     * @param today текущая дата
+     * @param limit максимальное количество карт в пакете
+     * @return количество карт, переведенных в статус {@code EXPIRED}
+     */
+    int expireBatch(LocalDate today, int limit);
+}
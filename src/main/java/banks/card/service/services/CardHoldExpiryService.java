@@ -0,0 +1,16 @@
+package banks.card.service.services;
+
+/**
+ * Сервис автоматического освобождения холдов, не списанных до истечения срока.
+ */
+public interface CardHoldExpiryService {
+
+    /**
+     * Освобождает пакет истекших активных холдов одним запросом: переводит их в статус
+     * {@code EXPIRED} и уменьшает сумму холдов затронутых карт.
+     *
+     * @param limit максимальное количество холдов в пакете
+     * @return количество освобожденных холдов
+     */
+    int expireStale(int limit);
+}
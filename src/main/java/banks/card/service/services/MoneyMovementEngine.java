@@ -0,0 +1,33 @@
+package banks.card.service.services;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.dto.out.card.WithdrawalResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Движок выполнения переводов и снятий.
+ * Реализация выбирается свойством <code>cards.engine.mode</code>:
+ * <code>locking</code> (по умолчанию) выполняет операцию сразу в вызывающем потоке,
+ * <code>sharded</code> направляет ее в однопоточный шард карты-источника с групповой фиксацией.
+ */
+public interface MoneyMovementEngine {
+
+    /**
+     * Ставит перевод на выполнение.
+     *
+     * @param request объект {@link TransferRequest} с данными для перевода
+     * @return результат перевода, завершается исключением, если перевод не выполнен
+     */
+    CompletableFuture<TransferResponse> submitTransfer(TransferRequest request);
+
+    /**
+     * Ставит снятие средств на выполнение.
+     *
+     * @param request объект {@link WithdrawalRequest} с данными для снятия
+     * @return результат снятия, завершается исключением, если снятие не выполнено
+     */
+    CompletableFuture<WithdrawalResponse> submitWithdrawal(WithdrawalRequest request);
+}
@@ -0,0 +1,48 @@
+package banks.card.service.services;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.TransferException;
+import banks.card.exception.WithdrawalException;
+
+import java.util.List;
+
+/**
+ * Выполнение операций с балансом карт без проверки прав и без собственной транзакции.
+ * Методы вызываются внутри транзакции, открытой {@link MoneyMovementEngine}, после того как
+ * права пользователя уже проверены.
+ */
+public interface MoneyMovementExecutor {
+
+    /**
+     * Выполняет перевод между картами в текущей транзакции.
+     *
+     * @param request объект {@link TransferRequest} с данными для перевода
+     * @return объект {@link TransferResponse} с результатом перевода
+     * @throws EntityNotFoundException если карта не найдена
+     * @throws TransferException       если перевод не выполнен по бизнес-причинам
+     */
+    TransferResponse executeTransfer(TransferRequest request) throws EntityNotFoundException, TransferException;
+
+    /**
+     * Выполняет снятие средств с карты в текущей транзакции.
+     *
+     * @param request объект {@link WithdrawalRequest} с данными для снятия
+     * @return объект {@link WithdrawalResponse} с результатом снятия
+     * @throws EntityNotFoundException если карта не найдена
+     * @throws WithdrawalException     если снятие не выполнено по бизнес-причинам
+     */
+    WithdrawalResponse executeWithdrawal(WithdrawalRequest request) throws EntityNotFoundException, WithdrawalException;
+
+    /**
+     * Возвращает карты, которые блокирует перевод. Получатель с раздельным балансом
+     * не блокируется: зачисление на него идет в корзину, а не в строку карты.
+     *
+     * @param request объект {@link TransferRequest} с данными для перевода
+     * @return идентификаторы блокируемых карт
+     */
+    List<Long> lockedCardIds(TransferRequest request);
+}
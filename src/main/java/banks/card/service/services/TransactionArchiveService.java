@@ -0,0 +1,62 @@
+package banks.card.service.services;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.service.Impl.archive.ArchivedTransaction;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Сервис холодного архива транзакций.
+ * Транзакции старше горизонта хранения переносятся из базы данных в сжатые неизменяемые
+ * сегменты в общем для всех экземпляров каталоге, а их расположение по картам и датам хранится
+ * в индексе в базе данных. Архив читается, только если фильтр по дате выходит за горизонт.
+ */
+public interface TransactionArchiveService {
+
+    /**
+     * Возвращает текущий горизонт архивации: транзакции с более ранней датой могут находиться в архиве.
+     *
+     * @return граница архивации
+     */
+    Timestamp getHorizon();
+
+    /**
+     * Проверяет, нужно ли обращаться к архиву для заданного фильтра.
+     *
+     * @param filter объект {@link TransactionFilterRequest} с параметрами фильтрации
+     * @return {@code true}, если фильтр по дате выходит за горизонт архивации
+     */
+    boolean reachesArchive(TransactionFilterRequest filter);
+
+    /**
+     * Переносит транзакции старше горизонта из базы данных в новые архивные сегменты.
+     *
+     * @return количество перенесенных транзакций
+     */
+    long archiveOlderThanHorizon();
+
+    /**
+     * Находит первые {@code limit} архивных транзакций карты в порядке {@code order}.
+     * В памяти хранится не больше {@code limit} транзакций; для порядка
+     * {@link ArchivedTransaction#NEWEST_FIRST} читаются только блоки, которые могут попасть в результат.
+     *
+     * @param cardId идентификатор карты
+     * @param filter объект {@link TransactionFilterRequest} с параметрами фильтрации
+     * @param order  порядок транзакций
+     * @param limit  максимальное количество возвращаемых транзакций
+     * @return список архивных транзакций в порядке {@code order}
+     */
+    List<ArchivedTransaction> findCardTransactions(Long cardId, TransactionFilterRequest filter,
+                                                   Comparator<ArchivedTransaction> order, int limit);
+
+    /**
+     * Считает архивные транзакции карты, удовлетворяющие фильтру.
+     *
+     * @param cardId идентификатор карты
+     * @param filter объект {@link TransactionFilterRequest} с параметрами фильтрации
+     * @return количество архивных транзакций
+     */
+    long countCardTransactions(Long cardId, TransactionFilterRequest filter);
+}
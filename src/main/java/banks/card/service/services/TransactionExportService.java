@@ -0,0 +1,51 @@
+package banks.card.service.services;
+
+import banks.card.dto.in.export.ExportFormat;
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.exception.ArchiveRangeException;
+import banks.card.exception.EntityNotFoundException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.util.function.ThrowingSupplier;
+
+import java.io.OutputStream;
+
+/**
+ * Сервис потоковой выгрузки транзакций.
+ * Читает транзакции серверным курсором с фиксированным размером выборки и пишет их
+ * напрямую в выходной поток, поэтому потребление памяти не зависит от количества строк.
+ * Выгрузка упорядочена по идентификатору транзакции и может быть продолжена с места
+ * обрыва по идентификатору последней полученной транзакции. Если фильтр по дате выходит
+ * за горизонт архивации, выгрузка карты включает ее архивные транзакции.
+ */
+public interface TransactionExportService {
+
+    /**
+     * Выгружает транзакции карты пользователя.
+     *
+     * @param cardId  идентификатор карты
+     * @param token   токен авторизации
+     * @param filter  объект {@link TransactionFilterRequest} с параметрами фильтрации
+     * @param format  формат выгрузки
+     * @param afterId идентификатор транзакции, после которой продолжить выгрузку (опционально)
+     * @param out     поставщик выходного потока; вызывается после проверки прав доступа
+     * @return количество выгруженных транзакций
+     * @throws EntityNotFoundException если карта не найдена
+     * @throws AccessDeniedException   если пользователь не является владельцем карты
+     */
+    long exportUserTransactions(Long cardId, String token, TransactionFilterRequest filter, ExportFormat format,
+                                Long afterId, ThrowingSupplier<OutputStream> out);
+
+    /**
+     * Выгружает транзакции всех карт или одной карты (для администратора).
+     *
+     * @param cardId  идентификатор карты (опционально)
+     * @param filter  объект {@link TransactionFilterRequest} с параметрами фильтрации
+     * @param format  формат выгрузки
+     * @param afterId идентификатор транзакции, после которой продолжить выгрузку (опционально)
+     * @param out     поставщик выходного потока
+     * @return количество выгруженных транзакций
+     * @throws ArchiveRangeException если период выходит за горизонт архивации, а карта не указана
+     */
+    long exportTransactions(Long cardId, TransactionFilterRequest filter, ExportFormat format,
+                            Long afterId, ThrowingSupplier<OutputStream> out);
+}
@@ -0,0 +1,28 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.reconciliation.ReconciliationReportResponse;
+
+import java.util.Optional;
+
+/**
+ * Сервис сверки балансов карт с журналом транзакций.
+ * Баланс карты должен совпадать с суммой успешных зачислений (DEPOSIT, TRANSFER_IN)
+ * за вычетом успешных списаний (TRANSFER_OUT, WITHDRAWAL), включая заархивированные транзакции.
+ */
+public interface BalanceReconciliationService {
+
+    /**
+     * Выполняет сверку всех карт.
+     *
+     * @return объект {@link ReconciliationReportResponse} с расхождениями по картам
+     * @throws IllegalStateException если сверка уже выполняется
+     */
+    ReconciliationReportResponse reconcile();
+
+    /**
+     * Возвращает отчет последней завершенной сверки.
+     *
+     * @return отчет последней сверки, если она выполнялась
+     */
+    Optional<ReconciliationReportResponse> getLastReport();
+}
@@ -0,0 +1,21 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.cache.CacheStatisticsResponse;
+
+/**
+ * Сервис для администрирования кэша второго уровня.
+ */
+public interface CacheAdminService {
+
+    /**
+     * Возвращает статистику кэша второго уровня с момента запуска приложения.
+     *
+     * @return объект {@link CacheStatisticsResponse} со статистикой по регионам
+     */
+    CacheStatisticsResponse getStatistics();
+
+    /**
+     * Полностью очищает кэш второго уровня этого экземпляра приложения.
+     */
+    void evictAll();
+}
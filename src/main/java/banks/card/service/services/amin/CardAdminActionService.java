@@ -2,11 +2,13 @@ package banks.card.service.services.amin;
 
 import banks.card.dto.in.card.CardInsertRequest;
 import banks.card.dto.in.card.CardUpdateStatusRequest;
+import banks.card.dto.in.card.UpdateBalanceBucketsRequest;
 import banks.card.dto.in.card.UpdateCardLimitRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.CardUpsertResponse;
 import banks.card.dto.out.card.ListCardResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.service.services.CardService;
 import org.springframework.data.domain.Pageable;
@@ -43,11 +45,14 @@ public interface CardAdminActionService extends CardService {
     CardUpsertResponse updateStatus(CardUpdateStatusRequest request, Long cardId);
 
     /**
-     * Удаляет карту по её идентификатору.
+     * Удаляет карту по её идентификатору: карта сразу перестает быть доступной,
+     * а её транзакции удаляются в фоне.
      *
      * @param id Идентификатор карты.
+     * @return Объект {@link DeletionJobResponse} с состоянием фонового удаления.
+     * @throws EntityNotFoundException если карта с указанным идентификатором не найдена.
      */
-    void delete(Long id);
+    DeletionJobResponse delete(Long id) throws EntityNotFoundException;
 
     /**
      * Получает список карт с применением фильтров и пагинации.
@@ -68,4 +73,16 @@ public interface CardAdminActionService extends CardService {
      */
     @Transactional
     CardResponse updateLimit(Long cardId, UpdateCardLimitRequest request) throws EntityNotFoundException;
+
+    /**
+     * Включает, перенастраивает или выключает раздельный баланс карты.
+     * Накопленные в корзинах суммы переносятся в баланс карты.
+     *
+     * @param cardId Идентификатор карты.
+     * @param request Количество корзин {@link UpdateBalanceBucketsRequest}.
+     * @return Объект {@link CardResponse} с обновлённой информацией о карте.
+     * @throws EntityNotFoundException если карта с указанным идентификатором не найдена.
+     */
+    @Transactional
+    CardResponse updateBalanceBuckets(Long cardId, UpdateBalanceBucketsRequest request) throws EntityNotFoundException;
 }
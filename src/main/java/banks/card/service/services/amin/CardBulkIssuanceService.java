@@ -0,0 +1,24 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.card.BulkIssuanceResponse;
+
+import java.io.InputStream;
+
+/**
+ * Сервис для выпуска карт администратором из CSV-файла.
+ */
+public interface CardBulkIssuanceService {
+
+    /**
+     * Выпускает карты по строкам CSV-файла. Файл начинается с заголовка со столбцами
+     * <code>email, card_number, card_holder, expiry_date</code> в любом порядке; остальные столбцы
+     * игнорируются. Строки проверяются так же, как запрос на создание одной карты; строка с ошибкой
+     * не выпускается и попадает в отчет. Карты выпускаются с нулевым балансом в одной транзакции.
+     *
+     * @param csv содержимое файла
+     * @return объект {@link BulkIssuanceResponse} с итогами выпуска и ошибками по строкам
+     * @throws IllegalStateException если файл не удалось прочитать или карты не удалось записать;
+     *                               в этом случае ни одна карта не выпускается
+     */
+    BulkIssuanceResponse issue(InputStream csv);
+}
@@ -0,0 +1,27 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.in.card.BulkCardLimitRequest;
+import banks.card.dto.in.card.BulkCardStatusRequest;
+import banks.card.dto.out.card.BulkCardUpdateResponse;
+
+/**
+ * Сервис для массового изменения карт, выбранных фильтром или списком идентификаторов.
+ */
+public interface CardBulkUpdateService {
+
+    /**
+     * Изменяет статус выбранных карт. Карты, уже имеющие этот статус, не изменяются.
+     *
+     * @param request фильтр или идентификаторы карт и новый статус {@link BulkCardStatusRequest}
+     * @return объект {@link BulkCardUpdateResponse} с количеством измененных карт
+     */
+    BulkCardUpdateResponse updateStatus(BulkCardStatusRequest request);
+
+    /**
+     * Изменяет указанные лимиты выбранных карт, остальные лимиты не изменяются.
+     *
+     * @param request фильтр или идентификаторы карт и новые лимиты {@link BulkCardLimitRequest}
+     * @return объект {@link BulkCardUpdateResponse} с количеством измененных карт
+     */
+    BulkCardUpdateResponse updateLimits(BulkCardLimitRequest request);
+}
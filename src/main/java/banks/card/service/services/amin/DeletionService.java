@@ -0,0 +1,49 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.deletion.DeletionJobResponse;
+import banks.card.exception.EntityNotFoundException;
+
+import java.util.Optional;
+
+/**
+ * Сервис удаления пользователей и карт.
+ * Сущность сразу помечается удаленной и перестает читаться, а ее транзакции и строки
+ * удаляются фоновой задачей пакетами ограниченного размера.
+ */
+public interface DeletionService {
+
+    /**
+     * Помечает карту удаленной и ставит ее в очередь фонового удаления.
+     *
+     * @param cardId идентификатор карты
+     * @return объект {@link DeletionJobResponse} с созданным удалением
+     * @throws EntityNotFoundException если карта не найдена или уже удалена
+     */
+    DeletionJobResponse deleteCard(Long cardId) throws EntityNotFoundException;
+
+    /**
+     * Помечает пользователя и все его карты удаленными и ставит их в очередь фонового удаления.
+     *
+     * @param userId идентификатор пользователя
+     * @return объект {@link DeletionJobResponse} с созданным удалением
+     * @throws EntityNotFoundException если пользователь не найден или уже удален
+     */
+    DeletionJobResponse deleteUser(Long userId) throws EntityNotFoundException;
+
+    /**
+     * Возвращает состояние удаления.
+     *
+     * @param id идентификатор удаления
+     * @return {@code Optional}, содержащий состояние, или пустой, если удаление не найдено
+     */
+    Optional<DeletionJobResponse> getJob(Long id);
+
+    /**
+     * Окончательно удаляет данные следующей незавершенной сущности из очереди.
+     * Незавершенное или завершившееся ошибкой удаление продолжается с места остановки.
+     *
+     * @param afterId идентификатор удаления, после которого выбирается следующее
+     * @return {@code Optional}, содержащий состояние обработанного удаления, или пустой, если очередь пройдена
+     */
+    Optional<DeletionJobResponse> purgeNext(long afterId);
+}
@@ -0,0 +1,28 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.rotation.KeyRotationResponse;
+
+import java.util.Optional;
+
+/**
+ * Сервис для перешифрования номеров карт текущей версией ключа.
+ * Во время перешифрования номера читаются ключом своей версии, поэтому работа с картами не прерывается.
+ */
+public interface KeyRotationService {
+
+    /**
+     * Запускает перешифрование номеров карт текущей версией ключа в фоне или продолжает
+     * незавершенное перешифрование для этой версии с сохраненной позиции.
+     *
+     * @return объект {@link KeyRotationResponse} с состоянием перешифрования на момент запуска
+     * @throws IllegalStateException если перешифрование уже выполняется на этом или другом экземпляре
+     */
+    KeyRotationResponse start();
+
+    /**
+     * Возвращает состояние последнего перешифрования.
+     *
+     * @return {@code Optional}, содержащий состояние, или пустой, если перешифрование не запускалось
+     */
+    Optional<KeyRotationResponse> getLatest();
+}
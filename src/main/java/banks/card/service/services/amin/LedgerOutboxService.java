@@ -0,0 +1,27 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.outbox.OutboxStatisticsResponse;
+
+/**
+ * Сервис ретрансляции исходящей очереди событий успешных транзакций во внешние системы.
+ */
+public interface LedgerOutboxService {
+
+    /**
+     * Забирает из очереди очередной пакет событий, публикует его и удаляет опубликованные события.
+     * События, забранные другими экземплярами приложения, пропускаются. Если публикация не удалась,
+     * события остаются в очереди и будут опубликованы повторно.
+     *
+     * @return количество опубликованных событий, 0 если очередь пуста
+     * @throws RuntimeException если пакет не удалось опубликовать
+     */
+    int relayBatch();
+
+    /**
+     * Возвращает пропускную способность ретранслятора этого экземпляра приложения с момента запуска
+     * и текущее отставание очереди.
+     *
+     * @return объект {@link OutboxStatisticsResponse} со статистикой
+     */
+    OutboxStatisticsResponse getStatistics();
+}
@@ -0,0 +1,35 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.in.recurring.RecurringTransferStatusRequest;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Сервис для административных действий с регулярными переводами.
+ */
+public interface RecurringTransferAdminActionService {
+
+    /**
+     * Получает регулярные переводы всех пользователей.
+     *
+     * @param status   статус поручения (опционально)
+     * @param pageable параметры пагинации
+     * @return объект {@link ListRecurringTransferResponse} со списком поручений
+     */
+    ListRecurringTransferResponse getAll(RecurringTransferStatus status, Pageable pageable);
+
+    /**
+     * Обновляет статус регулярного перевода. Возобновленное поручение продолжается
+     * с ближайшего будущего выполнения, пропущенные выполнения не наверстываются.
+     *
+     * @param id      идентификатор поручения
+     * @param request объект {@link RecurringTransferStatusRequest} с новым статусом
+     * @return объект {@link RecurringTransferResponse} с обновленным поручением
+     * @throws EntityNotFoundException если поручение не найдено
+     * @throws IllegalStateException   если поручение уже отменено или завершено
+     */
+    RecurringTransferResponse updateStatus(Long id, RecurringTransferStatusRequest request);
+}
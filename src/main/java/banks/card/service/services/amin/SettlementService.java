@@ -0,0 +1,32 @@
+package banks.card.service.services.amin;
+
+import banks.card.dto.out.settlement.SettlementReportResponse;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Сервис дневного расчета отложенных переводов.
+ * Отложенные записи журнала ({@code PENDING}) за операционный день сворачиваются по картам,
+ * и баланс каждой карты изменяется один раз на чистую сумму; резерв отправителя снимается.
+ */
+public interface SettlementService {
+
+    /**
+     * Выполняет расчет за операционный день. Если пакет за этот день уже завершен, возвращает его отчет;
+     * если он был прерван, продолжает с контрольных точек обработчиков.
+     *
+     * @param businessDate операционный день
+     * @return объект {@link SettlementReportResponse} с итогами расчета
+     * @throws IllegalStateException если расчет уже выполняется
+     */
+    SettlementReportResponse settle(LocalDate businessDate);
+
+    /**
+     * Возвращает отчет пакета расчетов за операционный день.
+     *
+     * @param businessDate операционный день
+     * @return отчет, если пакет за этот день запускался
+     */
+    Optional<SettlementReportResponse> getReport(LocalDate businessDate);
+}
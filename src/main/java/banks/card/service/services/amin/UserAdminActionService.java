@@ -4,6 +4,7 @@ import banks.card.dto.in.user.UserCreateRequest;
 import banks.card.dto.in.user.UserPasswordResetRequest;
 import banks.card.dto.in.user.UserUpdateRequest;
 import banks.card.dto.out.MessageResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.user.ListUserResponse;
 import banks.card.dto.out.user.UserResponse;
 import banks.card.entity.User;
@@ -64,9 +65,12 @@ public interface UserAdminActionService {
     MessageResponse passwordReset(Long userId, UserPasswordResetRequest request);
 
     /**
-     * Удаляет пользователя по его идентификатору.
+     * Удаляет пользователя по его идентификатору: пользователь и его карты сразу перестают быть
+     * доступными, а их данные удаляются в фоне.
      *
      * @param userId идентификатор пользователя
+     * @return объект {@link DeletionJobResponse} с состоянием фонового удаления
+     * @throws EntityNotFoundException если пользователь с указанным идентификатором не найден
      */
-    void delete(Long userId);
+    DeletionJobResponse delete(Long userId) throws EntityNotFoundException;
 }
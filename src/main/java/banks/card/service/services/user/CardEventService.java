@@ -0,0 +1,21 @@
+package banks.card.service.services.user;
+
+import banks.card.exception.EntityNotFoundException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Сервис потоков событий пользователя.
+ * Заменяет периодический опрос: клиент держит одно соединение и получает изменения балансов
+ * и новые транзакции своих карт по мере их фиксации.
+ */
+public interface CardEventService {
+
+    /**
+     * Открывает поток событий для пользователя.
+     *
+     * @param token токен авторизации
+     * @return объект {@link SseEmitter}, в который отправляются события
+     * @throws EntityNotFoundException если пользователь не найден
+     */
+    SseEmitter subscribe(String token);
+}
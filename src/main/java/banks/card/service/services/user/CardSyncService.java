@@ -0,0 +1,29 @@
+package banks.card.service.services.user;
+
+import banks.card.dto.out.sync.SyncResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.InvalidCursorException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Сервис синхронизации данных мобильных клиентов.
+ * Вместо периодического перечитывания списков карт и транзакций клиент передает курсор
+ * предыдущего ответа и получает только изменения с этого момента.
+ */
+public interface CardSyncService {
+
+    /**
+     * Получает изменения карт и транзакций пользователя с момента курсора.
+     * Если изменений нет, ответ откладывается до первого изменения или истечения ожидания;
+     * во время ожидания соединение с базой данных не занимается.
+     *
+     * @param token  токен авторизации
+     * @param cursor курсор из предыдущего ответа; {@code null} для первичной синхронизации
+     * @param waitMs максимальное время ожидания изменений в миллисекундах; 0 — ответить сразу
+     * @return объект {@link SyncResponse} с изменениями и новым курсором
+     * @throws EntityNotFoundException если пользователь не найден
+     * @throws InvalidCursorException  если курсор имеет неверный формат
+     */
+    CompletableFuture<SyncResponse> sync(String token, String cursor, long waitMs);
+}
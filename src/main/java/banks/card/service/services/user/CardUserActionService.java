@@ -3,11 +3,15 @@ package banks.card.service.services.user;
 import banks.card.dto.in.card.TransferRequest;
 import banks.card.dto.in.card.WithdrawalRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
+import banks.card.dto.in.hold.CaptureHoldRequest;
+import banks.card.dto.in.hold.HoldRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.ListCardResponse;
 import banks.card.dto.out.card.TransferResponse;
 import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.dto.out.hold.HoldResponse;
 import banks.card.entity.Card;
+import banks.card.entity.CardMetadata;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.exception.TransferException;
 import banks.card.exception.WithdrawalException;
@@ -18,6 +22,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Интерфейс расширяет {@link CardService}
  * Сервиса для действий пользователя с картами.
@@ -37,6 +43,16 @@ public interface CardUserActionService extends CardService {
      */
     ListCardResponse getCards(String token, CardFilterRequest filter, Pageable pageable);
 
+    /**
+     * Находит владельца и лимиты карты по её идентификатору.
+     * Данные читаются из кэша второго уровня и не содержат баланса.
+     *
+     * @param id идентификатор карты
+     * @return объект {@link CardMetadata}
+     * @throws EntityNotFoundException если карта не найдена
+     */
+    CardMetadata findMetadataById(Long id);
+
     /**
      * Блокирует карту по её идентификатору.
      *
@@ -64,6 +80,35 @@ public interface CardUserActionService extends CardService {
     @Transactional
     TransferResponse transfer(String token, TransferRequest request) throws AccessDeniedException, EntityNotFoundException, TransferException;
 
+    /**
+     * Выполняет отложенный перевод между картами. Записи журнала создаются сразу со статусом
+     * {@code PENDING}, сумма резервируется на карте-отправителе, а балансы изменяются дневным
+     * расчетом по чистой сумме. Карта-получатель не блокируется.
+     *
+     * @param token   токен авторизации
+     * @param request объект {@link TransferRequest} с данными для перевода
+     * @return объект {@link TransferResponse} со статусом {@code PENDING}
+     * @throws AccessDeniedException   если у пользователя нет прав на операцию
+     * @throws EntityNotFoundException если карта не найдена
+     * @throws TransferException       если перевод отклонен
+     */
+    @CheckingRightsCards
+    @Transactional
+    TransferResponse transferDeferred(String token, TransferRequest request) throws AccessDeniedException, EntityNotFoundException, TransferException;
+
+    /**
+     * Передает перевод на выполнение движку {@link banks.card.service.services.MoneyMovementEngine}.
+     * Права на карты проверяются до постановки в очередь.
+     *
+     * @param token   токен авторизации
+     * @param request объект {@link TransferRequest} с данными для перевода
+     * @return результат перевода; завершается с {@link TransferException} или
+     * {@link EntityNotFoundException}, если перевод не выполнен
+     * @throws AccessDeniedException если у пользователя нет прав на операцию
+     */
+    @CheckingRightsCards
+    CompletableFuture<TransferResponse> transferAsync(String token, TransferRequest request) throws AccessDeniedException;
+
 
     /**
      * Выполняет снятие средств с карты.
@@ -75,7 +120,71 @@ public interface CardUserActionService extends CardService {
      * @throws EntityNotFoundException если карта не найдена
      * @throws WithdrawalException     если снятие не выполнено по бизнес-причинам
      */
-    @CheckingRightsCard
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
     @Transactional
     WithdrawalResponse withdraw(WithdrawalRequest request, String token) throws AccessDeniedException, EntityNotFoundException, WithdrawalException;
+
+    /**
+     * Передает снятие средств на выполнение движку {@link banks.card.service.services.MoneyMovementEngine}.
+     * Права на карту проверяются до постановки в очередь.
+     *
+     * @param request объект {@link WithdrawalRequest} с данными для снятия
+     * @param token   токен авторизации
+     * @return результат снятия; завершается с {@link WithdrawalException} или
+     * {@link EntityNotFoundException}, если снятие не выполнено
+     * @throws AccessDeniedException если у пользователя нет прав на операцию
+     */
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    CompletableFuture<WithdrawalResponse> withdrawAsync(WithdrawalRequest request, String token) throws AccessDeniedException;
+
+    /**
+     * Резервирует сумму на карте (первая фаза снятия). Сумма проверяется по доступному остатку
+     * и лимитам карты так же, как при снятии, и учитывается в них до списания или освобождения холда.
+     *
+     * @param cardId  идентификатор карты
+     * @param token   токен авторизации
+     * @param request объект {@link HoldRequest} с суммой и сроком действия холда
+     * @return объект {@link HoldResponse} с созданным холдом
+     * @throws AccessDeniedException   если у пользователя нет прав на карту
+     * @throws EntityNotFoundException если карта не найдена
+     * @throws IllegalStateException   если карта не активна или превышен остаток либо лимит
+     */
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    HoldResponse authorizeHold(Long cardId, String token, HoldRequest request)
+            throws AccessDeniedException, EntityNotFoundException, IllegalStateException;
+
+    /**
+     * Списывает холд (вторая фаза снятия): создает транзакцию снятия на указанную сумму
+     * и освобождает остаток холда.
+     *
+     * @param cardId  идентификатор карты
+     * @param token   токен авторизации
+     * @param holdId  идентификатор холда
+     * @param request объект {@link CaptureHoldRequest} с суммой списания
+     * @return объект {@link HoldResponse} со списанным холдом
+     * @throws AccessDeniedException   если у пользователя нет прав на карту
+     * @throws EntityNotFoundException если холд не найден на карте
+     * @throws IllegalStateException   если холд не активен, истек или сумма больше суммы холда
+     */
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    HoldResponse captureHold(Long cardId, String token, Long holdId, CaptureHoldRequest request)
+            throws AccessDeniedException, EntityNotFoundException, IllegalStateException;
+
+    /**
+     * Освобождает холд без списания.
+     *
+     * @param cardId идентификатор карты
+     * @param token  токен авторизации
+     * @param holdId идентификатор холда
+     * @return объект {@link HoldResponse} с освобожденным холдом
+     * @throws AccessDeniedException   если у пользователя нет прав на карту
+     * @throws EntityNotFoundException если холд не найден на карте
+     * @throws IllegalStateException   если холд не активен
+     */
+    @CheckingRightsCard(cardIdIndex = 0, tokenIdIndex = 1)
+    @Transactional
+    HoldResponse releaseHold(Long cardId, String token, Long holdId)
+            throws AccessDeniedException, EntityNotFoundException, IllegalStateException;
 }
@@ -0,0 +1,32 @@
+package banks.card.service.services.user;
+
+import banks.card.exception.EntityNotFoundException;
+import org.springframework.security.access.AccessDeniedException;
+
+/**
+ * Сервис версий списков карт и транзакций для условных запросов (<code>ETag</code> / <code>If-None-Match</code>).
+ * Версия вычисляется одним индексным запросом без загрузки сущностей и меняется при любом изменении,
+ * которое может изменить содержимое списка.
+ */
+public interface ListingVersionService {
+
+    /**
+     * Возвращает версию списка карт пользователя.
+     *
+     * @param token токен авторизации
+     * @return версия списка карт
+     * @throws EntityNotFoundException если пользователь не найден
+     */
+    String getCardsVersion(String token);
+
+    /**
+     * Возвращает версию списка транзакций карты пользователя.
+     *
+     * @param cardId идентификатор карты
+     * @param token  токен авторизации
+     * @return версия списка транзакций
+     * @throws EntityNotFoundException если карта не найдена
+     * @throws AccessDeniedException   если пользователь не является владельцем карты
+     */
+    String getTransactionsVersion(Long cardId, String token);
+}
@@ -0,0 +1,47 @@
+package banks.card.service.services.user;
+
+import banks.card.dto.in.recurring.RecurringTransferRequest;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.exception.EntityNotFoundException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+
+/**
+ * Сервис для действий пользователя с регулярными переводами между своими картами.
+ */
+public interface RecurringTransferUserActionService {
+
+    /**
+     * Создает регулярный перевод. Пользователь должен быть владельцем обеих карт.
+     *
+     * @param token   токен авторизации
+     * @param request объект {@link RecurringTransferRequest} с данными поручения
+     * @return объект {@link RecurringTransferResponse} с созданным поручением
+     * @throws EntityNotFoundException если карта или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не является владельцем одной из карт
+     * @throws IllegalStateException   если карты совпадают или время окончания раньше времени первого выполнения
+     */
+    RecurringTransferResponse create(String token, RecurringTransferRequest request);
+
+    /**
+     * Получает регулярные переводы пользователя.
+     *
+     * @param token    токен авторизации
+     * @param pageable объект {@link Pageable} для настройки пагинации
+     * @return объект {@link ListRecurringTransferResponse} со списком поручений
+     * @throws EntityNotFoundException если пользователь не найден
+     */
+    ListRecurringTransferResponse getRecurringTransfers(String token, Pageable pageable);
+
+    /**
+     * Отменяет регулярный перевод пользователя.
+     *
+     * @param token токен авторизации
+     * @param id    идентификатор поручения
+     * @return объект {@link RecurringTransferResponse} с отмененным поручением
+     * @throws EntityNotFoundException если поручение не найдено или принадлежит другому пользователю
+     * @throws IllegalStateException   если поручение уже завершено
+     */
+    RecurringTransferResponse cancel(String token, Long id);
+}
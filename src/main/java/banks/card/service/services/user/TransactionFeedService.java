@@ -0,0 +1,27 @@
+package banks.card.service.services.user;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.dto.out.transaction.TransactionFeedResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.InvalidCursorException;
+
+/**
+ * Сервис ленты транзакций по всем картам пользователя.
+ * Страницы упорядочены по дате транзакции от новых к старым и листаются курсором,
+ * поэтому стоимость страницы не зависит от ее номера.
+ */
+public interface TransactionFeedService {
+
+    /**
+     * Получает страницу ленты транзакций по всем активным картам пользователя.
+     *
+     * @param token  токен авторизации
+     * @param filter объект {@link TransactionFilterRequest} с параметрами фильтрации
+     * @param cursor курсор из предыдущей страницы; {@code null} для первой страницы
+     * @param size   размер страницы
+     * @return объект {@link TransactionFeedResponse} с транзакциями и курсором следующей страницы
+     * @throws EntityNotFoundException если пользователь не найден
+     * @throws InvalidCursorException  если курсор имеет неверный формат
+     */
+    TransactionFeedResponse getFeed(String token, TransactionFilterRequest filter, String cursor, int size);
+}
@@ -0,0 +1,85 @@
+package banks.card.service.specification;
+
+import banks.card.dto.in.filter.CardFilterRequest;
+import lombok.Getter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс для построения SQL-условия фильтрации таблицы {@code cards} на основе запроса
+ * {@link CardFilterRequest}. Аналог {@link CardSpecification} для запросов,
+ * выполняемых напрямую через JDBC, минуя JPA; удаленные карты исключаются всегда.
+ * Фильтр по номеру карты не поддерживается: номер хранится зашифрованным, и сравнение
+ * с шифротекстом выбрало бы произвольные карты.
+ */
+@Getter
+public class CardSqlSpecification {
+
+    /**
+     * Условие {@code WHERE} без ключевого слова (например, {@code "c.status = :status AND ..."}).
+     */
+    private final String where;
+
+    /**
+     * Именованные параметры условия.
+     */
+    private final MapSqlParameterSource params;
+
+    private CardSqlSpecification(String where, MapSqlParameterSource params) {
+        this.where = where;
+        this.params = params;
+    }
+
+    /**
+     * Создает условие для фильтрации карт по заданным критериям.
+     *
+     * @param alias   псевдоним таблицы {@code cards} в запросе
+     * @param filter  запрос с параметрами фильтрации (опционально)
+     * @param ids     идентификаторы карт (опционально)
+     * @param afterId идентификатор, после которого выбираются карты (опционально)
+     * @return объект {@link CardSqlSpecification} с условием и параметрами
+     * @throws IllegalArgumentException если в фильтре задан номер карты
+     */
+    public static CardSqlSpecification filterCards(String alias, CardFilterRequest filter,
+                                                   List<Long> ids, Long afterId) {
+        List<String> predicates = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        predicates.add(alias + ".deleted_at IS NULL");
+
+        if (ids != null) {
+            predicates.add(alias + ".id IN (:ids)");
+            params.addValue("ids", ids);
+        }
+
+        if (afterId != null) {
+            predicates.add(alias + ".id > :afterId");
+            params.addValue("afterId", afterId);
+        }
+
+        if (filter != null) {
+            if (filter.getNumber() != null && !filter.getNumber().isBlank()) {
+                throw new IllegalArgumentException("Card number filter is not supported: card numbers are stored encrypted");
+            }
+
+            if (filter.getStatus() != null) {
+                predicates.add(alias + ".status = :status");
+                params.addValue("status", filter.getStatus().name());
+            }
+
+            if (filter.getMinBalance() != null) {
+                predicates.add(alias + ".balance >= :minBalance");
+                params.addValue("minBalance", filter.getMinBalance());
+            }
+
+            if (filter.getMaxBalance() != null) {
+                predicates.add(alias + ".balance <= :maxBalance");
+                params.addValue("maxBalance", filter.getMaxBalance());
+            }
+        }
+
+        String where = String.join(" AND ", predicates);
+        return new CardSqlSpecification(where, params);
+    }
+}
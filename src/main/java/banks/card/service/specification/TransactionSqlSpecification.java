@@ -0,0 +1,92 @@
+package banks.card.service.specification;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import lombok.Getter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс для построения SQL-условия фильтрации таблицы {@code transactions} на основе запроса
+ * {@link TransactionFilterRequest}. Аналог {@link TransactionSpecification} для запросов,
+ * выполняемых напрямую через JDBC, минуя JPA.
+ */
+@Getter
+public class TransactionSqlSpecification {
+
+    /**
+     * Условие {@code WHERE} без ключевого слова (например, {@code "t.card_id = :cardId AND ..."}).
+     */
+    private final String where;
+
+    /**
+     * Именованные параметры условия.
+     */
+    private final MapSqlParameterSource params;
+
+    private TransactionSqlSpecification(String where, MapSqlParameterSource params) {
+        this.where = where;
+        this.params = params;
+    }
+
+    /**
+     * Создает условие для фильтрации транзакций по заданным критериям.
+     *
+     * @param alias   псевдоним таблицы {@code transactions} в запросе
+     * @param cardId  идентификатор карты (опционально)
+     * @param filter  запрос с параметрами фильтрации (опционально)
+     * @param afterId идентификатор, после которого выбираются транзакции (опционально)
+     * @return объект {@link TransactionSqlSpecification} с условием и параметрами
+     */
+    public static TransactionSqlSpecification filterTransaction(String alias, Long cardId,
+                                                                TransactionFilterRequest filter, Long afterId) {
+        List<String> predicates = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (cardId != null) {
+            predicates.add(alias + ".card_id = :cardId");
+            params.addValue("cardId", cardId);
+        }
+
+        if (afterId != null) {
+            predicates.add(alias + ".id > :afterId");
+            params.addValue("afterId", afterId);
+        }
+
+        if (filter != null) {
+            if (filter.getType() != null) {
+                predicates.add(alias + ".transaction_type = :type");
+                params.addValue("type", filter.getType().name());
+            }
+
+            if (filter.getStatus() != null) {
+                predicates.add(alias + ".transfer_status = :status");
+                params.addValue("status", filter.getStatus().name());
+            }
+
+            if (filter.getMinAmount() != null) {
+                predicates.add(alias + ".amount >= :minAmount");
+                params.addValue("minAmount", filter.getMinAmount());
+            }
+
+            if (filter.getMaxAmount() != null) {
+                predicates.add(alias + ".amount <= :maxAmount");
+                params.addValue("maxAmount", filter.getMaxAmount());
+            }
+
+            if (filter.getDateFrom() != null) {
+                predicates.add(alias + ".transaction_date >= :dateFrom");
+                params.addValue("dateFrom", filter.getDateFrom());
+            }
+
+            if (filter.getDateTo() != null) {
+                predicates.add(alias + ".transaction_date <= :dateTo");
+                params.addValue("dateTo", filter.getDateTo());
+            }
+        }
+
+        String where = predicates.isEmpty() ? "TRUE" : String.join(" AND ", predicates);
+        return new TransactionSqlSpecification(where, params);
+    }
+}
@@ -0,0 +1,116 @@
+package banks.card.service.sync;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Получает уведомления об изменениях карт и транзакций и будит ожидающие запросы синхронизации.
+ * <p>
+ * Слушает канал {@link SyncChangeNotifier#CHANNEL} на отдельном соединении в фоновом потоке,
+ * поэтому ожидающие клиенты не занимают соединений из пула. После переподключения будятся все
+ * ожидания: уведомления за время отключения могли быть потеряны, а лишнее пробуждение лишь
+ * приводит к повторному чтению изменений.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sync.enabled", havingValue = "true", matchIfMissing = true)
+public class SyncChangeListener {
+
+    private final DataSource dataSource;
+    private final SyncChangeNotifier notifier;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SyncChangeListener(DataSource dataSource,
+                              SyncChangeNotifier notifier,
+                              @Value("${sync.poll-timeout-ms:5000}") int pollTimeoutMs,
+                              @Value("${sync.reconnect-delay-ms:2000}") long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.notifier = notifier;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    /**
+     * Запускает фоновый поток прослушивания после старта приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = new Thread(this::listen, "sync-change-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Останавливает прослушивание.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + SyncChangeNotifier.CHANNEL);
+                }
+                notifier.notifyAllChanged();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Sync change listener lost connection, reconnecting in {} ms", reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Обрабатывает уведомление, содержащее идентификатор пользователя.
+     *
+     * @param payload содержимое уведомления
+     */
+    void handle(String payload) {
+        try {
+            notifier.notifyChanged(Long.parseLong(payload));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed sync change payload '{}'", payload);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package banks.card.service.sync;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Будит запросы синхронизации, ожидающие изменений данных пользователя.
+ * <p>
+ * Ожидание не держит соединение с базой данных: запрос регистрирует {@link CompletableFuture},
+ * который завершается значением {@code true} при изменении карт или транзакций пользователя.
+ * Уведомления поступают от {@link SyncChangeListener} для изменений на всех экземплярах приложения.
+ */
+@Component
+public class SyncChangeNotifier {
+
+    /**
+     * Канал LISTEN/NOTIFY, в который триггеры карт и транзакций публикуют идентификатор пользователя.
+     */
+    public static final String CHANNEL = "sync_changes";
+
+    private final Map<Long, Set<CompletableFuture<Boolean>>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Регистрирует ожидание изменений пользователя.
+     * Завершенное любым способом ожидание снимается с регистрации.
+     *
+     * @param userId идентификатор пользователя
+     * @return ожидание, завершаемое значением {@code true} при изменении
+     */
+    public CompletableFuture<Boolean> await(Long userId) {
+        CompletableFuture<Boolean> waiter = new CompletableFuture<>();
+        waiters.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+        waiter.whenComplete((changed, e) -> waiters.computeIfPresent(userId, (id, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        }));
+        return waiter;
+    }
+
+    /**
+     * Будит все ожидания пользователя.
+     *
+     * @param userId идентификатор пользователя
+     */
+    public void notifyChanged(Long userId) {
+        Set<CompletableFuture<Boolean>> set = waiters.get(userId);
+        if (set != null) {
+            set.forEach(waiter -> waiter.complete(true));
+        }
+    }
+
+    /**
+     * Будит все ожидания, например после потери соединения, когда уведомления могли быть пропущены.
+     */
+    public void notifyAllChanged() {
+        waiters.values().forEach(set -> set.forEach(waiter -> waiter.complete(true)));
+    }
+
+    /**
+     * Возвращает количество ожидающих запросов.
+     *
+     * @return количество ожиданий
+     */
+    public int getWaiting() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+}
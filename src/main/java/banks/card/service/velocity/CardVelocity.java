@@ -0,0 +1,18 @@
+package banks.card.service.velocity;
+
+/**
+ * Окна скорости операций одной карты. Все обращения синхронизируются на объекте карты.
+ */
+final class CardVelocity {
+
+    final SlidingWindow withdrawals;
+    final SlidingWindow transfers;
+    final RecentDestinations destinations;
+    long lastActivity;
+
+    CardVelocity(int withdrawalCapacity, int transferCapacity, int destinationCapacity) {
+        this.withdrawals = new SlidingWindow(Math.max(withdrawalCapacity, 1));
+        this.transfers = new SlidingWindow(Math.max(transferCapacity, 1));
+        this.destinations = new RecentDestinations(Math.max(destinationCapacity, 1));
+    }
+}
@@ -0,0 +1,48 @@
+package banks.card.service.velocity;
+
+/**
+ * Кольцевой буфер последних карт-получателей переводов фиксированной емкости.
+ * Поиск просматривает не больше {@code capacity} значений, поэтому выполняется за постоянное время.
+ */
+final class RecentDestinations {
+
+    private final long[] cardIds;
+    private int next;
+    private int size;
+
+    RecentDestinations(int capacity) {
+        this.cardIds = new long[capacity];
+    }
+
+    /**
+     * Проверяет, переводились ли недавно средства на карту.
+     *
+     * @param cardId идентификатор карты-получателя
+     * @return {@code true}, если карта есть среди последних получателей
+     */
+    boolean contains(long cardId) {
+        for (int i = 0; i < size; i++) {
+            if (cardIds[i] == cardId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Запоминает карту-получателя, вытесняя самую давнюю, если буфер заполнен.
+     * Уже известная карта повторно не добавляется.
+     *
+     * @param cardId идентификатор карты-получателя
+     */
+    void add(long cardId) {
+        if (contains(cardId)) {
+            return;
+        }
+        cardIds[next] = cardId;
+        next = (next + 1) % cardIds.length;
+        if (size < cardIds.length) {
+            size++;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package banks.card.service.velocity;
+
+/**
+ * Кольцевой буфер времени последних операций фиксированной емкости.
+ * Хранит не больше {@code capacity} последних отметок времени, поэтому проверка
+ * «больше {@code capacity} операций за окно» сводится к сравнению самой старой из них с началом окна.
+ * Отметки должны добавляться в порядке возрастания.
+ */
+final class SlidingWindow {
+
+    private final long[] timestamps;
+    private int next;
+    private int size;
+
+    SlidingWindow(int capacity) {
+        this.timestamps = new long[capacity];
+    }
+
+    /**
+     * Проверяет, заполнено ли окно: все хранимые операции выполнены не раньше {@code since}.
+     *
+     * @param since начало окна в миллисекундах
+     * @return {@code true}, если следующая операция превысит допустимое количество
+     */
+    boolean isFull(long since) {
+        return size == timestamps.length && timestamps[next] >= since;
+    }
+
+    /**
+     * Добавляет операцию, вытесняя самую старую, если буфер заполнен.
+     *
+     * @param timestamp время операции в миллисекундах
+     */
+    void add(long timestamp) {
+        timestamps[next] = timestamp;
+        next = (next + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+    }
+}
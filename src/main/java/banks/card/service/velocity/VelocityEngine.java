@@ -0,0 +1,265 @@
+package banks.card.service.velocity;
+
+import banks.card.exception.FraudSuspectedException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Правила скорости операций по картам, дополняющие статические лимиты карты:
+ * <ul>
+ *     <li>не больше <code>fraud.velocity.withdrawals.max-count</code> снятий за окно
+ *     <code>fraud.velocity.withdrawals.window</code>;</li>
+ *     <li>не больше <code>fraud.velocity.transfers.max-count</code> переводов за окно
+ *     <code>fraud.velocity.transfers.window</code>;</li>
+ *     <li>перевод от <code>fraud.velocity.new-destination.amount</code> допускается только на карту из
+ *     последних <code>fraud.velocity.new-destination.history-size</code> получателей.</li>
+ * </ul>
+ * Окна хранятся в памяти в кольцевых буферах на примитивных массивах, емкость которых равна
+ * допустимому количеству операций, поэтому проверка выполняется за постоянное время без запросов к базе.
+ * При запуске окна заполняются успешными операциями за <code>fraud.velocity.warmup-horizon</code>.
+ * <p>
+ * Проверка выполняется под блокировкой карты-отправителя, которую удерживает вызывающий. Операция
+ * записывается в окно только после фиксации транзакции, в которой она выполнена: откат и повтор пакета
+ * не учитывают операцию дважды. Блокировка к этому моменту уже снята, поэтому параллельная операция
+ * по той же карте может пройти проверку до записи предыдущей и превысить предел на несколько операций.
+ * <p>
+ * Правила рассчитаны на один экземпляр приложения. Окна хранятся только в памяти и не согласуются между
+ * экземплярами: каждый видит лишь операции, прошедшие через него, поэтому при нескольких экземплярах за
+ * балансировщиком фактический предел по карте умножается на их число, а история получателей
+ * неполна. Правила включаются явно (<code>fraud.velocity.enabled</code>) и только для развертывания
+ * из одного экземпляра либо с направлением операций одной карты на один экземпляр.
+ */
+@Slf4j
+@Component
+public class VelocityEngine {
+
+    static final String WARMUP_SQL = """
+            SELECT card_id, counterpart_card_id, transaction_type, transaction_date
+            FROM transactions
+            WHERE transaction_date >= ?
+              AND transfer_status = 'SUCCESS'
+              AND transaction_type IN ('WITHDRAWAL', 'TRANSFER_OUT')
+            ORDER BY transaction_date
+            """;
+
+    private final Map<Long, CardVelocity> cards = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxWithdrawals;
+    private final long withdrawalWindow;
+    private final int maxTransfers;
+    private final long transferWindow;
+    private final BigDecimal newDestinationAmount;
+    private final int destinationHistorySize;
+    private final Duration warmupHorizon;
+
+    @Setter(AccessLevel.PACKAGE)
+    private LongSupplier clock = System::currentTimeMillis;
+
+    public VelocityEngine(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${fraud.velocity.enabled:false}") boolean enabled,
+                          @Value("${fraud.velocity.withdrawals.max-count:5}") int maxWithdrawals,
+                          @Value("${fraud.velocity.withdrawals.window:PT2M}") Duration withdrawalWindow,
+                          @Value("${fraud.velocity.transfers.max-count:10}") int maxTransfers,
+                          @Value("${fraud.velocity.transfers.window:PT2M}") Duration transferWindow,
+                          @Value("${fraud.velocity.new-destination.amount:50000}") BigDecimal newDestinationAmount,
+                          @Value("${fraud.velocity.new-destination.history-size:32}") int destinationHistorySize,
+                          @Value("${fraud.velocity.warmup-horizon:P7D}") Duration warmupHorizon,
+                          @Value("${fraud.velocity.warmup-fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxWithdrawals = maxWithdrawals;
+        this.withdrawalWindow = withdrawalWindow.toMillis();
+        this.maxTransfers = maxTransfers;
+        this.transferWindow = transferWindow.toMillis();
+        this.newDestinationAmount = newDestinationAmount;
+        this.destinationHistorySize = destinationHistorySize;
+        this.warmupHorizon = warmupHorizon;
+    }
+
+    /**
+     * Проверяет снятие средств с карты.
+     *
+     * @param cardId идентификатор карты
+     * @throws FraudSuspectedException если снятие нарушает правило скорости
+     */
+    public void checkWithdrawal(Long cardId) throws FraudSuspectedException {
+        CardVelocity velocity = enabled && maxWithdrawals > 0 ? cards.get(cardId) : null;
+        if (velocity == null) {
+            return;
+        }
+        synchronized (velocity) {
+            if (velocity.withdrawals.isFull(clock.getAsLong() - withdrawalWindow)) {
+                throw new FraudSuspectedException("Too many withdrawals in a short period");
+            }
+        }
+    }
+
+    /**
+     * Проверяет перевод средств между картами.
+     *
+     * @param fromCardId идентификатор карты-отправителя
+     * @param toCardId   идентификатор карты-получателя
+     * @param amount     сумма перевода
+     * @throws FraudSuspectedException если перевод нарушает правило скорости
+     */
+    public void checkTransfer(Long fromCardId, Long toCardId, BigDecimal amount) throws FraudSuspectedException {
+        if (!enabled) {
+            return;
+        }
+        CardVelocity velocity = cards.get(fromCardId);
+        boolean largeAmount = destinationHistorySize > 0 && amount.compareTo(newDestinationAmount) >= 0;
+        if (velocity == null) {
+            if (largeAmount) {
+                throw new FraudSuspectedException("Large transfer to a new destination card");
+            }
+            return;
+        }
+        synchronized (velocity) {
+            if (maxTransfers > 0 && velocity.transfers.isFull(clock.getAsLong() - transferWindow)) {
+                throw new FraudSuspectedException("Too many transfers in a short period");
+            }
+            if (largeAmount && !velocity.destinations.contains(toCardId)) {
+                throw new FraudSuspectedException("Large transfer to a new destination card");
+            }
+        }
+    }
+
+    /**
+     * Записывает успешное снятие средств после фиксации текущей транзакции.
+     * Вне транзакции снятие записывается сразу.
+     *
+     * @param cardId идентификатор карты
+     */
+    public void recordWithdrawal(Long cardId) {
+        if (enabled) {
+            afterCommit(() -> recordWithdrawal(cards, cardId, clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Записывает успешный перевод средств после фиксации текущей транзакции.
+     * Вне транзакции перевод записывается сразу.
+     *
+     * @param fromCardId идентификатор карты-отправителя
+     * @param toCardId   идентификатор карты-получателя
+     */
+    public void recordTransfer(Long fromCardId, Long toCardId) {
+        if (enabled) {
+            afterCommit(() -> recordTransfer(cards, fromCardId, toCardId, clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Заполняет окна успешными снятиями и переводами за <code>fraud.velocity.warmup-horizon</code>.
+     * Окна собираются отдельно и добавляются только для карт, по которым с запуска еще не было
+     * операций, чтобы отметки времени в буферах оставались упорядоченными.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            Map<Long, CardVelocity> warmed = new HashMap<>();
+            Timestamp since = new Timestamp(clock.getAsLong() - warmupHorizon.toMillis());
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(WARMUP_SQL, rs -> {
+                long cardId = rs.getLong("card_id");
+                long timestamp = rs.getTimestamp("transaction_date").getTime();
+                long counterpart = rs.getLong("counterpart_card_id");
+                if ("WITHDRAWAL".equals(rs.getString("transaction_type"))) {
+                    recordWithdrawal(warmed, cardId, timestamp);
+                } else if (!rs.wasNull()) {
+                    recordTransfer(warmed, cardId, counterpart, timestamp);
+                }
+            }, since));
+            warmed.forEach(cards::putIfAbsent);
+            log.info("Velocity windows warmed up for {} cards in {} ms", warmed.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Velocity windows warm-up failed", e);
+        }
+    }
+
+    /**
+     * Удаляет окна карт без операций за <code>fraud.velocity.warmup-horizon</code>.
+     */
+    @Scheduled(fixedDelayString = "${fraud.velocity.cleanup-ms:600000}")
+    public void evictIdle() {
+        long idleSince = clock.getAsLong() - warmupHorizon.toMillis();
+        cards.values().removeIf(velocity -> {
+            synchronized (velocity) {
+                return velocity.lastActivity < idleSince;
+            }
+        });
+    }
+
+    /**
+     * Возвращает количество карт, для которых хранятся окна.
+     *
+     * @return количество карт
+     */
+    public int getTrackedCards() {
+        return cards.size();
+    }
+
+    private void recordWithdrawal(Map<Long, CardVelocity> target, long cardId, long timestamp) {
+        CardVelocity velocity = target.computeIfAbsent(cardId, id -> newVelocity());
+        synchronized (velocity) {
+            velocity.withdrawals.add(timestamp);
+            velocity.lastActivity = timestamp;
+        }
+    }
+
+    private void recordTransfer(Map<Long, CardVelocity> target, long fromCardId, long toCardId, long timestamp) {
+        CardVelocity velocity = target.computeIfAbsent(fromCardId, id -> newVelocity());
+        synchronized (velocity) {
+            velocity.transfers.add(timestamp);
+            velocity.destinations.add(toCardId);
+            velocity.lastActivity = timestamp;
+        }
+    }
+
+    private CardVelocity newVelocity() {
+        return new CardVelocity(maxWithdrawals, maxTransfers, destinationHistorySize);
+    }
+
+    private void afterCommit(Runnable record) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 /**
  * Утилитный класс для работы с объектами Java Bean.
@@ -15,7 +16,7 @@ public class BeanUtils {
     /**
      * Копирует ненулевые свойства из исходного объекта в целевой объект.
      * Использует рефлексию для доступа к полям объекта.
-     * Поля с null-значениями в исходном объекте игнорируются.
+     * Поля с null-значениями в исходном объекте и статические поля игнорируются.
      *
      * @param source      исходный объект, из которого копируются свойства
      * @param destination целевой объект, в который копируются свойства
@@ -27,6 +28,9 @@ public class BeanUtils {
         Field[] fields = clazz.getDeclaredFields();
 
         for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
             field.setAccessible(true);
             Object value = field.get(source);
 
@@ -5,54 +5,155 @@ import lombok.experimental.UtilityClass;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.util.Base64;
+import java.util.Map;
 
 /**
  * Утилитный класс для шифрования и дешифрования номеров карт с использованием алгоритма AES.
+ * <p>
+ * Ключи имеют версии. Зашифрованный номер начинается с префикса версии ключа <code>v{n}:</code>,
+ * новые номера шифруются текущим ключом, а расшифровываются номера любой известной версии. Номер
+ * без префикса зашифрован ключом версии {@value #LEGACY_VERSION}, как до появления версий.
  */
 @UtilityClass
 public class CardMascEncryptor {
 
+    /**
+     * Версия ключа для номеров без префикса версии.
+     */
+    public static final int LEGACY_VERSION = 1;
+
     private static final String ALGORITHM = "AES";
-    private static String KEY;
+    private static volatile KeyRing keyRing = new KeyRing(Map.of(), LEGACY_VERSION);
 
     /**
-     * Устанавливает ключ шифрования для алгоритма AES.
+     * Устанавливает единственный ключ шифрования версии {@value #LEGACY_VERSION}.
      *
      * @param KEY строка, представляющая ключ шифрования
      */
     public static void setKEY(String KEY) {
-        CardMascEncryptor.KEY = KEY;
+        setKeys(Map.of(LEGACY_VERSION, KEY), LEGACY_VERSION);
+    }
+
+    /**
+     * Устанавливает ключи шифрования по версиям и текущую версию, которой шифруются новые номера.
+     *
+     * @param keys           ключи по версиям
+     * @param currentVersion текущая версия ключа
+     * @throws IllegalArgumentException если ключа текущей версии нет
+     */
+    public static void setKeys(Map<Integer, String> keys, int currentVersion) {
+        if (!keys.containsKey(currentVersion)) {
+            throw new IllegalArgumentException("No card encryption key for version " + currentVersion);
+        }
+        keyRing = new KeyRing(Map.copyOf(keys), currentVersion);
+    }
+
+    /**
+     * Возвращает текущую версию ключа.
+     *
+     * @return версия ключа, которой шифруются новые номера
+     */
+    public int getCurrentVersion() {
+        return keyRing.currentVersion;
+    }
+
+    /**
+     * Возвращает префикс зашифрованного номера для версии ключа.
+     *
+     * @param version версия ключа
+     * @return префикс вида <code>v{n}:</code>
+     */
+    public String prefix(int version) {
+        return "v" + version + ":";
     }
 
     /**
-     * Шифрует номер карты с использованием алгоритма AES.
-     * Результат шифрования кодируется в строку Base64.
+     * Шифрует номер карты текущим ключом с использованием алгоритма AES.
+     * Результат шифрования кодируется в строку Base64 и дополняется префиксом версии ключа.
      *
      * @param cardNumber номер карты для шифрования
-     * @return зашифрованная строка в формате Base64
+     * @return зашифрованная строка в формате <code>v{n}:Base64</code>
      * @throws Exception если произошла ошибка при шифровании
      */
     public String encrypt(String cardNumber) throws Exception {
-        SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, keySpec);
+        KeyRing ring = keyRing;
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, ring.key(ring.currentVersion));
         byte[] encrypted = cipher.doFinal(cardNumber.getBytes());
-        return Base64.getEncoder().encodeToString(encrypted);
+        return prefix(ring.currentVersion) + Base64.getEncoder().encodeToString(encrypted);
     }
 
     /**
-     * Расшифровывает зашифрованный номер карты.
-     * Входная строка должна быть в формате Base64.
+     * Расшифровывает зашифрованный номер карты ключом, версия которого указана в префиксе.
      *
-     * @param encryptedCard зашифрованный номер карты в формате Base64
+     * @param encryptedCard зашифрованный номер карты с префиксом версии или без него
      * @return расшифрованный номер карты
-     * @throws Exception если произошла ошибка при дешифровании
+     * @throws Exception если произошла ошибка при дешифровании или ключ версии неизвестен
      */
     public String decrypt(String encryptedCard) throws Exception {
-        SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, keySpec);
-        byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(encryptedCard));
+        int version = versionOf(encryptedCard);
+        String body = version == LEGACY_VERSION && !encryptedCard.startsWith(prefix(LEGACY_VERSION))
+                ? encryptedCard
+                : encryptedCard.substring(encryptedCard.indexOf(':') + 1);
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, keyRing.key(version));
+        byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(body));
         return new String(decrypted);
     }
+
+    /**
+     * Перешифровывает номер карты текущим ключом.
+     *
+     * @param encryptedCard зашифрованный номер карты
+     * @return номер, зашифрованный текущим ключом; исходная строка, если он уже зашифрован текущим ключом
+     * @throws Exception если произошла ошибка при дешифровании или шифровании
+     */
+    public String reEncrypt(String encryptedCard) throws Exception {
+        return versionOf(encryptedCard) == keyRing.currentVersion ? encryptedCard : encrypt(decrypt(encryptedCard));
+    }
+
+    /**
+     * Возвращает версию ключа, которым зашифрован номер.
+     *
+     * @param encryptedCard зашифрованный номер карты
+     * @return версия из префикса или {@value #LEGACY_VERSION} для номера без префикса
+     */
+    public int versionOf(String encryptedCard) {
+        int separator = encryptedCard.indexOf(':');
+        if (separator < 2 || encryptedCard.charAt(0) != 'v') {
+            return LEGACY_VERSION;
+        }
+        try {
+            return Integer.parseInt(encryptedCard, 1, separator, 10);
+        } catch (NumberFormatException e) {
+            return LEGACY_VERSION;
+        }
+    }
+
+    private static Cipher cipher(int mode, String key) throws Exception {
+        SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(), ALGORITHM);
+        Cipher cipher = Cipher.getInstance(ALGORITHM);
+        cipher.init(mode, keySpec);
+        return cipher;
+    }
+
+    /**
+     * Неизменяемый набор ключей, заменяется целиком, чтобы ключи и текущая версия читались согласованно.
+     */
+    private static final class KeyRing {
+
+        private final Map<Integer, String> keys;
+        private final int currentVersion;
+
+        private KeyRing(Map<Integer, String> keys, int currentVersion) {
+            this.keys = keys;
+            this.currentVersion = currentVersion;
+        }
+
+        private String key(int version) {
+            String key = keys.get(version);
+            if (key == null) {
+                throw new IllegalStateException("No card encryption key for version " + version);
+            }
+            return key;
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package banks.card.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Утилитный класс для построения ETag списков по версии данных.
+ */
+@UtilityClass
+public class ETagUtils {
+
+    private static final int LENGTH = 16;
+
+    /**
+     * Строит ETag из версии данных и параметров запроса, влияющих на содержимое ответа.
+     * Внутренние значения версии не раскрываются клиенту.
+     *
+     * @param version версия данных
+     * @param variant параметры запроса (страница, фильтры)
+     * @return ETag в кавычках
+     */
+    public String of(String version, Object... variant) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((version + '|' + Arrays.toString(variant)).getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(digest).substring(0, LENGTH) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
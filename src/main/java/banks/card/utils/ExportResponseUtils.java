@@ -0,0 +1,44 @@
+package banks.card.utils;
+
+import banks.card.dto.in.export.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Утилитный класс для подготовки HTTP-ответа потоковой выгрузки.
+ */
+@UtilityClass
+public class ExportResponseUtils {
+
+    private static final String GZIP = "gzip";
+
+    /**
+     * Устанавливает заголовки ответа и открывает поток для записи выгрузки.
+     * Если клиент принимает {@code gzip}, поток сжимается на лету.
+     *
+     * @param response       HTTP-ответ
+     * @param format         формат выгрузки
+     * @param acceptEncoding значение заголовка {@code Accept-Encoding} (может быть {@code null})
+     * @return поток для записи тела ответа
+     * @throws IOException если не удалось получить поток ответа
+     */
+    public OutputStream open(HttpServletResponse response, ExportFormat format, String acceptEncoding)
+            throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + format.name().toLowerCase() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            return new GZIPOutputStream(response.getOutputStream(), 8192);
+        }
+        return response.getOutputStream();
+    }
+}
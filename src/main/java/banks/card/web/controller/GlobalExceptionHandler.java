@@ -4,7 +4,9 @@ import banks.card.dto.out.card.TransferResponse;
 import banks.card.dto.out.card.WithdrawalResponse;
 import banks.card.dto.out.error.ErrorMessageResponse;
 import banks.card.dto.out.error.ErrorTransferOrWithdrawalResponse;
+import banks.card.exception.ArchiveRangeException;
 import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.InvalidCursorException;
 import banks.card.exception.TransferException;
 import banks.card.exception.WithdrawalException;
 import org.springframework.http.HttpStatus;
@@ -82,6 +84,32 @@ public class GlobalExceptionHandler {
                 .body(new ErrorMessageResponse(ex.getMessage()));
     }
 
+    /**
+     * Обрабатывает исключения, связанные с неверным курсором в запросе.
+     *
+     * @param ex исключение {@link InvalidCursorException}, которое было выброшено
+     * @return {@link ResponseEntity} с кодом состояния {@link HttpStatus#BAD_REQUEST} и
+     *         телом {@link ErrorMessageResponse}, содержащим сообщение об ошибке
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorMessageResponse> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessageResponse(ex.getMessage()));
+    }
+
+    /**
+     * Обрабатывает исключения, связанные с запросом архивных транзакций, которые нельзя прочитать.
+     *
+     * @param ex исключение {@link ArchiveRangeException}, которое было выброшено
+     * @return {@link ResponseEntity} с кодом состояния {@link HttpStatus#BAD_REQUEST} и
+     *         телом {@link ErrorMessageResponse}, содержащим сообщение об ошибке
+     */
+    @ExceptionHandler(ArchiveRangeException.class)
+    public ResponseEntity<ErrorMessageResponse> handleArchiveRange(ArchiveRangeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessageResponse(ex.getMessage()));
+    }
+
     /**
      * Обрабатывает исключения, связанные с ошибками при выполнении переводов.
      *
@@ -0,0 +1,70 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.cache.CacheStatisticsResponse;
+import banks.card.service.services.amin.CacheAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для администрирования кэша второго уровня.
+ */
+@Tag(name = "Кэш", description = "API для просмотра статистики и очистки кэша администратором")
+@RestController
+@RequestMapping("/api/v1/admin/cache")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final CacheAdminService cacheAdminService;
+
+    /**
+     * Возвращает статистику кэша второго уровня по регионам.
+     *
+     * @return объект {@link CacheStatisticsResponse} со статистикой
+     */
+    @Operation(
+            summary = "Получить статистику кэша",
+            description = "Возвращает количество попаданий, промахов и записей по каждому региону кэша второго уровня этого экземпляра приложения. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Статистика успешно возвращена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatisticsResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatisticsResponse> getStatistics() {
+        CacheStatisticsResponse response = cacheAdminService.getStatistics();
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Полностью очищает кэш второго уровня.
+     *
+     * @return пустой ответ
+     */
+    @Operation(
+            summary = "Очистить кэш",
+            description = "Удаляет все записи из кэша второго уровня этого экземпляра приложения. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Кэш очищен", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> evictAll() {
+        cacheAdminService.evictAll();
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
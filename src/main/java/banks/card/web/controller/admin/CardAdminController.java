@@ -1,23 +1,34 @@
 package banks.card.web.controller.admin;
 
+import banks.card.dto.in.card.BulkCardLimitRequest;
+import banks.card.dto.in.card.BulkCardStatusRequest;
 import banks.card.dto.in.card.CardInsertRequest;
 import banks.card.dto.in.card.CardUpdateStatusRequest;
 import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.in.card.UpdateBalanceBucketsRequest;
 import banks.card.dto.in.card.UpdateCardLimitRequest;
+import banks.card.dto.in.export.ExportFormat;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.dto.out.card.BulkCardUpdateResponse;
+import banks.card.dto.out.card.BulkIssuanceResponse;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.CardUpsertResponse;
 import banks.card.dto.out.card.ListCardResponse;
 import banks.card.dto.out.card.TransferResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.error.ErrorMessageResponse;
 import banks.card.dto.out.transaction.ListTransactionResponse;
 import banks.card.entity.CardStatus;
 import banks.card.entity.TransactionType;
 import banks.card.entity.TransferStatus;
 import banks.card.service.security.JwtService;
+import banks.card.service.services.TransactionExportService;
 import banks.card.service.services.TransactionService;
 import banks.card.service.services.amin.CardAdminActionService;
+import banks.card.service.services.amin.CardBulkIssuanceService;
+import banks.card.service.services.amin.CardBulkUpdateService;
+import banks.card.utils.ExportResponseUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,14 +37,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -53,6 +67,9 @@ public class CardAdminController {
 
     private final CardAdminActionService cardService;
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final CardBulkIssuanceService cardBulkIssuanceService;
+    private final CardBulkUpdateService cardBulkUpdateService;
 
     /**
      * Получает список всех карт с применением фильтров и пагинации.
@@ -142,6 +159,57 @@ public class CardAdminController {
                 .body(response);
     }
 
+    /**
+     * Выполняет потоковую выгрузку транзакций всех карт или одной карты в формате CSV или NDJSON.
+     * Транзакции упорядочены по идентификатору; для продолжения прерванной выгрузки
+     * передайте идентификатор последней полученной транзакции в параметре {@code after}.
+     *
+     * @param cardId         идентификатор карты (опционально)
+     * @param format         формат выгрузки (по умолчанию CSV)
+     * @param after          идентификатор транзакции, после которой продолжить выгрузку (опционально)
+     * @param type           тип транзакции (опционально)
+     * @param status         статус транзакции (опционально)
+     * @param minAmount      минимальная сумма транзакции (опционально)
+     * @param maxAmount      максимальная сумма транзакции (опционально)
+     * @param dateFrom       дата начала периода (опционально)
+     * @param dateTo         дата окончания периода (опционально)
+     * @param acceptEncoding заголовок {@code Accept-Encoding}; при значении {@code gzip} ответ сжимается
+     * @param response       HTTP-ответ, в который пишется выгрузка
+     */
+    @Operation(
+            summary = "Выгрузить транзакции",
+            description = "Потоково выгружает транзакции всех карт или указанной карты в формате CSV или NDJSON. Поддерживает сжатие gzip и продолжение выгрузки по идентификатору последней транзакции. Доступно только для пользователей с ролью ADMIN.",
+            tags = {"Администрирование карт"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Выгрузка успешно сформирована",
+                    content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+            @ApiResponse(responseCode = "400", description = "Период выходит за горизонт архивации, а карта не указана", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/transactions/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportTransactions(
+            @Parameter(description = "Идентификатор карты") @RequestParam(required = false, name = "card-id") Long cardId,
+            @Parameter(description = "Формат выгрузки", example = "CSV") @RequestParam(defaultValue = "CSV", name = "format") ExportFormat format,
+            @Parameter(description = "Идентификатор последней полученной транзакции") @RequestParam(required = false, name = "after") Long after,
+            @Parameter(description = "Тип транзакции") @RequestParam(required = false, name = "type") TransactionType type,
+            @Parameter(description = "Статус транзакции") @RequestParam(required = false, name = "status") TransferStatus status,
+            @Parameter(description = "Минимальная сумма") @RequestParam(required = false, name = "min-amount") BigDecimal minAmount,
+            @Parameter(description = "Максимальная сумма") @RequestParam(required = false, name = "max-amount") BigDecimal maxAmount,
+            @Parameter(description = "Дата начала периода") @RequestParam(required = false, name = "date-from") LocalDateTime dateFrom,
+            @Parameter(description = "Дата окончания периода") @RequestParam(required = false, name = "date-to") LocalDateTime dateTo,
+            @Parameter(hidden = true) @RequestHeader(required = false, name = HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+            HttpServletResponse response) {
+        TransactionFilterRequest filter =
+                new TransactionFilterRequest(type, status, minAmount, maxAmount,
+                        dateFrom == null ? null : Timestamp.valueOf(dateFrom),
+                        dateTo == null ? null : Timestamp.valueOf(dateTo));
+
+        transactionExportService.exportTransactions(cardId, filter, format, after,
+                () -> ExportResponseUtils.open(response, format, acceptEncoding));
+    }
+
     /**
      * Создает новую карту для пользователя по его email.
      *
@@ -177,6 +245,34 @@ public class CardAdminController {
                 .body(response);
     }
 
+    /**
+     * Выпускает карты по строкам CSV-файла.
+     *
+     * @param csv содержимое файла с заголовком {@code email,card_number,card_holder,expiry_date}
+     * @return объект {@link BulkIssuanceResponse} с итогами выпуска и ошибками по строкам
+     */
+    @Operation(
+            summary = "Выпустить карты из CSV",
+            description = "Потоково обрабатывает CSV-файл с заголовком email,card_number,card_holder,expiry_date и выпускает карты с нулевым балансом. Строки с ошибками не выпускаются и возвращаются в отчете с номером строки. Доступно только для пользователей с ролью ADMIN.",
+            tags = {"Администрирование карт"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = "text/csv"))
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Файл обработан",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkIssuanceResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Файл не удалось прочитать или карты не удалось записать; карты не выпущены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkIssuanceResponse> issueCards(InputStream csv) {
+        BulkIssuanceResponse response = cardBulkIssuanceService.issue(csv);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
     /**
      * Обновляет статус карты.
      *
@@ -210,6 +306,60 @@ public class CardAdminController {
                 .body(response);
     }
 
+    /**
+     * Изменяет статус карт, выбранных фильтром или списком идентификаторов.
+     *
+     * @param request фильтр или идентификаторы карт и новый статус
+     * @return объект {@link BulkCardUpdateResponse} с количеством измененных карт
+     */
+    @Operation(
+            summary = "Массово обновить статус карт",
+            description = "Изменяет статус всех карт, подходящих под фильтр и (или) входящих в список идентификаторов, набором запросов UPDATE по частям. Карты, уже имеющие этот статус, не учитываются. Доступно только для пользователей с ролью ADMIN.",
+            tags = {"Администрирование карт"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Статус карт обновлен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkCardUpdateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные запроса",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkCardUpdateResponse> updateStatusBulk(
+            @Parameter(description = "Выбор карт и новый статус") @RequestBody @Valid BulkCardStatusRequest request) {
+        BulkCardUpdateResponse response = cardBulkUpdateService.updateStatus(request);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Изменяет лимиты карт, выбранных фильтром или списком идентификаторов.
+     *
+     * @param request фильтр или идентификаторы карт и новые лимиты
+     * @return объект {@link BulkCardUpdateResponse} с количеством измененных карт
+     */
+    @Operation(
+            summary = "Массово обновить лимиты карт",
+            description = "Изменяет указанные лимиты всех карт, подходящих под фильтр и (или) входящих в список идентификаторов, набором запросов UPDATE по частям. Неуказанные лимиты не изменяются. Доступно только для пользователей с ролью ADMIN.",
+            tags = {"Администрирование карт"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Лимиты карт обновлены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkCardUpdateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные запроса",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PatchMapping("/bulk/limits")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkCardUpdateResponse> updateLimitsBulk(
+            @Parameter(description = "Выбор карт и новые лимиты") @RequestBody @Valid BulkCardLimitRequest request) {
+        BulkCardUpdateResponse response = cardBulkUpdateService.updateLimits(request);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
     /**
      * Обновляет лимиты карты.
      *
@@ -243,29 +393,63 @@ public class CardAdminController {
                 .body(response);
     }
 
+    /**
+     * Настраивает раздельный баланс карты.
+     *
+     * @param id      идентификатор карты
+     * @param request объект с количеством корзин
+     * @return объект {@link CardResponse} с информацией об обновленной карте
+     * @throws EntityNotFoundException если карта с указанным идентификатором не найдена
+     */
+    @Operation(
+            summary = "Настроить раздельный баланс карты",
+            description = "Распределяет зачисления на карту по указанному количеству корзин, чтобы параллельные зачисления не конкурировали за одну строку. 0 выключает раздельный баланс. Доступно только для пользователей с ролью ADMIN.",
+            tags = {"Администрирование карт"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Раздельный баланс карты настроен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта с указанным идентификатором не найдена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные запроса",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PutMapping("/{id}/balance-buckets")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardResponse> updateBalanceBuckets(
+            @Parameter(description = "Идентификатор карты", required = true) @PathVariable("id") Long id,
+            @Parameter(description = "Количество корзин") @RequestBody @Valid UpdateBalanceBucketsRequest request)
+            throws EntityNotFoundException {
+        CardResponse response = cardService.updateBalanceBuckets(id, request);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
     /**
      * Удаляет карту по её идентификатору.
      *
      * @param id идентификатор карты
-     * @return ответ с кодом 204 (No Content) при успешном удалении
+     * @return объект {@link DeletionJobResponse} с состоянием фонового удаления
      */
     @Operation(
             summary = "Удалить карту",
-            description = "Удаляет карту по указанному идентификатору. Доступно только для пользователей с ролью ADMIN.",
+            description = "Сразу помечает карту удаленной, после чего она перестает быть доступна. Транзакции и сама карта удаляются в фоне пакетами; ход удаления доступен по /api/v1/admin/deletions/{id}. Доступно только для пользователей с ролью ADMIN.",
             tags = {"Администрирование карт"}
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "204", description = "Карта успешно удалена", content = @Content),
+            @ApiResponse(responseCode = "202", description = "Карта помечена удаленной, удаление данных запущено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeletionJobResponse.class))),
             @ApiResponse(responseCode = "404", description = "Карта с указанным идентификатором не найдена",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
     })
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> delete(
+    public ResponseEntity<DeletionJobResponse> delete(
             @Parameter(description = "Идентификатор карты", required = true) @PathVariable("id") Long id) {
-        cardService.delete(id);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT)
-                .build();
+        DeletionJobResponse response = cardService.delete(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(response);
     }
 }
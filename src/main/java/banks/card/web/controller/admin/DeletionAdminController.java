@@ -0,0 +1,61 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.deletion.DeletionJobResponse;
+import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.amin.DeletionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для просмотра фонового удаления пользователей и карт.
+ */
+@Tag(name = "Удаление данных", description = "API для просмотра хода фонового удаления пользователей и карт администратором")
+@RestController
+@RequestMapping("/api/v1/admin/deletions")
+@RequiredArgsConstructor
+public class DeletionAdminController {
+
+    private final DeletionService deletionService;
+
+    /**
+     * Возвращает состояние удаления.
+     *
+     * @param id идентификатор удаления
+     * @return объект {@link DeletionJobResponse}
+     * @throws EntityNotFoundException если удаление не найдено
+     */
+    @Operation(
+            summary = "Получить ход удаления",
+            description = "Возвращает статус и количество удаленных карт и транзакций. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Состояние успешно возвращено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeletionJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Удаление не найдено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DeletionJobResponse> getJob(
+            @Parameter(description = "Идентификатор удаления", required = true) @PathVariable("id") Long id)
+            throws EntityNotFoundException {
+        DeletionJobResponse response = deletionService.getJob(id)
+                .orElseThrow(() -> new EntityNotFoundException("Deletion not found with ID: " + id));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
@@ -0,0 +1,80 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.dto.out.rotation.KeyRotationResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.amin.KeyRotationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для перешифрования номеров карт новой версией ключа.
+ */
+@Tag(name = "Ротация ключей", description = "API для перешифрования номеров карт администратором")
+@RestController
+@RequestMapping("/api/v1/admin/key-rotations")
+@RequiredArgsConstructor
+public class KeyRotationAdminController {
+
+    private final KeyRotationService keyRotationService;
+
+    /**
+     * Запускает перешифрование номеров карт текущей версией ключа.
+     *
+     * @return объект {@link KeyRotationResponse} с состоянием перешифрования на момент запуска
+     */
+    @Operation(
+            summary = "Запустить перешифрование",
+            description = "Запускает в фоне перешифрование номеров карт текущей версией ключа или продолжает прерванное с сохраненной позиции. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Перешифрование запущено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeyRotationResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Перешифрование уже выполняется",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeyRotationResponse> start() {
+        KeyRotationResponse response = keyRotationService.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(response);
+    }
+
+    /**
+     * Возвращает состояние последнего перешифрования.
+     *
+     * @return объект {@link KeyRotationResponse}
+     * @throws EntityNotFoundException если перешифрование не запускалось
+     */
+    @Operation(
+            summary = "Получить ход перешифрования",
+            description = "Возвращает статус, позицию и долю обработанных карт последнего перешифрования. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Состояние успешно возвращено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeyRotationResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Перешифрование не запускалось",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/latest")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeyRotationResponse> getLatest() throws EntityNotFoundException {
+        KeyRotationResponse response = keyRotationService.getLatest()
+                .orElseThrow(() -> new EntityNotFoundException("Key rotation has not been run"));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
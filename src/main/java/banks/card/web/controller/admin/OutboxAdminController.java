@@ -0,0 +1,50 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.outbox.OutboxStatisticsResponse;
+import banks.card.service.services.amin.LedgerOutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для наблюдения за исходящей очередью событий транзакций.
+ */
+@Tag(name = "Исходящая очередь", description = "API для просмотра статистики ретрансляции событий транзакций администратором")
+@RestController
+@RequestMapping("/api/v1/admin/outbox")
+@RequiredArgsConstructor
+public class OutboxAdminController {
+
+    private final LedgerOutboxService ledgerOutboxService;
+
+    /**
+     * Возвращает пропускную способность ретранслятора и отставание очереди.
+     *
+     * @return объект {@link OutboxStatisticsResponse} со статистикой
+     */
+    @Operation(
+            summary = "Получить статистику исходящей очереди",
+            description = "Возвращает количество и возраст неопубликованных событий, а также пропускную способность и задержку ретранслятора этого экземпляра приложения. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Статистика успешно возвращена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OutboxStatisticsResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxStatisticsResponse> getStatistics() {
+        OutboxStatisticsResponse response = ledgerOutboxService.getStatistics();
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
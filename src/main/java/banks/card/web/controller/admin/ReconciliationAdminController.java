@@ -0,0 +1,80 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.dto.out.reconciliation.ReconciliationReportResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.amin.BalanceReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для сверки балансов карт с журналом транзакций.
+ */
+@Tag(name = "Сверка балансов", description = "API для сверки балансов карт администратором")
+@RestController
+@RequestMapping("/api/v1/admin/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationAdminController {
+
+    private final BalanceReconciliationService reconciliationService;
+
+    /**
+     * Запускает сверку балансов всех карт.
+     *
+     * @return объект {@link ReconciliationReportResponse} с расхождениями по картам
+     */
+    @Operation(
+            summary = "Запустить сверку балансов",
+            description = "Сверяет баланс каждой карты с суммой успешных транзакций и возвращает расхождения. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Сверка выполнена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReconciliationReportResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Сверка уже выполняется",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationReportResponse> reconcile() {
+        ReconciliationReportResponse response = reconciliationService.reconcile();
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Возвращает отчет последней сверки.
+     *
+     * @return объект {@link ReconciliationReportResponse} последней сверки
+     * @throws EntityNotFoundException если сверка еще не выполнялась
+     */
+    @Operation(
+            summary = "Получить отчет последней сверки",
+            description = "Возвращает отчет последней завершенной сверки (ручной или по расписанию). Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Отчет успешно возвращен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReconciliationReportResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Сверка еще не выполнялась",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/last")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationReportResponse> getLastReport() throws EntityNotFoundException {
+        ReconciliationReportResponse response = reconciliationService.getLastReport()
+                .orElseThrow(() -> new EntityNotFoundException("Reconciliation has not been run yet"));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
@@ -0,0 +1,95 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.in.recurring.RecurringTransferStatusRequest;
+import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.amin.RecurringTransferAdminActionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST-контроллер для администрирования регулярных переводов.
+ */
+@Tag(name = "Администрирование регулярных переводов", description = "API для просмотра и приостановки регулярных переводов администратором")
+@RestController
+@RequestMapping("/api/v1/admin/recurring-transfers")
+@RequiredArgsConstructor
+public class RecurringTransferAdminController {
+
+    private final RecurringTransferAdminActionService recurringTransferService;
+
+    /**
+     * Получает регулярные переводы всех пользователей.
+     *
+     * @param page   номер страницы (по умолчанию 0)
+     * @param size   размер страницы (по умолчанию 10)
+     * @param status статус поручения (опционально)
+     * @return объект {@link ListRecurringTransferResponse} со списком поручений
+     */
+    @Operation(
+            summary = "Получить регулярные переводы",
+            description = "Возвращает поручения всех пользователей с фильтром по статусу. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Список поручений успешно возвращен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ListRecurringTransferResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ListRecurringTransferResponse> getAll(
+            @Parameter(description = "Номер страницы", example = "0") @RequestParam(defaultValue = "0", name = "page") int page,
+            @Parameter(description = "Размер страницы", example = "10") @RequestParam(defaultValue = "10", name = "size") int size,
+            @Parameter(description = "Статус поручения") @RequestParam(required = false, name = "status") RecurringTransferStatus status) {
+        ListRecurringTransferResponse response = recurringTransferService.getAll(status,
+                PageRequest.of(page, size, Sort.by("id")));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Обновляет статус регулярного перевода.
+     *
+     * @param id      идентификатор поручения
+     * @param request объект с новым статусом
+     * @return объект {@link RecurringTransferResponse} с обновленным поручением
+     * @throws EntityNotFoundException если поручение не найдено
+     */
+    @Operation(
+            summary = "Обновить статус регулярного перевода",
+            description = "Приостанавливает, возобновляет или отменяет поручение. Возобновленное поручение продолжается с ближайшего будущего выполнения. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Статус поручения успешно обновлен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecurringTransferResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Поручение не найдено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Поручение уже отменено или завершено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PutMapping("/{id}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecurringTransferResponse> updateStatus(
+            @Parameter(description = "Идентификатор поручения", required = true) @PathVariable("id") Long id,
+            @Parameter(description = "Новый статус поручения") @RequestBody @Valid RecurringTransferStatusRequest request)
+            throws EntityNotFoundException {
+        RecurringTransferResponse response = recurringTransferService.updateStatus(id, request);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
@@ -0,0 +1,85 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.dto.out.settlement.SettlementReportResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.amin.SettlementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST-контроллер для дневного расчета отложенных переводов.
+ */
+@Tag(name = "Расчеты", description = "API для дневного расчета отложенных переводов администратором")
+@RestController
+@RequestMapping("/api/v1/admin/settlements")
+@RequiredArgsConstructor
+public class SettlementAdminController {
+
+    private final SettlementService settlementService;
+
+    /**
+     * Запускает или продолжает расчет за операционный день.
+     *
+     * @param date операционный день (по умолчанию вчерашний)
+     * @return объект {@link SettlementReportResponse} с итогами расчета
+     */
+    @Operation(
+            summary = "Запустить расчет",
+            description = "Рассчитывает отложенные переводы за операционный день: баланс каждой карты изменяется один раз на чистую сумму. Прерванный расчет продолжается с контрольных точек. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Расчет выполнен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SettlementReportResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Расчет уже выполняется или завершился ошибкой",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementReportResponse> settle(
+            @Parameter(description = "Операционный день", example = "2025-03-02") @RequestParam(required = false, name = "date") LocalDate date) {
+        SettlementReportResponse response = settlementService.settle(date == null ? LocalDate.now().minusDays(1) : date);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Возвращает отчет расчета за операционный день.
+     *
+     * @param date операционный день
+     * @return объект {@link SettlementReportResponse}
+     * @throws EntityNotFoundException если расчет за этот день не запускался
+     */
+    @Operation(
+            summary = "Получить отчет расчета",
+            description = "Возвращает итоги и неттинг по парам карт для расчета за операционный день. Доступно только для пользователей с ролью ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Отчет успешно возвращен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SettlementReportResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Расчет за этот день не запускался",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
+    })
+    @GetMapping("/{date}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementReportResponse> getReport(
+            @Parameter(description = "Операционный день", required = true, example = "2025-03-02") @PathVariable("date") LocalDate date)
+            throws EntityNotFoundException {
+        SettlementReportResponse response = settlementService.getReport(date)
+                .orElseThrow(() -> new EntityNotFoundException("Settlement has not been run for " + date));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
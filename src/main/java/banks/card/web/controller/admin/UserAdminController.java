@@ -4,6 +4,7 @@ import banks.card.dto.in.user.UserCreateRequest;
 import banks.card.dto.in.user.UserPasswordResetRequest;
 import banks.card.dto.in.user.UserUpdateRequest;
 import banks.card.dto.out.MessageResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.error.ErrorMessageResponse;
 import banks.card.dto.out.user.ListUserResponse;
 import banks.card.dto.out.user.UserResponse;
@@ -155,22 +156,23 @@ public class UserAdminController {
      * Удаляет пользователя по его идентификатору.
      *
      * @param id идентификатор пользователя
-     * @return ответ с кодом 204 (No Content) при успешном удалении
+     * @return объект {@link DeletionJobResponse} с состоянием фонового удаления
      */
     @Operation(
             summary = "Удалить пользователя",
-            description = "Удаляет пользователя по указанному идентификатору. Доступно только для пользователей с ролью ADMIN.")
+            description = "Сразу помечает пользователя и его карты удаленными, после чего они перестают быть доступны. Транзакции, карты и сам пользователь удаляются в фоне пакетами; ход удаления доступен по /api/v1/admin/deletions/{id}. Доступно только для пользователей с ролью ADMIN.")
     @ApiResponses({
-            @ApiResponse(responseCode = "204", description = "Пользователь успешно удален", content = @Content),
+            @ApiResponse(responseCode = "202", description = "Пользователь помечен удаленным, удаление данных запущено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeletionJobResponse.class))),
             @ApiResponse(responseCode = "404", description = "Пользователь с указанным идентификатором не найден",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль ADMIN", content = @Content)
     })
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteUser(
+    public ResponseEntity<DeletionJobResponse> deleteUser(
             @Parameter(description = "Идентификатор пользователя", required = true) @PathVariable("id") Long id) {
-        userAdminService.delete(id);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        DeletionJobResponse response = userAdminService.delete(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 }
@@ -2,21 +2,36 @@ package banks.card.web.controller.user;
 
 import banks.card.dto.in.card.TransferRequest;
 import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.in.export.ExportFormat;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.dto.in.hold.CaptureHoldRequest;
+import banks.card.dto.in.hold.HoldRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.ListCardResponse;
 import banks.card.dto.out.card.TransferResponse;
 import banks.card.dto.out.card.WithdrawalResponse;
 import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.dto.out.hold.HoldResponse;
+import banks.card.dto.out.sync.SyncResponse;
 import banks.card.dto.out.transaction.ListTransactionResponse;
+import banks.card.dto.out.transaction.TransactionFeedResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
 import banks.card.entity.CardStatus;
 import banks.card.entity.TransactionType;
 import banks.card.entity.TransferStatus;
 import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.InvalidCursorException;
 import banks.card.exception.TransferException;
+import banks.card.service.services.TransactionExportService;
+import banks.card.service.services.user.CardEventService;
+import banks.card.service.services.user.CardSyncService;
 import banks.card.service.services.user.CardUserActionService;
+import banks.card.service.services.user.ListingVersionService;
+import banks.card.service.services.user.TransactionFeedService;
 import banks.card.service.services.TransactionService;
+import banks.card.utils.ETagUtils;
+import banks.card.utils.ExportResponseUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,18 +39,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import static banks.card.service.security.JwtService.HEADER_NAME;
 
@@ -52,6 +73,11 @@ public class CardController {
 
     private final CardUserActionService cardService;
     private final TransactionService transactionUserService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionFeedService transactionFeedService;
+    private final CardSyncService cardSyncService;
+    private final CardEventService cardEventService;
+    private final ListingVersionService listingVersionService;
 
     /**
      * Получает список карт пользователя с применением фильтров и пагинации.
@@ -63,15 +89,18 @@ public class CardController {
      * @param status     статус карты (опционально)
      * @param minBalance минимальный баланс (опционально)
      * @param maxBalance максимальный баланс (опционально)
-     * @return объект {@link ListCardResponse} со списком карт
+     * @param request    текущий запрос для проверки заголовка <code>If-None-Match</code>
+     * @return объект {@link ListCardResponse} со списком карт и заголовком <code>ETag</code>
+     * или пустой ответ 304, если список не изменился
      * @throws EntityNotFoundException если пользователь не найден
      */
     @Operation(
             summary = "Получить список карт пользователя",
-            description = "Возвращает список карт пользователя с учетом фильтров и пагинации. Доступно только для пользователей с ролью USER.")
+            description = "Возвращает список карт пользователя с учетом фильтров и пагинации. Поддерживает условный запрос по заголовку If-None-Match. Доступно только для пользователей с ролью USER.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Список карт успешно возвращен",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ListCardResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Список карт не изменился", content = @Content),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER", content = @Content)
@@ -85,12 +114,21 @@ public class CardController {
             @Parameter(description = "Номер карты") @RequestParam(required = false, name = "number") String number,
             @Parameter(description = "Статус карты") @RequestParam(required = false, name = "status") CardStatus status,
             @Parameter(description = "Минимальный баланс") @RequestParam(required = false, name = "min-balance") BigDecimal minBalance,
-            @Parameter(description = "Максимальный баланс") @RequestParam(required = false, name = "max-balance") BigDecimal maxBalance)
+            @Parameter(description = "Максимальный баланс") @RequestParam(required = false, name = "max-balance") BigDecimal maxBalance,
+            @Parameter(hidden = true) WebRequest request)
             throws EntityNotFoundException {
+        String eTag = ETagUtils.of(listingVersionService.getCardsVersion(token),
+                page, size, number, status, minBalance, maxBalance);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
         CardFilterRequest filter = new CardFilterRequest(number, status, minBalance, maxBalance);
 
         ListCardResponse response = cardService.getCards(token, filter, PageRequest.of(page, size));
         return ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
                 .body(response);
     }
 
@@ -107,16 +145,19 @@ public class CardController {
      * @param maxAmount максимальная сумма транзакции (опционально)
      * @param dateFrom  дата начала периода (опционально)
      * @param dateTo    дата окончания периода (опционально)
-     * @return объект {@link ListTransactionResponse} со списком транзакций
+     * @param request   текущий запрос для проверки заголовка <code>If-None-Match</code>
+     * @return объект {@link ListTransactionResponse} со списком транзакций и заголовком <code>ETag</code>
+     * или пустой ответ 304, если список не изменился
      * @throws EntityNotFoundException если карта или пользователь не найдены
      * @throws AccessDeniedException   если пользователь не имеет доступа к карте
      */
     @Operation(
             summary = "Получить транзакции карты",
-            description = "Возвращает список транзакций для указанной карты пользователя с учетом фильтров и пагинации. Доступно только для пользователей с ролью USER.")
+            description = "Возвращает список транзакций для указанной карты пользователя с учетом фильтров и пагинации. Поддерживает условный запрос по заголовку If-None-Match. Доступно только для пользователей с ролью USER.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Список транзакций успешно возвращен",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ListTransactionResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Список транзакций не изменился", content = @Content),
             @ApiResponse(responseCode = "404", description = "Карта или пользователь не найдены",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к карте", content = @Content)
@@ -133,18 +174,197 @@ public class CardController {
             @Parameter(description = "Минимальная сумма") @RequestParam(required = false, name = "min-amount") BigDecimal minAmount,
             @Parameter(description = "Максимальная сумма") @RequestParam(required = false, name = "max-amount") BigDecimal maxAmount,
             @Parameter(description = "Дата начала периода", example = "2023-01-01T00:00:00") @RequestParam(required = false, name = "date-from") LocalDateTime dateFrom,
-            @Parameter(description = "Дата окончания периода", example = "2023-12-31T23:59:59") @RequestParam(required = false, name = "date-to") LocalDateTime dateTo)
+            @Parameter(description = "Дата окончания периода", example = "2023-12-31T23:59:59") @RequestParam(required = false, name = "date-to") LocalDateTime dateTo,
+            @Parameter(hidden = true) WebRequest request)
             throws EntityNotFoundException, AccessDeniedException {
+        String eTag = ETagUtils.of(listingVersionService.getTransactionsVersion(id, token),
+                page, size, type, status, minAmount, maxAmount, dateFrom, dateTo);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
         TransactionFilterRequest filter =
                 new TransactionFilterRequest(type, status, minAmount, maxAmount,
                         dateFrom == null ? null : Timestamp.valueOf(dateFrom),
                         dateTo == null ? null : Timestamp.valueOf(dateTo));
 
         ListTransactionResponse response = transactionUserService.getUserTransactions(id, token, filter, PageRequest.of(page, size));
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .body(response);
+    }
+
+    /**
+     * Получает ленту транзакций по всем картам пользователя, упорядоченную от новых к старым.
+     * Для получения следующей страницы передайте курсор из предыдущего ответа в параметре {@code cursor}.
+     *
+     * @param token     JWT-токен пользователя, переданный в заголовке
+     * @param cursor    курсор следующей страницы (опционально)
+     * @param size      размер страницы (по умолчанию 10)
+     * @param type      тип транзакции (опционально)
+     * @param status    статус транзакции (опционально)
+     * @param minAmount минимальная сумма транзакции (опционально)
+     * @param maxAmount максимальная сумма транзакции (опционально)
+     * @param dateFrom  дата начала периода (опционально)
+     * @param dateTo    дата окончания периода (опционально)
+     * @return объект {@link TransactionFeedResponse} с транзакциями и курсором следующей страницы
+     * @throws EntityNotFoundException если пользователь не найден
+     * @throws InvalidCursorException  если курсор имеет неверный формат
+     */
+    @Operation(
+            summary = "Получить ленту транзакций пользователя",
+            description = "Возвращает транзакции всех карт пользователя одной лентой, упорядоченной по дате от новых к старым. Страницы листаются курсором. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Страница ленты успешно возвращена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionFeedResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неверный курсор",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER", content = @Content)
+    })
+    @GetMapping("/transactions")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransactionFeedResponse> getTransactionFeed(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false, name = "cursor") String cursor,
+            @Parameter(description = "Размер страницы", example = "10") @RequestParam(defaultValue = "10", name = "size") int size,
+            @Parameter(description = "Тип транзакции") @RequestParam(required = false, name = "type") TransactionType type,
+            @Parameter(description = "Статус транзакции") @RequestParam(required = false, name = "status") TransferStatus status,
+            @Parameter(description = "Минимальная сумма") @RequestParam(required = false, name = "min-amount") BigDecimal minAmount,
+            @Parameter(description = "Максимальная сумма") @RequestParam(required = false, name = "max-amount") BigDecimal maxAmount,
+            @Parameter(description = "Дата начала периода", example = "2023-01-01T00:00:00") @RequestParam(required = false, name = "date-from") LocalDateTime dateFrom,
+            @Parameter(description = "Дата окончания периода", example = "2023-12-31T23:59:59") @RequestParam(required = false, name = "date-to") LocalDateTime dateTo)
+            throws EntityNotFoundException, InvalidCursorException {
+        TransactionFilterRequest filter =
+                new TransactionFilterRequest(type, status, minAmount, maxAmount,
+                        dateFrom == null ? null : Timestamp.valueOf(dateFrom),
+                        dateTo == null ? null : Timestamp.valueOf(dateTo));
+
+        TransactionFeedResponse response = transactionFeedService.getFeed(token, filter, cursor, size);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(response);
     }
 
+    /**
+     * Возвращает изменения карт и транзакций пользователя с момента курсора.
+     * Без курсора возвращает все карты пользователя и начальный курсор. Если изменений нет,
+     * ответ откладывается до первого изменения или истечения {@code wait-ms}.
+     *
+     * @param token  JWT-токен пользователя, переданный в заголовке
+     * @param since  курсор из предыдущего ответа (опционально)
+     * @param waitMs максимальное время ожидания изменений в миллисекундах (по умолчанию 0)
+     * @return объект {@link SyncResponse} с изменениями и новым курсором
+     * @throws EntityNotFoundException если пользователь не найден
+     * @throws InvalidCursorException  если курсор имеет неверный формат
+     */
+    @Operation(
+            summary = "Синхронизировать карты и транзакции",
+            description = "Возвращает только карты, измененные с момента курсора, новые транзакции и новый курсор. Поддерживает длинный опрос: без изменений ответ откладывается до изменения или истечения ожидания. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Изменения успешно возвращены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SyncResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неверный курсор",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER", content = @Content)
+    })
+    @GetMapping("/sync")
+    @PreAuthorize("hasRole('USER')")
+    public CompletableFuture<ResponseEntity<SyncResponse>> sync(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Курсор из предыдущего ответа") @RequestParam(required = false, name = "since") String since,
+            @Parameter(description = "Максимальное время ожидания изменений, мс", example = "20000") @RequestParam(defaultValue = "0", name = "wait-ms") long waitMs)
+            throws EntityNotFoundException, InvalidCursorException {
+        return cardSyncService.sync(token, since, waitMs)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK)
+                        .body(response));
+    }
+
+    /**
+     * Открывает поток Server-Sent Events с изменениями карт и новыми транзакциями пользователя.
+     * События {@code card} содержат {@link CardResponse}, события {@code transaction} — {@link TransactionResponse};
+     * событие {@code resync} означает, что часть событий отброшена и данные следует перечитать.
+     *
+     * @param token JWT-токен пользователя, переданный в заголовке
+     * @return объект {@link SseEmitter} потока событий
+     * @throws EntityNotFoundException если пользователь не найден
+     */
+    @Operation(
+            summary = "Подписаться на события карт",
+            description = "Открывает поток Server-Sent Events с изменениями балансов и статусов карт и новыми транзакциями пользователя. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Поток событий открыт",
+                    content = @Content(mediaType = "text/event-stream")),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER", content = @Content)
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public SseEmitter subscribeEvents(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token)
+            throws EntityNotFoundException {
+        return cardEventService.subscribe(token);
+    }
+
+    /**
+     * Выполняет потоковую выгрузку транзакций карты пользователя в формате CSV или NDJSON.
+     * Транзакции упорядочены по идентификатору; для продолжения прерванной выгрузки
+     * передайте идентификатор последней полученной транзакции в параметре {@code after}.
+     *
+     * @param token          JWT-токен пользователя, переданный в заголовке
+     * @param id             идентификатор карты
+     * @param format         формат выгрузки (по умолчанию CSV)
+     * @param after          идентификатор транзакции, после которой продолжить выгрузку (опционально)
+     * @param type           тип транзакции (опционально)
+     * @param status         статус транзакции (опционально)
+     * @param minAmount      минимальная сумма транзакции (опционально)
+     * @param maxAmount      максимальная сумма транзакции (опционально)
+     * @param dateFrom       дата начала периода (опционально)
+     * @param dateTo         дата окончания периода (опционально)
+     * @param acceptEncoding заголовок {@code Accept-Encoding}; при значении {@code gzip} ответ сжимается
+     * @param response       HTTP-ответ, в который пишется выгрузка
+     * @throws EntityNotFoundException если карта или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не имеет доступа к карте
+     */
+    @Operation(
+            summary = "Выгрузить транзакции карты",
+            description = "Потоково выгружает транзакции карты пользователя в формате CSV или NDJSON. Поддерживает сжатие gzip и продолжение выгрузки по идентификатору последней транзакции. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Выгрузка успешно сформирована",
+                    content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+            @ApiResponse(responseCode = "404", description = "Карта или пользователь не найдены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к карте", content = @Content)
+    })
+    @GetMapping("/{id}/transactions/export")
+    @PreAuthorize("hasRole('USER')")
+    public void exportTransactions(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Идентификатор карты", required = true) @PathVariable("id") Long id,
+            @Parameter(description = "Формат выгрузки", example = "CSV") @RequestParam(defaultValue = "CSV", name = "format") ExportFormat format,
+            @Parameter(description = "Идентификатор последней полученной транзакции") @RequestParam(required = false, name = "after") Long after,
+            @Parameter(description = "Тип транзакции") @RequestParam(required = false, name = "type") TransactionType type,
+            @Parameter(description = "Статус транзакции") @RequestParam(required = false, name = "status") TransferStatus status,
+            @Parameter(description = "Минимальная сумма") @RequestParam(required = false, name = "min-amount") BigDecimal minAmount,
+            @Parameter(description = "Максимальная сумма") @RequestParam(required = false, name = "max-amount") BigDecimal maxAmount,
+            @Parameter(description = "Дата начала периода", example = "2023-01-01T00:00:00") @RequestParam(required = false, name = "date-from") LocalDateTime dateFrom,
+            @Parameter(description = "Дата окончания периода", example = "2023-12-31T23:59:59") @RequestParam(required = false, name = "date-to") LocalDateTime dateTo,
+            @Parameter(hidden = true) @RequestHeader(required = false, name = HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+            HttpServletResponse response)
+            throws EntityNotFoundException, AccessDeniedException {
+        TransactionFilterRequest filter =
+                new TransactionFilterRequest(type, status, minAmount, maxAmount,
+                        dateFrom == null ? null : Timestamp.valueOf(dateFrom),
+                        dateTo == null ? null : Timestamp.valueOf(dateTo));
+
+        transactionExportService.exportUserTransactions(id, token, filter, format, after,
+                () -> ExportResponseUtils.open(response, format, acceptEncoding));
+    }
+
     /**
      * Блокирует карту пользователя.
      *
@@ -202,12 +422,45 @@ public class CardController {
     })
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TransferResponse> transfer(
+    public CompletableFuture<ResponseEntity<TransferResponse>> transfer(
             @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
             @Parameter(description = "Данные для перевода") @RequestBody @Valid TransferRequest request)
             throws TransferException, EntityNotFoundException, AccessDeniedException {
-        TransferResponse response = cardService.transfer(token, request);
-        return ResponseEntity.status(HttpStatus.OK)
+        return cardService.transferAsync(token, request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK)
+                        .body(response));
+    }
+
+    /**
+     * Выполняет отложенный перевод средств между картами.
+     *
+     * @param token   JWT-токен пользователя, переданный в заголовке
+     * @param request объект с данными для перевода
+     * @return объект {@link TransferResponse} со статусом {@code PENDING}
+     * @throws TransferException       если перевод отклонен
+     * @throws EntityNotFoundException если карта или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не имеет доступа к карте
+     */
+    @Operation(
+            summary = "Выполнить отложенный перевод",
+            description = "Записывает перевод в журнал и резервирует сумму на карте-отправителе; балансы изменяются дневным расчетом по чистой сумме. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Перевод принят к расчету",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные запроса или перевод отклонен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта или пользователь не найдены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к карте", content = @Content)
+    })
+    @PostMapping("/transfer/deferred")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransferResponse> transferDeferred(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Данные для перевода") @RequestBody @Valid TransferRequest request)
+            throws TransferException, EntityNotFoundException, AccessDeniedException {
+        TransferResponse response = cardService.transferDeferred(token, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
                 .body(response);
     }
 
@@ -236,12 +489,121 @@ public class CardController {
     })
     @PostMapping("/withdrawal")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<WithdrawalResponse> withdrawal(
+    public CompletableFuture<ResponseEntity<WithdrawalResponse>> withdrawal(
             @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
             @Parameter(description = "Данные для снятия средств") @RequestBody @Valid WithdrawalRequest request)
             throws TransferException, EntityNotFoundException, AccessDeniedException {
-        WithdrawalResponse response = cardService.withdraw(request, token);
+        return cardService.withdrawAsync(request, token)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK)
+                        .body(response));
+    }
+
+    /**
+     * Резервирует сумму на карте до списания или освобождения (первая фаза снятия).
+     *
+     * @param token   JWT-токен пользователя, переданный в заголовке
+     * @param cardId  идентификатор карты
+     * @param request объект с суммой и сроком действия холда
+     * @return объект {@link HoldResponse} с созданным холдом
+     * @throws EntityNotFoundException если карта или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не имеет доступа к карте
+     * @throws IllegalStateException   если карта не активна или превышен остаток либо лимит
+     */
+    @Operation(
+            summary = "Зарезервировать средства",
+            description = "Создает холд на карте: сумма уменьшает доступный остаток и учитывается в лимитах до списания или освобождения. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Холд успешно создан",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные запроса",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта или пользователь не найдены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к карте", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Карта не активна или превышен остаток либо лимит",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class)))
+    })
+    @PostMapping("/{id}/holds")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> authorizeHold(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Идентификатор карты", required = true) @PathVariable("id") Long cardId,
+            @Parameter(description = "Данные холда") @RequestBody @Valid HoldRequest request)
+            throws EntityNotFoundException, AccessDeniedException, IllegalStateException {
+        HoldResponse response = cardService.authorizeHold(cardId, token, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(response);
+    }
+
+    /**
+     * Списывает холд (вторая фаза снятия).
+     *
+     * @param token   JWT-токен пользователя, переданный в заголовке
+     * @param cardId  идентификатор карты
+     * @param holdId  идентификатор холда
+     * @param request объект с суммой списания (опционально)
+     * @return объект {@link HoldResponse} со списанным холдом
+     * @throws EntityNotFoundException если карта, холд или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не имеет доступа к карте
+     * @throws IllegalStateException   если холд не активен, истек или сумма больше суммы холда
+     */
+    @Operation(
+            summary = "Списать холд",
+            description = "Списывает холд целиком или частично, создавая транзакцию снятия; остаток холда освобождается. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Холд успешно списан",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта, холд или пользователь не найдены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к карте", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Холд не активен, истек или сумма больше суммы холда",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class)))
+    })
+    @PostMapping("/{id}/holds/{holdId}/capture")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> captureHold(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Идентификатор карты", required = true) @PathVariable("id") Long cardId,
+            @Parameter(description = "Идентификатор холда", required = true) @PathVariable("holdId") Long holdId,
+            @Parameter(description = "Сумма списания") @RequestBody(required = false) @Valid CaptureHoldRequest request)
+            throws EntityNotFoundException, AccessDeniedException, IllegalStateException {
+        HoldResponse response = cardService.captureHold(cardId, token, holdId, request);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Освобождает холд без списания.
+     *
+     * @param token  JWT-токен пользователя, переданный в заголовке
+     * @param cardId идентификатор карты
+     * @param holdId идентификатор холда
+     * @return объект {@link HoldResponse} с освобожденным холдом
+     * @throws EntityNotFoundException если карта, холд или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не имеет доступа к карте
+     * @throws IllegalStateException   если холд не активен
+     */
+    @Operation(
+            summary = "Освободить холд",
+            description = "Освобождает холд без списания, возвращая сумму в доступный остаток. Доступно только для пользователей с ролью USER.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Холд успешно освобожден",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта, холд или пользователь не найдены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к карте", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Холд не активен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class)))
+    })
+    @PostMapping("/{id}/holds/{holdId}/release")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<HoldResponse> releaseHold(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Идентификатор карты", required = true) @PathVariable("id") Long cardId,
+            @Parameter(description = "Идентификатор холда", required = true) @PathVariable("holdId") Long holdId)
+            throws EntityNotFoundException, AccessDeniedException, IllegalStateException {
+        HoldResponse response = cardService.releaseHold(cardId, token, holdId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(response);
     }
-}
\ No newline at end of file
+}
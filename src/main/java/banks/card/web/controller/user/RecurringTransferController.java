@@ -0,0 +1,138 @@
+package banks.card.web.controller.user;
+
+import banks.card.dto.in.recurring.RecurringTransferRequest;
+import banks.card.dto.out.error.ErrorMessageResponse;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.user.RecurringTransferUserActionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import static banks.card.service.security.JwtService.HEADER_NAME;
+
+/**
+ * REST-контроллер для регулярных переводов между картами пользователя.
+ */
+@Tag(name = "Регулярные переводы", description = "API для управления регулярными переводами пользователя")
+@RestController
+@RequestMapping("/api/v1/cards/recurring-transfers")
+@RequiredArgsConstructor
+public class RecurringTransferController {
+
+    private final RecurringTransferUserActionService recurringTransferService;
+
+    /**
+     * Создает регулярный перевод между картами пользователя.
+     *
+     * @param token   JWT-токен пользователя, переданный в заголовке
+     * @param request объект с данными поручения
+     * @return объект {@link RecurringTransferResponse} с созданным поручением
+     * @throws EntityNotFoundException если карта или пользователь не найдены
+     * @throws AccessDeniedException   если пользователь не является владельцем одной из карт
+     */
+    @Operation(
+            summary = "Создать регулярный перевод",
+            description = "Создает поручение, которое выполняет перевод между картами пользователя с заданным периодом. Каждое выполнение проходит те же проверки остатка и лимитов, что и обычный перевод. Доступно только для пользователей с ролью USER."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Поручение успешно создано",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecurringTransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные запроса",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Карта или пользователь не найдены",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Карты совпадают или неверно задано время выполнения",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER или доступ к картам", content = @Content)
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<RecurringTransferResponse> create(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Данные поручения") @RequestBody @Valid RecurringTransferRequest request)
+            throws EntityNotFoundException, AccessDeniedException {
+        RecurringTransferResponse response = recurringTransferService.create(token, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(response);
+    }
+
+    /**
+     * Получает регулярные переводы пользователя.
+     *
+     * @param token JWT-токен пользователя, переданный в заголовке
+     * @param page  номер страницы (по умолчанию 0)
+     * @param size  размер страницы (по умолчанию 10)
+     * @return объект {@link ListRecurringTransferResponse} со списком поручений
+     * @throws EntityNotFoundException если пользователь не найден
+     */
+    @Operation(
+            summary = "Получить регулярные переводы",
+            description = "Возвращает поручения пользователя с результатом последнего выполнения. Доступно только для пользователей с ролью USER."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Список поручений успешно возвращен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ListRecurringTransferResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER", content = @Content)
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ListRecurringTransferResponse> getRecurringTransfers(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Номер страницы", example = "0") @RequestParam(defaultValue = "0", name = "page") int page,
+            @Parameter(description = "Размер страницы", example = "10") @RequestParam(defaultValue = "10", name = "size") int size)
+            throws EntityNotFoundException {
+        ListRecurringTransferResponse response = recurringTransferService.getRecurringTransfers(token,
+                PageRequest.of(page, size, Sort.by("id")));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Отменяет регулярный перевод пользователя.
+     *
+     * @param token JWT-токен пользователя, переданный в заголовке
+     * @param id    идентификатор поручения
+     * @return объект {@link RecurringTransferResponse} с отмененным поручением
+     * @throws EntityNotFoundException если поручение не найдено
+     */
+    @Operation(
+            summary = "Отменить регулярный перевод",
+            description = "Отменяет поручение пользователя; выполнение, которое уже началось, завершится. Доступно только для пользователей с ролью USER."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Поручение успешно отменено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecurringTransferResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Поручение не найдено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Поручение уже завершено",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessageResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен: требуется роль USER", content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<RecurringTransferResponse> cancel(
+            @Parameter(description = "JWT-токен пользователя", required = true) @RequestHeader(HEADER_NAME) String token,
+            @Parameter(description = "Идентификатор поручения", required = true) @PathVariable("id") Long id)
+            throws EntityNotFoundException {
+        RecurringTransferResponse response = recurringTransferService.cancel(token, id);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(response);
+    }
+}
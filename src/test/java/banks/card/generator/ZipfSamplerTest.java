@@ -0,0 +1,71 @@
+package banks.card.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void sample_IsDeterministicForSeed() {
+        ZipfSampler first = new ZipfSampler(100, 1.1, new SplittableRandom(7));
+        ZipfSampler second = new ZipfSampler(100, 1.1, new SplittableRandom(7));
+        SplittableRandom firstRandom = new SplittableRandom(1);
+        SplittableRandom secondRandom = new SplittableRandom(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.sample(firstRandom), second.sample(secondRandom));
+        }
+    }
+
+    @Test
+    void sample_IsSkewedTowardsHotItems() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.1, new SplittableRandom(7));
+        SplittableRandom random = new SplittableRandom(1);
+        int[] hits = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            hits[sampler.sample(random)]++;
+        }
+
+        int max = 0;
+        for (int h : hits) {
+            max = Math.max(max, h);
+        }
+        assertTrue(max > 10_000, "hottest item should receive a large share of samples");
+    }
+
+    @Test
+    void seasonalDates_StayWithinRange() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        SeasonalDateSampler sampler = new SeasonalDateSampler(from, to);
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime date = sampler.sample(random);
+            assertFalse(date.toLocalDate().isBefore(from));
+            assertFalse(date.toLocalDate().isAfter(to));
+        }
+    }
+
+    @Test
+    void cardNumber_HasValidFormatAndLuhnDigit() {
+        String number = DatasetGenerator.cardNumber(12345);
+
+        assertTrue(number.matches("^\\d{4} \\d{4} \\d{4} \\d{4}$"));
+        String digits = number.replace(" ", "");
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int d = digits.charAt(digits.length() - 1 - i) - '0';
+            if (i % 2 == 1) {
+                d = d * 2 > 9 ? d * 2 - 9 : d * 2;
+            }
+            sum += d;
+        }
+        assertEquals(0, sum % 10);
+    }
+}
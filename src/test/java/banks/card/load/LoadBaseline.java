@@ -0,0 +1,98 @@
+package banks.card.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сохраненный эталон нагрузочного теста: p50, p99 и пропускная способность по каждому сценарию.
+ */
+class LoadBaseline {
+
+    static final double MAX_ERROR_RATE = 0.01;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Map<String, Double>> endpoints;
+
+    private LoadBaseline(Map<String, Map<String, Double>> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    static LoadBaseline of(List<EndpointStats> stats, double seconds) {
+        Map<String, Map<String, Double>> endpoints = new LinkedHashMap<>();
+        for (EndpointStats s : stats) {
+            if (s.getCount() == 0) {
+                continue;
+            }
+            Map<String, Double> values = new LinkedHashMap<>();
+            values.put("p50", s.percentileMillis(50));
+            values.put("p99", s.percentileMillis(99));
+            values.put("throughput", s.getCount() / seconds);
+            values.put("errorRate", (double) s.getErrors() / s.getCount());
+            endpoints.put(s.getName(), values);
+        }
+        return new LoadBaseline(endpoints);
+    }
+
+    static LoadBaseline read(Path path) throws IOException {
+        return new LoadBaseline(MAPPER.readValue(path.toFile(), new TypeReference<>() {
+        }));
+    }
+
+    /**
+     * Возвращает сценарии, доля ошибок в которых превышает {@code maxErrorRate}.
+     */
+    List<String> failingEndpoints(double maxErrorRate) {
+        List<String> failing = new ArrayList<>();
+        endpoints.forEach((name, values) -> {
+            if (values.getOrDefault("errorRate", 0.0) > maxErrorRate) {
+                failing.add(String.format("%s error rate %.1f%%", name, values.get("errorRate") * 100));
+            }
+        });
+        return failing;
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), endpoints);
+    }
+
+    /**
+     * Сравнивает текущий прогон с эталоном.
+     *
+     * @param current   результаты текущего прогона
+     * @param tolerance допустимое ухудшение, например 0.2 для 20%
+     * @return описания регрессий; пустой список, если их нет
+     */
+    List<String> regressions(LoadBaseline current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((name, expected) -> {
+            Map<String, Double> actual = current.endpoints.get(name);
+            if (actual == null) {
+                return;
+            }
+            for (String latency : List.of("p50", "p99")) {
+                if (actual.get(latency) > expected.get(latency) * (1 + tolerance)) {
+                    regressions.add(String.format("%s %s %.2f ms > baseline %.2f ms",
+                            name, latency, actual.get(latency), expected.get(latency)));
+                }
+            }
+            if (actual.get("throughput") < expected.get("throughput") * (1 - tolerance)) {
+                regressions.add(String.format("%s throughput %.1f req/s < baseline %.1f req/s",
+                        name, actual.get("throughput"), expected.get("throughput")));
+            }
+        });
+        return regressions;
+    }
+}
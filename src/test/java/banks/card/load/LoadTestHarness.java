@@ -0,0 +1,239 @@
+package banks.card.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест REST API с замкнутым циклом: каждый из {@code load.threads} виртуальных
+ * пользователей входит в систему и выполняет запросы друг за другом, начиная следующий
+ * только после получения ответа на предыдущий.
+ * <p>
+ * Сценарии и их доли задаются свойствами {@code load.mix.*}: вход, список карт, история транзакций,
+ * перевод между своими картами и снятие. Используются только активные карты вошедшего пользователя,
+ * если активная карта одна, вместо перевода выполняется снятие. Пользователи берутся из набора, созданного профилем {@code generator}
+ * (email вида {@code user{N}@generated.local}). После прогрева задержки каждого сценария
+ * записываются в HdrHistogram; результат сравнивается с эталоном {@code load.baseline}.
+ * Прогон с долей ошибок выше 1% считается неуспешным. Если эталона нет или задано
+ * {@code load.write-baseline=true}, результат успешного прогона сохраняется как эталон.
+ * <p>
+ * Запуск против локально поднятых приложения и базы данных:
+ * <pre>
+ * mvn -Pload-test verify -Dload.base-url=http://localhost:8080 -Dload.threads=64 -Dload.duration=120
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final long userFrom;
+    private final long userTo;
+    private final String password;
+    private final double[] mix;
+    private final EndpointStats signIn = new EndpointStats("sign-in");
+    private final EndpointStats listCards = new EndpointStats("list-cards");
+    private final EndpointStats history = new EndpointStats("transaction-history");
+    private final EndpointStats transfer = new EndpointStats("transfer");
+    private final EndpointStats withdrawal = new EndpointStats("withdrawal");
+    private final List<EndpointStats> stats = List.of(signIn, listCards, history, transfer, withdrawal);
+    private volatile boolean running = true;
+
+    LoadTestHarness(String baseUrl, int threads, long userFrom, long userTo, String password,
+                    double[] mix) {
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.max(2, threads / 4), LoadTestHarness::daemon))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.userFrom = userFrom;
+        this.userTo = userTo;
+        this.password = password;
+        this.mix = mix;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.base-url", "http://localhost:8080");
+        int threads = Integer.getInteger("load.threads", 32);
+        int warmup = Integer.getInteger("load.warmup", 15);
+        int duration = Integer.getInteger("load.duration", 60);
+        long userFrom = Long.getLong("load.user-from", 2);
+        long userTo = Long.getLong("load.user-to", 1001);
+        String password = System.getProperty("load.password", "password");
+        Path baselinePath = Path.of(System.getProperty("load.baseline", "src/test/resources/load/baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "0.2"));
+        boolean writeBaseline = Boolean.getBoolean("load.write-baseline");
+        double[] mix = {
+                Double.parseDouble(System.getProperty("load.mix.sign-in", "0.05")),
+                Double.parseDouble(System.getProperty("load.mix.list-cards", "0.30")),
+                Double.parseDouble(System.getProperty("load.mix.history", "0.35")),
+                Double.parseDouble(System.getProperty("load.mix.transfer", "0.20")),
+                Double.parseDouble(System.getProperty("load.mix.withdrawal", "0.10"))};
+
+        LoadTestHarness harness = new LoadTestHarness(baseUrl, threads, userFrom, userTo, password, mix);
+        LoadBaseline current = harness.run(threads, warmup, duration);
+
+        List<String> failing = current.failingEndpoints(LoadBaseline.MAX_ERROR_RATE);
+        if (!failing.isEmpty()) {
+            failing.forEach(f -> System.out.println("FAILED: " + f));
+            throw new IllegalStateException("Too many errors, check that the application and dataset are available");
+        }
+        if (writeBaseline || !Files.exists(baselinePath)) {
+            current.write(baselinePath);
+            System.out.println("Baseline written to " + baselinePath.toAbsolutePath());
+            return;
+        }
+        List<String> regressions = LoadBaseline.read(baselinePath).regressions(current, tolerance);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(r -> System.out.println("REGRESSION: " + r));
+            throw new IllegalStateException(regressions.size() + " regression(s) against " + baselinePath);
+        }
+        System.out.println("No regressions against " + baselinePath);
+    }
+
+    LoadBaseline run(int threads, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, LoadTestHarness::daemon);
+        for (int i = 0; i < threads; i++) {
+            workers.submit(this::userLoop);
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        stats.forEach(EndpointStats::reset);
+        long started = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        LoadBaseline result = LoadBaseline.of(stats, seconds);
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        print(seconds);
+        return result;
+    }
+
+    private void userLoop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = null;
+        List<Long> cards = List.of();
+        while (running) {
+            try {
+                if (token == null) {
+                    token = signIn(random.nextLong(userFrom, userTo + 1));
+                    cards = token == null ? List.of() : listCards(token);
+                    continue;
+                }
+                double roll = random.nextDouble() * (mix[0] + mix[1] + mix[2] + mix[3] + mix[4]);
+                if ((roll -= mix[0]) < 0 || cards.isEmpty()) {
+                    token = null;
+                } else if ((roll -= mix[1]) < 0) {
+                    cards = listCards(token);
+                } else if ((roll -= mix[2]) < 0) {
+                    call(history, get("/api/v1/cards/" + pick(cards, random) + "/transactions?size=20", token));
+                } else if ((roll -= mix[3]) < 0 && cards.size() > 1) {
+                    int from = random.nextInt(cards.size());
+                    int to = (from + 1 + random.nextInt(cards.size() - 1)) % cards.size();
+                    String body = String.format("{\"fromCardId\":%d,\"toCardId\":%d,\"amount\":1.00}",
+                            cards.get(from), cards.get(to));
+                    call(transfer, post("/api/v1/cards/transfer", token, body));
+                } else {
+                    String body = String.format("{\"cardId\":%d,\"amount\":1.00}", pick(cards, random));
+                    call(withdrawal, post("/api/v1/cards/withdrawal", token, body));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                token = null;
+            }
+        }
+    }
+
+    private String signIn(long userId) throws Exception {
+        String body = String.format("{\"email\":\"user%d@generated.local\",\"password\":\"%s\"}", userId, password);
+        HttpResponse<String> response = call(signIn, HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/sign-in"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        return response.statusCode() == 200 ? MAPPER.readTree(response.body()).path("token").asText(null) : null;
+    }
+
+    private List<Long> listCards(String token) throws Exception {
+        HttpResponse<String> response = call(listCards, get("/api/v1/cards?size=10", token));
+        List<Long> ids = new ArrayList<>();
+        if (response.statusCode() == 200) {
+            for (JsonNode card : MAPPER.readTree(response.body()).path("cards")) {
+                if ("ACTIVE".equals(card.path("status").asText())) {
+                    ids.add(card.path("id").asLong());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Выполняет запрос и записывает задержку. Успешными считаются только ответы 2xx: переводы
+     * и снятия выполняются между активными картами вошедшего пользователя на небольшие суммы,
+     * поэтому отказы 4xx означают ошибку сценария или приложения.
+     */
+    private HttpResponse<String> call(EndpointStats endpoint, HttpRequest request) throws Exception {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            endpoint.record(System.nanoTime() - started, response.statusCode() / 100 == 2);
+            return response;
+        } catch (Exception e) {
+            endpoint.record(System.nanoTime() - started, false);
+            throw e;
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static long pick(List<Long> cards, ThreadLocalRandom random) {
+        return cards.get(random.nextInt(cards.size()));
+    }
+
+    private void print(double seconds) {
+        System.out.printf("%-22s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats s : stats) {
+            System.out.printf("%-22s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.getName(), s.getCount(), s.getCount() / seconds, s.getErrors(),
+                    s.percentileMillis(50), s.percentileMillis(90), s.percentileMillis(99),
+                    s.percentileMillis(99.9), s.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package banks.card.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Бенчмарк конкуренции переводов между несколькими экземплярами приложения.
+ * <p>
+ * Все потоки переводят деньги между небольшим набором «горячих» карт одного пользователя
+ * в обоих направлениях, распределяясь по экземплярам из {@code contention.targets} по кругу.
+ * Такая нагрузка проверяет стратегию блокировки карт ({@code cards.lock.strategy}): при ее отсутствии
+ * встречные переводы теряют обновления баланса, а при неупорядоченных блокировках — взаимоблокируются.
+ * По каждому экземпляру печатается пропускная способность, процентили задержки и число ответов, отличных от 2xx;
+ * отклоненные переводы (400) дополнительно подсчитываются отдельно.
+ * <p>
+ * Два экземпляра с одной базой поднимаются профилем <code>multi-node</code> docker-compose
+ * (порты 8080 и 8081), пользователь и карты — профилем {@code generator}:
+ * <pre>
+ * CARDS_LOCK_STRATEGY=advisory docker compose --profile multi-node up -d
+ * mvn -Pload-test verify -Dload.main-class=banks.card.load.TransferContentionBenchmark \
+ *     -Dcontention.targets=http://localhost:8080,http://localhost:8081 -Dcontention.hot-cards=4
+ * </pre>
+ * Для сравнения стратегий прогон повторяется с {@code CARDS_LOCK_STRATEGY=row}, а для сравнения
+ * шардированного движка с групповой фиксацией и режима блокировок — с {@code CARDS_ENGINE_MODE=sharded}
+ * и {@code CARDS_ENGINE_MODE=locking} (можно на одном экземпляре: {@code -Dcontention.targets=http://localhost:8080}).
+ */
+public class TransferContentionBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final List<String> targets;
+    private final List<EndpointStats> stats = new ArrayList<>();
+    private final LongAdder declined = new LongAdder();
+    private volatile boolean running = true;
+
+    TransferContentionBenchmark(List<String> targets, int threads) {
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.max(2, threads / 4), TransferContentionBenchmark::daemon))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.targets = targets;
+        targets.forEach(target -> stats.add(new EndpointStats(target)));
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> targets = Arrays.stream(System.getProperty("contention.targets",
+                        "http://localhost:8080,http://localhost:8081").split(","))
+                .map(String::trim)
+                .toList();
+        int threads = Integer.getInteger("contention.threads", 32);
+        int warmup = Integer.getInteger("contention.warmup", 10);
+        int duration = Integer.getInteger("contention.duration", 60);
+        int hotCards = Integer.getInteger("contention.hot-cards", 4);
+        String email = System.getProperty("contention.email", "user2@generated.local");
+        String password = System.getProperty("contention.password", "password");
+
+        TransferContentionBenchmark benchmark = new TransferContentionBenchmark(targets, threads);
+        String token = benchmark.signIn(targets.get(0), email, password);
+        List<Long> cards = benchmark.hotCards(targets.get(0), token, hotCards);
+        if (cards.size() < 2) {
+            throw new IllegalStateException("User " + email + " needs at least two active cards, found " + cards.size());
+        }
+        benchmark.run(token, cards, threads, warmup, duration);
+    }
+
+    void run(String token, List<Long> cards, int threads, int warmupSeconds, int durationSeconds)
+            throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, TransferContentionBenchmark::daemon);
+        for (int i = 0; i < threads; i++) {
+            int node = i % targets.size();
+            workers.submit(() -> transferLoop(node, token, cards));
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        stats.forEach(EndpointStats::reset);
+        declined.reset();
+        long started = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        print(seconds, cards.size());
+    }
+
+    private void transferLoop(int node, String token, List<Long> cards) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        EndpointStats endpoint = stats.get(node);
+        URI uri = URI.create(targets.get(node) + "/api/v1/cards/transfer");
+        while (running) {
+            int from = random.nextInt(cards.size());
+            int to = (from + 1 + random.nextInt(cards.size() - 1)) % cards.size();
+            String body = String.format("{\"fromCardId\":%d,\"toCardId\":%d,\"amount\":0.01}",
+                    cards.get(from), cards.get(to));
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long requestStarted = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                endpoint.record(System.nanoTime() - requestStarted, response.statusCode() / 100 == 2);
+                if (response.statusCode() == 400) {
+                    declined.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                endpoint.record(System.nanoTime() - requestStarted, false);
+            }
+        }
+    }
+
+    private String signIn(String target, String email, String password) throws Exception {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", email, password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(target + "/api/v1/auth/sign-in"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed with status " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).path("token").asText();
+    }
+
+    private List<Long> hotCards(String target, String token, int count) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create(target + "/api/v1/cards?status=ACTIVE&size=" + count))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode card : MAPPER.readTree(response.body()).path("cards")) {
+            ids.add(card.path("id").asLong());
+        }
+        return ids;
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void print(double seconds, int hotCards) {
+        System.out.printf("Transfers between %d hot cards over %.1f s, declined (400): %d%n",
+                hotCards, seconds, declined.sum());
+        System.out.printf("%-26s %10s %10s %8s %9s %9s %9s %9s%n",
+                "node", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (EndpointStats s : stats) {
+            total += s.getCount();
+            System.out.printf("%-26s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f%n",
+                    s.getName(), s.getCount(), s.getCount() / seconds, s.getErrors(),
+                    s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9), s.maxMillis());
+        }
+        System.out.printf("%-26s %10d %10.1f%n", "total", total, total / seconds);
+    }
+}
@@ -2,22 +2,29 @@ package banks.card.service.Impl.admin;
 
 import banks.card.dto.in.card.CardInsertRequest;
 import banks.card.dto.in.card.CardUpdateStatusRequest;
+import banks.card.dto.in.card.UpdateBalanceBucketsRequest;
 import banks.card.dto.in.card.UpdateCardLimitRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.CardUpsertResponse;
 import banks.card.dto.out.card.ListCardResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.entity.Card;
 import banks.card.entity.CardStatus;
 import banks.card.entity.User;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.repository.CardRepository;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.CardBalanceBucketService;
 import banks.card.service.mapper.CardMapper;
+import banks.card.service.services.amin.DeletionService;
 import banks.card.service.services.user.UserUserActionService;
 import banks.card.utils.CardMascEncryptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -49,6 +56,18 @@ public class CardAdminServiceImplTest {
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private CardBalanceBucketService balanceBucketService;
+
+    @Mock
+    private DeletionService deletionService;
+
+    @Mock
+    private CardLockProvider cardLockProvider;
+
     @InjectMocks
     private CardAdminServiceImpl cardAdminService;
 
@@ -153,6 +172,7 @@ public class CardAdminServiceImplTest {
         assertEquals(response, result);
         assertEquals(CardStatus.BLOCKED, card.getStatus());
         verify(cardRepository).findById(1L);
+        verify(cacheInvalidationBus).publishCardChanged(1L);
         verify(cardMapper).entityToUpsertResponse(card);
     }
 
@@ -170,9 +190,13 @@ public class CardAdminServiceImplTest {
 
     @Test
     void testDelete_Success() {
-        cardAdminService.delete(1L);
+        DeletionJobResponse job = new DeletionJobResponse(5L, "CARD", 1L, "PENDING", 0, 0, null, null, null);
+        when(deletionService.deleteCard(1L)).thenReturn(job);
+
+        assertSame(job, cardAdminService.delete(1L));
 
-        verify(cardRepository).deleteById(1L);
+        verify(deletionService).deleteCard(1L);
+        verify(cardRepository, never()).deleteById(any());
     }
 
     @Test
@@ -192,9 +216,6 @@ public class CardAdminServiceImplTest {
     @Test
     void testUpdateLimit_Success() {
         when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
-        Card updatedCard = new Card();
-        updatedCard.setDailyLimit(BigDecimal.valueOf(1000.0));
-        when(cardMapper.requestUpdateToEntity(limitRequest)).thenReturn(updatedCard);
         when(cardRepository.save(card)).thenReturn(card);
         CardResponse response = new CardResponse();
         when(cardMapper.entityToResponse(card)).thenReturn(response);
@@ -202,12 +223,34 @@ public class CardAdminServiceImplTest {
         CardResponse result = cardAdminService.updateLimit(1L, limitRequest);
 
         assertEquals(response, result);
+        assertEquals(BigDecimal.valueOf(1000.0), card.getDailyLimit());
         verify(cardRepository).findById(1L);
-        verify(cardMapper).requestUpdateToEntity(limitRequest);
         verify(cardRepository).save(card);
+        verify(cacheInvalidationBus).publishCardChanged(1L);
         verify(cardMapper).entityToResponse(card);
     }
 
+    @Test
+    void testUpdateLimit_KeepsBalanceAndHeldAmount() {
+        card.setBalance(new BigDecimal("500.00"));
+        card.setHeldAmount(new BigDecimal("120.00"));
+        card.setMonthlyLimit(new BigDecimal("3000.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        when(cardRepository.save(card)).thenReturn(card);
+        when(cardMapper.entityToResponse(card)).thenReturn(new CardResponse());
+        limitRequest.setSingleTransactionLimit(new BigDecimal("200.00"));
+        limitRequest.setDailyTransactionCountLimit(15);
+
+        cardAdminService.updateLimit(1L, limitRequest);
+
+        assertEquals(new BigDecimal("500.00"), card.getBalance());
+        assertEquals(new BigDecimal("120.00"), card.getHeldAmount());
+        assertEquals(BigDecimal.valueOf(1000.0), card.getDailyLimit());
+        assertEquals(new BigDecimal("3000.00"), card.getMonthlyLimit());
+        assertEquals(new BigDecimal("200.00"), card.getSingleTransactionLimit());
+        assertEquals(15, card.getDailyTransactionCountLimit());
+    }
+
     @Test
     void testUpdateLimit_CardNotFound() {
         when(cardRepository.findById(1L)).thenReturn(Optional.empty());
@@ -217,6 +260,27 @@ public class CardAdminServiceImplTest {
         });
         assertEquals("Card not found with ID: 1", exception.getMessage());
         verify(cardRepository).findById(1L);
-        verifyNoInteractions(cardMapper);
+        verifyNoInteractions(cardMapper, cacheInvalidationBus);
+    }
+
+    @Test
+    void testUpdateBalanceBuckets_ConsolidatesAndSetsBuckets() {
+        card.setBalance(new BigDecimal("100.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        when(balanceBucketService.consolidate(1L)).thenReturn(new BigDecimal("25.00"));
+        when(cardRepository.save(card)).thenReturn(card);
+        CardResponse response = new CardResponse();
+        when(cardMapper.entityToResponse(card)).thenReturn(response);
+
+        CardResponse result = cardAdminService.updateBalanceBuckets(1L, new UpdateBalanceBucketsRequest(8));
+
+        assertEquals(response, result);
+        assertEquals(new BigDecimal("125.00"), card.getBalance());
+        assertEquals(8, card.getBalanceBuckets());
+        verify(cardRepository).updateBalanceBuckets(1L, 8);
+        verify(cacheInvalidationBus).publishCardChanged(1L);
+        InOrder inOrder = inOrder(cardLockProvider, cardRepository);
+        inOrder.verify(cardLockProvider).lock(List.of(1L));
+        inOrder.verify(cardRepository).findById(1L);
     }
 }
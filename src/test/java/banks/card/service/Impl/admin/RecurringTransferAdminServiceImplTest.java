@@ -0,0 +1,97 @@
+package banks.card.service.Impl.admin;
+
+import banks.card.dto.in.recurring.RecurringTransferStatusRequest;
+import banks.card.entity.RecurringInterval;
+import banks.card.entity.RecurringTransfer;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.repository.RecurringTransferRepository;
+import banks.card.service.mapper.RecurringTransferMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RecurringTransferAdminServiceImplTest {
+
+    @Mock
+    private RecurringTransferRepository recurringTransferRepository;
+
+    @Mock
+    private RecurringTransferMapper recurringTransferMapper;
+
+    @InjectMocks
+    private RecurringTransferAdminServiceImpl recurringTransferAdminService;
+
+    private RecurringTransfer recurringTransfer;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime startAt = LocalDateTime.now().minusDays(10).withNano(0);
+        recurringTransfer = RecurringTransfer.builder()
+                .id(7L)
+                .fromCardId(2L)
+                .toCardId(3L)
+                .amount(BigDecimal.TEN)
+                .intervalUnit(RecurringInterval.DAY)
+                .intervalCount(1)
+                .startAt(Timestamp.valueOf(startAt))
+                .occurrence(2)
+                .nextRunAt(Timestamp.valueOf(startAt.plusDays(2)))
+                .status(RecurringTransferStatus.PAUSED)
+                .build();
+    }
+
+    @Test
+    void updateStatus_ResumePaused_SkipsMissedRuns() {
+        when(recurringTransferRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(recurringTransfer));
+
+        recurringTransferAdminService.updateStatus(7L, new RecurringTransferStatusRequest(RecurringTransferStatus.ACTIVE));
+
+        assertEquals(RecurringTransferStatus.ACTIVE, recurringTransfer.getStatus());
+        assertEquals(11, recurringTransfer.getOccurrence());
+        assertTrue(recurringTransfer.getNextRunAt().toLocalDateTime().isAfter(LocalDateTime.now()));
+        verify(recurringTransferRepository).save(recurringTransfer);
+    }
+
+    @Test
+    void updateStatus_Pause_KeepsNextRun() {
+        recurringTransfer.setStatus(RecurringTransferStatus.ACTIVE);
+        Timestamp nextRunAt = recurringTransfer.getNextRunAt();
+        when(recurringTransferRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(recurringTransfer));
+
+        recurringTransferAdminService.updateStatus(7L, new RecurringTransferStatusRequest(RecurringTransferStatus.PAUSED));
+
+        assertEquals(RecurringTransferStatus.PAUSED, recurringTransfer.getStatus());
+        assertEquals(nextRunAt, recurringTransfer.getNextRunAt());
+    }
+
+    @Test
+    void updateStatus_Cancelled_ThrowsIllegalState() {
+        recurringTransfer.setStatus(RecurringTransferStatus.CANCELLED);
+        when(recurringTransferRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(recurringTransfer));
+
+        assertThrows(IllegalStateException.class, () -> recurringTransferAdminService.updateStatus(7L,
+                new RecurringTransferStatusRequest(RecurringTransferStatus.ACTIVE)));
+        verify(recurringTransferRepository, never()).save(any());
+    }
+
+    @Test
+    void updateStatus_NotFound_ThrowsEntityNotFound() {
+        when(recurringTransferRepository.findByIdForUpdate(7L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> recurringTransferAdminService.updateStatus(7L,
+                new RecurringTransferStatusRequest(RecurringTransferStatus.PAUSED)));
+    }
+}
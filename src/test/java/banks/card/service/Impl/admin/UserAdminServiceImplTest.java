@@ -4,13 +4,16 @@ import banks.card.dto.in.user.UserCreateRequest;
 import banks.card.dto.in.user.UserPasswordResetRequest;
 import banks.card.dto.in.user.UserUpdateRequest;
 import banks.card.dto.out.MessageResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.user.ListUserResponse;
 import banks.card.dto.out.user.UserResponse;
 import banks.card.entity.Role;
 import banks.card.entity.User;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.repository.UserRepository;
+import banks.card.service.cache.CacheInvalidationBus;
 import banks.card.service.mapper.UserMapper;
+import banks.card.service.services.amin.DeletionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +41,12 @@ public class UserAdminServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private DeletionService deletionService;
+
     @InjectMocks
     private UserAdminServiceImpl userAdminService;
 
@@ -164,6 +173,7 @@ public class UserAdminServiceImplTest {
         verify(userRepository).findById(1L);
         verify(userMapper).updateRequestToEntity(updateRequest);
         verify(userRepository).save(user);
+        verify(cacheInvalidationBus).publishUserChanged(1L);
         verify(userMapper).entityToResponse(user);
     }
 
@@ -208,8 +218,12 @@ public class UserAdminServiceImplTest {
 
     @Test
     void testDelete_Success() {
-        userAdminService.delete(1L);
+        DeletionJobResponse job = new DeletionJobResponse(5L, "USER", 1L, "PENDING", 0, 0, null, null, null);
+        when(deletionService.deleteUser(1L)).thenReturn(job);
+
+        assertSame(job, userAdminService.delete(1L));
 
-        verify(userRepository).deleteById(1L);
+        verify(deletionService).deleteUser(1L);
+        verify(userRepository, never()).deleteById(any());
     }
 }
@@ -0,0 +1,243 @@
+package banks.card.service.Impl.archive;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private TransactionArchiveServiceImpl archiveService;
+
+    private final Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusDays(200));
+
+    @BeforeEach
+    void setUp() {
+        archiveService = new TransactionArchiveServiceImpl(jdbcTemplate, transactionManager, directory.toString(), 90, 1000, 2);
+    }
+
+    @Test
+    void segment_RoundTripsAllColumns() throws Exception {
+        Path path = directory.resolve("segment-test.seg");
+        List<ArchivedTransaction> rows = List.of(
+                transaction(5L, 1L, 2L, "10.50", TransactionType.TRANSFER_OUT, "Перевод"),
+                transaction(9L, 1L, null, "3.00", TransactionType.WITHDRAWAL, null),
+                transaction(7L, 3L, null, "100.00", TransactionType.DEPOSIT, "salary"));
+
+        TransactionSegment.write(path, rows);
+        TransactionSegment segment = TransactionSegment.open(path);
+
+        assertEquals(rows.subList(0, 2), segment.read(1L, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(rows.subList(2, 3), segment.read(3L, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertTrue(segment.read(2L, Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+        assertTrue(segment.read(1L, Long.MIN_VALUE, old.getTime()).isEmpty());
+        assertFalse(Files.exists(directory.resolve("segment-test.seg.tmp")));
+    }
+
+    @Test
+    void archiveOlderThanHorizon_RegistersSegmentIndexesCardsAndDeletesRows() {
+        List<ArchivedTransaction> chunk = List.of(
+                transaction(1L, 1L, null, "10.00", TransactionType.DEPOSIT, "a"),
+                transaction(2L, 1L, null, "20.00", TransactionType.WITHDRAWAL, "b"),
+                transaction(3L, 2L, 1L, "30.00", TransactionType.TRANSFER_IN, "c"));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), anyLong(), anyLong(), anyInt()))
+                .thenReturn(chunk);
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class))).thenReturn(7L);
+        String name = "part-0000000000000000007.seg";
+
+        long archived = archiveService.archiveOlderThanHorizon();
+
+        assertEquals(3, archived);
+        assertTrue(Files.exists(directory.resolve(name)));
+        verify(jdbcTemplate).update(contains("INSERT INTO transaction_archive_segments"), eq(7L), eq(name));
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO transaction_archive_index"),
+                argThat((List<Object[]> rows) -> rows.size() == 2
+                        && rows.get(0)[0].equals(1L) && rows.get(0)[4].equals(2)
+                        && rows.get(1)[0].equals(2L) && rows.get(1)[4].equals(1)));
+        verify(jdbcTemplate).update(any(PreparedStatementCreator.class));
+        verify(transactionManager).commit(any());
+
+        when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(block(name, chunk.get(0), chunk.get(1), 2)));
+        assertEquals(List.of(chunk.get(1), chunk.get(0)), findNewest(1L, null, 10));
+        assertEquals(List.of(chunk.get(1)), findNewest(1L, null, 1));
+    }
+
+    @Test
+    void archiveOlderThanHorizon_RegistrationFails_RemovesSegmentFile() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of(transaction(1L, 1L, null, "10.00", TransactionType.DEPOSIT, "a")));
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class))).thenReturn(8L);
+        when(jdbcTemplate.update(contains("INSERT INTO transaction_archive_segments"), eq(8L), anyString()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> archiveService.archiveOlderThanHorizon());
+
+        assertFalse(Files.exists(directory.resolve("part-0000000000000000008.seg")));
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void archiveOlderThanHorizon_RegistersLegacySegmentsOnce() throws Exception {
+        String legacy = "segment-0000000000000000001.seg";
+        TransactionSegment.write(directory.resolve(legacy),
+                List.of(transaction(1L, 4L, null, "10.00", TransactionType.DEPOSIT, "a")));
+        when(jdbcTemplate.query(contains("ON CONFLICT (name) DO NOTHING"), any(RowMapper.class), eq(legacy)))
+                .thenReturn(List.of(3L), List.of());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+
+        archiveService.archiveOlderThanHorizon();
+        archiveService.archiveOlderThanHorizon();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("INSERT INTO transaction_archive_index"),
+                argThat((List<Object[]> rows) -> rows.size() == 1 && rows.get(0)[0].equals(4L)
+                        && rows.get(0)[1].equals(3L)));
+    }
+
+    @Test
+    void findCardTransactions_ReadsIndexedSegments_AppliesFilterAndDeduplicates() throws Exception {
+        ArchivedTransaction deposit = transaction(1L, 1L, null, "10.00", TransactionType.DEPOSIT, "a");
+        ArchivedTransaction withdrawal = transaction(2L, 1L, null, "20.00", TransactionType.WITHDRAWAL, "b");
+        TransactionSegment.write(directory.resolve("part-0000000000000000001.seg"), List.of(deposit, withdrawal));
+        TransactionSegment.write(directory.resolve("part-0000000000000000002.seg"), List.of(deposit));
+        TransactionSegment.write(directory.resolve("part-0000000000000000003.seg"),
+                List.of(transaction(3L, 1L, null, "30.00", TransactionType.DEPOSIT, "unindexed")));
+        when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(block("part-0000000000000000001.seg", deposit, withdrawal, 2),
+                        block("part-0000000000000000002.seg", deposit, deposit, 1)));
+
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setType(TransactionType.DEPOSIT);
+        filter.setDateFrom(old);
+
+        assertEquals(List.of(deposit), findNewest(1L, filter, 10));
+        assertEquals(2, findNewest(1L, new TransactionFilterRequest(), 10).size());
+        verify(jdbcTemplate).query(contains("i.max_date >= ?"), any(RowMapper.class), eq(1L), eq(old));
+    }
+
+    @Test
+    void findCardTransactions_NewestFirst_StopsBeforeOlderBlocks() throws Exception {
+        ArchivedTransaction newest = transaction(9L, 1L, null, "9.00", TransactionType.DEPOSIT, "a");
+        ArchivedTransaction newer = transaction(8L, 1L, null, "8.00", TransactionType.DEPOSIT, "b");
+        ArchivedTransaction older = transaction(2L, 1L, null, "2.00", TransactionType.DEPOSIT, "c");
+        TransactionSegment.write(directory.resolve("part-0000000000000000002.seg"), List.of(newer, newest));
+        when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(block("part-0000000000000000002.seg", newer, newest, 2),
+                        block("part-0000000000000000001.seg", older, older, 1)));
+
+        assertEquals(List.of(newest, newer), findNewest(1L, null, 2));
+        assertThrows(UncheckedIOException.class, () -> findNewest(1L, null, 3));
+    }
+
+    @Test
+    void findCardTransactions_OtherOrder_KeepsOnlyLimitRows() throws Exception {
+        ArchivedTransaction small = transaction(1L, 1L, null, "1.00", TransactionType.DEPOSIT, "a");
+        ArchivedTransaction large = transaction(2L, 1L, null, "50.00", TransactionType.DEPOSIT, "b");
+        ArchivedTransaction medium = transaction(3L, 1L, null, "5.00", TransactionType.DEPOSIT, "c");
+        TransactionSegment.write(directory.resolve("part-0000000000000000001.seg"), List.of(small, large, medium));
+        when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(block("part-0000000000000000001.seg", small, medium, 3)));
+
+        assertEquals(List.of(small, medium), archiveService.findCardTransactions(1L, null,
+                Comparator.comparing(ArchivedTransaction::getAmount), 2));
+    }
+
+    @Test
+    void countCardTransactions_UsesIndexForCoveredBlocksAndReadsPartialOnes() throws Exception {
+        ArchivedTransaction deposit = transaction(1L, 1L, null, "10.00", TransactionType.DEPOSIT, "a");
+        ArchivedTransaction withdrawal = transaction(2L, 1L, null, "20.00", TransactionType.WITHDRAWAL, "b");
+        TransactionSegment.write(directory.resolve("part-0000000000000000001.seg"), List.of(deposit, withdrawal));
+        when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(block("part-0000000000000000001.seg", deposit, withdrawal, 2),
+                        block("part-0000000000000000009.seg", deposit, withdrawal, 40)));
+
+        assertEquals(42, archiveService.countCardTransactions(1L, null));
+
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setDateFrom(withdrawal.getTransactionDate());
+        when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(block("part-0000000000000000001.seg", deposit, withdrawal, 2)));
+        assertEquals(1, archiveService.countCardTransactions(1L, filter));
+    }
+
+    @Test
+    void findCardTransactions_KeepsOnlyRecentlyUsedSegmentsOpen() throws Exception {
+        List<ArchivedTransaction> rows = List.of(
+                transaction(1L, 1L, null, "1.00", TransactionType.DEPOSIT, "a"),
+                transaction(2L, 2L, null, "2.00", TransactionType.DEPOSIT, "b"),
+                transaction(3L, 3L, null, "3.00", TransactionType.DEPOSIT, "c"));
+        for (ArchivedTransaction row : rows) {
+            String name = "part-000000000000000000" + row.getId() + ".seg";
+            TransactionSegment.write(directory.resolve(name), List.of(row));
+            when(jdbcTemplate.query(contains("FROM transaction_archive_index"), any(RowMapper.class),
+                    eq(row.getCardId()))).thenReturn(List.of(block(name, row, row, 1)));
+            assertEquals(List.of(row), findNewest(row.getCardId(), null, 10));
+        }
+        Files.delete(directory.resolve("part-0000000000000000001.seg"));
+        Files.delete(directory.resolve("part-0000000000000000003.seg"));
+
+        assertEquals(List.of(rows.get(2)), findNewest(3L, null, 10));
+        assertThrows(UncheckedIOException.class, () -> findNewest(1L, null, 10));
+    }
+
+    @Test
+    void reachesArchive_OnlyWhenDateFilterPassesHorizon() {
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setDateFrom(old);
+
+        assertTrue(archiveService.reachesArchive(filter));
+        assertFalse(archiveService.reachesArchive(new TransactionFilterRequest()));
+        assertFalse(archiveService.reachesArchive(null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private List<ArchivedTransaction> findNewest(Long cardId, TransactionFilterRequest filter, int limit) {
+        return archiveService.findCardTransactions(cardId, filter, ArchivedTransaction.NEWEST_FIRST, limit);
+    }
+
+    private TransactionArchiveServiceImpl.IndexedBlock block(String name, ArchivedTransaction first,
+                                                             ArchivedTransaction last, int rows) {
+        return new TransactionArchiveServiceImpl.IndexedBlock(name, first.getTransactionDate().getTime(),
+                last.getTransactionDate().getTime(), rows);
+    }
+
+    private ArchivedTransaction transaction(Long id, Long cardId, Long counterpart, String amount,
+                                            TransactionType type, String description) {
+        return new ArchivedTransaction(id, cardId, counterpart, new BigDecimal(amount), type,
+                TransferStatus.SUCCESS, new Timestamp(old.getTime() + id * 1000), description);
+    }
+}
@@ -0,0 +1,89 @@
+package banks.card.service.Impl.bulk;
+
+import banks.card.dto.in.card.BulkCardLimitRequest;
+import banks.card.dto.in.card.BulkCardStatusRequest;
+import banks.card.dto.in.card.UpdateCardLimitRequest;
+import banks.card.dto.in.filter.CardFilterRequest;
+import banks.card.entity.CardStatus;
+import banks.card.service.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CardBulkUpdateServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private CardBulkUpdateServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CardBulkUpdateServiceImpl(jdbcTemplate, transactionManager, cacheInvalidationBus, 2);
+    }
+
+    @Test
+    void updateStatus_ProcessesChunksAfterLastId_UntilPartialChunk() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.id"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(1L, 2L), List.of(5L));
+        when(jdbcTemplate.queryForList(startsWith("UPDATE cards SET status"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(1L, 2L), List.of());
+
+        BulkCardStatusRequest request = new BulkCardStatusRequest(
+                new CardFilterRequest(null, CardStatus.ACTIVE, null, null), null, CardStatus.BLOCKED);
+
+        assertEquals(2, service.updateStatus(request).getAffected());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(4)).queryForList(sql.capture(), params.capture(), eq(Long.class));
+        assertTrue(sql.getAllValues().get(0).contains("c.status = :status"));
+        assertFalse(params.getAllValues().get(0).hasValue("afterId"));
+        assertEquals(2L, params.getAllValues().get(2).getValue("afterId"));
+        assertEquals("BLOCKED", params.getAllValues().get(1).getValue("newStatus"));
+        verify(cacheInvalidationBus).publishCardChanged(1L);
+        verify(cacheInvalidationBus).publishCardChanged(2L);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void updateLimits_SetsOnlySpecifiedLimits() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.id"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(7L));
+        when(jdbcTemplate.queryForList(startsWith("UPDATE cards SET"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(7L));
+
+        BulkCardLimitRequest request = new BulkCardLimitRequest(null, List.of(7L),
+                new UpdateCardLimitRequest(new BigDecimal("500"), null, null, 20));
+
+        assertEquals(1, service.updateLimits(request).getAffected());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).queryForList(sql.capture(), any(MapSqlParameterSource.class), eq(Long.class));
+        assertTrue(sql.getAllValues().get(0).contains("c.id IN (:ids)"));
+        String update = sql.getAllValues().get(1);
+        assertTrue(update.contains("daily_limit = :dailyLimit, daily_transaction_count_limit = :dailyTransactionCountLimit"));
+        assertFalse(update.contains("monthly_limit"));
+        verify(cacheInvalidationBus).publishCardChanged(7L);
+    }
+}
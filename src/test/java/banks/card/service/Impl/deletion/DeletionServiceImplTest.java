@@ -0,0 +1,119 @@
+package banks.card.service.Impl.deletion;
+
+import banks.card.dto.out.deletion.DeletionJobResponse;
+import banks.card.entity.Card;
+import banks.card.entity.User;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.repository.CardRepository;
+import banks.card.repository.UserRepository;
+import banks.card.service.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeletionServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private DeletionServiceImpl deletionService;
+
+    @BeforeEach
+    void setUp() {
+        deletionService = new DeletionServiceImpl(cardRepository, userRepository, jdbcTemplate,
+                transactionManager, cacheInvalidationBus, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteCard_MarksDeleted_AndQueuesJob() {
+        Card card = new Card();
+        card.setId(7L);
+        DeletionJobResponse job = new DeletionJobResponse(3L, "CARD", 7L, "PENDING", 0, 0, null, null, null);
+        when(cardRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(card));
+        when(jdbcTemplate.queryForObject(eq(DeletionServiceImpl.CREATE_JOB_SQL), any(RowMapper.class),
+                eq("CARD"), eq(7L))).thenReturn(job);
+
+        assertSame(job, deletionService.deleteCard(7L));
+
+        assertNotNull(card.getDeletedAt());
+        verify(cardRepository).save(card);
+        verify(cacheInvalidationBus).publishCardChanged(7L);
+    }
+
+    @Test
+    void deleteCard_NotFound_Throws() {
+        when(cardRepository.findByIdForUpdate(7L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> deletionService.deleteCard(7L));
+        verifyNoInteractions(jdbcTemplate, cacheInvalidationBus);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteUser_MarksUserAndCardsDeleted() {
+        User user = new User();
+        user.setId(4L);
+        when(userRepository.findById(4L)).thenReturn(Optional.of(user));
+        when(cardRepository.findIdsByUserId(4L)).thenReturn(List.of(10L, 11L));
+        when(jdbcTemplate.queryForObject(eq(DeletionServiceImpl.CREATE_JOB_SQL), any(RowMapper.class),
+                eq("USER"), eq(4L))).thenReturn(new DeletionJobResponse());
+
+        deletionService.deleteUser(4L);
+
+        assertNotNull(user.getDeletedAt());
+        verify(cardRepository).markDeletedByUserId(4L, user.getDeletedAt());
+        verify(cacheInvalidationBus).publishCardChanged(10L);
+        verify(cacheInvalidationBus).publishCardChanged(11L);
+        verify(cacheInvalidationBus).publishUserChanged(4L);
+    }
+
+    @Test
+    void purgeCard_DeletesTransactionsInBatches_ThenCard() {
+        Timestamp bound = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+        lenient().when(jdbcTemplate.update(DeletionServiceImpl.DETACH_COUNTERPART_SQL, 7L, 2)).thenReturn(2, 1);
+        when(jdbcTemplate.queryForList(DeletionServiceImpl.BATCH_BOUND_SQL, Timestamp.class, 7L, 1))
+                .thenReturn(List.of(bound), List.of(), List.of());
+        lenient().when(jdbcTemplate.update(DeletionServiceImpl.DELETE_TRANSACTIONS_BEFORE_SQL, 7L, bound)).thenReturn(2);
+        lenient().when(jdbcTemplate.update(DeletionServiceImpl.DELETE_REMAINING_TRANSACTIONS_SQL, 7L)).thenReturn(1, 0);
+        lenient().when(jdbcTemplate.update(DeletionServiceImpl.DELETE_CARD_SQL, 7L)).thenReturn(1);
+
+        deletionService.purgeCard(3L, 7L);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate, times(2)).update(DeletionServiceImpl.DETACH_COUNTERPART_SQL, 7L, 2);
+        inOrder.verify(jdbcTemplate).update(DeletionServiceImpl.ADD_TRANSACTIONS_SQL, 2, 3L);
+        inOrder.verify(jdbcTemplate).update(DeletionServiceImpl.ADD_TRANSACTIONS_SQL, 1, 3L);
+        inOrder.verify(jdbcTemplate).update(DeletionServiceImpl.DELETE_CARD_SQL, 7L);
+        inOrder.verify(jdbcTemplate).update(DeletionServiceImpl.ADD_CARDS_SQL, 1, 3L);
+        verify(transactionManager, times(4)).commit(any());
+    }
+}
@@ -0,0 +1,172 @@
+package banks.card.service.Impl.engine;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.TransferException;
+import banks.card.exception.WithdrawalException;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.MoneyMovementEngine;
+import banks.card.service.services.MoneyMovementExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DirectMoneyMovementEngineTest {
+
+    private static final BigDecimal LIMIT = new BigDecimal("100");
+
+    @Mock
+    private MoneyMovementExecutor executor;
+
+    @Mock
+    private CardLockProvider cardLockProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void submitTransfer_Declined_CommitsAndFailsFuture() {
+        TransferRequest request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        TransferException declined = new TransferException("Daily limit exceeded", new TransferResponse());
+        when(executor.executeTransfer(request)).thenThrow(declined);
+
+        CompletableFuture<TransferResponse> future =
+                new DirectMoneyMovementEngine(executor, transactionManager).submitTransfer(request);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertSame(declined, exception.getCause());
+        verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void submitWithdrawal_UnexpectedError_RollsBack() {
+        WithdrawalRequest request = new WithdrawalRequest(1L, BigDecimal.TEN);
+        IllegalStateException failure = new IllegalStateException("Connection lost");
+        when(executor.executeWithdrawal(request)).thenThrow(failure);
+
+        CompletableFuture<WithdrawalResponse> future =
+                new DirectMoneyMovementEngine(executor, transactionManager).submitWithdrawal(request);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertSame(failure, exception.getCause());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void directAndShardedEngines_CommitTheSameJournalRows() throws Exception {
+        Journal direct = new Journal();
+        Journal sharded = new Journal();
+
+        run(new DirectMoneyMovementEngine(direct.executor(), direct.transactionManager()));
+        ShardedMoneyMovementEngine shardedEngine = new ShardedMoneyMovementEngine(
+                sharded.executor(), cardLockProvider, sharded.transactionManager(), 2, 16, 100);
+        try {
+            run(shardedEngine);
+        } finally {
+            shardedEngine.stop();
+        }
+
+        assertEquals(List.of("1:SUCCESS", "1:DECLINED", "3:SUCCESS", "3:DECLINED", "4:NOT_FOUND"), direct.committed);
+        assertEquals(direct.committed, sharded.committed);
+    }
+
+    private void run(MoneyMovementEngine engine) throws Exception {
+        await(engine.submitTransfer(new TransferRequest(1L, 2L, BigDecimal.TEN)));
+        await(engine.submitTransfer(new TransferRequest(1L, 2L, new BigDecimal("500"))));
+        await(engine.submitWithdrawal(new WithdrawalRequest(3L, BigDecimal.TEN)));
+        await(engine.submitWithdrawal(new WithdrawalRequest(3L, new BigDecimal("500"))));
+        await(engine.submitWithdrawal(new WithdrawalRequest(4L, BigDecimal.TEN)));
+    }
+
+    private void await(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException ignored) {
+            // отказ ожидаем, сравнивается содержимое журнала
+        }
+    }
+
+    /**
+     * Журнал операций, строки которого видны только после фиксации транзакции.
+     */
+    private static final class Journal {
+
+        private final List<String> pending = new ArrayList<>();
+        private final List<String> committed = new ArrayList<>();
+
+        private PlatformTransactionManager transactionManager() {
+            return new PlatformTransactionManager() {
+                @Override
+                public TransactionStatus getTransaction(TransactionDefinition definition) {
+                    return new SimpleTransactionStatus();
+                }
+
+                @Override
+                public void commit(TransactionStatus status) {
+                    committed.addAll(pending);
+                    pending.clear();
+                }
+
+                @Override
+                public void rollback(TransactionStatus status) {
+                    pending.clear();
+                }
+            };
+        }
+
+        private MoneyMovementExecutor executor() {
+            return new MoneyMovementExecutor() {
+                @Override
+                public TransferResponse executeTransfer(TransferRequest request) {
+                    if (request.getAmount().compareTo(LIMIT) > 0) {
+                        pending.add(request.getFromCardId() + ":DECLINED");
+                        throw new TransferException("Daily limit exceeded", new TransferResponse());
+                    }
+                    pending.add(request.getFromCardId() + ":SUCCESS");
+                    return new TransferResponse();
+                }
+
+                @Override
+                public WithdrawalResponse executeWithdrawal(WithdrawalRequest request) {
+                    if (request.getCardId() == 4L) {
+                        pending.add(request.getCardId() + ":NOT_FOUND");
+                        throw new EntityNotFoundException("Card not found with ID: 4");
+                    }
+                    if (request.getAmount().compareTo(LIMIT) > 0) {
+                        pending.add(request.getCardId() + ":DECLINED");
+                        throw new WithdrawalException("Daily limit exceeded", new WithdrawalResponse());
+                    }
+                    pending.add(request.getCardId() + ":SUCCESS");
+                    return new WithdrawalResponse();
+                }
+
+                @Override
+                public List<Long> lockedCardIds(TransferRequest request) {
+                    return List.of(request.getFromCardId(), request.getToCardId());
+                }
+            };
+        }
+    }
+}
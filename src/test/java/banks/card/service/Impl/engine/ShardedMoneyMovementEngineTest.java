@@ -0,0 +1,112 @@
+package banks.card.service.Impl.engine;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.exception.TransferException;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.MoneyMovementExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardedMoneyMovementEngineTest {
+
+    @Mock
+    private MoneyMovementExecutor executor;
+
+    @Mock
+    private CardLockProvider cardLockProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShardedMoneyMovementEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ShardedMoneyMovementEngine(executor, cardLockProvider, transactionManager, 4, 16, 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    @Test
+    void submitTransfer_CompletesWithExecutorResult() throws Exception {
+        TransferRequest request = new TransferRequest(5L, 2L, BigDecimal.TEN);
+        TransferResponse response = new TransferResponse();
+        when(executor.lockedCardIds(request)).thenReturn(List.of(5L, 2L));
+        when(executor.executeTransfer(request)).thenReturn(response);
+
+        assertSame(response, engine.submitTransfer(request).get(5, TimeUnit.SECONDS));
+        verify(cardLockProvider).lock(List.of(5L, 2L));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shardOf_RoutesBySourceCard() {
+        assertEquals(1, engine.shardOf(5L));
+        assertEquals(engine.shardOf(5L), engine.shardOf(9L));
+    }
+
+    @Test
+    void executeBatch_DeclinedOperation_DoesNotAbortBatch() {
+        ShardedMoneyMovementEngine.Operation<String> declined = new ShardedMoneyMovementEngine.Operation<>(
+                List.of(1L), () -> {
+                    throw new TransferException("Daily limit exceeded", new TransferResponse());
+                });
+        ShardedMoneyMovementEngine.Operation<String> accepted = new ShardedMoneyMovementEngine.Operation<>(
+                List.of(2L), () -> "ok");
+
+        engine.executeBatch(List.of(declined, accepted));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> declined.getFuture().get());
+        assertInstanceOf(TransferException.class, exception.getCause());
+        assertEquals("ok", accepted.getFuture().join());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void executeBatch_CommitFailure_RetriesOperationsOneByOne() {
+        doThrow(new TransactionSystemException("commit failed"))
+                .doNothing()
+                .when(transactionManager).commit(any());
+        ShardedMoneyMovementEngine.Operation<String> first = new ShardedMoneyMovementEngine.Operation<>(
+                List.of(1L), () -> "first");
+        ShardedMoneyMovementEngine.Operation<String> second = new ShardedMoneyMovementEngine.Operation<>(
+                List.of(2L), () -> "second");
+
+        engine.executeBatch(List.of(first, second));
+
+        assertEquals("first", first.getFuture().join());
+        assertEquals("second", second.getFuture().join());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void submit_AfterStop_FailsImmediately() throws InterruptedException {
+        engine.stop();
+
+        CompletableFuture<TransferResponse> future = engine.submitTransfer(new TransferRequest(1L, 2L, BigDecimal.ONE));
+
+        assertTrue(future.isCompletedExceptionally());
+        verifyNoInteractions(executor);
+    }
+}
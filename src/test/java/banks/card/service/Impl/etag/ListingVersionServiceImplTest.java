@@ -0,0 +1,74 @@
+package banks.card.service.Impl.etag;
+
+import banks.card.entity.User;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.UserUserActionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ListingVersionServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserUserActionService userService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @InjectMocks
+    private ListingVersionServiceImpl service;
+
+    @Test
+    void getCardsVersion_ReadsVersionOfUserCards() {
+        User user = new User();
+        user.setId(7L);
+        when(jwtService.extractEmail("valid-jwt-token")).thenReturn("user@example.com");
+        when(userService.findByEmail("user@example.com")).thenReturn(user);
+        when(jdbcTemplate.queryForObject(eq(ListingVersionServiceImpl.CARDS_VERSION_SQL), any(RowMapper.class), eq(7L)))
+                .thenReturn("2:10:12");
+
+        assertEquals("2:10:12", service.getCardsVersion("Bearer valid-jwt-token"));
+    }
+
+    @Test
+    void getTransactionsVersion_ReadsVersionOfCard() {
+        when(jdbcTemplate.queryForObject(eq(ListingVersionServiceImpl.TRANSACTIONS_VERSION_SQL), any(RowMapper.class), eq(5L)))
+                .thenReturn("1:10:12");
+
+        assertEquals("1:10:12", service.getTransactionsVersion(5L, "Bearer valid-jwt-token"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void version_ChangesBelowHorizon_IsStable() {
+        assertEquals("2:10:12", ListingVersionServiceImpl.version(2, 10, 12, 20));
+        assertEquals(ListingVersionServiceImpl.version(2, 10, 12, 20), ListingVersionServiceImpl.version(2, 10, 12, 30));
+    }
+
+    @Test
+    void version_RecentChanges_IncludesHorizon() {
+        String before = ListingVersionServiceImpl.version(2, 10, 25, 20);
+        String after = ListingVersionServiceImpl.version(2, 10, 25, 24);
+
+        assertEquals("2:10:25:20", before);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void version_CardCountChanges_ChangesVersion() {
+        assertNotEquals(ListingVersionServiceImpl.version(2, 10, 12, 20), ListingVersionServiceImpl.version(3, 10, 12, 20));
+    }
+}
@@ -0,0 +1,52 @@
+package banks.card.service.Impl.expiry;
+
+import banks.card.service.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CardExpiryServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private CardExpiryServiceImpl cardExpiryService;
+
+    @Test
+    void expireBatch_PublishesChangeForEachExpiredCard() {
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        when(jdbcTemplate.queryForList(CardExpiryServiceImpl.EXPIRE_SQL, Long.class, Date.valueOf(today), 500))
+                .thenReturn(List.of(4L, 9L));
+
+        assertEquals(2, cardExpiryService.expireBatch(today, 500));
+
+        verify(cacheInvalidationBus).publishCardChanged(4L);
+        verify(cacheInvalidationBus).publishCardChanged(9L);
+    }
+
+    @Test
+    void expireBatch_NothingExpired_PublishesNothing() {
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        when(jdbcTemplate.queryForList(CardExpiryServiceImpl.EXPIRE_SQL, Long.class, Date.valueOf(today), 500))
+                .thenReturn(List.of());
+
+        assertEquals(0, cardExpiryService.expireBatch(today, 500));
+
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+}
@@ -0,0 +1,124 @@
+package banks.card.service.Impl.export;
+
+import banks.card.dto.in.export.ExportFormat;
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import banks.card.exception.ArchiveRangeException;
+import banks.card.service.Impl.archive.ArchivedTransaction;
+import banks.card.service.services.TransactionArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransactionExportServiceImplTest {
+
+    private final Timestamp date = Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 12, 30));
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private TransactionArchiveService transactionArchiveService;
+
+    private TransactionExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new TransactionExportServiceImpl(dataSource, transactionArchiveService, 100);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    @Test
+    void testExportCard_ReachingArchive_MergesArchivedRowsById() throws Exception {
+        TransactionFilterRequest filter = new TransactionFilterRequest(null, null, null, null, date, null);
+        when(transactionArchiveService.reachesArchive(filter)).thenReturn(true);
+        when(transactionArchiveService.findCardTransactions(eq(10L), eq(filter), any(), eq(Integer.MAX_VALUE)))
+                .thenReturn(List.of(archived(2L), archived(3L), archived(7L)));
+        liveRows(5L, 6L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.exportTransactions(10L, filter, ExportFormat.CSV, 2L, () -> out);
+
+        assertEquals(4, rows);
+        List<String> ids = out.toString(StandardCharsets.UTF_8).lines().skip(1)
+                .map(line -> line.substring(0, line.indexOf(','))).toList();
+        assertEquals(List.of("3", "5", "6", "7"), ids);
+    }
+
+    @Test
+    void testExportAllCards_ReachingArchive_Rejected() {
+        TransactionFilterRequest filter = new TransactionFilterRequest(null, null, null, null, date, null);
+        when(transactionArchiveService.reachesArchive(filter)).thenReturn(true);
+        when(transactionArchiveService.getHorizon()).thenReturn(date);
+
+        assertThrows(ArchiveRangeException.class, () -> service.exportTransactions(null, filter, ExportFormat.CSV, null,
+                () -> fail("Output must not be opened")));
+
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void testExport_WithinHorizon_SkipsArchive() throws Exception {
+        TransactionFilterRequest filter = new TransactionFilterRequest(null, null, null, null, null, null);
+        liveRows(1L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.exportTransactions(null, filter, ExportFormat.CSV, null, () -> out);
+
+        assertEquals(1, rows);
+        verify(transactionArchiveService, never()).findCardTransactions(any(), any(), any(), anyInt());
+    }
+
+    private void liveRows(Long... ids) throws Exception {
+        Boolean[] more = new Boolean[ids.length];
+        Arrays.fill(more, true);
+        more[ids.length - 1] = false;
+        when(resultSet.next()).thenReturn(true, more);
+        when(resultSet.getLong("id")).thenReturn(ids[0], Arrays.copyOfRange(ids, 1, ids.length));
+        when(resultSet.getLong("card_id")).thenReturn(10L);
+        when(resultSet.getBigDecimal("amount")).thenReturn(new BigDecimal("1.00"));
+        when(resultSet.getString("transaction_type")).thenReturn("DEPOSIT");
+        when(resultSet.getString("transfer_status")).thenReturn("SUCCESS");
+        when(resultSet.getTimestamp("transaction_date")).thenReturn(date);
+        when(resultSet.wasNull()).thenReturn(true);
+    }
+
+    private ArchivedTransaction archived(Long id) {
+        return new ArchivedTransaction(id, 10L, null, new BigDecimal("1.00"), TransactionType.DEPOSIT,
+                TransferStatus.SUCCESS, date, null);
+    }
+}
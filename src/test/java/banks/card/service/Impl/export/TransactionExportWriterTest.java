@@ -0,0 +1,64 @@
+package banks.card.service.Impl.export;
+
+import banks.card.dto.in.export.ExportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionExportWriterTest {
+
+    private final Timestamp date = Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 12, 30));
+
+    @Test
+    void testWriteCsv_WithHeaderAndEscaping() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (TransactionExportWriter writer = new TransactionExportWriter(ExportFormat.CSV, out)) {
+            writer.write(1L, 10L, 20L, new BigDecimal("150.00"), "TRANSFER_OUT", "SUCCESS", date, "Rent, \"March\"");
+            writer.write(2L, 10L, null, new BigDecimal("5.50"), "WITHDRAWAL", "DECLINED", date, null);
+            assertEquals(2, writer.getRows());
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(TransactionExportWriter.CSV_HEADER, lines[0]);
+        assertEquals("1,10,20,150.00,TRANSFER_OUT,SUCCESS,2025-03-01T12:30,\"Rent, \"\"March\"\"\"", lines[1]);
+        assertEquals("2,10,,5.50,WITHDRAWAL,DECLINED,2025-03-01T12:30,", lines[2]);
+    }
+
+    @Test
+    void testWriteNdjson_OneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (TransactionExportWriter writer = new TransactionExportWriter(ExportFormat.NDJSON, out)) {
+            writer.write(1L, 10L, 20L, new BigDecimal("150.00"), "TRANSFER_OUT", "SUCCESS", date, "Rent");
+            writer.write(2L, 10L, null, new BigDecimal("5.50"), "WITHDRAWAL", "DECLINED", date, null);
+        }
+
+        String content = out.toString(StandardCharsets.UTF_8);
+        String[] lines = content.split("\n");
+        assertTrue(content.endsWith("\n"));
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"cardId\":10,\"counterpartCardId\":20,\"amount\":150.00,\"transactionType\":\"TRANSFER_OUT\","
+                + "\"transferStatus\":\"SUCCESS\",\"transactionDate\":\"2025-03-01T12:30\",\"description\":\"Rent\"}", lines[0]);
+        assertTrue(lines[1].contains("\"counterpartCardId\":null"));
+        assertTrue(lines[1].contains("\"description\":null"));
+    }
+
+    @Test
+    void testWriteNdjson_Empty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (TransactionExportWriter writer = new TransactionExportWriter(ExportFormat.NDJSON, out)) {
+            assertEquals(0, writer.getRows());
+        }
+
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package banks.card.service.Impl.feed;
+
+import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.dto.out.transaction.TransactionFeedResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import banks.card.entity.User;
+import banks.card.exception.InvalidCursorException;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.UserUserActionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionFeedServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserUserActionService userService;
+
+    @Mock
+    private JwtService jwtService;
+
+    private TransactionFeedServiceImpl service;
+
+    private final String token = "Bearer valid-jwt-token";
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionFeedServiceImpl(jdbcTemplate, userService, jwtService, 3);
+        User user = new User();
+        user.setId(7L);
+        when(jwtService.extractEmail("valid-jwt-token")).thenReturn("user@example.com");
+        when(userService.findByEmail("user@example.com")).thenReturn(user);
+    }
+
+    @Test
+    void getFeed_MoreRowsThanPage_ReturnsPageAndCursorOfLastRow() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(row(9L, 1), row(8L, 2), row(5L, 3)));
+
+        TransactionFeedResponse response = service.getFeed(token, null, null, 2);
+
+        assertEquals(List.of(9L, 8L), response.getResponses().stream().map(TransactionResponse::getId).toList());
+        TransactionFeedCursor cursor = TransactionFeedCursor.decode(response.getNextCursor());
+        assertEquals(8L, cursor.getId());
+        assertEquals(date(2), cursor.getTransactionDate());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("CROSS JOIN LATERAL"));
+        assertFalse(sql.getValue().contains(":cursorDate"));
+        assertEquals(7L, params.getValue().getValue("userId"));
+        assertEquals(3, params.getValue().getValue("limit"));
+    }
+
+    @Test
+    void getFeed_WithCursorAndFilter_AppliesBothInsideLateral() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(row(4L, 4)));
+        String cursor = new TransactionFeedCursor(date(3), 5L).encode();
+        TransactionFilterRequest filter = new TransactionFilterRequest(
+                TransactionType.WITHDRAWAL, TransferStatus.SUCCESS, null, null, null, null);
+
+        TransactionFeedResponse response = service.getFeed(token, filter, cursor, 10);
+
+        assertEquals(1, response.getResponses().size());
+        assertNull(response.getNextCursor());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("t.transaction_type = :type AND t.transfer_status = :status"
+                + TransactionFeedServiceImpl.CURSOR_PREDICATE));
+        assertEquals(date(3), params.getValue().getValue("cursorDate"));
+        assertEquals(5L, params.getValue().getValue("cursorId"));
+        assertEquals(4, params.getValue().getValue("limit"));
+    }
+
+    @Test
+    void getFeed_InvalidCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> service.getFeed(token, null, "not-a-cursor", 10));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static TransactionResponse row(Long id, int minute) {
+        return new TransactionResponse(id, 1L, null, BigDecimal.TEN, TransactionType.WITHDRAWAL, date(minute), null);
+    }
+
+    private static Timestamp date(int minute) {
+        return Timestamp.valueOf(LocalDateTime.of(2025, 3, 2, 12, 0).minusMinutes(minute).withNano(123_456_000));
+    }
+}
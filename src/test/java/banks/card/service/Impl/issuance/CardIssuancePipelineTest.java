@@ -0,0 +1,153 @@
+package banks.card.service.Impl.issuance;
+
+import banks.card.dto.out.card.BulkIssuanceErrorResponse;
+import banks.card.dto.out.card.BulkIssuanceResponse;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardIssuancePipelineTest {
+
+    private static final String HEADER = "email,card_number,card_holder,expiry_date\n";
+    private static final String EXPIRY = LocalDate.now().plusYears(3).toString();
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final List<Collection<String>> lookups = Collections.synchronizedList(new ArrayList<>());
+    private ExecutorService encryptPool;
+
+    @BeforeEach
+    void setUp() {
+        encryptPool = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encryptPool.shutdownNow();
+    }
+
+    @Test
+    void run_ValidRows_WritesCardsInFileOrder() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 25; i++) {
+            csv.append("user").append(i % 3).append("@example.com,1234 5678 9012 ")
+                    .append(String.format("%04d", i)).append(",IVAN IVANOV,").append(EXPIRY).append('\n');
+        }
+        List<String> written = new ArrayList<>();
+
+        BulkIssuanceResponse response = pipeline(4).run(input(csv.toString()),
+                row -> written.add(row.userId + ":" + row.encryptedCardNumber));
+
+        assertEquals(25, response.getRows());
+        assertEquals(25, response.getIssued());
+        assertEquals(0, response.getFailed());
+        assertEquals("10:enc-1234 5678 9012 0000", written.get(0));
+        assertEquals("10:enc-1234 5678 9012 0024", written.get(24));
+        assertEquals(7, lookups.size());
+        assertTrue(lookups.stream().allMatch(emails -> emails.size() <= 3));
+    }
+
+    @Test
+    void run_InvalidRows_ReportsErrorsByLine() {
+        String csv = HEADER
+                + "user0@example.com,1234 5678 9012 3456,IVAN IVANOV," + EXPIRY + "\n"
+                + "missing@example.com,1234 5678 9012 3456,IVAN IVANOV," + EXPIRY + "\n"
+                + "user1@example.com,1234,IVAN IVANOV," + EXPIRY + "\n"
+                + "user1@example.com,1234 5678 9012 3456,IVAN IVANOV,tomorrow\n"
+                + "user2@example.com,1234 5678 9012 3456\n";
+        List<Long> written = new ArrayList<>();
+
+        BulkIssuanceResponse response = pipeline(2).run(input(csv), row -> written.add(row.line));
+
+        assertEquals(5, response.getRows());
+        assertEquals(1, response.getIssued());
+        assertEquals(4, response.getFailed());
+        assertEquals(List.of(2L), written);
+        assertEquals(List.of(3L, 4L, 5L, 6L),
+                response.getErrors().stream().map(BulkIssuanceErrorResponse::getLine).toList());
+        assertEquals("User not found: missing@example.com", response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void run_ColumnsInAnyOrderWithQuotes_ParsesRow() {
+        String csv = "card_holder,expiry_date,note,email,card_number\n"
+                + "IVAN IVANOV," + EXPIRY + ",\"VIP, priority\",user0@example.com,\"1234 5678 9012 3456\"\n";
+        List<String> written = new ArrayList<>();
+
+        BulkIssuanceResponse response = pipeline(10).run(input(csv), row -> written.add(row.request.getCardNumber()));
+
+        assertEquals(1, response.getIssued());
+        assertEquals(List.of("1234 5678 9012 3456"), written);
+    }
+
+    @Test
+    void run_MissingHeaderColumn_ReportsFirstLine() {
+        BulkIssuanceResponse response = pipeline(10).run(input("email,card_number\nuser0@example.com,1\n"), row -> {
+        });
+
+        assertEquals(0, response.getIssued());
+        assertEquals(1, response.getErrors().get(0).getLine());
+    }
+
+    @Test
+    void run_SinkFailure_AbortsPipeline() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 100; i++) {
+            csv.append("user0@example.com,1234 5678 9012 3456,IVAN IVANOV,").append(EXPIRY).append('\n');
+        }
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> pipeline(1).run(
+                input(csv.toString()), row -> {
+                    throw new IllegalStateException("copy failed");
+                }));
+        assertTrue(exception.getMessage().contains("copy failed"));
+    }
+
+    @Test
+    void run_ErrorsAboveLimit_AreCountedButNotListed() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 5; i++) {
+            csv.append("nobody@example.com,1234 5678 9012 3456,IVAN IVANOV,").append(EXPIRY).append('\n');
+        }
+
+        BulkIssuanceResponse response = new CardIssuancePipeline(validator, this::lookup, number -> "enc-" + number,
+                encryptPool, 2, 2, 3).run(input(csv.toString()), row -> {
+        });
+
+        assertEquals(5, response.getFailed());
+        assertEquals(3, response.getErrors().size());
+    }
+
+    private CardIssuancePipeline pipeline(int batchSize) {
+        return new CardIssuancePipeline(validator, this::lookup, number -> "enc-" + number,
+                encryptPool, batchSize, 2, 100);
+    }
+
+    private Map<String, Long> lookup(Collection<String> emails) {
+        lookups.add(emails);
+        Map<String, Long> users = Map.of("user0@example.com", 10L, "user1@example.com", 11L, "user2@example.com", 12L);
+        return emails.stream()
+                .filter(users::containsKey)
+                .collect(Collectors.toMap(email -> email, users::get));
+    }
+
+    private static InputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
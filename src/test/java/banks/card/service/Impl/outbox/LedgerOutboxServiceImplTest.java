@@ -0,0 +1,117 @@
+package banks.card.service.Impl.outbox;
+
+import banks.card.dto.out.outbox.OutboxStatisticsResponse;
+import banks.card.service.outbox.LedgerEvent;
+import banks.card.service.outbox.LedgerEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LedgerOutboxServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LedgerEventSink sink;
+
+    private LedgerOutboxServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LedgerOutboxServiceImpl(jdbcTemplate, transactionManager, sink, 3);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void relayBatch_ClaimedEvents_PublishesInOrderAndCommits() {
+        when(jdbcTemplate.query(eq(LedgerOutboxServiceImpl.CLAIM_SQL), any(RowMapper.class), eq(3)))
+                .thenReturn(List.of(event(12L, 40), event(10L, 90), event(11L, 60)));
+
+        assertEquals(3, service.relayBatch());
+
+        ArgumentCaptor<List<LedgerEvent>> published = ArgumentCaptor.forClass(List.class);
+        verify(sink).publish(published.capture());
+        assertEquals(List.of(10L, 11L, 12L), published.getValue().stream().map(LedgerEvent::getId).toList());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void relayBatch_EmptyQueue_DoesNotPublish() {
+        when(jdbcTemplate.query(eq(LedgerOutboxServiceImpl.CLAIM_SQL), any(RowMapper.class), eq(3)))
+                .thenReturn(List.of());
+
+        assertEquals(0, service.relayBatch());
+
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    void relayBatch_SinkFails_RollsBackAndCountsFailure() {
+        when(jdbcTemplate.query(eq(LedgerOutboxServiceImpl.CLAIM_SQL), any(RowMapper.class), eq(3)))
+                .thenReturn(List.of(event(10L, 90)));
+        doThrow(new IllegalStateException("Sink unavailable")).when(sink).publish(any());
+        stubPending(1, 500);
+
+        assertThrows(IllegalStateException.class, () -> service.relayBatch());
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        OutboxStatisticsResponse statistics = service.getStatistics();
+        assertEquals(1, statistics.getFailures());
+        assertEquals(0, statistics.getPublished());
+    }
+
+    @Test
+    void getStatistics_AfterRelay_ReportsThroughputAndLag() {
+        when(jdbcTemplate.query(eq(LedgerOutboxServiceImpl.CLAIM_SQL), any(RowMapper.class), eq(3)))
+                .thenReturn(List.of(event(10L, 90), event(11L, 60)));
+        stubPending(7, 250);
+
+        service.relayBatch();
+        OutboxStatisticsResponse statistics = service.getStatistics();
+
+        assertEquals(7, statistics.getPending());
+        assertEquals(250, statistics.getOldestPendingAgeMs());
+        assertEquals(2, statistics.getPublished());
+        assertEquals(1, statistics.getBatches());
+        assertEquals(2, statistics.getLastBatchSize());
+        assertEquals(90, statistics.getLastBatchMaxLagMs());
+        assertTrue(statistics.getLastBatchThroughputPerSecond() > 0);
+        assertTrue(statistics.getAverageThroughputPerSecond() > 0);
+    }
+
+    private void stubPending(long pending, long ageMs) {
+        when(jdbcTemplate.queryForObject(eq(LedgerOutboxServiceImpl.PENDING_SQL), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    OutboxStatisticsResponse response = new OutboxStatisticsResponse();
+                    response.setPending(pending);
+                    response.setOldestPendingAgeMs(ageMs);
+                    return response;
+                });
+    }
+
+    private LedgerEvent event(long id, long lagMillis) {
+        return new LedgerEvent(id, "{\"id\":" + id + "}", Timestamp.valueOf(LocalDateTime.of(2025, 3, 2, 10, 0)), lagMillis);
+    }
+}
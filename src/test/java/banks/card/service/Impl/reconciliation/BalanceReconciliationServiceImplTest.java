@@ -0,0 +1,83 @@
+package banks.card.service.Impl.reconciliation;
+
+import banks.card.dto.out.reconciliation.ReconciliationReportResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconciliationServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BalanceReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new BalanceReconciliationServiceImpl(jdbcTemplate, 2, 10, 100);
+    }
+
+    @Test
+    void reconcile_SplitsRangesAndReportsDrift() {
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(Map.of("min_id", 1L, "max_id", 35L));
+        doAnswer(invocation -> {
+            long from = invocation.getArgument(2);
+            long to = invocation.getArgument(3);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long id = from; id < to; id++) {
+                BigDecimal ledger = BigDecimal.TEN;
+                BigDecimal balance = id == 17 ? new BigDecimal("12.50") : BigDecimal.TEN;
+                handler.processRow(row(id, balance, ledger));
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(ReconciliationTask.RANGE_SQL), any(RowCallbackHandler.class),
+                anyLong(), anyLong(), anyLong(), anyLong());
+
+        ReconciliationReportResponse report = reconciliationService.reconcile();
+
+        assertEquals(35, report.getCardsChecked());
+        assertEquals(1, report.getCardsWithDrift());
+        assertEquals(new BigDecimal("2.50"), report.getTotalDrift());
+        assertEquals(17L, report.getDrifts().get(0).getCardId());
+        assertEquals(report, reconciliationService.getLastReport().orElseThrow());
+        verify(jdbcTemplate, times(4)).query(eq(ReconciliationTask.RANGE_SQL), any(RowCallbackHandler.class),
+                anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void reconcile_NoCards_ReturnsEmptyReport() {
+        Map<String, Object> bounds = new HashMap<>();
+        bounds.put("min_id", null);
+        bounds.put("max_id", null);
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(bounds);
+
+        ReconciliationReportResponse report = reconciliationService.reconcile();
+
+        assertEquals(0, report.getCardsChecked());
+        assertEquals(List.of(), report.getDrifts());
+    }
+
+    private ResultSet row(long id, BigDecimal balance, BigDecimal ledger) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getLong("id")).thenReturn(id);
+        when(rs.getBigDecimal("balance")).thenReturn(balance);
+        when(rs.getBigDecimal("ledger_balance")).thenReturn(ledger);
+        return rs;
+    }
+}
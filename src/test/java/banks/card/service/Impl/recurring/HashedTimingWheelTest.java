@@ -0,0 +1,67 @@
+package banks.card.service.Impl.recurring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    void advance_ReturnsOnlyDueItems() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("first", 250);
+        wheel.schedule("second", 700);
+
+        assertTrue(wheel.advance(200).isEmpty());
+        assertEquals(List.of("first"), wheel.advance(300));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("second"), wheel.advance(700));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ItemBeyondOneRevolution_FiresOnItsRound() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0);
+        wheel.schedule("later", 1000);
+
+        assertTrue(wheel.advance(500).isEmpty());
+        assertTrue(wheel.advance(900).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(1000));
+    }
+
+    @Test
+    void advance_AfterLongPause_ReturnsAllOverdueItems() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(100, 4, 0);
+        for (int i = 1; i <= 10; i++) {
+            wheel.schedule(i, i * 100L);
+        }
+
+        List<Integer> due = wheel.advance(10_000);
+
+        assertEquals(10, due.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_OverdueItem_FiresOnNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 1000);
+        wheel.advance(1500);
+
+        wheel.schedule("overdue", 200);
+
+        assertEquals(List.of("overdue"), wheel.advance(1600));
+    }
+
+    @Test
+    void clear_RemovesAllItems() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("item", 300);
+
+        wheel.clear();
+
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(1000).isEmpty());
+    }
+}
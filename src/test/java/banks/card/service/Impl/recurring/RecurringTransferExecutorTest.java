@@ -0,0 +1,137 @@
+package banks.card.service.Impl.recurring;
+
+import banks.card.dto.in.card.TransferRequest;
+import banks.card.dto.out.card.TransferResponse;
+import banks.card.entity.RecurringInterval;
+import banks.card.entity.RecurringTransfer;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.entity.TransferStatus;
+import banks.card.exception.TransferException;
+import banks.card.repository.RecurringTransferRepository;
+import banks.card.service.services.MoneyMovementExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RecurringTransferExecutorTest {
+
+    @Mock
+    private RecurringTransferRepository recurringTransferRepository;
+
+    @Mock
+    private MoneyMovementExecutor moneyMovementExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecurringTransferExecutor executor;
+
+    private RecurringTransfer recurringTransfer;
+
+    @BeforeEach
+    void setUp() {
+        executor = new RecurringTransferExecutor(recurringTransferRepository, moneyMovementExecutor,
+                transactionManager, 2, 10);
+        LocalDateTime startAt = LocalDateTime.of(2025, 1, 31, 9, 0);
+        recurringTransfer = RecurringTransfer.builder()
+                .id(7L)
+                .userId(1L)
+                .fromCardId(2L)
+                .toCardId(3L)
+                .amount(new BigDecimal("100.00"))
+                .intervalUnit(RecurringInterval.MONTH)
+                .intervalCount(1)
+                .startAt(Timestamp.valueOf(startAt))
+                .occurrence(0)
+                .nextRunAt(Timestamp.valueOf(startAt))
+                .status(RecurringTransferStatus.ACTIVE)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void executeOne_Due_TransfersAndAdvancesToFutureOccurrence() {
+        TransferResponse response = new TransferResponse();
+        response.setStatus(TransferStatus.SUCCESS);
+        when(recurringTransferRepository.findDueForUpdate(eq(7L), any())).thenReturn(Optional.of(recurringTransfer));
+        when(moneyMovementExecutor.executeTransfer(any(TransferRequest.class))).thenReturn(response);
+
+        assertEquals(Optional.of(TransferStatus.SUCCESS), executor.executeOne(7L));
+
+        verify(moneyMovementExecutor).executeTransfer(new TransferRequest(2L, 3L, new BigDecimal("100.00")));
+        verify(recurringTransferRepository).save(recurringTransfer);
+        assertEquals(TransferStatus.SUCCESS, recurringTransfer.getLastStatus());
+        assertTrue(recurringTransfer.getNextRunAt().toLocalDateTime().isAfter(LocalDateTime.now()));
+        assertEquals(recurringTransfer.occurrenceAt(recurringTransfer.getOccurrence()),
+                recurringTransfer.getNextRunAt().toLocalDateTime());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void executeOne_Declined_RecordsReasonAndKeepsSchedule() {
+        TransferResponse response = new TransferResponse();
+        response.setStatus(TransferStatus.DECLINED);
+        when(recurringTransferRepository.findDueForUpdate(eq(7L), any())).thenReturn(Optional.of(recurringTransfer));
+        when(moneyMovementExecutor.executeTransfer(any(TransferRequest.class)))
+                .thenThrow(new TransferException("Daily limit exceeded", response));
+
+        assertEquals(Optional.of(TransferStatus.DECLINED), executor.executeOne(7L));
+
+        assertEquals("Daily limit exceeded", recurringTransfer.getLastMessage());
+        assertEquals(RecurringTransferStatus.ACTIVE, recurringTransfer.getStatus());
+        verify(recurringTransferRepository).save(recurringTransfer);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void executeOne_NotDueOrLocked_SkipsTransfer() {
+        when(recurringTransferRepository.findDueForUpdate(eq(7L), any())).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), executor.executeOne(7L));
+
+        verifyNoInteractions(moneyMovementExecutor);
+        verify(recurringTransferRepository, never()).save(any());
+    }
+
+    @Test
+    void executeOne_PastEndTime_CompletesSchedule() {
+        recurringTransfer.setEndAt(Timestamp.valueOf(LocalDateTime.of(2025, 2, 1, 0, 0)));
+        TransferResponse response = new TransferResponse();
+        response.setStatus(TransferStatus.SUCCESS);
+        when(recurringTransferRepository.findDueForUpdate(eq(7L), any())).thenReturn(Optional.of(recurringTransfer));
+        when(moneyMovementExecutor.executeTransfer(any(TransferRequest.class))).thenReturn(response);
+
+        executor.executeOne(7L);
+
+        assertEquals(RecurringTransferStatus.COMPLETED, recurringTransfer.getStatus());
+    }
+
+    @Test
+    void execute_RunsEveryChunk() {
+        when(recurringTransferRepository.findDueForUpdate(any(), any())).thenReturn(Optional.empty());
+
+        executor.execute(LongStream.rangeClosed(1, 25).boxed().toList()).join();
+
+        verify(recurringTransferRepository, times(25)).findDueForUpdate(any(), any());
+    }
+}
@@ -0,0 +1,107 @@
+package banks.card.service.Impl.rotation;
+
+import banks.card.service.lock.SchedulerLease;
+import banks.card.utils.CardMascEncryptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KeyRotationServiceImplTest {
+
+    private static final String KEY_V1 = "0123456789abcdef";
+    private static final String KEY_V2 = "fedcba9876543210";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    private KeyRotationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KeyRotationServiceImpl(jdbcTemplate, transactionManager, schedulerLease,
+                2, 100, 0, Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        CardMascEncryptor.setKEY(KEY_V1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotateChunk_ReEncryptsWithCompareAndSet_AndCheckpoints() throws Exception {
+        CardMascEncryptor.setKEY(KEY_V1);
+        String old = CardMascEncryptor.encrypt("4111111111111111");
+        CardMascEncryptor.setKeys(Map.of(1, KEY_V1, 2, KEY_V2), 2);
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(5L);
+        when(rs.getString("encrypted_card_number")).thenReturn(old);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(eq(KeyRotationServiceImpl.SELECT_CHUNK_SQL), any(RowCallbackHandler.class),
+                eq(1L), eq(100L), eq("v2:%"));
+        when(jdbcTemplate.batchUpdate(eq(KeyRotationServiceImpl.UPDATE_CARD_SQL), anyList())).thenReturn(new int[]{1});
+
+        int rotated = service.rotateChunk(3L, 2, 1L, 100L, 0L);
+
+        assertEquals(1, rotated);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(KeyRotationServiceImpl.UPDATE_CARD_SQL), updates.capture());
+        Object[] update = updates.getValue().get(0);
+        assertTrue(((String) update[0]).startsWith("v2:"));
+        assertEquals("4111111111111111", CardMascEncryptor.decrypt((String) update[0]));
+        assertEquals(5L, update[1]);
+        assertEquals(old, update[2]);
+        verify(jdbcTemplate).update(KeyRotationServiceImpl.CHECKPOINT_SQL, 1, 0L, 3L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void start_LeaseHeldElsewhere_Throws() {
+        when(schedulerLease.acquire(eq(KeyRotationServiceImpl.LEASE_NAME), any())).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> service.start());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void chunkProgress_AdvancesOnlyOverContiguousChunks() {
+        KeyRotationServiceImpl.ChunkProgress progress = new KeyRotationServiceImpl.ChunkProgress(0);
+
+        progress.complete(101, 200);
+        assertEquals(0, progress.watermark());
+
+        progress.complete(1, 100);
+        assertEquals(200, progress.watermark());
+
+        progress.complete(301, 400);
+        progress.complete(201, 300);
+        assertEquals(400, progress.watermark());
+    }
+}
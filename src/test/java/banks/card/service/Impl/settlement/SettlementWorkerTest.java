@@ -0,0 +1,142 @@
+package banks.card.service.Impl.settlement;
+
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.Card;
+import banks.card.entity.Transaction;
+import banks.card.entity.TransactionType;
+import banks.card.entity.TransferStatus;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.mapper.TransactionMapper;
+import banks.card.service.outbox.LedgerOutboxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementWorkerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CardLockProvider cardLockProvider;
+
+    @Mock
+    private LedgerOutboxWriter ledgerOutboxWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Timestamp cutoff = Timestamp.valueOf(LocalDateTime.of(2025, 3, 3, 0, 0));
+
+    private SettlementWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new SettlementWorker(jdbcTemplate, new TransactionTemplate(transactionManager), cardLockProvider,
+                ledgerOutboxWriter, 7L, cutoff, 4, 1, 2);
+    }
+
+    @Test
+    void run_ResumesFromCheckpointAndAppliesOneUpdatePerCard() {
+        when(jdbcTemplate.queryForObject(SettlementWorker.LOAD_CHECKPOINT_SQL, Long.class, 7L, 1)).thenReturn(5L);
+        when(jdbcTemplate.queryForList(SettlementWorker.PENDING_CARDS_SQL, Long.class, cutoff, 5L, 4, 1, 2))
+                .thenReturn(List.of(9L, 13L));
+        when(jdbcTemplate.queryForList(SettlementWorker.PENDING_CARDS_SQL, Long.class, cutoff, 13L, 4, 1, 2))
+                .thenReturn(List.of(17L));
+        when(jdbcTemplate.query(eq(SettlementWorker.SETTLE_ENTRIES_SQL), any(RowMapper.class), eq(9L), eq(cutoff)))
+                .thenReturn(List.of(
+                        entry(31L, TransactionType.TRANSFER_OUT, "100.00"),
+                        entry(30L, TransactionType.TRANSFER_IN, "50.00"),
+                        entry(32L, TransactionType.TRANSFER_IN, "10.00")));
+        when(jdbcTemplate.query(eq(SettlementWorker.SETTLE_ENTRIES_SQL), any(RowMapper.class), eq(13L), eq(cutoff)))
+                .thenReturn(List.of(
+                        entry(40L, TransactionType.TRANSFER_IN, "25.00"),
+                        entry(41L, TransactionType.TRANSFER_IN, "35.00")));
+        when(jdbcTemplate.query(eq(SettlementWorker.SETTLE_ENTRIES_SQL), any(RowMapper.class), eq(17L), eq(cutoff)))
+                .thenReturn(List.of());
+
+        worker.run();
+
+        InOrder inOrder = inOrder(cardLockProvider, jdbcTemplate, ledgerOutboxWriter);
+        inOrder.verify(cardLockProvider).lock(List.of(9L));
+        inOrder.verify(jdbcTemplate).update(SettlementWorker.APPLY_SQL, new BigDecimal("-40.00"), new BigDecimal("100.00"), 9L);
+        inOrder.verify(ledgerOutboxWriter).appendAll(argThat(events ->
+                events.stream().map(TransactionResponse::getId).toList().equals(List.of(30L, 31L, 32L))));
+        inOrder.verify(jdbcTemplate).update(SettlementWorker.CHECKPOINT_SQL, 9L, 1, 3L,
+                new BigDecimal("100.00"), BigDecimal.ZERO, 7L, 1);
+        inOrder.verify(cardLockProvider).lock(List.of(13L));
+        inOrder.verify(jdbcTemplate).update(SettlementWorker.APPLY_SQL, new BigDecimal("60.00"), BigDecimal.ZERO, 13L);
+        inOrder.verify(jdbcTemplate).update(SettlementWorker.CHECKPOINT_SQL, 13L, 1, 2L,
+                BigDecimal.ZERO, new BigDecimal("60.00"), 7L, 1);
+        verify(jdbcTemplate, never()).update(eq(SettlementWorker.APPLY_SQL), any(), any(), eq(17L));
+        verify(jdbcTemplate).update(SettlementWorker.CHECKPOINT_SQL, 17L, 0, 0L,
+                BigDecimal.ZERO, BigDecimal.ZERO, 7L, 1);
+        verify(ledgerOutboxWriter, times(2)).appendAll(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void mapEntry_MatchesTransactionMapperEvent() throws Exception {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.of(2025, 3, 2, 18, 45, 12, 345_000_000));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(30L);
+        when(rs.getLong("card_id")).thenReturn(9L);
+        when(rs.getLong("counterpart_card_id")).thenReturn(13L);
+        when(rs.wasNull()).thenReturn(false);
+        when(rs.getBigDecimal("amount")).thenReturn(new BigDecimal("50.00"));
+        when(rs.getString("transaction_type")).thenReturn("TRANSFER_OUT");
+        when(rs.getTimestamp("transaction_date")).thenReturn(date);
+        when(rs.getString("description")).thenReturn("Rent");
+        Transaction transaction = Transaction.builder()
+                .id(30L)
+                .card(Card.builder().id(9L).build())
+                .counterpartCard(Card.builder().id(13L).build())
+                .amount(new BigDecimal("50.00"))
+                .transactionType(TransactionType.TRANSFER_OUT)
+                .transferStatus(TransferStatus.SUCCESS)
+                .transactionDate(date)
+                .description("Rent")
+                .build();
+
+        TransactionResponse expected = Mappers.getMapper(TransactionMapper.class).entityToResponse(transaction);
+
+        assertEquals(expected, SettlementWorker.mapEntry(rs, 0));
+    }
+
+    @Test
+    void run_NoPendingCards_DoesNothing() {
+        when(jdbcTemplate.queryForObject(SettlementWorker.LOAD_CHECKPOINT_SQL, Long.class, 7L, 1)).thenReturn(0L);
+        when(jdbcTemplate.queryForList(eq(SettlementWorker.PENDING_CARDS_SQL), eq(Long.class), any(), anyLong(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        worker.run();
+
+        verifyNoInteractions(cardLockProvider, transactionManager);
+    }
+
+    private TransactionResponse entry(Long id, TransactionType type, String amount) {
+        return new TransactionResponse(id, 9L, 13L, new BigDecimal(amount), type, cutoff, null);
+    }
+}
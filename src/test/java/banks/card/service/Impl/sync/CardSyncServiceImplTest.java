@@ -0,0 +1,199 @@
+package banks.card.service.Impl.sync;
+
+import banks.card.dto.out.card.CardResponse;
+import banks.card.dto.out.sync.SyncResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import banks.card.entity.Card;
+import banks.card.entity.TransactionType;
+import banks.card.entity.User;
+import banks.card.exception.InvalidCursorException;
+import banks.card.repository.CardRepository;
+import banks.card.service.mapper.CardMapper;
+import banks.card.service.security.JwtService;
+import banks.card.service.services.user.UserUserActionService;
+import banks.card.service.sync.SyncChangeNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CardSyncServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private UserUserActionService userService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SyncChangeNotifier notifier = new SyncChangeNotifier();
+
+    private CardSyncServiceImpl service;
+
+    private final String token = "Bearer valid-jwt-token";
+
+    @BeforeEach
+    void setUp() {
+        service = new CardSyncServiceImpl(jdbcTemplate, cardRepository, cardMapper, userService, jwtService,
+                notifier, transactionManager, 1, 5000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sync_WithoutCursor_ReturnsAllLiveCardsAndCursor() {
+        stubUser();
+        stubHorizon(100L);
+        stubUserCards(List.of(new CardSyncServiceImpl.UserCard(1L, false, false),
+                new CardSyncServiceImpl.UserCard(2L, true, false)));
+        stubCards(1L);
+
+        SyncResponse response = service.sync(token, null, 20000).join();
+
+        assertEquals(List.of(1L), response.getCardIds());
+        assertEquals(1, response.getCards().size());
+        assertTrue(response.getTransactions().isEmpty());
+        assertEquals("100", response.getCursor());
+        verify(jdbcTemplate, never()).query(eq(CardSyncServiceImpl.NEW_TRANSACTIONS_SQL),
+                any(MapSqlParameterSource.class), any(RowMapper.class));
+        assertEquals(0, notifier.getWaiting());
+    }
+
+    @Test
+    void sync_WithChanges_ReturnsImmediatelyAndTruncatesTransactions() {
+        stubUser();
+        stubHorizon(130L);
+        stubUserCards(List.of(new CardSyncServiceImpl.UserCard(1L, false, true),
+                new CardSyncServiceImpl.UserCard(2L, false, false)));
+        stubCards(1L);
+        when(jdbcTemplate.query(eq(CardSyncServiceImpl.NEW_TRANSACTIONS_SQL), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(transaction(3L), transaction(2L), transaction(1L)));
+
+        SyncResponse response = service.sync(token, "100", 20000).join();
+
+        assertEquals(List.of(1L, 2L), response.getCardIds());
+        assertEquals(List.of(1L), response.getCards().stream().map(CardResponse::getId).toList());
+        assertEquals(List.of(3L, 2L), response.getTransactions().stream().map(TransactionResponse::getId).toList());
+        assertTrue(response.isTransactionsTruncated());
+        assertEquals("130", response.getCursor());
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(eq(CardSyncServiceImpl.USER_CARDS_SQL), params.capture(), any(RowMapper.class));
+        assertEquals(100L, params.getValue().getValue("since"));
+        assertEquals(130L, params.getValue().getValue("horizon"));
+        assertEquals(3, params.getValue().getValue("limit"));
+    }
+
+    @Test
+    void sync_NoChanges_WaitsForNotificationAndRereadsFromNewCursor() throws Exception {
+        stubUser();
+        stubHorizon(110L, 120L);
+        when(jdbcTemplate.query(eq(CardSyncServiceImpl.USER_CARDS_SQL), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new CardSyncServiceImpl.UserCard(1L, false, false)),
+                        List.of(new CardSyncServiceImpl.UserCard(1L, false, true)));
+        when(jdbcTemplate.query(eq(CardSyncServiceImpl.NEW_TRANSACTIONS_SQL), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+        stubCards(1L);
+
+        CompletableFuture<SyncResponse> future = service.sync(token, "100", 5000);
+
+        assertFalse(future.isDone());
+        assertEquals(1, notifier.getWaiting());
+        notifier.notifyChanged(7L);
+
+        SyncResponse response = future.get(2, TimeUnit.SECONDS);
+        assertEquals(1, response.getCards().size());
+        assertEquals("120", response.getCursor());
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(eq(CardSyncServiceImpl.USER_CARDS_SQL), params.capture(), any(RowMapper.class));
+        assertEquals(110L, params.getAllValues().get(1).getValue("since"));
+    }
+
+    @Test
+    void sync_NoChangesUntilTimeout_ReturnsEmptyResponseWithNewCursor() throws Exception {
+        stubUser();
+        stubHorizon(110L);
+        stubUserCards(List.of(new CardSyncServiceImpl.UserCard(1L, false, false)));
+        when(jdbcTemplate.query(eq(CardSyncServiceImpl.NEW_TRANSACTIONS_SQL), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        SyncResponse response = service.sync(token, "100", 50).get(2, TimeUnit.SECONDS);
+
+        assertTrue(response.getCards().isEmpty());
+        assertTrue(response.getTransactions().isEmpty());
+        assertEquals("110", response.getCursor());
+        assertEquals(0, notifier.getWaiting());
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void sync_InvalidCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> service.sync(token, "broken", 0));
+        verifyNoInteractions(jdbcTemplate, userService);
+    }
+
+    private void stubUser() {
+        User user = new User();
+        user.setId(7L);
+        when(jwtService.extractEmail("valid-jwt-token")).thenReturn("user@example.com");
+        when(userService.findByEmail("user@example.com")).thenReturn(user);
+    }
+
+    private void stubHorizon(Long horizon, Long... next) {
+        when(jdbcTemplate.queryForObject(eq(CardSyncServiceImpl.HORIZON_SQL), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(horizon, next);
+    }
+
+    private void stubUserCards(List<CardSyncServiceImpl.UserCard> cards) {
+        when(jdbcTemplate.query(eq(CardSyncServiceImpl.USER_CARDS_SQL), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(cards);
+    }
+
+    private void stubCards(Long id) {
+        Card card = new Card();
+        card.setId(id);
+        CardResponse response = new CardResponse();
+        response.setId(id);
+        when(cardRepository.findAllById(List.of(id))).thenReturn(List.of(card));
+        when(cardMapper.entityToResponse(card)).thenReturn(response);
+    }
+
+    private static TransactionResponse transaction(Long id) {
+        return new TransactionResponse(id, 1L, null, BigDecimal.TEN, TransactionType.WITHDRAWAL,
+                Timestamp.valueOf(LocalDateTime.of(2025, 3, 2, 12, 0)), null);
+    }
+}
@@ -3,25 +3,38 @@ package banks.card.service.Impl.user;
 import banks.card.dto.in.card.TransferRequest;
 import banks.card.dto.in.card.WithdrawalRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
+import banks.card.dto.in.hold.CaptureHoldRequest;
+import banks.card.dto.in.hold.HoldRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.ListCardResponse;
 import banks.card.dto.out.card.TransferResponse;
 import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.dto.out.hold.HoldResponse;
 import banks.card.entity.*;
 import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.FraudSuspectedException;
 import banks.card.exception.TransferException;
 import banks.card.exception.WithdrawalException;
+import banks.card.repository.CardHoldRepository;
+import banks.card.repository.CardMetadataRepository;
 import banks.card.repository.CardRepository;
+import banks.card.service.cache.CacheInvalidationBus;
+import banks.card.service.events.CardEventPublisher;
+import banks.card.service.lock.CardLockProvider;
+import banks.card.service.services.CardBalanceBucketService;
 import banks.card.service.mapper.CardMapper;
 import banks.card.service.security.JwtService;
 import banks.card.service.services.TransactionService;
 import banks.card.service.services.user.UserUserActionService;
+import banks.card.service.velocity.VelocityEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -29,12 +42,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static banks.card.service.security.JwtService.BEARER_PREFIX;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -44,6 +60,9 @@ public class CardServiceImplTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private CardMetadataRepository cardMetadataRepository;
+
     @Mock
     private UserUserActionService userService;
 
@@ -53,9 +72,27 @@ public class CardServiceImplTest {
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private CardLockProvider cardLockProvider;
+
+    @Mock
+    private CardBalanceBucketService balanceBucketService;
+
+    @Mock
+    private CardHoldRepository cardHoldRepository;
+
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private CardEventPublisher cardEventPublisher;
+
+    @Mock
+    private VelocityEngine velocityEngine;
+
     @InjectMocks
     private CardServiceImpl cardService;
 
@@ -100,6 +137,9 @@ public class CardServiceImplTest {
         withdrawalRequest.setCardId(1L);
         withdrawalRequest.setAmount(new BigDecimal("100.00"));
 
+        stubMetadata(card1);
+        stubMetadata(card2);
+
         pageable = PageRequest.of(0, 10);
         token = BEARER_PREFIX + "jwt-token";
 
@@ -177,6 +217,8 @@ public class CardServiceImplTest {
         assertEquals(CardStatus.BLOCKED, card1.getStatus());
         verify(cardRepository).findById(1L);
         verify(cardRepository).save(card1);
+        verify(cacheInvalidationBus).publishCardChanged(1L);
+        verify(cardEventPublisher).publishCard(card1);
         verify(cardMapper).entityToResponse(card1);
     }
 
@@ -231,10 +273,76 @@ public class CardServiceImplTest {
         assertEquals(TransferStatus.SUCCESS, result.getStatus());
         assertEquals(new BigDecimal("900.00"), card1.getBalance());
         assertEquals(new BigDecimal("600.00"), card2.getBalance());
+        verify(cardLockProvider).lock(List.of(1L, 2L));
         verify(cardRepository, times(2)).findById(anyLong());
         verify(cardRepository, times(2)).save(any(Card.class));
         verify(transactionService, times(2)).createAndSave(any(), any(), any(), any(), any(), anyString());
         verify(cardMapper).transferRequestToTransferResponse(transferRequest);
+        verify(cardEventPublisher).publishCard(card1);
+        verify(cardEventPublisher).publishCard(card2);
+        verify(cardEventPublisher, times(2)).publishTransaction(any(Transaction.class));
+        verify(velocityEngine).checkTransfer(1L, 2L, new BigDecimal("100.00"));
+        verify(velocityEngine).recordTransfer(1L, 2L);
+    }
+
+    @Test
+    void testTransfer_LoadsCardsWithoutRowLocksAfterProviderLock() {
+        transferRequest.setFromCardId(2L);
+        transferRequest.setToCardId(1L);
+        card2.setStatus(CardStatus.BLOCKED);
+
+        when(cardMapper.transferRequestToTransferResponse(transferRequest)).thenReturn(new TransferResponse());
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+
+        assertThrows(TransferException.class, () -> cardService.transfer(token, transferRequest));
+
+        InOrder inOrder = inOrder(cardLockProvider, cardRepository);
+        inOrder.verify(cardLockProvider).lock(List.of(2L, 1L));
+        inOrder.verify(cardRepository).findById(2L);
+        inOrder.verify(cardRepository).findById(1L);
+        verify(cardRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void testTransfer_SplitBalanceRecipient_CreditsBucketWithoutLockingRecipient() {
+        card2.setBalanceBuckets(4);
+        CardMetadata recipient = mock(CardMetadata.class);
+        when(recipient.isSplitBalance()).thenReturn(true);
+        when(cardMetadataRepository.findById(2L)).thenReturn(Optional.of(recipient));
+        when(cardMapper.transferRequestToTransferResponse(transferRequest)).thenReturn(new TransferResponse());
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+        when(transactionService.countByCardAndTransactionDateAfterAndTransactionTypeIn(any(), any(), any())).thenReturn(0L);
+
+        TransferResponse result = cardService.transfer(token, transferRequest);
+
+        assertEquals(TransferStatus.SUCCESS, result.getStatus());
+        assertEquals(new BigDecimal("900.00"), card1.getBalance());
+        assertEquals(new BigDecimal("500.00"), card2.getBalance());
+        verify(cardLockProvider).lock(List.of(1L));
+        verify(balanceBucketService).credit(2L, 4, new BigDecimal("100.00"));
+        verify(cardRepository, never()).save(card2);
+        verify(cardEventPublisher).publishCard(card1);
+        verify(cardEventPublisher, never()).publishCard(card2);
+    }
+
+    @Test
+    void testWithdraw_SplitBalanceShort_ConsolidatesBuckets() {
+        card1.setBalance(new BigDecimal("50.00"));
+        card1.setBalanceBuckets(4);
+        when(cardMapper.withdrawalRequestToWithdrawalResponse(withdrawalRequest)).thenReturn(new WithdrawalResponse());
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(balanceBucketService.consolidate(1L)).thenReturn(new BigDecimal("70.00"));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+        when(transactionService.countByCardAndTransactionDateAfterAndTransactionTypeIn(any(), any(), any())).thenReturn(0L);
+
+        WithdrawalResponse result = cardService.withdraw(withdrawalRequest, token);
+
+        assertEquals(TransferStatus.SUCCESS, result.getStatus());
+        assertEquals(new BigDecimal("20.00"), card1.getBalance());
+        verify(balanceBucketService).consolidate(1L);
     }
 
     @Test
@@ -325,9 +433,28 @@ public class CardServiceImplTest {
         assertEquals(TransferStatus.SUCCESS, result.getStatus());
         assertEquals(new BigDecimal("900.00"), card1.getBalance());
         verify(cardRepository).findById(1L);
+        verify(cardLockProvider).lock(List.of(1L));
         verify(cardRepository).save(eq(card1));
         verify(transactionService).createAndSave(eq(card1), eq(new BigDecimal("100.00")), eq(TransferStatus.SUCCESS), eq(TransactionType.WITHDRAWAL), anyString());
         verify(cardMapper).withdrawalRequestToWithdrawalResponse(withdrawalRequest);
+        verify(cardEventPublisher).publishCard(card1);
+        verify(cardEventPublisher).publishTransaction(transaction);
+        verify(velocityEngine).recordWithdrawal(1L);
+    }
+
+    @Test
+    void testWithdraw_ChecksLimitsFromCachedMetadata() {
+        CardMetadata cached = mock(CardMetadata.class);
+        when(cached.getSingleTransactionLimit()).thenReturn(new BigDecimal("50.00"));
+        when(cardMetadataRepository.findById(1L)).thenReturn(Optional.of(cached));
+        when(cardMapper.withdrawalRequestToWithdrawalResponse(withdrawalRequest)).thenReturn(new WithdrawalResponse());
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+
+        WithdrawalException e = assertThrows(WithdrawalException.class,
+                () -> cardService.withdraw(withdrawalRequest, token));
+
+        assertEquals("Amount exceeds single transaction limit", e.getMessage());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
     }
 
     @Test
@@ -377,4 +504,235 @@ public class CardServiceImplTest {
         verify(transactionService).createAndSave(eq(card1), eq(new BigDecimal("100.00")), eq(TransferStatus.DECLINED), eq(TransactionType.WITHDRAWAL), anyString());
         verifyNoMoreInteractions(cardRepository);
     }
+
+    @Test
+    void testWithdraw_VelocityExceeded_DeclinedAsFraudSuspected() {
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+        doThrow(new FraudSuspectedException("Too many withdrawals in a short period"))
+                .when(velocityEngine).checkWithdrawal(1L);
+
+        WithdrawalResponse response = new WithdrawalResponse();
+        when(cardMapper.withdrawalRequestToWithdrawalResponse(any())).thenReturn(response);
+
+        WithdrawalException exception = assertThrows(WithdrawalException.class, () -> {
+            cardService.withdraw(withdrawalRequest, token);
+        });
+
+        assertEquals("Too many withdrawals in a short period", exception.getMessage());
+        assertEquals(TransferStatus.FRAUD_SUSPECTED, response.getStatus());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
+        verify(transactionService).createAndSave(eq(card1), eq(new BigDecimal("100.00")), eq(TransferStatus.FRAUD_SUSPECTED), eq(TransactionType.WITHDRAWAL), anyString());
+        verify(velocityEngine, never()).recordWithdrawal(any());
+        verify(cardRepository, never()).save(any(Card.class));
+    }
+
+    @Test
+    void testTransfer_NewDestinationLargeAmount_DeclinedAsFraudSuspected() {
+        TransferResponse response = new TransferResponse();
+        when(cardMapper.transferRequestToTransferResponse(transferRequest)).thenReturn(response);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+        doThrow(new FraudSuspectedException("Large transfer to a new destination card"))
+                .when(velocityEngine).checkTransfer(1L, 2L, new BigDecimal("100.00"));
+
+        TransferException exception = assertThrows(TransferException.class, () -> {
+            cardService.transfer(token, transferRequest);
+        });
+
+        assertEquals("Large transfer to a new destination card", exception.getMessage());
+        assertEquals(TransferStatus.FRAUD_SUSPECTED, response.getStatus());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
+        verify(transactionService).createAndSave(eq(card1), eq(card2), eq(new BigDecimal("100.00")), eq(TransferStatus.FRAUD_SUSPECTED), eq(TransactionType.TRANSFER_OUT), anyString());
+        verify(velocityEngine, never()).recordTransfer(any(), any());
+    }
+
+    @Test
+    void testAuthorizeHold_ReservesAmount() {
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+        when(transactionService.countByCardAndTransactionDateAfterAndTransactionTypeIn(any(), any(), any())).thenReturn(0L);
+        when(cardHoldRepository.save(any(CardHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        HoldResponse response = new HoldResponse();
+        when(cardMapper.holdEntityToResponse(any(CardHold.class))).thenReturn(response);
+
+        HoldResponse result = cardService.authorizeHold(1L, token, new HoldRequest(new BigDecimal("60.00"), 30));
+
+        assertEquals(response, result);
+        assertEquals(new BigDecimal("60.00"), card1.getHeldAmount());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
+        assertEquals(new BigDecimal("940.00"), card1.getAvailableBalance());
+        verify(cardLockProvider).lock(List.of(1L));
+        verify(cardHoldRepository).save(argThat(hold -> hold.getStatus() == HoldStatus.ACTIVE
+                && hold.getAmount().equals(new BigDecimal("60.00"))
+                && hold.getExpiresAt().after(hold.getCreatedAt())));
+        verify(transactionService, never()).createAndSave(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testAuthorizeHold_HeldAmountCountsAgainstDailyLimit() {
+        card1.setHeldAmount(new BigDecimal("60.00"));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> cardService.authorizeHold(1L, token, new HoldRequest(new BigDecimal("60.00"), null)));
+
+        assertEquals("Daily limit exceeded", e.getMessage());
+        assertEquals(new BigDecimal("60.00"), card1.getHeldAmount());
+        verifyNoInteractions(cardHoldRepository);
+    }
+
+    @Test
+    void testWithdraw_HeldAmountReducesAvailableBalance() {
+        card1.setHeldAmount(new BigDecimal("950.00"));
+        when(cardMapper.withdrawalRequestToWithdrawalResponse(withdrawalRequest)).thenReturn(new WithdrawalResponse());
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+
+        WithdrawalException e = assertThrows(WithdrawalException.class,
+                () -> cardService.withdraw(withdrawalRequest, token));
+
+        assertEquals("Insufficient balance on source card", e.getMessage());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
+    }
+
+    @Test
+    void testCaptureHold_PartialCaptureReleasesRemainder() {
+        card1.setHeldAmount(new BigDecimal("80.00"));
+        CardHold hold = activeHold(new BigDecimal("80.00"), LocalDateTime.now().plusHours(1));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardHoldRepository.findByIdAndCardIdForUpdate(7L, 1L)).thenReturn(Optional.of(hold));
+        when(cardHoldRepository.save(hold)).thenReturn(hold);
+        when(cardMapper.holdEntityToResponse(hold)).thenReturn(new HoldResponse());
+
+        cardService.captureHold(1L, token, 7L, new CaptureHoldRequest(new BigDecimal("50.00")));
+
+        assertEquals(HoldStatus.CAPTURED, hold.getStatus());
+        assertEquals(new BigDecimal("50.00"), hold.getCapturedAmount());
+        assertNotNull(hold.getResolvedAt());
+        assertEquals(new BigDecimal("950.00"), card1.getBalance());
+        assertEquals(new BigDecimal("0.00"), card1.getHeldAmount());
+        verify(transactionService).createAndSave(card1, new BigDecimal("50.00"),
+                TransferStatus.SUCCESS, TransactionType.WITHDRAWAL, "Hold capture");
+    }
+
+    @Test
+    void testCaptureHold_AmountExceedsHold() {
+        CardHold hold = activeHold(new BigDecimal("80.00"), LocalDateTime.now().plusHours(1));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardHoldRepository.findByIdAndCardIdForUpdate(7L, 1L)).thenReturn(Optional.of(hold));
+
+        assertThrows(IllegalStateException.class,
+                () -> cardService.captureHold(1L, token, 7L, new CaptureHoldRequest(new BigDecimal("80.01"))));
+
+        assertEquals(HoldStatus.ACTIVE, hold.getStatus());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testCaptureHold_Expired() {
+        CardHold hold = activeHold(new BigDecimal("80.00"), LocalDateTime.now().minusMinutes(1));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardHoldRepository.findByIdAndCardIdForUpdate(7L, 1L)).thenReturn(Optional.of(hold));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> cardService.captureHold(1L, token, 7L, null));
+
+        assertEquals("Hold has expired", e.getMessage());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testReleaseHold_ReturnsAmountToAvailableBalance() {
+        card1.setHeldAmount(new BigDecimal("80.00"));
+        CardHold hold = activeHold(new BigDecimal("80.00"), LocalDateTime.now().plusHours(1));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardHoldRepository.findByIdAndCardIdForUpdate(7L, 1L)).thenReturn(Optional.of(hold));
+        when(cardHoldRepository.save(hold)).thenReturn(hold);
+        when(cardMapper.holdEntityToResponse(hold)).thenReturn(new HoldResponse());
+
+        cardService.releaseHold(1L, token, 7L);
+
+        assertEquals(HoldStatus.RELEASED, hold.getStatus());
+        assertEquals(new BigDecimal("0.00"), card1.getHeldAmount());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testReleaseHold_NotActive() {
+        CardHold hold = activeHold(new BigDecimal("80.00"), LocalDateTime.now().plusHours(1));
+        hold.setStatus(HoldStatus.CAPTURED);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardHoldRepository.findByIdAndCardIdForUpdate(7L, 1L)).thenReturn(Optional.of(hold));
+
+        assertThrows(IllegalStateException.class, () -> cardService.releaseHold(1L, token, 7L));
+
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void testTransferDeferred_WritesPendingEntriesAndReservesAmount() {
+        TransferResponse response = new TransferResponse();
+        when(cardMapper.transferRequestToTransferResponse(transferRequest)).thenReturn(response);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+        when(transactionService.findByCardAndTransactionDateAfterAndTypeIn(any(), any(), any())).thenReturn(List.of());
+        when(transactionService.countByCardAndTransactionDateAfterAndTransactionTypeIn(any(), any(), any())).thenReturn(0L);
+
+        TransferResponse result = cardService.transferDeferred(token, transferRequest);
+
+        assertEquals(TransferStatus.PENDING, result.getStatus());
+        assertEquals(new BigDecimal("1000.00"), card1.getBalance());
+        assertEquals(new BigDecimal("100.00"), card1.getHeldAmount());
+        assertEquals(new BigDecimal("500.00"), card2.getBalance());
+        verify(cardLockProvider).lock(List.of(1L));
+        verify(transactionService).createAndSave(eq(card1), eq(card2), eq(new BigDecimal("100.00")),
+                eq(TransferStatus.PENDING), eq(TransactionType.TRANSFER_OUT), anyString());
+        verify(transactionService).createAndSave(eq(card2), eq(card1), eq(new BigDecimal("100.00")),
+                eq(TransferStatus.PENDING), eq(TransactionType.TRANSFER_IN), anyString());
+        verify(cardRepository).save(card1);
+        verify(cardRepository, never()).save(card2);
+    }
+
+    @Test
+    void testTransferDeferred_ReservedAmountDeclinesOverspend() {
+        card1.setHeldAmount(new BigDecimal("950.00"));
+        when(cardMapper.transferRequestToTransferResponse(transferRequest)).thenReturn(new TransferResponse());
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+
+        TransferException e = assertThrows(TransferException.class,
+                () -> cardService.transferDeferred(token, transferRequest));
+
+        assertEquals("Insufficient balance on source card", e.getMessage());
+        assertEquals(new BigDecimal("950.00"), card1.getHeldAmount());
+        verify(transactionService).createAndSave(card1, card2, new BigDecimal("100.00"),
+                TransferStatus.DECLINED, TransactionType.TRANSFER_OUT, "Insufficient balance on source card");
+    }
+
+    private CardHold activeHold(BigDecimal amount, LocalDateTime expiresAt) {
+        return CardHold.builder()
+                .id(7L)
+                .card(card1)
+                .amount(amount)
+                .status(HoldStatus.ACTIVE)
+                .createdAt(Timestamp.valueOf(LocalDateTime.now().minusHours(1)))
+                .expiresAt(Timestamp.valueOf(expiresAt))
+                .build();
+    }
+
+    /**
+     * Лимиты карты читаются из кэшируемого {@link CardMetadata}; в тестах оно повторяет текущие лимиты карты.
+     */
+    private void stubMetadata(Card card) {
+        CardMetadata metadata = mock(CardMetadata.class, withSettings().strictness(Strictness.LENIENT));
+        when(metadata.getDailyLimit()).thenAnswer(invocation -> card.getDailyLimit());
+        when(metadata.getMonthlyLimit()).thenAnswer(invocation -> card.getMonthlyLimit());
+        when(metadata.getSingleTransactionLimit()).thenAnswer(invocation -> card.getSingleTransactionLimit());
+        when(metadata.getDailyTransactionCountLimit()).thenAnswer(invocation -> card.getDailyTransactionCountLimit());
+        when(metadata.isSplitBalance()).thenAnswer(invocation -> card.isSplitBalance());
+        lenient().when(cardMetadataRepository.findById(card.getId())).thenReturn(Optional.of(metadata));
+    }
 }
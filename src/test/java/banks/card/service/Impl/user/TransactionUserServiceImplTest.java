@@ -2,13 +2,17 @@ package banks.card.service.Impl.user;
 
 import banks.card.dto.in.filter.TransactionFilterRequest;
 import banks.card.dto.out.transaction.ListTransactionResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
 import banks.card.entity.Card;
 import banks.card.entity.Transaction;
 import banks.card.entity.TransactionType;
 import banks.card.entity.TransferStatus;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.repository.TransactionRepository;
+import banks.card.service.Impl.archive.ArchivedTransaction;
 import banks.card.service.mapper.TransactionMapper;
+import banks.card.service.outbox.LedgerOutboxWriter;
+import banks.card.service.services.TransactionArchiveService;
 import banks.card.service.services.user.CardUserActionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,12 +24,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +50,12 @@ public class TransactionUserServiceImplTest{
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private TransactionArchiveService transactionArchiveService;
+
+    @Mock
+    private LedgerOutboxWriter ledgerOutboxWriter;
+
     @InjectMocks
     private TransactionUserServiceImpl transactionService;
 
@@ -90,6 +102,7 @@ public class TransactionUserServiceImplTest{
         assertNotNull(result);
         assertEquals(transaction, result);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(ledgerOutboxWriter).append(transaction);
         verifyNoMoreInteractions(transactionRepository, cardService, transactionMapper);
     }
 
@@ -107,9 +120,21 @@ public class TransactionUserServiceImplTest{
         assertNotNull(result);
         assertEquals(transaction, result);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(ledgerOutboxWriter).append(transaction);
         verifyNoMoreInteractions(transactionRepository, cardService, transactionMapper);
     }
 
+    @Test
+    void testCreateAndSave_Declined_NotAppendedToOutbox() {
+        transaction.setTransferStatus(TransferStatus.DECLINED);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+
+        transactionService.createAndSave(card, new BigDecimal("50.00"), TransferStatus.DECLINED,
+                TransactionType.WITHDRAWAL, "Limit exceeded");
+
+        verifyNoInteractions(ledgerOutboxWriter);
+    }
+
     @Test
     void testGetUserTransactions_Success() {
         Long cardId = 1L;
@@ -162,6 +187,75 @@ public class TransactionUserServiceImplTest{
         verifyNoMoreInteractions(cardService, transactionRepository, transactionMapper);
     }
 
+    @Test
+    void testGetCardTransactions_MergesArchivedTransactionsInSortOrder_WhenDateFilterReachesArchive() {
+        Long cardId = 1L;
+        card.setId(cardId);
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setDateFrom(Timestamp.valueOf(LocalDateTime.now().minusYears(1)));
+        Sort defaultSort = Sort.by(Sort.Direction.DESC, "transactionDate", "id");
+        Pageable head = PageRequest.of(0, 4, defaultSort);
+        Transaction first = new Transaction();
+        Transaction second = new Transaction();
+        Transaction third = new Transaction();
+        first.setId(10L);
+        second.setId(8L);
+        third.setId(6L);
+        Page<Transaction> live = new PageImpl<>(List.of(first, second, third), head, 3);
+
+        when(cardService.findById(cardId)).thenReturn(card);
+        when(transactionArchiveService.reachesArchive(filter)).thenReturn(true);
+        when(transactionRepository.findByCard(eq(card), any(Specification.class), eq(head))).thenReturn(live);
+        when(transactionMapper.entityToArchived(first)).thenReturn(archived(10L, 10, "5.00"));
+        when(transactionMapper.entityToArchived(second)).thenReturn(archived(8L, 8, "1.00"));
+        when(transactionMapper.entityToArchived(third)).thenReturn(archived(6L, 6, "3.00"));
+        when(transactionArchiveService.findCardTransactions(cardId, filter, ArchivedTransaction.NEWEST_FIRST, 4))
+                .thenReturn(List.of(archived(9L, 9, "4.00"), archived(7L, 7, "2.00")));
+        when(transactionArchiveService.countCardTransactions(cardId, filter)).thenReturn(2L);
+        when(transactionMapper.archivedToResponse(any(ArchivedTransaction.class))).thenAnswer(invocation -> {
+            TransactionResponse response = new TransactionResponse();
+            response.setId(invocation.<ArchivedTransaction>getArgument(0).getId());
+            return response;
+        });
+
+        ListTransactionResponse result = transactionService.getCardTransactions(cardId, filter, PageRequest.of(1, 2));
+
+        assertEquals(List.of(8L, 7L), result.getResponses().stream().map(TransactionResponse::getId).toList());
+        assertEquals(5, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void testGetCardTransactions_MergesArchivedTransactionsByRequestedSort() {
+        Long cardId = 1L;
+        card.setId(cardId);
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setDateFrom(Timestamp.valueOf(LocalDateTime.now().minusYears(1)));
+        Sort byAmount = Sort.by("amount");
+        Transaction live = new Transaction();
+
+        when(cardService.findById(cardId)).thenReturn(card);
+        when(transactionArchiveService.reachesArchive(filter)).thenReturn(true);
+        when(transactionRepository.findByCard(eq(card), any(Specification.class), eq(PageRequest.of(0, 3, byAmount))))
+                .thenReturn(new PageImpl<>(List.of(live), PageRequest.of(0, 3, byAmount), 1));
+        when(transactionMapper.entityToArchived(live)).thenReturn(archived(10L, 10, "2.00"));
+        when(transactionArchiveService.findCardTransactions(eq(cardId), eq(filter), any(Comparator.class), eq(3)))
+                .thenReturn(List.of(archived(7L, 7, "1.00"), archived(9L, 9, "3.00")));
+        when(transactionArchiveService.countCardTransactions(cardId, filter)).thenReturn(2L);
+        when(transactionMapper.archivedToResponse(any(ArchivedTransaction.class))).thenAnswer(invocation -> {
+            TransactionResponse response = new TransactionResponse();
+            response.setId(invocation.<ArchivedTransaction>getArgument(0).getId());
+            return response;
+        });
+
+        ListTransactionResponse result = transactionService.getCardTransactions(cardId, filter,
+                PageRequest.of(0, 3, byAmount));
+
+        assertEquals(List.of(7L, 10L, 9L), result.getResponses().stream().map(TransactionResponse::getId).toList());
+        assertEquals(3, result.getTotalElements());
+        assertEquals(1, result.getTotalPages());
+    }
+
     @Test
     void testGetCardTransactions_CardNotFound() {
         Long cardId = 1L;
@@ -235,4 +329,9 @@ public class TransactionUserServiceImplTest{
         verifyNoMoreInteractions(transactionRepository);
         verifyNoInteractions(cardService, transactionMapper);
     }
+
+    private ArchivedTransaction archived(Long id, int day, String amount) {
+        return new ArchivedTransaction(id, 1L, null, new BigDecimal(amount), TransactionType.DEPOSIT,
+                TransferStatus.SUCCESS, Timestamp.valueOf(LocalDateTime.now().minusDays(200).plusDays(day)), null);
+    }
 }
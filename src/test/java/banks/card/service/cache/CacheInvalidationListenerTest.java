@@ -0,0 +1,86 @@
+package banks.card.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheInvalidationListenerTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LocalCacheEvictor localCacheEvictor;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CacheInvalidationListener(dataSource, jdbcTemplate, localCacheEvictor, 100, 10);
+    }
+
+    @Test
+    void handle_EvictsTargetAndTracksLastSeenId() {
+        listener.handle("42:CARD:7");
+        listener.handle("41:USER:3");
+
+        verify(localCacheEvictor).evict(InvalidationTarget.CARD, 7L);
+        verify(localCacheEvictor).evict(InvalidationTarget.USER, 3L);
+        assertEquals(42L, listener.getLastSeenId());
+    }
+
+    @Test
+    void handle_MalformedPayload_IsIgnored() {
+        listener.handle("garbage");
+
+        verifyNoInteractions(localCacheEvictor);
+    }
+
+    @Test
+    void catchUp_FirstConnect_OnlyRemembersLogPosition() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(500L);
+
+        listener.catchUp();
+
+        assertEquals(500L, listener.getLastSeenId());
+        verifyNoInteractions(localCacheEvictor);
+    }
+
+    @Test
+    void catchUp_AfterReconnect_ReplaysFromOverlap() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(500L);
+        listener.catchUp();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(500L))).thenReturn(true);
+
+        listener.catchUp();
+
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class),
+                eq(500L - CacheInvalidationListener.CATCH_UP_OVERLAP));
+        verify(localCacheEvictor, never()).evictAll();
+    }
+
+    @Test
+    void catchUp_LogPrunedPastLastSeen_EvictsAll() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(500L);
+        listener.catchUp();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(500L))).thenReturn(false);
+
+        listener.catchUp();
+
+        verify(localCacheEvictor).evictAll();
+    }
+}
@@ -0,0 +1,74 @@
+package banks.card.service.cache;
+
+import banks.card.entity.CardMetadata;
+import banks.card.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LocalCacheEvictorTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private LocalCacheEvictor cacheEvictor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictCard_WithoutTransaction_EvictsImmediately() {
+        cacheEvictor.evictCard(1L);
+
+        verify(cache).evict(CardMetadata.class, 1L);
+    }
+
+    @Test
+    void evictCard_InsideTransaction_EvictsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheEvictor.evictCard(1L);
+        verifyNoInteractions(cache);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache).evict(CardMetadata.class, 1L);
+    }
+
+    @Test
+    void evictUser_InsideTransaction_EvictsUserAndEmailQueryRegionAfterCommit() {
+        org.hibernate.Cache hibernateCache = mock(org.hibernate.Cache.class);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheEvictor.evictUser(3L);
+        verifyNoInteractions(cache);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache).evict(User.class, 3L);
+        verify(hibernateCache).evictQueryRegion(User.EMAIL_QUERY_CACHE_REGION);
+    }
+}
@@ -0,0 +1,101 @@
+package banks.card.service.events;
+
+import banks.card.dto.out.card.CardResponse;
+import banks.card.dto.out.transaction.TransactionResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SseSubscriberTest {
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+
+    @Test
+    void drain_CoalescesCardUpdatesToLatestState() throws Exception {
+        SseSubscriber subscriber = new SseSubscriber(1L, emitter, 10);
+
+        subscriber.offer(card(5L, "ACTIVE"));
+        subscriber.offer(card(6L, "ACTIVE"));
+        subscriber.offer(card(5L, "BLOCKED"));
+
+        assertFalse(subscriber.drain());
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:card") && emitter.events.get(0).contains("id=6"));
+        assertTrue(emitter.events.get(1).contains("id=5") && emitter.events.get(1).contains("BLOCKED"));
+    }
+
+    @Test
+    void drain_TransactionOverflow_DropsOldestAndSendsResync() throws Exception {
+        SseSubscriber subscriber = new SseSubscriber(1L, emitter, 2);
+
+        subscriber.offer(transaction(1L));
+        subscriber.offer(transaction(2L));
+        subscriber.offer(transaction(3L));
+        subscriber.drain();
+
+        assertEquals(3, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:" + SseSubscriber.RESYNC_EVENT));
+        assertTrue(emitter.events.get(1).contains("id:2"));
+        assertTrue(emitter.events.get(2).contains("id:3"));
+        assertFalse(subscriber.hasPending());
+    }
+
+    @Test
+    void drain_HeartbeatOnlyWhenNothingElseIsSent() throws Exception {
+        SseSubscriber subscriber = new SseSubscriber(1L, emitter, 10);
+
+        subscriber.offerHeartbeat();
+        subscriber.offer(transaction(1L));
+        subscriber.drain();
+        subscriber.offerHeartbeat();
+        subscriber.drain();
+
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:" + SseSubscriber.TRANSACTION_EVENT));
+        assertTrue(emitter.events.get(1).startsWith(":heartbeat"));
+    }
+
+    @Test
+    void schedule_OnlyOnceUntilDrained() throws Exception {
+        SseSubscriber subscriber = new SseSubscriber(1L, emitter, 10);
+
+        assertTrue(subscriber.schedule());
+        assertFalse(subscriber.schedule());
+        subscriber.drain();
+        assertTrue(subscriber.schedule());
+    }
+
+    private static CardResponse card(Long id, String status) {
+        CardResponse card = new CardResponse();
+        card.setId(id);
+        card.setStatus(banks.card.entity.CardStatus.valueOf(status));
+        return card;
+    }
+
+    private static TransactionResponse transaction(Long id) {
+        TransactionResponse transaction = new TransactionResponse();
+        transaction.setId(id);
+        return transaction;
+    }
+
+    /**
+     * Записывает отправленные события в текстовом виде вместо записи в ответ.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.amin.BalanceReconciliationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconciliationJobTest {
+
+    @Mock
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    private BalanceReconciliationJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new BalanceReconciliationJob(balanceReconciliationService, schedulerLease, Duration.ofHours(2));
+    }
+
+    @Test
+    void run_ReconcilesUnderLease_AndReleasesLease() {
+        when(schedulerLease.acquire(eq(BalanceReconciliationJob.LEASE_NAME), any())).thenReturn(true);
+
+        job.run();
+
+        verify(balanceReconciliationService).reconcile();
+        verify(schedulerLease).release(BalanceReconciliationJob.LEASE_NAME);
+    }
+
+    @Test
+    void run_LeaseHeldElsewhere_DoesNothing() {
+        when(schedulerLease.acquire(eq(BalanceReconciliationJob.LEASE_NAME), any())).thenReturn(false);
+
+        job.run();
+
+        verifyNoInteractions(balanceReconciliationService);
+        verify(schedulerLease, never()).release(any());
+    }
+
+    @Test
+    void run_ReconciliationFails_ReleasesLease() {
+        when(schedulerLease.acquire(eq(BalanceReconciliationJob.LEASE_NAME), any())).thenReturn(true);
+        when(balanceReconciliationService.reconcile()).thenThrow(new IllegalStateException("db down"));
+
+        job.run();
+
+        verify(schedulerLease).release(BalanceReconciliationJob.LEASE_NAME);
+    }
+}
@@ -0,0 +1,64 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import banks.card.service.services.CardExpiryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpiryJobTest {
+
+    @Mock
+    private CardExpiryService cardExpiryService;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    private CardExpiryJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new CardExpiryJob(cardExpiryService, schedulerLease, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void run_ExpiresBatchesUntilPartialBatch_AndReleasesLease() {
+        when(schedulerLease.acquire(eq(CardExpiryJob.LEASE_NAME), any())).thenReturn(true);
+        when(cardExpiryService.expireBatch(LocalDate.now(), 100)).thenReturn(100, 100, 7);
+
+        job.run();
+
+        verify(cardExpiryService, times(3)).expireBatch(LocalDate.now(), 100);
+        verify(schedulerLease).release(CardExpiryJob.LEASE_NAME);
+    }
+
+    @Test
+    void run_LeaseHeldElsewhere_DoesNothing() {
+        when(schedulerLease.acquire(eq(CardExpiryJob.LEASE_NAME), any())).thenReturn(false);
+
+        job.run();
+
+        verifyNoInteractions(cardExpiryService);
+        verify(schedulerLease, never()).release(any());
+    }
+
+    @Test
+    void run_BatchFails_ReleasesLease() {
+        when(schedulerLease.acquire(eq(CardExpiryJob.LEASE_NAME), any())).thenReturn(true);
+        when(cardExpiryService.expireBatch(any(), eq(100))).thenThrow(new IllegalStateException("db down"));
+
+        job.run();
+
+        verify(schedulerLease).release(CardExpiryJob.LEASE_NAME);
+    }
+}
@@ -0,0 +1,127 @@
+package banks.card.service.job;
+
+import banks.card.service.lock.SchedulerLease;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionJobTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @Test
+    void partitionName_RoundTripsMonth() {
+        YearMonth month = YearMonth.of(2024, 3);
+
+        assertEquals("transactions_p202403", TransactionPartitionJob.partitionName(month));
+        assertEquals(month, TransactionPartitionJob.monthOf("transactions_p202403"));
+    }
+
+    @Test
+    void maintain_CreatesCurrentAndFuturePartitions_WithoutRetention() {
+        TransactionPartitionJob job = job(2, 0, false);
+
+        job.maintain(YearMonth.of(2024, 11));
+
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class,
+                LocalDate.of(2024, 11, 1));
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class,
+                LocalDate.of(2024, 12, 1));
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class,
+                LocalDate.of(2025, 1, 1));
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintain_DetachesAndRenamesPartitionsOlderThanRetention() {
+        TransactionPartitionJob job = job(0, 12, false);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transactions_p202310", "transactions_p202311", "transactions_p202411"));
+
+        job.maintain(YearMonth.of(2024, 11));
+
+        InOrder inOrder = inOrder(jdbcTemplate, transactionManager);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION transactions_p202310");
+        inOrder.verify(jdbcTemplate).update(argThat((String sql) ->
+                sql.contains("INSERT INTO card_archived_totals") && sql.contains("FROM transactions_p202310")));
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transactions_p202310 RENAME TO transactions_archived_p202310");
+        inOrder.verify(transactionManager).commit(any());
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    void maintain_PartitionWithPendingEntries_IsNotDetached() {
+        TransactionPartitionJob job = job(0, 1, false);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transactions_p202409"));
+        lenient().when(jdbcTemplate.queryForObject(contains("transactions_p202409 WHERE transfer_status = 'PENDING'"), eq(Long.class)))
+                .thenReturn(3L);
+
+        job.maintain(YearMonth.of(2024, 11));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void run_LeaseHeldElsewhere_DoesNothing() {
+        when(schedulerLease.acquire(eq(TransactionPartitionJob.LEASE_NAME), any())).thenReturn(false);
+
+        job(3, 12, false).run();
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(schedulerLease, never()).release(anyString());
+    }
+
+    @Test
+    void run_MaintainsPartitionsUnderLease() {
+        when(schedulerLease.acquire(eq(TransactionPartitionJob.LEASE_NAME), any())).thenReturn(true);
+
+        job(0, 0, false).run();
+
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class,
+                YearMonth.now().atDay(1));
+        verify(schedulerLease).release(TransactionPartitionJob.LEASE_NAME);
+    }
+
+    @Test
+    void maintain_DropsDetachedPartitions_WhenConfigured() {
+        TransactionPartitionJob job = job(0, 1, true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transactions_p202409"));
+
+        job.maintain(YearMonth.of(2024, 11));
+
+        verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION transactions_p202409");
+        verify(jdbcTemplate).update(contains("FROM transactions_p202409"));
+        verify(jdbcTemplate).execute("DROP TABLE transactions_p202409");
+    }
+
+    private TransactionPartitionJob job(int monthsAhead, int retentionMonths, boolean dropDetached) {
+        return new TransactionPartitionJob(jdbcTemplate, transactionManager, schedulerLease,
+                monthsAhead, retentionMonths, dropDetached, Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,60 @@
+package banks.card.service.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalCardLockProviderTest {
+
+    private final LocalCardLockProvider lockProvider = new LocalCardLockProvider(8);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lock_WithoutTransaction_Throws() {
+        assertThrows(IllegalStateException.class, () -> lockProvider.lock(List.of(1L)));
+    }
+
+    @Test
+    void lock_HeldUntilTransactionCompletes() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        lockProvider.lock(List.of(2L, 1L));
+
+        CompletableFuture<Void> contender = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockProvider.lock(List.of(1L));
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        assertThrows(TimeoutException.class, () -> contender.get(200, TimeUnit.MILLISECONDS));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        contender.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lock_CardsSharingStripe_AcquireStripeOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertDoesNotThrow(() -> lockProvider.lock(List.of(3L, 11L, 3L)));
+        assertEquals(List.of(3), CardLockOrder.stripes(List.of(3L, 11L, 3L), 8));
+    }
+}
@@ -0,0 +1,33 @@
+package banks.card.service.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FileLedgerEventSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void publish_AppendsOneJsonLinePerEvent() throws Exception {
+        Path path = directory.resolve("outbox/events.jsonl");
+        FileLedgerEventSink sink = new FileLedgerEventSink(path);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 3, 2, 10, 15));
+
+        sink.publish(List.of(new LedgerEvent(1L, "{\"id\":15}", createdAt, 10)));
+        sink.publish(List.of(new LedgerEvent(2L, "{\"id\":16}", createdAt, 5)));
+
+        assertEquals(List.of(
+                "{\"id\":1,\"createdAt\":\"2025-03-02T10:15\",\"transaction\":{\"id\":15}}",
+                "{\"id\":2,\"createdAt\":\"2025-03-02T10:15\",\"transaction\":{\"id\":16}}"
+        ), Files.readAllLines(path));
+    }
+}
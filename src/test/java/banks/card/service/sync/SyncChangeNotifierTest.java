@@ -0,0 +1,49 @@
+package banks.card.service.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyncChangeNotifierTest {
+
+    private final SyncChangeNotifier notifier = new SyncChangeNotifier();
+
+    @Test
+    void notifyChanged_WakesOnlyWaitersOfUser() {
+        CompletableFuture<Boolean> first = notifier.await(1L);
+        CompletableFuture<Boolean> second = notifier.await(1L);
+        CompletableFuture<Boolean> other = notifier.await(2L);
+
+        notifier.notifyChanged(1L);
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertFalse(other.isDone());
+        assertEquals(1, notifier.getWaiting());
+    }
+
+    @Test
+    void await_CompletedWaiterIsUnregistered() {
+        CompletableFuture<Boolean> waiter = notifier.await(1L);
+
+        waiter.complete(false);
+        notifier.notifyChanged(1L);
+
+        assertFalse(waiter.join());
+        assertEquals(0, notifier.getWaiting());
+    }
+
+    @Test
+    void notifyAllChanged_WakesEveryWaiter() {
+        CompletableFuture<Boolean> first = notifier.await(1L);
+        CompletableFuture<Boolean> second = notifier.await(2L);
+
+        notifier.notifyAllChanged();
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertEquals(0, notifier.getWaiting());
+    }
+}
@@ -0,0 +1,198 @@
+package banks.card.service.velocity;
+
+import banks.card.exception.FraudSuspectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VelocityEngineTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    private VelocityEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new VelocityEngine(dataSource, transactionManager, true,
+                3, Duration.ofMinutes(2), 2, Duration.ofMinutes(1),
+                new BigDecimal("1000"), 2, Duration.ofDays(7), 100);
+        engine.setClock(clock::get);
+    }
+
+    @Test
+    void checkWithdrawal_MaxCountInsideWindow_Declines() {
+        for (int i = 0; i < 3; i++) {
+            engine.recordWithdrawal(1L);
+            clock.addAndGet(10_000);
+        }
+
+        FraudSuspectedException exception = assertThrows(FraudSuspectedException.class, () -> engine.checkWithdrawal(1L));
+
+        assertEquals("Too many withdrawals in a short period", exception.getMessage());
+        assertDoesNotThrow(() -> engine.checkWithdrawal(2L));
+    }
+
+    @Test
+    void checkWithdrawal_OldestOutsideWindow_Allows() {
+        for (int i = 0; i < 3; i++) {
+            engine.recordWithdrawal(1L);
+            clock.addAndGet(50_000);
+        }
+
+        assertDoesNotThrow(() -> engine.checkWithdrawal(1L));
+
+        engine.recordWithdrawal(1L);
+        assertThrows(FraudSuspectedException.class, () -> engine.checkWithdrawal(1L));
+    }
+
+    @Test
+    void checkTransfer_TooManyTransfers_Declines() {
+        engine.recordTransfer(1L, 2L);
+        engine.recordTransfer(1L, 2L);
+
+        FraudSuspectedException exception = assertThrows(FraudSuspectedException.class,
+                () -> engine.checkTransfer(1L, 2L, BigDecimal.TEN));
+
+        assertEquals("Too many transfers in a short period", exception.getMessage());
+        clock.addAndGet(Duration.ofMinutes(1).toMillis() + 1);
+        assertDoesNotThrow(() -> engine.checkTransfer(1L, 2L, BigDecimal.TEN));
+    }
+
+    @Test
+    void checkTransfer_LargeAmountToNewDestination_Declines() {
+        engine.recordTransfer(1L, 2L);
+
+        assertDoesNotThrow(() -> engine.checkTransfer(1L, 2L, new BigDecimal("5000")));
+        assertDoesNotThrow(() -> engine.checkTransfer(1L, 3L, new BigDecimal("999.99")));
+        FraudSuspectedException exception = assertThrows(FraudSuspectedException.class,
+                () -> engine.checkTransfer(1L, 3L, new BigDecimal("1000")));
+        assertEquals("Large transfer to a new destination card", exception.getMessage());
+        assertThrows(FraudSuspectedException.class, () -> engine.checkTransfer(4L, 2L, new BigDecimal("1000")));
+    }
+
+    @Test
+    void checkTransfer_DestinationEvictedFromHistory_IsNewAgain() {
+        engine.recordTransfer(1L, 2L);
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+        engine.recordTransfer(1L, 3L);
+        engine.recordTransfer(1L, 3L);
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+        engine.recordTransfer(1L, 4L);
+
+        assertThrows(FraudSuspectedException.class, () -> engine.checkTransfer(1L, 2L, new BigDecimal("1000")));
+        assertDoesNotThrow(() -> engine.checkTransfer(1L, 3L, new BigDecimal("1000")));
+    }
+
+    @Test
+    void evictIdle_RemovesCardsWithoutRecentOperations() {
+        engine.recordWithdrawal(1L);
+        clock.addAndGet(Duration.ofDays(6).toMillis());
+        engine.recordWithdrawal(2L);
+        clock.addAndGet(Duration.ofDays(2).toMillis());
+
+        engine.evictIdle();
+
+        assertEquals(1, engine.getTrackedCards());
+    }
+
+    @Test
+    void disabled_NeverDeclinesAndKeepsNoState() {
+        VelocityEngine disabled = new VelocityEngine(dataSource, transactionManager, false,
+                1, Duration.ofMinutes(2), 1, Duration.ofMinutes(1),
+                BigDecimal.ONE, 2, Duration.ofDays(7), 100);
+
+        disabled.recordWithdrawal(1L);
+        disabled.recordWithdrawal(1L);
+
+        assertDoesNotThrow(() -> disabled.checkWithdrawal(1L));
+        assertDoesNotThrow(() -> disabled.checkTransfer(1L, 2L, BigDecimal.TEN));
+        assertEquals(0, disabled.getTrackedCards());
+    }
+
+    @Test
+    void recordWithdrawal_InsideTransaction_RecordedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.recordWithdrawal(1L);
+            engine.recordTransfer(1L, 2L);
+
+            assertEquals(0, engine.getTrackedCards());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, engine.getTrackedCards());
+        assertDoesNotThrow(() -> engine.checkTransfer(1L, 2L, new BigDecimal("1000")));
+    }
+
+    @Test
+    void recordTransfer_RolledBackTransaction_IsNotRecorded() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.recordTransfer(1L, 2L);
+            engine.recordTransfer(1L, 2L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, engine.getTrackedCards());
+        assertDoesNotThrow(() -> engine.checkTransfer(1L, 2L, BigDecimal.TEN));
+    }
+
+    @Test
+    void warmUp_LoadsRecentSuccessfulOperations() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(VelocityEngine.WARMUP_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, true, false);
+        when(resultSet.getLong("card_id")).thenReturn(1L, 1L, 1L, 5L);
+        when(resultSet.getLong("counterpart_card_id")).thenReturn(0L, 0L, 0L, 9L);
+        when(resultSet.wasNull()).thenReturn(false);
+        when(resultSet.getString("transaction_type")).thenReturn("WITHDRAWAL", "WITHDRAWAL", "WITHDRAWAL", "TRANSFER_OUT");
+        when(resultSet.getTimestamp("transaction_date")).thenReturn(
+                new Timestamp(NOW - 30_000), new Timestamp(NOW - 20_000), new Timestamp(NOW - 10_000),
+                new Timestamp(NOW - 5_000));
+
+        engine.warmUp();
+
+        assertEquals(2, engine.getTrackedCards());
+        assertThrows(FraudSuspectedException.class, () -> engine.checkWithdrawal(1L));
+        assertDoesNotThrow(() -> engine.checkTransfer(5L, 9L, new BigDecimal("1000")));
+        verify(statement).setFetchSize(100);
+    }
+}
@@ -0,0 +1,76 @@
+package banks.card.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardMascEncryptorTest {
+
+    private static final String KEY_V1 = "0123456789abcdef";
+    private static final String KEY_V2 = "fedcba9876543210";
+    private static final String CARD_NUMBER = "4111111111111111";
+
+    @AfterEach
+    void tearDown() {
+        CardMascEncryptor.setKEY(KEY_V1);
+    }
+
+    @Test
+    void encrypt_PrefixesCurrentVersion_AndDecrypts() throws Exception {
+        CardMascEncryptor.setKeys(Map.of(1, KEY_V1, 2, KEY_V2), 2);
+
+        String encrypted = CardMascEncryptor.encrypt(CARD_NUMBER);
+
+        assertTrue(encrypted.startsWith("v2:"));
+        assertEquals(2, CardMascEncryptor.versionOf(encrypted));
+        assertEquals(CARD_NUMBER, CardMascEncryptor.decrypt(encrypted));
+    }
+
+    @Test
+    void decrypt_UnprefixedCiphertext_UsesLegacyKey() throws Exception {
+        String legacy = legacyEncrypt(CARD_NUMBER, KEY_V1);
+        CardMascEncryptor.setKeys(Map.of(1, KEY_V1, 2, KEY_V2), 2);
+
+        assertEquals(1, CardMascEncryptor.versionOf(legacy));
+        assertEquals(CARD_NUMBER, CardMascEncryptor.decrypt(legacy));
+    }
+
+    @Test
+    void reEncrypt_OldVersion_ReturnsCurrentVersion() throws Exception {
+        CardMascEncryptor.setKEY(KEY_V1);
+        String old = CardMascEncryptor.encrypt(CARD_NUMBER);
+        CardMascEncryptor.setKeys(Map.of(1, KEY_V1, 2, KEY_V2), 2);
+
+        String rotated = CardMascEncryptor.reEncrypt(old);
+
+        assertTrue(rotated.startsWith("v2:"));
+        assertEquals(CARD_NUMBER, CardMascEncryptor.decrypt(rotated));
+        assertSame(rotated, CardMascEncryptor.reEncrypt(rotated));
+    }
+
+    @Test
+    void decrypt_UnknownVersion_Throws() throws Exception {
+        CardMascEncryptor.setKeys(Map.of(1, KEY_V1, 2, KEY_V2), 2);
+        String encrypted = CardMascEncryptor.encrypt(CARD_NUMBER);
+        CardMascEncryptor.setKEY(KEY_V1);
+
+        assertThrows(IllegalStateException.class, () -> CardMascEncryptor.decrypt(encrypted));
+    }
+
+    @Test
+    void setKeys_WithoutCurrentVersionKey_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> CardMascEncryptor.setKeys(Map.of(1, KEY_V1), 3));
+    }
+
+    private static String legacyEncrypt(String value, String key) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key.getBytes(), "AES"));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes()));
+    }
+}
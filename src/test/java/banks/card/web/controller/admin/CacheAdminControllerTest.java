@@ -0,0 +1,60 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.cache.CacheRegionStatisticsResponse;
+import banks.card.dto.out.cache.CacheStatisticsResponse;
+import banks.card.service.services.amin.CacheAdminService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class CacheAdminControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private CacheAdminService cacheAdminService;
+
+    @InjectMocks
+    private CacheAdminController cacheAdminController;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(cacheAdminController);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStatistics_ReturnsRegions() throws Exception {
+        CacheStatisticsResponse statistics = new CacheStatisticsResponse(120, 8, 40, 2,
+                List.of(new CacheRegionStatisticsResponse("card-metadata", 100, 5, 5, 5)));
+        when(cacheAdminService.getStatistics()).thenReturn(statistics);
+
+        mockMvc.perform(get("/api/v1/admin/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.secondLevelCacheHitCount").value(120))
+                .andExpect(jsonPath("$.queryCacheMissCount").value(2))
+                .andExpect(jsonPath("$.regions[0].region").value("card-metadata"))
+                .andExpect(jsonPath("$.regions[0].hitCount").value(100));
+
+        verify(cacheAdminService, times(1)).getStatistics();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void evictAll_ReturnsNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/cache"))
+                .andExpect(status().isNoContent());
+
+        verify(cacheAdminService, times(1)).evictAll();
+    }
+}
@@ -1,16 +1,26 @@
 package banks.card.web.controller.admin;
 
+import banks.card.dto.in.card.BulkCardLimitRequest;
+import banks.card.dto.in.card.BulkCardStatusRequest;
 import banks.card.dto.in.card.CardInsertRequest;
 import banks.card.dto.in.card.CardUpdateStatusRequest;
+import banks.card.dto.in.card.UpdateBalanceBucketsRequest;
 import banks.card.dto.in.card.UpdateCardLimitRequest;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.entity.CardStatus;
+import banks.card.dto.out.card.BulkCardUpdateResponse;
+import banks.card.dto.out.card.BulkIssuanceErrorResponse;
+import banks.card.dto.out.card.BulkIssuanceResponse;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.CardUpsertResponse;
 import banks.card.dto.out.card.ListCardResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.transaction.ListTransactionResponse;
 import banks.card.exception.EntityNotFoundException;
 import banks.card.service.services.amin.CardAdminActionService;
+import banks.card.service.services.amin.CardBulkIssuanceService;
+import banks.card.service.services.amin.CardBulkUpdateService;
 import banks.card.service.services.TransactionService;
 import banks.card.web.controller.AbstractControllerTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,7 +33,9 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.math.BigDecimal;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -40,6 +52,12 @@ class CardAdminControllerTest extends AbstractControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private CardBulkIssuanceService cardBulkIssuanceService;
+
+    @Mock
+    private CardBulkUpdateService cardBulkUpdateService;
+
     @InjectMocks
     private CardAdminController cardAdminController;
 
@@ -211,6 +229,22 @@ class CardAdminControllerTest extends AbstractControllerTest {
         verify(cardService).updateLimit(eq(1L), any(UpdateCardLimitRequest.class));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void updateBalanceBuckets_ShouldReturnOk_WhenCardExists() throws Exception {
+        CardResponse response = new CardResponse();
+        when(cardService.updateBalanceBuckets(eq(1L), any(UpdateBalanceBucketsRequest.class))).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/admin/cards/1/balance-buckets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateBalanceBucketsRequest(8)))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        verify(cardService).updateBalanceBuckets(eq(1L), any(UpdateBalanceBucketsRequest.class));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     public void updateLimits_ShouldReturnNotFound_WhenCardDoesNotExist() throws Exception {
@@ -230,12 +264,15 @@ class CardAdminControllerTest extends AbstractControllerTest {
 
     @Test
     @WithMockUser(roles = "ADMIN")
-    public void delete_ShouldReturnNoContent_WhenCardExists() throws Exception {
-        doNothing().when(cardService).delete(eq(1L));
+    public void delete_ShouldReturnAccepted_WhenCardExists() throws Exception {
+        when(cardService.delete(eq(1L))).thenReturn(new DeletionJobResponse(5L, "CARD", 1L, "PENDING",
+                0, 0, null, null, null));
 
         mockMvc.perform(delete("/api/v1/admin/cards/1")
                         .with(csrf()))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.status").value("PENDING"));
 
         verify(cardService).delete(eq(1L));
     }
@@ -243,7 +280,7 @@ class CardAdminControllerTest extends AbstractControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     public void delete_ShouldReturnNotFound_WhenCardDoesNotExist() throws Exception {
-        doThrow(new EntityNotFoundException("Card not found")).when(cardService).delete(eq(1L));
+        when(cardService.delete(eq(1L))).thenThrow(new EntityNotFoundException("Card not found"));
 
         mockMvc.perform(delete("/api/v1/admin/cards/1")
                         .with(csrf()))
@@ -253,4 +290,100 @@ class CardAdminControllerTest extends AbstractControllerTest {
 
         verify(cardService).delete(eq(1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void issueCards_ShouldReturnReport_WhenCsvUploaded() throws Exception {
+        BulkIssuanceResponse response = new BulkIssuanceResponse(2, 1, 1,
+                List.of(new BulkIssuanceErrorResponse(3, "User not found: petr@example.com")));
+        when(cardBulkIssuanceService.issue(any(InputStream.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/admin/cards/bulk")
+                        .contentType("text/csv")
+                        .content("email,card_number,card_holder,expiry_date\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.issued").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        verify(cardBulkIssuanceService).issue(any(InputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void updateStatusBulk_ShouldReturnAffectedCount() throws Exception {
+        BulkCardStatusRequest request = new BulkCardStatusRequest(null, List.of(1L, 2L, 3L), CardStatus.BLOCKED);
+        when(cardBulkUpdateService.updateStatus(any(BulkCardStatusRequest.class)))
+                .thenReturn(new BulkCardUpdateResponse(3));
+
+        mockMvc.perform(put("/api/v1/admin/cards/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+
+        verify(cardBulkUpdateService).updateStatus(any(BulkCardStatusRequest.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void updateStatusBulk_ShouldReturnBadRequest_WhenNoCardsSelected() throws Exception {
+        BulkCardStatusRequest request = new BulkCardStatusRequest(null, List.of(), CardStatus.BLOCKED);
+
+        mockMvc.perform(put("/api/v1/admin/cards/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cardBulkUpdateService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void updateStatusBulk_ShouldReturnBadRequest_WhenFilterIsEmpty() throws Exception {
+        BulkCardStatusRequest request = new BulkCardStatusRequest(new CardFilterRequest(), null, CardStatus.BLOCKED);
+
+        mockMvc.perform(put("/api/v1/admin/cards/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cardBulkUpdateService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void updateStatusBulk_ShouldReturnBadRequest_WhenFilteringByNumber() throws Exception {
+        CardFilterRequest filter = new CardFilterRequest("1234", CardStatus.ACTIVE, null, null);
+        BulkCardStatusRequest request = new BulkCardStatusRequest(filter, null, CardStatus.BLOCKED);
+
+        mockMvc.perform(put("/api/v1/admin/cards/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cardBulkUpdateService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void updateLimitsBulk_ShouldReturnAffectedCount() throws Exception {
+        CardFilterRequest filter = new CardFilterRequest(null, CardStatus.ACTIVE, null, null);
+        BulkCardLimitRequest request = new BulkCardLimitRequest(filter, null,
+                new UpdateCardLimitRequest(new BigDecimal("5000"), null, null, null));
+        when(cardBulkUpdateService.updateLimits(any(BulkCardLimitRequest.class)))
+                .thenReturn(new BulkCardUpdateResponse(1250));
+
+        mockMvc.perform(patch("/api/v1/admin/cards/bulk/limits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1250));
+
+        verify(cardBulkUpdateService).updateLimits(any(BulkCardLimitRequest.class));
+    }
+}
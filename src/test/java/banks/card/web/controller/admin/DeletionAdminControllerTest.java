@@ -0,0 +1,55 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.deletion.DeletionJobResponse;
+import banks.card.service.services.amin.DeletionService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class DeletionAdminControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private DeletionService deletionService;
+
+    @InjectMocks
+    private DeletionAdminController deletionController;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(deletionController);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getJob_ReturnsProgress() throws Exception {
+        when(deletionService.getJob(5L)).thenReturn(Optional.of(new DeletionJobResponse(5L, "USER", 2L, "RUNNING",
+                1, 150000, Timestamp.valueOf(LocalDateTime.now()), null, null)));
+
+        mockMvc.perform(get("/api/v1/admin/deletions/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.transactionsDeleted").value(150000));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getJob_Unknown_ReturnsNotFound() throws Exception {
+        when(deletionService.getJob(5L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/admin/deletions/5"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,83 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.rotation.KeyRotationResponse;
+import banks.card.service.services.amin.KeyRotationService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class KeyRotationAdminControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private KeyRotationService keyRotationService;
+
+    @InjectMocks
+    private KeyRotationAdminController keyRotationController;
+
+    private KeyRotationResponse rotation;
+
+    @BeforeEach
+    public void init() {
+        rotation = new KeyRotationResponse(3L, 2, "RUNNING", 1000, 250, 240, 25.0,
+                Timestamp.valueOf(LocalDateTime.now()), null, null);
+
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(keyRotationController);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void start_ReturnsAccepted() throws Exception {
+        when(keyRotationService.start()).thenReturn(rotation);
+
+        mockMvc.perform(post("/api/v1/admin/key-rotations"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.targetVersion").value(2))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+
+        verify(keyRotationService).start();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void start_AlreadyRunning_ReturnsConflict() throws Exception {
+        when(keyRotationService.start()).thenThrow(new IllegalStateException("Key rotation is already running"));
+
+        mockMvc.perform(post("/api/v1/admin/key-rotations"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getLatest_ReturnsProgress() throws Exception {
+        when(keyRotationService.getLatest()).thenReturn(Optional.of(rotation));
+
+        mockMvc.perform(get("/api/v1/admin/key-rotations/latest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastCardId").value(250))
+                .andExpect(jsonPath("$.progressPercent").value(25.0));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getLatest_NotRun_ReturnsNotFound() throws Exception {
+        when(keyRotationService.getLatest()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/admin/key-rotations/latest"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,47 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.outbox.OutboxStatisticsResponse;
+import banks.card.service.services.amin.LedgerOutboxService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class OutboxAdminControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private LedgerOutboxService ledgerOutboxService;
+
+    @InjectMocks
+    private OutboxAdminController outboxAdminController;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(outboxAdminController);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStatistics_ReturnsThroughputAndLag() throws Exception {
+        OutboxStatisticsResponse statistics = new OutboxStatisticsResponse(42, 350, 1200, 12, 1,
+                85.5, 2400.0, 100, 120);
+        when(ledgerOutboxService.getStatistics()).thenReturn(statistics);
+
+        mockMvc.perform(get("/api/v1/admin/outbox/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(42))
+                .andExpect(jsonPath("$.oldestPendingAgeMs").value(350))
+                .andExpect(jsonPath("$.published").value(1200))
+                .andExpect(jsonPath("$.lastBatchMaxLagMs").value(120));
+
+        verify(ledgerOutboxService, times(1)).getStatistics();
+    }
+}
@@ -0,0 +1,77 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.reconciliation.CardDriftResponse;
+import banks.card.dto.out.reconciliation.ReconciliationReportResponse;
+import banks.card.service.services.amin.BalanceReconciliationService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class ReconciliationAdminControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private BalanceReconciliationService reconciliationService;
+
+    @InjectMocks
+    private ReconciliationAdminController reconciliationController;
+
+    private ReconciliationReportResponse report;
+
+    @BeforeEach
+    public void init() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        report = new ReconciliationReportResponse(now, now, 10, 1, new BigDecimal("5.00"),
+                List.of(new CardDriftResponse(3L, new BigDecimal("15.00"), BigDecimal.TEN, new BigDecimal("5.00"))));
+
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(reconciliationController);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void reconcile_ReturnsReport() throws Exception {
+        when(reconciliationService.reconcile()).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/admin/reconciliation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cardsChecked").value(10))
+                .andExpect(jsonPath("$.cardsWithDrift").value(1))
+                .andExpect(jsonPath("$.drifts[0].cardId").value(3))
+                .andExpect(jsonPath("$.drifts[0].drift").value(5.00));
+
+        verify(reconciliationService, times(1)).reconcile();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void reconcile_AlreadyRunning_ReturnsConflict() throws Exception {
+        when(reconciliationService.reconcile()).thenThrow(new IllegalStateException("Reconciliation is already running"));
+
+        mockMvc.perform(post("/api/v1/admin/reconciliation"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getLastReport_NotRunYet_ReturnsNotFound() throws Exception {
+        when(reconciliationService.getLastReport()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/admin/reconciliation/last"))
+                .andExpect(status().isNotFound());
+    }
+}
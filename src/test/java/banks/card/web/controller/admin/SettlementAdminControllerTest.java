@@ -0,0 +1,80 @@
+package banks.card.web.controller.admin;
+
+import banks.card.dto.out.settlement.SettlementPairResponse;
+import banks.card.dto.out.settlement.SettlementReportResponse;
+import banks.card.service.services.amin.SettlementService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class SettlementAdminControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private SettlementService settlementService;
+
+    @InjectMocks
+    private SettlementAdminController settlementController;
+
+    private SettlementReportResponse report;
+
+    @BeforeEach
+    public void init() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        report = new SettlementReportResponse(7L, LocalDate.of(2025, 3, 2), "COMPLETED", now, now,
+                2, 4, new BigDecimal("150.00"), new BigDecimal("50.00"),
+                List.of(new SettlementPairResponse(1L, 2L, 2, new BigDecimal("150.00"), new BigDecimal("50.00"))));
+
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(settlementController);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void settle_ForDate_ReturnsReport() throws Exception {
+        when(settlementService.settle(LocalDate.of(2025, 3, 2))).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/admin/settlements").param("date", "2025-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.batchId").value(7))
+                .andExpect(jsonPath("$.cardsSettled").value(2))
+                .andExpect(jsonPath("$.pairs[0].netAmount").value(50.00));
+
+        verify(settlementService).settle(LocalDate.of(2025, 3, 2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void settle_WithoutDate_SettlesYesterday() throws Exception {
+        when(settlementService.settle(LocalDate.now().minusDays(1))).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/admin/settlements"))
+                .andExpect(status().isOk());
+
+        verify(settlementService).settle(LocalDate.now().minusDays(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getReport_NotRun_ReturnsNotFound() throws Exception {
+        when(settlementService.getReport(LocalDate.of(2025, 3, 2))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/admin/settlements/2025-03-02"))
+                .andExpect(status().isNotFound());
+    }
+}
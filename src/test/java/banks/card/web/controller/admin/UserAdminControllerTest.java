@@ -4,6 +4,7 @@ import banks.card.dto.in.user.UserCreateRequest;
 import banks.card.dto.in.user.UserPasswordResetRequest;
 import banks.card.dto.in.user.UserUpdateRequest;
 import banks.card.dto.out.MessageResponse;
+import banks.card.dto.out.deletion.DeletionJobResponse;
 import banks.card.dto.out.user.ListUserResponse;
 import banks.card.dto.out.user.UserResponse;
 import banks.card.entity.Role;
@@ -179,11 +180,13 @@ public class UserAdminControllerTest extends AbstractControllerTest {
 
     @Test
     @WithMockUser(roles = "ADMIN")
-    void deleteUser_ValidId_ReturnsNoContent() throws Exception {
-        doNothing().when(adminActionService).delete(1L);
+    void deleteUser_ValidId_ReturnsAccepted() throws Exception {
+        when(adminActionService.delete(1L)).thenReturn(new DeletionJobResponse(5L, "USER", 1L, "PENDING",
+                0, 0, null, null, null));
 
         mockMvc.perform(delete("/api/v1/admin/users/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.target").value("USER"));
 
         verify(adminActionService, times(1)).delete(1L);
     }
@@ -191,7 +194,7 @@ public class UserAdminControllerTest extends AbstractControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteUser_NotFound_ReturnsNotFound() throws Exception {
-        doThrow(new EntityNotFoundException("User not found")).when(adminActionService).delete(1L);
+        when(adminActionService.delete(1L)).thenThrow(new EntityNotFoundException("User not found"));
 
         mockMvc.perform(delete("/api/v1/admin/users/1"))
                 .andExpect(status().isNotFound())
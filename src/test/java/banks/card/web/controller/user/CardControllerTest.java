@@ -2,20 +2,32 @@ package banks.card.web.controller.user;
 
 import banks.card.dto.in.card.TransferRequest;
 import banks.card.dto.in.card.WithdrawalRequest;
+import banks.card.dto.in.export.ExportFormat;
 import banks.card.dto.in.filter.CardFilterRequest;
 import banks.card.dto.in.filter.TransactionFilterRequest;
+import banks.card.dto.in.hold.HoldRequest;
 import banks.card.dto.out.card.CardResponse;
 import banks.card.dto.out.card.ListCardResponse;
 import banks.card.dto.out.card.TransferResponse;
 import banks.card.dto.out.card.WithdrawalResponse;
+import banks.card.dto.out.hold.HoldResponse;
+import banks.card.dto.out.sync.SyncResponse;
 import banks.card.dto.out.transaction.ListTransactionResponse;
+import banks.card.dto.out.transaction.TransactionFeedResponse;
 import banks.card.dto.out.transaction.TransactionResponse;
 import banks.card.entity.CardStatus;
+import banks.card.entity.HoldStatus;
 import banks.card.entity.TransferStatus;
 import banks.card.exception.EntityNotFoundException;
+import banks.card.exception.InvalidCursorException;
 import banks.card.exception.TransferException;
+import banks.card.service.services.TransactionExportService;
 import banks.card.service.services.TransactionService;
+import banks.card.service.services.user.CardEventService;
+import banks.card.service.services.user.CardSyncService;
 import banks.card.service.services.user.CardUserActionService;
+import banks.card.service.services.user.ListingVersionService;
+import banks.card.service.services.user.TransactionFeedService;
 import banks.card.web.controller.AbstractControllerTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,20 +35,33 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.function.ThrowingSupplier;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
 
 import static banks.card.service.security.JwtService.HEADER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +74,21 @@ public class CardControllerTest extends AbstractControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private TransactionFeedService transactionFeedService;
+
+    @Mock
+    private CardSyncService cardSyncService;
+
+    @Mock
+    private CardEventService cardEventService;
+
+    @Mock
+    private ListingVersionService listingVersionService;
+
     @InjectMocks
     private CardController cardController;
 
@@ -66,6 +106,8 @@ public class CardControllerTest extends AbstractControllerTest {
         withdrawalRequest = new WithdrawalRequest(5L, BigDecimal.valueOf(300));
 
         MockitoAnnotations.openMocks(this);
+        when(listingVersionService.getCardsVersion(anyString())).thenReturn("2:10:12");
+        when(listingVersionService.getTransactionsVersion(anyLong(), anyString())).thenReturn("1:10:12");
         setupMockMvc(cardController);
     }
 
@@ -92,6 +134,44 @@ public class CardControllerTest extends AbstractControllerTest {
         verify(userActionService, times(1)).getCards(eq(jwtToken), any(CardFilterRequest.class), eq(PageRequest.of(0, 10)));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCards_MatchingETag_ReturnsNotModifiedWithoutLoadingCards() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/cards")
+                        .header(HEADER_NAME, jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(userActionService);
+
+        mockMvc.perform(get("/api/v1/cards")
+                        .header(HEADER_NAME, jwtToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(userActionService);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCards_VersionChanged_ReturnsOkWithNewETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/cards")
+                        .header(HEADER_NAME, jwtToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(listingVersionService.getCardsVersion(jwtToken)).thenReturn("2:11:12");
+
+        String changed = mockMvc.perform(get("/api/v1/cards")
+                        .header(HEADER_NAME, jwtToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, changed);
+        verify(userActionService, times(2)).getCards(eq(jwtToken), any(CardFilterRequest.class), any());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllCards_UserNotFound_ReturnsNotFound() throws Exception {
@@ -132,6 +212,30 @@ public class CardControllerTest extends AbstractControllerTest {
         verify(transactionService, times(1)).getUserTransactions(eq(1L), eq(jwtToken), any(TransactionFilterRequest.class), eq(PageRequest.of(0, 10)));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getTransactions_MatchingETag_ReturnsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/cards/1/transactions")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(transactionService);
+
+        mockMvc.perform(get("/api/v1/cards/1/transactions")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("page", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/cards/1/transactions")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("page", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        verify(transactionService, times(1)).getUserTransactions(eq(1L), eq(jwtToken), any(), eq(PageRequest.of(2, 10)));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getTransactions_AccessDenied_ReturnsForbidden() throws Exception {
@@ -145,6 +249,92 @@ public class CardControllerTest extends AbstractControllerTest {
         verify(transactionService, times(1)).getUserTransactions(eq(1L), eq(jwtToken), any(TransactionFilterRequest.class), any());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getTransactionFeed_ValidRequest_ReturnsOk() throws Exception {
+        TransactionFeedResponse response =
+                new TransactionFeedResponse(List.of(new TransactionResponse(), new TransactionResponse()), "next");
+
+        when(transactionFeedService.getFeed(eq(jwtToken), any(TransactionFilterRequest.class), eq("cursor"), eq(20)))
+                .thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/cards/transactions")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("cursor", "cursor")
+                        .param("size", "20")
+                        .param("type", "TRANSFER_OUT"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+
+        verify(transactionFeedService, times(1)).getFeed(eq(jwtToken), any(TransactionFilterRequest.class), eq("cursor"), eq(20));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getTransactionFeed_InvalidCursor_ReturnsBadRequest() throws Exception {
+        when(transactionFeedService.getFeed(eq(jwtToken), any(TransactionFilterRequest.class), eq("broken"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid feed cursor: broken"));
+
+        mockMvc.perform(get("/api/v1/cards/transactions")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid feed cursor: broken"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void sync_ValidRequest_ReturnsChanges() throws Exception {
+        SyncResponse response = new SyncResponse(List.of(new CardResponse()), List.of(1L),
+                List.of(new TransactionResponse()), false, "1052374");
+
+        when(cardSyncService.sync(jwtToken, "1052000", 20000L))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cards/sync")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("since", "1052000")
+                        .param("wait-ms", "20000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursor").value("1052374"))
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+
+        verify(cardSyncService, times(1)).sync(jwtToken, "1052000", 20000L);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void sync_InvalidCursor_ReturnsBadRequest() throws Exception {
+        when(cardSyncService.sync(jwtToken, "broken", 0L))
+                .thenThrow(new InvalidCursorException("Invalid sync cursor: broken"));
+
+        mockMvc.perform(get("/api/v1/cards/sync")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("since", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid sync cursor: broken"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void subscribeEvents_ValidRequest_StartsEventStream() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(cardEventService.subscribe(jwtToken)).thenReturn(emitter);
+
+        mockMvc.perform(get("/api/v1/cards/events")
+                        .header(HEADER_NAME, jwtToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(cardEventService, times(1)).subscribe(jwtToken);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void blockCard_ValidRequest_ReturnsOk() throws Exception {
@@ -152,8 +342,8 @@ public class CardControllerTest extends AbstractControllerTest {
                 new CardResponse(1L, 1L,
                         "**** **** **** 0000", "IVAN IVANOV",
                         LocalDate.now(), CardStatus.ACTIVE,
-                        BigDecimal.ZERO, null, null, null,
-                        null);
+                        BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                        null, null, null, null);
 
         when(userActionService.blockedCard(eq(1L), eq(jwtToken))).thenReturn(response);
 
@@ -188,17 +378,22 @@ public class CardControllerTest extends AbstractControllerTest {
                 BigDecimal.valueOf(100), Timestamp.valueOf(LocalDateTime.now()),
                 TransferStatus.SUCCESS);
 
-        when(userActionService.transfer(eq(jwtToken), any(TransferRequest.class))).thenReturn(response);
+        when(userActionService.transferAsync(eq(jwtToken), any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mockMvc.perform(post("/api/v1/cards/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/cards/transfer")
                         .header(HEADER_NAME, jwtToken)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(response)));
 
-        verify(userActionService, times(1)).transfer(eq(jwtToken), any(TransferRequest.class));
+        verify(userActionService, times(1)).transferAsync(eq(jwtToken), any(TransferRequest.class));
     }
 
     @Test
@@ -214,41 +409,146 @@ public class CardControllerTest extends AbstractControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.message").exists());
 
-        verify(userActionService, never()).transfer(anyString(), any(TransferRequest.class));
+        verify(userActionService, never()).transferAsync(anyString(), any(TransferRequest.class));
     }
 
     @Test
     @WithMockUser(roles = "USER")
     void withdrawal_ValidRequest_ReturnsOk() throws Exception {
         WithdrawalResponse response = new WithdrawalResponse(5L, BigDecimal.valueOf(1000), Timestamp.valueOf(LocalDateTime.now()), TransferStatus.SUCCESS);
-        when(userActionService.withdraw(any(WithdrawalRequest.class), eq(jwtToken))).thenReturn(response);
+        when(userActionService.withdrawAsync(any(WithdrawalRequest.class), eq(jwtToken)))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mockMvc.perform(post("/api/v1/cards/withdrawal")
+        MvcResult result = mockMvc.perform(post("/api/v1/cards/withdrawal")
                         .header("Authorization", jwtToken)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(withdrawalRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(response)));
 
-        verify(userActionService, times(1)).withdraw(any(WithdrawalRequest.class), eq(jwtToken));
+        verify(userActionService, times(1)).withdrawAsync(any(WithdrawalRequest.class), eq(jwtToken));
     }
 
     @Test
     @WithMockUser(roles = "USER")
     void withdrawal_InsufficientFunds_ReturnsBadRequest() throws Exception {
         TransferResponse response = new TransferResponse();
-        when(userActionService.withdraw(any(WithdrawalRequest.class), eq(jwtToken)))
-                .thenThrow(new TransferException("Insufficient funds", response));
+        when(userActionService.withdrawAsync(any(WithdrawalRequest.class), eq(jwtToken)))
+                .thenReturn(CompletableFuture.failedFuture(new TransferException("Insufficient funds", response)));
 
-        mockMvc.perform(post("/api/v1/cards/withdrawal")
+        MvcResult result = mockMvc.perform(post("/api/v1/cards/withdrawal")
                         .header("Authorization", jwtToken)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(withdrawalRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.message").value("Insufficient funds"));
 
-        verify(userActionService, times(1)).withdraw(any(WithdrawalRequest.class), eq(jwtToken));
+        verify(userActionService, times(1)).withdrawAsync(any(WithdrawalRequest.class), eq(jwtToken));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @SuppressWarnings("unchecked")
+    void exportTransactions_Csv_StreamsBody() throws Exception {
+        when(transactionExportService.exportUserTransactions(eq(1L), eq(jwtToken), any(TransactionFilterRequest.class),
+                eq(ExportFormat.CSV), eq(15L), any(ThrowingSupplier.class)))
+                .thenAnswer(invocation -> {
+                    ThrowingSupplier<OutputStream> supplier = invocation.getArgument(5);
+                    try (OutputStream out = supplier.get()) {
+                        out.write("id\n16\n".getBytes(StandardCharsets.UTF_8));
+                    }
+                    return 1L;
+                });
+
+        mockMvc.perform(get("/api/v1/cards/1/transactions/export")
+                        .header(HEADER_NAME, jwtToken)
+                        .param("after", "15")
+                        .param("status", "SUCCESS"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("id\n16\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @SuppressWarnings("unchecked")
+    void exportTransactions_Gzip_CompressesBody() throws Exception {
+        when(transactionExportService.exportUserTransactions(eq(1L), eq(jwtToken), any(TransactionFilterRequest.class),
+                eq(ExportFormat.NDJSON), isNull(), any(ThrowingSupplier.class)))
+                .thenAnswer(invocation -> {
+                    ThrowingSupplier<OutputStream> supplier = invocation.getArgument(5);
+                    try (OutputStream out = supplier.get()) {
+                        out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    }
+                    return 1L;
+                });
+
+        byte[] body = mockMvc.perform(get("/api/v1/cards/1/transactions/export")
+                        .header(HEADER_NAME, jwtToken)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .param("format", "NDJSON"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @SuppressWarnings("unchecked")
+    void exportTransactions_AccessDenied_ReturnsForbidden() throws Exception {
+        when(transactionExportService.exportUserTransactions(eq(1L), eq(jwtToken), any(TransactionFilterRequest.class),
+                eq(ExportFormat.CSV), isNull(), any(ThrowingSupplier.class)))
+                .thenThrow(new AccessDeniedException("Access denied"));
+
+        mockMvc.perform(get("/api/v1/cards/1/transactions/export")
+                        .header(HEADER_NAME, jwtToken))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Access denied"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void authorizeHold_ValidRequest_ReturnsCreated() throws Exception {
+        HoldRequest request = new HoldRequest(new BigDecimal("150.00"), 60);
+        HoldResponse response = new HoldResponse(42L, 1L, new BigDecimal("150.00"), null, HoldStatus.ACTIVE,
+                Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now().plusHours(1)));
+        when(userActionService.authorizeHold(eq(1L), eq(jwtToken), any(HoldRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/cards/1/holds")
+                        .header(HEADER_NAME, jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(42))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+
+        verify(userActionService).authorizeHold(eq(1L), eq(jwtToken), any(HoldRequest.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void authorizeHold_NonPositiveAmount_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/cards/1/holds")
+                        .header(HEADER_NAME, jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HoldRequest(BigDecimal.ZERO, null))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userActionService);
     }
 }
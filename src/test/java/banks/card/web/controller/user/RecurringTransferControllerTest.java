@@ -0,0 +1,111 @@
+package banks.card.web.controller.user;
+
+import banks.card.dto.in.recurring.RecurringTransferRequest;
+import banks.card.dto.out.recurring.ListRecurringTransferResponse;
+import banks.card.dto.out.recurring.RecurringTransferResponse;
+import banks.card.entity.RecurringInterval;
+import banks.card.entity.RecurringTransferStatus;
+import banks.card.exception.EntityNotFoundException;
+import banks.card.service.services.user.RecurringTransferUserActionService;
+import banks.card.web.controller.AbstractControllerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static banks.card.service.security.JwtService.HEADER_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class RecurringTransferControllerTest extends AbstractControllerTest {
+
+    @Mock
+    private RecurringTransferUserActionService recurringTransferService;
+
+    @InjectMocks
+    private RecurringTransferController recurringTransferController;
+
+    private final String jwtToken = "Bearer valid-jwt-token";
+
+    private RecurringTransferResponse response;
+
+    @BeforeEach
+    public void init() {
+        Timestamp startAt = Timestamp.valueOf(LocalDateTime.of(2030, 1, 31, 9, 0));
+        response = new RecurringTransferResponse(7L, 1L, 2L, 3L, new BigDecimal("100.00"),
+                RecurringInterval.MONTH, 1, startAt, null, startAt, RecurringTransferStatus.ACTIVE,
+                null, null, null, startAt);
+
+        MockitoAnnotations.openMocks(this);
+        setupMockMvc(recurringTransferController);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void create_ValidRequest_ReturnsCreated() throws Exception {
+        RecurringTransferRequest request = new RecurringTransferRequest(2L, 3L, new BigDecimal("100.00"),
+                RecurringInterval.MONTH, 1, LocalDateTime.of(2030, 1, 31, 9, 0), null);
+        when(recurringTransferService.create(eq(jwtToken), any(RecurringTransferRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/cards/recurring-transfers")
+                        .header(HEADER_NAME, jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.interval").value("MONTH"))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+
+        verify(recurringTransferService).create(jwtToken, request);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void create_MissingInterval_ReturnsBadRequest() throws Exception {
+        RecurringTransferRequest request = new RecurringTransferRequest(2L, 3L, new BigDecimal("100.00"),
+                null, 1, null, null);
+
+        mockMvc.perform(post("/api/v1/cards/recurring-transfers")
+                        .header(HEADER_NAME, jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(recurringTransferService);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRecurringTransfers_ReturnsList() throws Exception {
+        when(recurringTransferService.getRecurringTransfers(eq(jwtToken), any(Pageable.class)))
+                .thenReturn(new ListRecurringTransferResponse(List.of(response)));
+
+        mockMvc.perform(get("/api/v1/cards/recurring-transfers")
+                        .header(HEADER_NAME, jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recurringTransfers[0].id").value(7));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void cancel_NotFound_ReturnsNotFound() throws Exception {
+        when(recurringTransferService.cancel(jwtToken, 8L))
+                .thenThrow(new EntityNotFoundException("Recurring transfer not found by ID: 8"));
+
+        mockMvc.perform(delete("/api/v1/cards/recurring-transfers/8")
+                        .header(HEADER_NAME, jwtToken))
+                .andExpect(status().isNotFound());
+    }
+}